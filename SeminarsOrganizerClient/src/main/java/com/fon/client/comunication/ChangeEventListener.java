@@ -0,0 +1,28 @@
+package com.fon.client.comunication;
+
+import com.fon.common.intercomm.ChangeEvent;
+import java.util.List;
+
+/**
+ * Listener notified about change events pushed by the server.
+ *
+ * <p>
+ * Listeners are called on the thread reading from the server, so they must
+ * return quickly and hand any work with Swing components over to the event
+ * dispatch thread.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+@FunctionalInterface
+public interface ChangeEventListener {
+
+    /**
+     * Notifies the listener about change events pushed by the server.
+     *
+     * @param events Change events in order of publishing as
+     * {@code List<ChangeEvent>}.
+     */
+    void changesReceived(List<ChangeEvent> events);
+}
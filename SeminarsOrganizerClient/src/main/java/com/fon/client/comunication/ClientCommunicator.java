@@ -4,37 +4,157 @@
  */
 package com.fon.client.comunication;
 
+import com.fon.common.exceptions.ServerShutdownException;
 import com.fon.common.intercomm.*;
+import com.fon.common.logging.AsyncLogger;
+import java.io.FileInputStream;
 import java.io.IOException;
-import java.net.Socket;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Singleton class responsible for sending requests to the server and receiving
  * responses from the server.
  *
+ * <p>
+ * While the client is idle, a heartbeat is sent to the server every
+ * {@code HEARTBEAT_INTERVAL} milliseconds, so the server can tell an idle
+ * client from a dead one. Requests and heartbeats never interleave on the
+ * connection.
+ * </p>
+ *
+ * <p>
+ * The servers the client can use are listed in {@code CONFIG_PATH}, reached
+ * over TCP, or over a Unix domain socket when the client runs on the same
+ * host. The client is connected to one of them at a time, preferring servers
+ * that haven't failed recently and then the ones that have been answering
+ * fastest. When the connection breaks, {@code failover} moves it to the next
+ * best server.
+ * </p>
+ *
+ * <p>
+ * Several servers are meant for active/passive failover over one database.
+ * Servers don't share their caches, versions or change events, so a client
+ * configured with more than one of them doesn't send conditional requests.
+ * </p>
+ *
+ * <p>
+ * Everything the server sends is read by a separate reader thread. Change
+ * events pushed by the server are handed to the registered
+ * {@code ChangeEventListener}s, and all other messages are responses, passed
+ * in order to the request waiting for them.
+ * </p>
+ *
  * @author Aleksa
  * @since 0.0.1
  */
 public class ClientCommunicator {
 
+    /**
+     * Interval of heartbeats in milliseconds, well below the idle timeout of
+     * the server.
+     */
+    private static final long HEARTBEAT_INTERVAL = 20000;
+
+    /**
+     * Path of the optional client configuration file.
+     */
+    private static final String CONFIG_PATH = "config/clientconfig.properties";
+
     /**
      * The singleton instance of the {@code ClientCommunicator} class.
      */
     private static ClientCommunicator instance;
 
     /**
-     * The socket for communication with the server as {@code Socket}.
+     * Servers the client can connect to as {@code List<Endpoint>} (read
+     * only).
+     */
+    private final List<Endpoint> endpoints;
+
+    /**
+     * Server of the current connection as {@code Endpoint}.
+     */
+    private volatile Endpoint endpoint;
+
+    /**
+     * The connection for communication with the server as
+     * {@code Connection}.
+     */
+    private volatile Connection connection;
+
+    /**
+     * Lock guarding writes to the connection, so a cancellation sent while a
+     * request waits for its response never interleaves with another request
+     * (read only).
+     */
+    private final Object writeLock;
+
+    /**
+     * Time of the last request sent to the server in nanoseconds, as returned
+     * by {@code System.nanoTime()}, as {@code long}.
+     */
+    private long lastRequest;
+
+    /**
+     * Sends heartbeats to the server as {@code ScheduledExecutorService}.
+     */
+    private final ScheduledExecutorService heartbeatScheduler;
+
+    /**
+     * Shutdown notice received instead of a heartbeat response, returned as
+     * the response to the next request, as {@code Response}.
+     */
+    private Response pendingShutdownNotice;
+
+    /**
+     * Responses read from the current connection, or the {@code IOException}
+     * that ended it, as {@code BlockingQueue<Object>}.
+     */
+    private BlockingQueue<Object> responses;
+
+    /**
+     * Listeners notified about change events as
+     * {@code List<ChangeEventListener>} (read only).
      */
-    private final Socket socket;
+    private final List<ChangeEventListener> changeEventListeners;
 
     /**
-     * Private non-parametric constructor.
+     * Private non-parametric constructor, configures the level of the logger,
+     * connects to the best configured server, starts reading from it and
+     * starts sending heartbeats.
      *
-     * @throws java.io.IOException When connection to the server cannot be
-     * established.
+     * @throws java.io.IOException When connection to none of the servers can
+     * be established.
      */
     private ClientCommunicator() throws IOException {
-        this.socket = new Socket("localhost", 9000);
+        Properties configuration = loadConfiguration();
+        AsyncLogger.getInstance().setLevel(configuration.getProperty("log_level", "INFO"));
+        AsyncLogger.getInstance().registerMBean("com.fon.client");
+        this.endpoints = loadEndpoints(configuration);
+        this.connection = connect();
+        this.writeLock = new Object();
+        this.responses = new LinkedBlockingQueue<>();
+        this.changeEventListeners = new CopyOnWriteArrayList<>();
+        startReader(connection, responses);
+        this.lastRequest = System.nanoTime();
+        this.heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread heartbeat = new Thread(runnable, "heartbeat");
+            heartbeat.setDaemon(true);
+            return heartbeat;
+        });
+        heartbeatScheduler.scheduleWithFixedDelay(this::sendHeartbeat, HEARTBEAT_INTERVAL, HEARTBEAT_INTERVAL, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -44,25 +164,326 @@ public class ClientCommunicator {
      * @throws java.io.IOException When connection to the server cannot be
      * established.
      */
-    public static ClientCommunicator getInstance() throws IOException {
+    public static synchronized ClientCommunicator getInstance() throws IOException {
         if (instance == null) {
             instance = new ClientCommunicator();
         }
         return instance;
     }
 
+    /**
+     * Reads the client configuration.
+     *
+     * @return The configuration as {@code Properties}, empty if there is no
+     * configuration file.
+     * @throws IOException When the configuration file cannot be read.
+     */
+    private static Properties loadConfiguration() throws IOException {
+        Properties properties = new Properties();
+        if (Files.exists(Path.of(CONFIG_PATH))) {
+            try (InputStream in = new FileInputStream(CONFIG_PATH)) {
+                properties.load(in);
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Reads the servers the client can connect to from the client
+     * configuration.
+     *
+     * <p>
+     * The servers are listed in {@code endpoints}, separated by commas, each
+     * written as {@code host:port} or {@code unix:path}. Without a
+     * configuration file the client connects to localhost:9000 over TCP.
+     * </p>
+     *
+     * @param properties Client configuration as {@code Properties}.
+     * @return The servers as {@code List<Endpoint>}.
+     * @throws IOException When no servers are configured.
+     */
+    private static List<Endpoint> loadEndpoints(Properties properties) throws IOException {
+        List<Endpoint> configured = new ArrayList<>();
+        for (String value : properties.getProperty("endpoints", "localhost:9000").split(",")) {
+            if (!value.isBlank()) {
+                configured.add(Endpoint.parse(value));
+            }
+        }
+        if (configured.isEmpty()) {
+            throw new IOException("No server endpoints are configured in " + CONFIG_PATH);
+        }
+        return List.copyOf(configured);
+    }
+
+    /**
+     * Connects to the best configured server.
+     *
+     * <p>
+     * Servers that haven't failed recently are tried first, fastest first,
+     * then the ones considered down, so a single server is tried again even
+     * after it failed. Every server that can't be connected to is marked as
+     * down.
+     * </p>
+     *
+     * @return The new connection as {@code Connection}.
+     * @throws IOException When connection to none of the servers can be
+     * established.
+     */
+    private Connection connect() throws IOException {
+        record Candidate(Endpoint endpoint, boolean available, long responseTime) {
+        }
+        long now = System.nanoTime();
+        List<Candidate> candidates = new ArrayList<>();
+        for (Endpoint candidate : endpoints) {
+            candidates.add(new Candidate(candidate, candidate.isAvailable(now), candidate.getAverageResponseTime()));
+        }
+        candidates.sort(Comparator.comparing((Candidate candidate) -> !candidate.available()).thenComparingLong(Candidate::responseTime));
+
+        IOException lastFailure = null;
+        for (Candidate candidate : candidates) {
+            try {
+                Connection opened = candidate.endpoint().connect();
+                endpoint = candidate.endpoint();
+                AsyncLogger.getInstance().info("connected", "endpoint", endpoint);
+                return opened;
+            } catch (IOException ex) {
+                candidate.endpoint().recordFailure();
+                lastFailure = ex;
+            }
+        }
+        throw lastFailure;
+    }
+
+    /**
+     * Marks the server of the current connection as down and connects to the
+     * best configured server, which is another one if there is one that is
+     * up.
+     *
+     * @throws java.io.IOException When connection to none of the servers can
+     * be established.
+     */
+    public synchronized void failover() throws IOException {
+        endpoint.recordFailure();
+        reconnect();
+    }
+
+    /**
+     * Closes the current connection and connects to the best configured
+     * server again.
+     *
+     * @throws java.io.IOException When connection to none of the servers can
+     * be established.
+     */
+    public synchronized void reconnect() throws IOException {
+        pendingShutdownNotice = null;
+        try {
+            connection.close();
+        } catch (IOException ex) {
+            AsyncLogger.getInstance().warn("connection_not_closed", "error", ex.getMessage());
+        }
+        connection = connect();
+        responses = new LinkedBlockingQueue<>();
+        startReader(connection, responses);
+    }
+
+    /**
+     * Checks if more than one server is configured, so the client may be
+     * moved to a server that didn't see the writes made through the previous
+     * one.
+     *
+     * @return {@code true} if more than one server is configured, otherwise
+     * {@code false}.
+     */
+    public boolean hasFailoverEndpoints() {
+        return endpoints.size() > 1;
+    }
+
+    /**
+     * Adds a listener notified about change events pushed by the server.
+     *
+     * @param listener Listener as {@code ChangeEventListener}.
+     */
+    public void addChangeEventListener(ChangeEventListener listener) {
+        changeEventListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener notified about change events pushed by the server.
+     *
+     * @param listener Listener as {@code ChangeEventListener}.
+     */
+    public void removeChangeEventListener(ChangeEventListener listener) {
+        changeEventListeners.remove(listener);
+    }
+
+    /**
+     * Starts a daemon thread reading everything the server sends over a
+     * connection.
+     *
+     * @param connection The connection as {@code Connection}.
+     * @param responses Queue receiving the responses of the connection as
+     * {@code BlockingQueue<Object>}.
+     */
+    private void startReader(Connection connection, BlockingQueue<Object> responses) {
+        Thread reader = new Thread(() -> readFromServer(connection, responses), "server-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Reads messages from the server until the connection ends, notifying
+     * listeners about change events and queueing responses.
+     *
+     * <p>
+     * The exception that ended the connection is queued as well, so the
+     * request waiting for a response fails instead of waiting forever.
+     * </p>
+     *
+     * @param connection The connection as {@code Connection}.
+     * @param responses Queue receiving the responses of the connection as
+     * {@code BlockingQueue<Object>}.
+     */
+    @SuppressWarnings("unchecked")
+    private void readFromServer(Connection connection, BlockingQueue<Object> responses) {
+        try {
+            while (true) {
+                Response response = (Response) Communication.getInstance().receive(connection);
+                if (response.getOperation() == Operation.CHANGE_EVENT) {
+                    notifyChangeEventListeners((List<ChangeEvent>) response.getResult());
+                } else {
+                    responses.add(response);
+                }
+            }
+        } catch (IOException ex) {
+            responses.add(ex);
+        } catch (ClassNotFoundException ex) {
+            responses.add(new IOException(ex));
+        }
+    }
+
+    /**
+     * Notifies every listener about change events, a failing listener does not
+     * affect the others.
+     *
+     * @param events Change events as {@code List<ChangeEvent>}.
+     */
+    private void notifyChangeEventListeners(List<ChangeEvent> events) {
+        for (ChangeEventListener listener : changeEventListeners) {
+            try {
+                listener.changesReceived(events);
+            } catch (RuntimeException ex) {
+                AsyncLogger.getInstance().warn("change_event_listener_failed", "error", ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Waits for the next response of the current connection.
+     *
+     * @return Response as {@code Response}.
+     * @throws IOException If the connection has ended.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    private Response takeResponse() throws IOException, InterruptedException {
+        Object received = responses.take();
+        if (received instanceof IOException ex) {
+            responses.add(ex);
+            throw ex;
+        }
+        return (Response) received;
+    }
+
     /**
      * Sends a request to the server and receives a response from the server.
      *
+     * <p>
+     * The response time is recorded as the health of the server, and a
+     * broken connection marks the server as down.
+     * </p>
+     *
      * @param request Request as {@code Request} that will be sent to the
      * server.
      * @return Response as {@code Response} from the server.
-     * @throws Exception When there is an I/O socket error on the client-side or
-     * server-side.
+     * @throws Exception When there is an I/O connection error on the
+     * client-side or server-side.
      */
-    public Response sendRequestReceiveResponse(Request request) throws Exception {
-        System.out.println("request.getOperation() = " + request.getOperation());
-        Communication.getInstance().send(socket, request);
-        return (Response) Communication.getInstance().receive(socket);
+    public synchronized Response sendRequestReceiveResponse(Request request) throws Exception {
+        AsyncLogger.getInstance().debug("request", "operation", request.getOperation());
+        if (pendingShutdownNotice != null) {
+            Response notice = pendingShutdownNotice;
+            pendingShutdownNotice = null;
+            return notice;
+        }
+        lastRequest = System.nanoTime();
+        Endpoint current = endpoint;
+        try {
+            send(request);
+            Response response = takeResponse();
+            current.recordSuccess(System.nanoTime() - lastRequest);
+            return response;
+        } catch (IOException ex) {
+            current.recordFailure();
+            throw ex;
+        }
+    }
+
+    /**
+     * Asks the server to cancel a request that is waiting for its response.
+     * The server doesn't answer the cancellation, the cancelled request is
+     * answered with a {@code RequestCancelledException} instead, unless it has
+     * already finished.
+     *
+     * <p>
+     * Unlike other requests, a cancellation is sent without waiting for the
+     * pending response. A cancellation that cannot be sent is only reported.
+     * </p>
+     *
+     * @param requestID Correlation ID of the request to cancel as
+     * {@code long}.
+     */
+    public void cancel(long requestID) {
+        try {
+            send(new Request(requestID, Operation.CANCEL));
+        } catch (IOException ex) {
+            AsyncLogger.getInstance().warn("cancellation_failed", "request", requestID, "error", ex.getMessage());
+        }
+    }
+
+    /**
+     * Sends a request to the server over the current connection.
+     *
+     * @param request Request as {@code Request}.
+     * @throws IOException When the request cannot be sent.
+     */
+    private void send(Request request) throws IOException {
+        synchronized (writeLock) {
+            Communication.getInstance().send(connection, request);
+        }
+    }
+
+    /**
+     * Sends a heartbeat to the server, unless a request was sent within the
+     * last heartbeat interval.
+     *
+     * <p>
+     * A failed heartbeat is only reported, the broken connection is handled
+     * by the next request. A shutdown notice received instead of the heartbeat
+     * response is kept and returned as the response to the next request.
+     * </p>
+     */
+    private synchronized void sendHeartbeat() {
+        if (System.nanoTime() - lastRequest < TimeUnit.MILLISECONDS.toNanos(HEARTBEAT_INTERVAL) || connection.isClosed()) {
+            return;
+        }
+        try {
+            lastRequest = System.nanoTime();
+            send(new Request(null, Operation.HEARTBEAT));
+            Response response = takeResponse();
+            if (response.getException() instanceof ServerShutdownException) {
+                pendingShutdownNotice = response;
+            }
+        } catch (IOException | InterruptedException ex) {
+            AsyncLogger.getInstance().warn("heartbeat_failed", "error", ex.getMessage());
+        }
     }
 }
@@ -0,0 +1,213 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package com.fon.client.comunication;
+
+import com.fon.common.intercomm.Connection;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class representing a server the client can connect to, together with the
+ * health the client observed while using it.
+ *
+ * <p>
+ * An endpoint is written as {@code host:port}, or as {@code unix:path} for a
+ * server on the same host reached over a Unix domain socket. Every failed
+ * connection or request marks the endpoint as down for a time that doubles
+ * with consecutive failures, and every successful request updates its
+ * smoothed response time.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class Endpoint {
+
+    /**
+     * Prefix of endpoints reached over a Unix domain socket.
+     */
+    private static final String UNIX_PREFIX = "unix:";
+
+    /**
+     * Time in milliseconds an endpoint is considered down after its first
+     * failure.
+     */
+    private static final long MIN_DOWN_TIME = 1000;
+
+    /**
+     * Longest time in milliseconds an endpoint is considered down.
+     */
+    private static final long MAX_DOWN_TIME = 30000;
+
+    /**
+     * Timeout of establishing a TCP connection in milliseconds.
+     */
+    private static final int CONNECT_TIMEOUT = 5000;
+
+    /**
+     * Host of the server as {@code String} (read only), {@code null} for a
+     * Unix domain socket.
+     */
+    private final String host;
+
+    /**
+     * Port of the server as {@code int} (read only).
+     */
+    private final int port;
+
+    /**
+     * Path of the Unix domain socket of the server as {@code String} (read
+     * only), {@code null} for TCP.
+     */
+    private final String unixSocketPath;
+
+    /**
+     * Number of failures since the last successful request as {@code int}.
+     */
+    private int consecutiveFailures;
+
+    /**
+     * Time until which the endpoint is considered down in nanoseconds, as
+     * returned by {@code System.nanoTime()}, as {@code long}.
+     */
+    private long downUntil;
+
+    /**
+     * Exponentially smoothed response time in nanoseconds as {@code long},
+     * {@code 0} if no request has completed yet.
+     */
+    private long averageResponseTime;
+
+    /**
+     * Constructor for a server reached over TCP.
+     *
+     * @param host Host of the server as {@code String}.
+     * @param port Port of the server as {@code int}.
+     */
+    public Endpoint(String host, int port) {
+        this.host = host;
+        this.port = port;
+        this.unixSocketPath = null;
+    }
+
+    /**
+     * Constructor for a server reached over a Unix domain socket.
+     *
+     * @param unixSocketPath Path of the Unix domain socket as {@code String}.
+     */
+    public Endpoint(String unixSocketPath) {
+        this.host = null;
+        this.port = 0;
+        this.unixSocketPath = unixSocketPath;
+    }
+
+    /**
+     * Parses an endpoint written as {@code host:port} or {@code unix:path}.
+     *
+     * @param value Endpoint as {@code String}.
+     * @return The endpoint as {@code Endpoint}.
+     * @throws IllegalArgumentException If the endpoint is not written
+     * correctly.
+     */
+    public static Endpoint parse(String value) {
+        String trimmed = value.trim();
+        if (trimmed.startsWith(UNIX_PREFIX)) {
+            return new Endpoint(trimmed.substring(UNIX_PREFIX.length()));
+        }
+        int separator = trimmed.lastIndexOf(':');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Endpoint must be host:port or unix:path, was " + value);
+        }
+        return new Endpoint(trimmed.substring(0, separator), Integer.parseInt(trimmed.substring(separator + 1)));
+    }
+
+    /**
+     * Opens a new connection to the server.
+     *
+     * @return The connection as {@code Connection}.
+     * @throws IOException If the connection cannot be established.
+     */
+    public Connection connect() throws IOException {
+        if (unixSocketPath != null) {
+            return Connection.of(SocketChannel.open(UnixDomainSocketAddress.of(unixSocketPath)));
+        }
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT);
+        } catch (IOException ex) {
+            socket.close();
+            throw ex;
+        }
+        return Connection.of(socket);
+    }
+
+    /**
+     * Checks whether the endpoint is currently considered up.
+     *
+     * @param now Current time in nanoseconds, as returned by
+     * {@code System.nanoTime()}.
+     * @return {@code true} if the endpoint has not failed recently,
+     * {@code false} otherwise.
+     */
+    public synchronized boolean isAvailable(long now) {
+        return consecutiveFailures == 0 || now - downUntil >= 0;
+    }
+
+    /**
+     * Records a successful request and its response time, marking the
+     * endpoint as up.
+     *
+     * @param responseTime Response time in nanoseconds.
+     */
+    public synchronized void recordSuccess(long responseTime) {
+        consecutiveFailures = 0;
+        averageResponseTime = averageResponseTime == 0 ? responseTime : (averageResponseTime * 7 + responseTime) / 8;
+    }
+
+    /**
+     * Records a failed connection or request, marking the endpoint as down for
+     * a time that doubles with every consecutive failure.
+     */
+    public synchronized void recordFailure() {
+        long downTime = Math.min(MAX_DOWN_TIME, MIN_DOWN_TIME << Math.min(consecutiveFailures, 16));
+        consecutiveFailures++;
+        downUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(downTime);
+    }
+
+    /**
+     * Getter for consecutiveFailures.
+     *
+     * @return Number of failures since the last successful request as
+     * {@code int}.
+     */
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /**
+     * Getter for averageResponseTime.
+     *
+     * @return Exponentially smoothed response time in nanoseconds as
+     * {@code long}, {@code 0} if no request has completed yet.
+     */
+    public synchronized long getAverageResponseTime() {
+        return averageResponseTime;
+    }
+
+    /**
+     * toString method which returns the endpoint as written in the
+     * configuration.
+     *
+     * @return String representation of the Endpoint.
+     */
+    @Override
+    public String toString() {
+        return unixSocketPath != null ? UNIX_PREFIX + unixSocketPath : host + ":" + port;
+    }
+}
@@ -0,0 +1,248 @@
+package com.fon.client.controller;
+
+import com.fon.client.comunication.ChangeEventListener;
+import com.fon.common.domain.EntityType;
+import com.fon.common.intercomm.ChangeEvent;
+import com.fon.common.intercomm.ChangeSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.SwingUtilities;
+
+/**
+ * Class keeping the rows a form shows of an entity type up to date.
+ *
+ * <p>
+ * When the server pushes a change event of the entity type, the changes made
+ * since the rows were last synchronized are fetched with
+ * {@code GET_CHANGES_SINCE} and merged into the rows in place. Only when the
+ * server no longer remembers all the changes, or a change cannot be merged,
+ * are the rows reloaded. Rows are fetched on the I/O thread and merged on the
+ * event dispatch thread.
+ * </p>
+ *
+ * <p>
+ * A load supersedes the load still in progress, whose request is cancelled on
+ * the server, so only the rows of the latest load are ever shown.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ * @param <T> Type of all rows as fetched from the server.
+ */
+public class ChangeSynchronizer<T> {
+
+    /**
+     * Functional interface for fetching all rows.
+     *
+     * @param <T> Type of all rows as fetched from the server.
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+
+        /**
+         * Starts fetching all rows.
+         *
+         * @return Future completed on the event dispatch thread with the rows,
+         * as {@code CompletableFuture<T>}.
+         */
+        CompletableFuture<T> load();
+    }
+
+    /**
+     * Functional interface for merging changes into the rows.
+     */
+    @FunctionalInterface
+    public interface Merger {
+
+        /**
+         * Merges changes into the rows.
+         *
+         * @param changes Changes in order of their sequence numbers as
+         * {@code List<ChangeEvent>}.
+         * @return {@code true} if all changes were merged, {@code false} if
+         * the rows have to be reloaded.
+         */
+        boolean merge(List<ChangeEvent> changes);
+    }
+
+    /**
+     * Entity type of the rows as {@code EntityType} (read only).
+     */
+    private final EntityType entityType;
+
+    /**
+     * Fetches all rows as {@code Loader<T>} (read only).
+     */
+    private final Loader<T> loader;
+
+    /**
+     * Shows all fetched rows as {@code Consumer<T>} (read only).
+     */
+    private final Consumer<T> view;
+
+    /**
+     * Merges changes into the rows as {@code Merger} (read only).
+     */
+    private final Merger merger;
+
+    /**
+     * Listener of change events pushed by the server as
+     * {@code ChangeEventListener} (read only).
+     */
+    private final ChangeEventListener changeEventListener;
+
+    /**
+     * Sequence number of the latest change the rows include as {@code long},
+     * {@code -1} before the rows are loaded.
+     */
+    private volatile long sequence;
+
+    /**
+     * Whether a synchronization is running as {@code boolean}, only accessed
+     * on the event dispatch thread.
+     */
+    private boolean synchronizing;
+
+    /**
+     * Whether another synchronization was asked for while one was running as
+     * {@code boolean}, only accessed on the event dispatch thread.
+     */
+    private boolean synchronizationPending;
+
+    /**
+     * Rows being fetched by the load in progress as
+     * {@code CompletableFuture<T>}, {@code null} if no load is in progress.
+     * Only accessed on the event dispatch thread.
+     */
+    private CompletableFuture<T> pendingLoad;
+
+    /**
+     * Constructor with all parameters.
+     *
+     * @param entityType Entity type of the rows as {@code EntityType}.
+     * @param loader Fetches all rows as {@code Loader<T>}.
+     * @param view Shows all fetched rows as {@code Consumer<T>}.
+     * @param merger Merges changes into the rows as {@code Merger}.
+     */
+    public ChangeSynchronizer(EntityType entityType, Loader<T> loader, Consumer<T> view, Merger merger) {
+        this.entityType = entityType;
+        this.loader = loader;
+        this.view = view;
+        this.merger = merger;
+        this.sequence = -1;
+        this.changeEventListener = this::changesReceived;
+    }
+
+    /**
+     * Starts listening to change events of the entity type.
+     *
+     * @throws Exception When the listener cannot be added.
+     */
+    public void start() throws Exception {
+        ClientController.getInstance().addChangeEventListener(changeEventListener);
+        ClientController.getInstance().subscribeAsync(entityType).exceptionally(this::logException);
+    }
+
+    /**
+     * Stops listening to change events of the entity type.
+     *
+     * @throws Exception When the listener cannot be removed.
+     */
+    public void stop() throws Exception {
+        ClientController.getInstance().removeChangeEventListener(changeEventListener);
+        ClientController.getInstance().unsubscribeAsync(entityType).exceptionally(this::logException);
+    }
+
+    /**
+     * Starts loading all rows, noting the latest change on the server first so
+     * no change made during loading is missed, and cancels the load in
+     * progress. Must be called on the event dispatch thread.
+     *
+     * @return Future completed on the event dispatch thread once the rows are
+     * shown, or cancelled if the load is superseded, as
+     * {@code CompletableFuture<Void>}.
+     */
+    public CompletableFuture<Void> load() {
+        if (pendingLoad != null) {
+            pendingLoad.cancel(true);
+        }
+        CompletableFuture<ChangeSet> latest = ClientController.getInstance().getChangesSinceAsync(-1);
+        CompletableFuture<T> rows = loader.load();
+        pendingLoad = rows;
+        return latest.thenAcceptBoth(rows, (changeSet, fetched) -> {
+            if (pendingLoad == rows) {
+                pendingLoad = null;
+            }
+            view.accept(fetched);
+            sequence = changeSet.getSequence();
+        });
+    }
+
+    /**
+     * Starts merging the changes made since the last synchronization into the
+     * rows, or reloading them if the changes cannot be merged. Must be called
+     * on the event dispatch thread.
+     */
+    public void synchronize() {
+        if (sequence < 0) {
+            return;
+        }
+        if (synchronizing) {
+            synchronizationPending = true;
+            return;
+        }
+        synchronizing = true;
+        ClientController.getInstance().getChangesSinceAsync(sequence)
+                .thenCompose(changeSet -> {
+                    if (changeSet.isFullReload() || !merger.merge(changeSet.getChanges())) {
+                        return load();
+                    }
+                    sequence = changeSet.getSequence();
+                    return CompletableFuture.<Void>completedFuture(null);
+                })
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        logException(ex);
+                    }
+                    synchronizing = false;
+                    if (synchronizationPending) {
+                        synchronizationPending = false;
+                        synchronize();
+                    }
+                });
+    }
+
+    /**
+     * Logs an exception of an asynchronous call.
+     *
+     * @param ex Exception as {@code Throwable}.
+     * @return {@code null}, so it can be passed to {@code exceptionally}.
+     */
+    private Void logException(Throwable ex) {
+        Logger.getLogger(ChangeSynchronizer.class.getName()).log(Level.SEVERE, null, ex);
+        return null;
+    }
+
+    /**
+     * Schedules a synchronization on the event dispatch thread if the pushed
+     * events include a change of the entity type the rows don't include yet.
+     *
+     * @param events Change events pushed by the server as
+     * {@code List<ChangeEvent>}.
+     */
+    private void changesReceived(List<ChangeEvent> events) {
+        long current = sequence;
+        if (current < 0) {
+            return;
+        }
+        for (ChangeEvent event : events) {
+            if (event.getEntityType() == entityType && (event.getSequence() > current || event.isReloadRequired())) {
+                SwingUtilities.invokeLater(this::synchronize);
+                return;
+            }
+        }
+    }
+}
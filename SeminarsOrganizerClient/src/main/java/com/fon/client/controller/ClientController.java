@@ -4,12 +4,31 @@
  */
 package com.fon.client.controller;
 
+import com.fon.client.comunication.ChangeEventListener;
 import com.fon.client.comunication.ClientCommunicator;
 import com.fon.common.intercomm.*;
 import com.fon.common.domain.*;
+import com.fon.common.exceptions.LoginException;
+import com.fon.common.exceptions.ServerBusyException;
+import com.fon.common.exceptions.ServerShutdownException;
+import com.fon.common.logging.AsyncLogger;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
-import javax.swing.JOptionPane;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.swing.SwingUtilities;
 
 /**
  *
@@ -17,39 +36,424 @@ import javax.swing.JOptionPane;
  */
 public class ClientController {
 
+    private static final int MAX_BUSY_RETRIES = 5;
+    private static final long MAX_BACKOFF = 10000;
+    private static final int MAX_RECONNECT_ATTEMPTS = 10;
+    private static final int MAX_FAILOVER_ATTEMPTS = 3;
+    private static final long FAILOVER_DELAY = 100;
+    private static final long REQUEST_TIMEOUT = 30000;
+    private static final String CONNECTION_LOST_MESSAGE = "Пукла је веза са сервером, проверите да ли је измена сачувана";
+
+    /**
+     * Operations that can be sent again after the connection broke, since
+     * running them twice has the same effect as running them once.
+     */
+    private static final Set<Operation> IDEMPOTENT_OPERATIONS = EnumSet.of(
+            Operation.LOGIN, Operation.SUBSCRIBE, Operation.GET_CHANGES_SINCE,
+            Operation.GET_ALL_SEMINARS, Operation.GET_SEMINAR_BY_ID, Operation.GET_SEMINARS_BY_CONDITION,
+            Operation.GET_ALL_PARTICIPANTS, Operation.GET_PARTICIPANTS_BY_CONDITION, Operation.GET_PARTICIPANT_BY_ID,
+            Operation.GET_ALL_EDUCATIONAL_INSTITUTIONS,
+            Operation.GET_SEMINAR_SCHEDULES_BY_CONDITION, Operation.GET_SEMINAR_SCHEDULE_BY_ID);
+
     private static ClientController instance;
     private Admin loggedAdmin;
+    private Admin credentials;
+    private String sessionToken;
+    private final Map<EntityType, Integer> subscriptions;
+    private final Map<Operation, Response> referenceDataCache;
+    private final ExecutorService ioExecutor;
+    private final AtomicLong requestIDs;
+    private final ThreadLocal<AsyncCall> currentCall;
+    private final ThreadLocal<Boolean> restoringSession;
+
+    /**
+     * Call made through an async method, through which the request it is
+     * waiting for can be cancelled.
+     */
+    private static class AsyncCall {
+
+        private volatile boolean cancelled;
+        private volatile long requestID;
+
+        /**
+         * Records the request the call is about to send.
+         *
+         * @param requestID Correlation ID of the request as {@code long}.
+         * @throws CancellationException If the call was cancelled, in which
+         * case the request must not be sent.
+         */
+        private void sending(long requestID) {
+            this.requestID = requestID;
+            if (cancelled) {
+                throw new CancellationException();
+            }
+        }
+
+        /**
+         * Cancels the call, asking the server to cancel the request the call
+         * is waiting for, if any.
+         */
+        private void cancel() {
+            cancelled = true;
+            long pending = requestID;
+            if (pending == 0) {
+                return;
+            }
+            CompletableFuture.runAsync(() -> {
+                try {
+                    ClientCommunicator.getInstance().cancel(pending);
+                } catch (IOException ex) {
+                    AsyncLogger.getInstance().warn("cancellation_failed", "request", pending, "error", ex.getMessage());
+                }
+            });
+        }
+    }
 
     private ClientController() {
+        subscriptions = new EnumMap<>(EntityType.class);
+        referenceDataCache = new ConcurrentHashMap<>();
+        ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "client-io");
+            thread.setDaemon(true);
+            return thread;
+        });
+        requestIDs = new AtomicLong();
+        currentCall = new ThreadLocal<>();
+        restoringSession = ThreadLocal.withInitial(() -> false);
     }
 
-    public static ClientController getInstance() {
+    public static synchronized ClientController getInstance() {
         if (instance == null) {
             instance = new ClientController();
         }
         return instance;
     }
 
+    /**
+     * Runs a call on the I/O thread, so the event dispatch thread never waits
+     * on the server.
+     *
+     * <p>
+     * The returned future is completed on the event dispatch thread, so
+     * actions added to it with the non-async methods of
+     * {@code CompletableFuture} can update forms directly. Calls are run one
+     * at a time in the order they were made, the same order the server
+     * connection handles them in anyway.
+     * </p>
+     *
+     * <p>
+     * Cancelling the returned future skips the call if it hasn't started yet,
+     * and otherwise asks the server to cancel the request the call is waiting
+     * for, which then stops running its query.
+     * </p>
+     *
+     * @param <T> Type of the result.
+     * @param call Call as {@code Callable<T>}.
+     * @return Future completed on the event dispatch thread with the result
+     * or the exception of the call, as {@code CompletableFuture<T>}.
+     */
+    private <T> CompletableFuture<T> supplyAsync(Callable<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        AsyncCall asyncCall = new AsyncCall();
+        future.whenComplete((result, ex) -> {
+            if (future.isCancelled()) {
+                asyncCall.cancel();
+            }
+        });
+        ioExecutor.execute(() -> {
+            if (future.isDone()) {
+                return;
+            }
+            currentCall.set(asyncCall);
+            try {
+                T result = call.call();
+                SwingUtilities.invokeLater(() -> future.complete(result));
+            } catch (Exception ex) {
+                SwingUtilities.invokeLater(() -> future.completeExceptionally(ex));
+            } finally {
+                currentCall.remove();
+            }
+        });
+        return future;
+    }
+
     private Object sendObjectReceiveResponse(Object argument, Operation operation) throws Exception {
-        try {
-            Request request = new Request(argument, operation);
-            Response response = ClientCommunicator.getInstance().sendRequestReceiveResponse(request);
+        Response response = sendRequestReceiveResponse(new Request(argument, operation));
+        return response == null ? null : response.getResult();
+    }
 
+    /**
+     * Sends a request for a whole list of reference data, reusing the list
+     * received last time if the server reports it as not modified.
+     *
+     * <p>
+     * The last response of every operation is kept with its entity tag, which
+     * is sent with the next request of the operation. Callers get a copy of
+     * the kept list, so they can't change it.
+     * </p>
+     *
+     * <p>
+     * With more than one server configured, no entity tag is sent. An entity
+     * tag only reflects the writes seen by the server that issued it.
+     * </p>
+     *
+     * @param operation Operation returning a whole list as {@code Operation}.
+     * @return The list as {@code List<?>}.
+     * @throws Exception When the server returns an error.
+     */
+    private List<?> sendConditionalRequest(Operation operation) throws Exception {
+        Response cached = referenceDataCache.get(operation);
+        Request request = new Request(null, operation);
+        if (cached != null && !ClientCommunicator.getInstance().hasFailoverEndpoints()) {
+            request.setEntityTag(cached.getEntityTag());
+        }
+
+        Response response = sendRequestReceiveResponse(request);
+        if (response == null) {
+            return null;
+        }
+        if (response.isNotModified() && cached != null) {
+            return new ArrayList<>((List<?>) cached.getResult());
+        }
+        if (response.getEntityTag() != null) {
+            referenceDataCache.put(operation, response);
+        } else {
+            referenceDataCache.remove(operation);
+        }
+        return new ArrayList<>((List<?>) response.getResult());
+    }
+
+    /**
+     * Returns the entity tag of the list last received for an operation.
+     *
+     * @param operation Operation returning a whole list as {@code Operation}.
+     * @return Entity tag as {@code String}, {@code null} if no tagged list was
+     * received.
+     */
+    public String getEntityTag(Operation operation) {
+        Response cached = referenceDataCache.get(operation);
+        return cached == null ? null : cached.getEntityTag();
+    }
+
+    /**
+     * Sends a request, retrying it while the server is busy and moving to
+     * another server when the connection breaks or the server shuts down.
+     *
+     * <p>
+     * After the connection breaks, the client fails over to the best
+     * available server and logs in again. Idempotent requests are then sent
+     * again transparently. Other requests fail, since the broken connection
+     * may have been lost after the server had already committed them.
+     * </p>
+     *
+     * @param request Request as {@code Request}.
+     * @return Response as {@code Response}.
+     * @throws Exception When the server returns an error, or no server can be
+     * reached.
+     */
+    private Response sendRequestReceiveResponse(Request request) throws Exception {
+        Operation operation = request.getOperation();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(REQUEST_TIMEOUT);
+        for (int attempt = 0;; attempt++) {
+            request.setRequestID(requestIDs.incrementAndGet());
+            request.setTimeout(Math.max(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()), 1));
+            AsyncCall asyncCall = currentCall.get();
+            if (asyncCall != null) {
+                asyncCall.sending(request.getRequestID());
+            }
+            Response response;
+            try {
+                response = ClientCommunicator.getInstance().sendRequestReceiveResponse(request);
+            } catch (IOException ex) {
+                AsyncLogger.getInstance().warn("connection_lost", "operation", operation, "error", ex.getMessage());
+                if (restoringSession.get()) {
+                    throw ex;
+                }
+                failover(FAILOVER_DELAY, MAX_FAILOVER_ATTEMPTS, operation);
+                if (IDEMPOTENT_OPERATIONS.contains(operation) && attempt < MAX_BUSY_RETRIES) {
+                    continue;
+                }
+                throw new IOException(CONNECTION_LOST_MESSAGE, ex);
+            }
+
+            if (response.getException() instanceof ServerBusyException busy && attempt < MAX_BUSY_RETRIES) {
+                Thread.sleep(backoff(busy.getRetryAfter(), attempt));
+                if (busy.isConnectionRejected()) {
+                    ClientCommunicator.getInstance().reconnect();
+                }
+                continue;
+            }
+            if (response.getException() instanceof ServerShutdownException shutdown && attempt < MAX_BUSY_RETRIES) {
+                failover(shutdown.getRetryAfter(), MAX_RECONNECT_ATTEMPTS, operation);
+                continue;
+            }
             if (response.getException() != null) {
                 throw response.getException();
             }
-            return response.getResult();
-        } catch (IOException e) {
-            System.out.println(e.getMessage());
-            JOptionPane.showMessageDialog(null, "Пукла је веза или се сервер угасио", "Сервер недоступан", JOptionPane.WARNING_MESSAGE);
-            System.exit(0);
+            return response;
+        }
+    }
+
+    /**
+     * Computes the delay before retrying a request rejected by a busy server.
+     *
+     * <p>
+     * The delay suggested by the server is doubled on every attempt and a
+     * random part of the same size is added, so clients rejected at the same
+     * moment don't all retry at the same moment.
+     * </p>
+     *
+     * @param retryAfter Delay suggested by the server in milliseconds.
+     * @param attempt Number of the attempt that was rejected, starting with 0.
+     * @return Delay in milliseconds.
+     */
+    private long backoff(long retryAfter, int attempt) {
+        long delay = Math.min(MAX_BACKOFF, Math.max(1, retryAfter) << attempt);
+        return delay + ThreadLocalRandom.current().nextLong(delay + 1);
+    }
+
+    /**
+     * Moves the connection to the best available server after the server
+     * shut down or the connection broke, logs in again and renews the
+     * subscription to change events.
+     *
+     * <p>
+     * Reconnecting starts after a random delay based on the passed delay, so
+     * clients of a restarted server don't all reconnect at the same moment,
+     * and keeps backing off while no server is up. The server of the lost
+     * connection is marked as down, so another configured server is preferred.
+     * </p>
+     *
+     * <p>
+     * The session is resumed with the session token when the server still
+     * knows it, which doesn't touch the database, and otherwise the client
+     * logs in again with its credentials.
+     * </p>
+     *
+     * @param reconnectDelay Delay before reconnecting in milliseconds.
+     * @param maxAttempts Number of reconnection attempts after the first one.
+     * @param operation Operation of the request that will be sent again.
+     * @throws Exception When no server can be reached or the login fails.
+     */
+    private void failover(long reconnectDelay, int maxAttempts, Operation operation) throws Exception {
+        for (int attempt = 0;; attempt++) {
+            Thread.sleep(backoff(reconnectDelay, attempt));
+            try {
+                if (attempt == 0) {
+                    ClientCommunicator.getInstance().failover();
+                } else {
+                    ClientCommunicator.getInstance().reconnect();
+                }
+                break;
+            } catch (IOException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+            }
+        }
+        if (credentials != null && operation != Operation.LOGIN && operation != Operation.RESUME_SESSION) {
+            restoringSession.set(true);
+            try {
+                if (!resumeSession()) {
+                    login(credentials);
+                }
+                synchronized (subscriptions) {
+                    if (!subscriptions.isEmpty() && operation != Operation.SUBSCRIBE) {
+                        sendObjectReceiveResponse(EnumSet.copyOf(subscriptions.keySet()), Operation.SUBSCRIBE);
+                    }
+                }
+            } finally {
+                restoringSession.set(false);
+            }
+        }
+    }
+
+    /**
+     * Resumes the session on the current connection with the session token
+     * received last.
+     *
+     * @return {@code true} if the session was resumed, {@code false} if there
+     * is no token or the server no longer accepts it.
+     * @throws Exception When the request cannot be sent.
+     */
+    private boolean resumeSession() throws Exception {
+        if (sessionToken == null) {
+            return false;
+        }
+        try {
+            Response response = sendRequestReceiveResponse(new Request(sessionToken, Operation.RESUME_SESSION));
+            sessionToken = response.getSessionToken();
+            return true;
+        } catch (LoginException ex) {
+            sessionToken = null;
+            return false;
+        }
+    }
+
+    /**
+     * Subscribes to change events of the passed entity types, in addition to
+     * the entity types already subscribed to.
+     *
+     * <p>
+     * Subscriptions are counted, an entity type stays subscribed to until it
+     * has been unsubscribed from as many times as it was subscribed to.
+     * </p>
+     *
+     * @param entityTypes Entity types as {@code EntityType...}.
+     * @throws Exception When the subscription cannot be sent to the server.
+     */
+    public void subscribe(EntityType... entityTypes) throws Exception {
+        synchronized (subscriptions) {
+            for (EntityType entityType : entityTypes) {
+                subscriptions.merge(entityType, 1, Integer::sum);
+            }
+            sendObjectReceiveResponse(EnumSet.copyOf(subscriptions.keySet()), Operation.SUBSCRIBE);
+        }
+    }
+
+    /**
+     * Cancels one subscription to change events of the passed entity types.
+     *
+     * @param entityTypes Entity types as {@code EntityType...}.
+     * @throws Exception When the subscription cannot be sent to the server.
+     */
+    public void unsubscribe(EntityType... entityTypes) throws Exception {
+        synchronized (subscriptions) {
+            for (EntityType entityType : entityTypes) {
+                subscriptions.computeIfPresent(entityType, (type, count) -> count > 1 ? count - 1 : null);
+            }
+            sendObjectReceiveResponse(subscriptions.isEmpty() ? null : EnumSet.copyOf(subscriptions.keySet()), Operation.SUBSCRIBE);
         }
-        return null;
+    }
+
+    public CompletableFuture<Void> subscribeAsync(EntityType... entityTypes) {
+        return supplyAsync(() -> {
+            subscribe(entityTypes);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> unsubscribeAsync(EntityType... entityTypes) {
+        return supplyAsync(() -> {
+            unsubscribe(entityTypes);
+            return null;
+        });
+    }
+
+    public void addChangeEventListener(ChangeEventListener listener) throws IOException {
+        ClientCommunicator.getInstance().addChangeEventListener(listener);
+    }
+
+    public void removeChangeEventListener(ChangeEventListener listener) throws IOException {
+        ClientCommunicator.getInstance().removeChangeEventListener(listener);
     }
 
     public Admin login(Admin admin) throws Exception {
-        admin = (Admin) sendObjectReceiveResponse(admin, Operation.LOGIN);
-        return admin;
+        Response response = sendRequestReceiveResponse(new Request(admin, Operation.LOGIN));
+        credentials = admin;
+        loggedAdmin = (Admin) response.getResult();
+        sessionToken = response.getSessionToken();
+        return loggedAdmin;
     }
 
     public void createSeminar(Seminar seminar) throws Exception {
@@ -57,7 +461,7 @@ public class ClientController {
     }
 
     public List<Seminar> getAllSeminars() throws Exception {
-        List<Seminar> allSeminars = (List<Seminar>) sendObjectReceiveResponse(null, Operation.GET_ALL_SEMINARS);
+        List<Seminar> allSeminars = (List<Seminar>) sendConditionalRequest(Operation.GET_ALL_SEMINARS);
         return allSeminars;
     }
 
@@ -76,7 +480,7 @@ public class ClientController {
     }
 
     public List<Participant> getAllParticipants() throws Exception {
-        List<Participant> participants = (List<Participant>) sendObjectReceiveResponse(null, Operation.GET_ALL_PARTICIPANTS);
+        List<Participant> participants = (List<Participant>) sendConditionalRequest(Operation.GET_ALL_PARTICIPANTS);
         return participants;
     }
 
@@ -90,7 +494,7 @@ public class ClientController {
     }
 
     public List<EducationalInstitution> getAllEducationalInstitutions() throws Exception {
-        return (List<EducationalInstitution>) sendObjectReceiveResponse(null, Operation.GET_ALL_EDUCATIONAL_INSTITUTIONS);
+        return (List<EducationalInstitution>) sendConditionalRequest(Operation.GET_ALL_EDUCATIONAL_INSTITUTIONS);
     }
 
     public void createSeminarSchedule(SeminarSchedule seminarSchedule) throws Exception {
@@ -114,4 +518,86 @@ public class ClientController {
         sendObjectReceiveResponse(seminar, Operation.SAVE_SEMINAR);
     }
 
+    public ChangeSet getChangesSince(long sequence) throws Exception {
+        return (ChangeSet) sendObjectReceiveResponse(sequence, Operation.GET_CHANGES_SINCE);
+    }
+
+    public CompletableFuture<Admin> loginAsync(Admin admin) {
+        return supplyAsync(() -> login(admin));
+    }
+
+    public CompletableFuture<Void> createSeminarAsync(Seminar seminar) {
+        return supplyAsync(() -> {
+            createSeminar(seminar);
+            return null;
+        });
+    }
+
+    public CompletableFuture<List<Seminar>> getAllSeminarsAsync() {
+        return supplyAsync(this::getAllSeminars);
+    }
+
+    public CompletableFuture<Seminar> getSeminarByIDAsync(int condition) {
+        return supplyAsync(() -> getSeminarByID(condition));
+    }
+
+    public CompletableFuture<List<Seminar>> getSeminarsByCondititionAsync(String condition) {
+        return supplyAsync(() -> getSeminarsByConditition(condition));
+    }
+
+    public CompletableFuture<Void> createParticipantAsync(Participant participant) {
+        return supplyAsync(() -> {
+            createParticipant(participant);
+            return null;
+        });
+    }
+
+    public CompletableFuture<List<Participant>> getAllParticipantsAsync() {
+        return supplyAsync(this::getAllParticipants);
+    }
+
+    public CompletableFuture<List<Participant>> getParticipantsByCondititionAsync(String condition) {
+        return supplyAsync(() -> getParticipantsByConditition(condition));
+    }
+
+    public CompletableFuture<Participant> getParticipantByIDAsync(int condition) {
+        return supplyAsync(() -> getParticipantByID(condition));
+    }
+
+    public CompletableFuture<List<EducationalInstitution>> getAllEducationalInstitutionsAsync() {
+        return supplyAsync(this::getAllEducationalInstitutions);
+    }
+
+    public CompletableFuture<Void> createSeminarScheduleAsync(SeminarSchedule seminarSchedule) {
+        return supplyAsync(() -> {
+            createSeminarSchedule(seminarSchedule);
+            return null;
+        });
+    }
+
+    public CompletableFuture<List<SeminarSchedule>> getSeminarSchedulesByConditionAsync(List<Object> condition) {
+        return supplyAsync(() -> getSeminarSchedulesByCondition(condition));
+    }
+
+    public CompletableFuture<SeminarSchedule> getSeminarScheduleByIDAsync(int seminarScheduleID) {
+        return supplyAsync(() -> getSeminarScheduleByID(seminarScheduleID));
+    }
+
+    public CompletableFuture<Void> saveSeminarScheduleAsync(SeminarSchedule seminarSchedule) {
+        return supplyAsync(() -> {
+            saveSeminarSchedule(seminarSchedule);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> saveSeminarAsync(Seminar seminar) {
+        return supplyAsync(() -> {
+            saveSeminar(seminar);
+            return null;
+        });
+    }
+
+    public CompletableFuture<ChangeSet> getChangesSinceAsync(long sequence) {
+        return supplyAsync(() -> getChangesSince(sequence));
+    }
 }
@@ -0,0 +1,98 @@
+package com.fon.client.forms;
+
+import java.awt.Component;
+import java.awt.Cursor;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.JComponent;
+
+/**
+ * Utility class showing a form as busy while it waits for the server.
+ *
+ * <p>
+ * The form shows the wait cursor and the component that started the wait
+ * (usually a button) is disabled, so it can't be pressed again, until the
+ * future completes. Waits started from the same component may overlap (a
+ * search superseding the previous one), in which case the form is restored
+ * only when the last of them completes.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class BusyIndicator {
+
+    /**
+     * Client property of the trigger holding the number of waits in progress.
+     */
+    private static final String WAITS_PROPERTY = BusyIndicator.class.getName() + ".waits";
+
+    /**
+     * Client property of the trigger holding the form cursor before the first
+     * wait in progress.
+     */
+    private static final String CURSOR_PROPERTY = BusyIndicator.class.getName() + ".cursor";
+
+    /**
+     * Private constructor, the class has only static methods.
+     */
+    private BusyIndicator() {
+    }
+
+    /**
+     * Shows the form as busy until the future completes, then restores the
+     * form and passes the result or the exception to the handler.
+     *
+     * @param <T> Type of the result.
+     * @param form Form waiting for the server as {@code Component}.
+     * @param trigger Component that started the wait as {@code JComponent}.
+     * @param future Future completed on the event dispatch thread as
+     * {@code CompletableFuture<T>}.
+     * @param handler Handler of the result, or of the exception if it is not
+     * {@code null}, as {@code BiConsumer<T, Throwable>}.
+     */
+    public static <T> void whenDone(Component form, JComponent trigger, CompletableFuture<T> future, BiConsumer<T, Throwable> handler) {
+        Integer waits = (Integer) trigger.getClientProperty(WAITS_PROPERTY);
+        if (waits == null) {
+            trigger.putClientProperty(CURSOR_PROPERTY, form.getCursor());
+            form.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+            trigger.setEnabled(false);
+            waits = 0;
+        }
+        trigger.putClientProperty(WAITS_PROPERTY, waits + 1);
+
+        future.whenComplete((result, ex) -> {
+            int remaining = (Integer) trigger.getClientProperty(WAITS_PROPERTY) - 1;
+            if (remaining == 0) {
+                form.setCursor((Cursor) trigger.getClientProperty(CURSOR_PROPERTY));
+                trigger.putClientProperty(CURSOR_PROPERTY, null);
+                trigger.putClientProperty(WAITS_PROPERTY, null);
+                trigger.setEnabled(true);
+            } else {
+                trigger.putClientProperty(WAITS_PROPERTY, remaining);
+            }
+            try {
+                handler.accept(result, unwrap(ex));
+            } catch (RuntimeException handlerEx) {
+                Logger.getLogger(BusyIndicator.class.getName()).log(Level.SEVERE, null, handlerEx);
+            }
+        });
+    }
+
+    /**
+     * Returns the exception a completion exception was caused by.
+     *
+     * @param ex Exception as {@code Throwable}, may be {@code null}.
+     * @return The cause if {@code ex} is a completion exception, otherwise
+     * {@code ex}.
+     */
+    private static Throwable unwrap(Throwable ex) {
+        while (ex instanceof CompletionException && ex.getCause() != null) {
+            ex = ex.getCause();
+        }
+        return ex;
+    }
+}
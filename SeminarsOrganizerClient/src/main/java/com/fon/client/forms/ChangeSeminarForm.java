@@ -203,14 +203,19 @@ public class ChangeSeminarForm extends javax.swing.JDialog {
     private void btnCreateActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btnCreateActionPerformed
         try {
             Seminar seminar = getSeminarFromForm();
-            ClientController.getInstance().createSeminar(seminar);
-            JOptionPane.showMessageDialog(rootPane, "Систем је додао семинар", "Успешно прављење семинара", JOptionPane.INFORMATION_MESSAGE);
-            this.dispose();
+            BusyIndicator.whenDone(this, btnCreate, ClientController.getInstance().createSeminarAsync(seminar), (result, ex) -> {
+                if (ex == null) {
+                    JOptionPane.showMessageDialog(rootPane, "Систем је додао семинар", "Успешно прављење семинара", JOptionPane.INFORMATION_MESSAGE);
+                    this.dispose();
+                } else if (ex instanceof RuntimeException) {
+                    JOptionPane.showMessageDialog(this, ex.getMessage(), "Грешка при валидацији", JOptionPane.ERROR_MESSAGE);
+                } else {
+                    Logger.getLogger(ChangeSeminarForm.class.getName()).log(Level.SEVERE, null, ex);
+                    JOptionPane.showMessageDialog(rootPane, "Систем не може направити семинар", "Неуспешнo прављење семинара", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         } catch (RuntimeException ex) {
             JOptionPane.showMessageDialog(this, ex.getMessage(), "Грешка при валидацији", JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
-            Logger.getLogger(ChangeSeminarForm.class.getName()).log(Level.SEVERE, null, ex);
-            JOptionPane.showMessageDialog(rootPane, "Систем не може направити семинар", "Неуспешнo прављење семинара", JOptionPane.ERROR_MESSAGE);
         }
     }//GEN-LAST:event_btnCreateActionPerformed
 
@@ -251,14 +256,19 @@ public class ChangeSeminarForm extends javax.swing.JDialog {
             List<SeminarTopic> seminarTopics = setStateForSeminarTopics(seminar, seminarTopicsOriginal);
             seminar.setSeminarTopics(seminarTopics);
 
-            ClientController.getInstance().saveSeminar(seminar);
-            JOptionPane.showMessageDialog(rootPane, "Систем је запамтио семинар", "Успешна измена семинара", JOptionPane.INFORMATION_MESSAGE);
-            this.dispose();
+            BusyIndicator.whenDone(this, btnSave, ClientController.getInstance().saveSeminarAsync(seminar), (result, ex) -> {
+                if (ex == null) {
+                    JOptionPane.showMessageDialog(rootPane, "Систем је запамтио семинар", "Успешна измена семинара", JOptionPane.INFORMATION_MESSAGE);
+                    this.dispose();
+                } else if (ex instanceof RuntimeException) {
+                    JOptionPane.showMessageDialog(rootPane, ex.getMessage(), "Грешка при валидацији", JOptionPane.ERROR_MESSAGE);
+                } else {
+                    Logger.getLogger(ChangeSeminarForm.class.getName()).log(Level.SEVERE, null, ex);
+                    JOptionPane.showMessageDialog(rootPane, "Систем не може запамтити семинар", "Успешна измена семинара", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         } catch (RuntimeException ex) {
             JOptionPane.showMessageDialog(rootPane, ex.getMessage(), "Грешка при валидацији", JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
-            Logger.getLogger(ChangeSeminarForm.class.getName()).log(Level.SEVERE, null, ex);
-            JOptionPane.showMessageDialog(rootPane, "Систем не може запамтити семинар", "Успешна измена семинара", JOptionPane.ERROR_MESSAGE);
         }
     }//GEN-LAST:event_btnSaveActionPerformed
 
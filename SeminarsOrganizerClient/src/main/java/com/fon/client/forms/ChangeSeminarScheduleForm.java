@@ -1,6 +1,8 @@
 package com.fon.client.forms;
 
 import com.fon.client.controller.ClientController;
+import com.fon.client.repository.ReferenceDataListener;
+import com.fon.client.repository.ReferenceDataRepository;
 import com.fon.common.domain.*;
 import java.util.Date;
 import java.util.List;
@@ -26,6 +28,7 @@ public class ChangeSeminarScheduleForm extends javax.swing.JDialog {
     private Admin loggedAdmin;
     private SeminarSchedule seminarScheduleOriginal;
     SeminarEnrollmentTableModel tableModel;
+    private final ReferenceDataListener referenceDataListener = this::referenceDataChanged;
 
     /**
      * Creates new form AddSeminarSchedule
@@ -272,15 +275,19 @@ public class ChangeSeminarScheduleForm extends javax.swing.JDialog {
         try {
             SeminarSchedule seminarSchedule = getSeminarScheduleFromForm();
 
-            ClientController.getInstance().createSeminarSchedule(seminarSchedule);
-            JOptionPane.showMessageDialog(rootPane, "Систем је направио термин семинара", "Успешно прављење термина", JOptionPane.INFORMATION_MESSAGE);
-
-            this.dispose();
+            BusyIndicator.whenDone(this, btnCreate, ClientController.getInstance().createSeminarScheduleAsync(seminarSchedule), (result, ex) -> {
+                if (ex == null) {
+                    JOptionPane.showMessageDialog(rootPane, "Систем је направио термин семинара", "Успешно прављење термина", JOptionPane.INFORMATION_MESSAGE);
+                    this.dispose();
+                } else if (ex instanceof RuntimeException) {
+                    JOptionPane.showMessageDialog(rootPane, ex.getMessage(), "Грешка при валидацији", JOptionPane.ERROR_MESSAGE);
+                } else {
+                    Logger.getLogger(ChangeSeminarScheduleForm.class.getName()).log(Level.SEVERE, null, ex);
+                    JOptionPane.showMessageDialog(rootPane, "Систем не може направити термин семинара", "Неуспешно прављење термина семинара", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         } catch (RuntimeException ex) {
             JOptionPane.showMessageDialog(rootPane, ex.getMessage(), "Грешка при валидацији", JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
-            Logger.getLogger(ChangeSeminarScheduleForm.class.getName()).log(Level.SEVERE, null, ex);
-            JOptionPane.showMessageDialog(rootPane, "Систем не може направити термин семинара", "Неуспешно прављење термина семинара", JOptionPane.ERROR_MESSAGE);        // TODO add your handling code here:
         }
     }//GEN-LAST:event_btnCreateActionPerformed
 
@@ -319,14 +326,19 @@ public class ChangeSeminarScheduleForm extends javax.swing.JDialog {
             List<SeminarEnrollment> seminarEnrollments = setStateForSeminarEnrollments(seminarSchedule, seminarEnrollmentsOriginal);
             seminarSchedule.setSeminarEnrollments(seminarEnrollments);
 
-            ClientController.getInstance().saveSeminarSchedule(seminarSchedule);
-            JOptionPane.showMessageDialog(rootPane, "Систем је запамтио термин семинара", "Успешно чување термина семинара", JOptionPane.INFORMATION_MESSAGE);
-            this.dispose();
+            BusyIndicator.whenDone(this, btnSave, ClientController.getInstance().saveSeminarScheduleAsync(seminarSchedule), (result, ex) -> {
+                if (ex == null) {
+                    JOptionPane.showMessageDialog(rootPane, "Систем је запамтио термин семинара", "Успешно чување термина семинара", JOptionPane.INFORMATION_MESSAGE);
+                    this.dispose();
+                } else if (ex instanceof RuntimeException) {
+                    JOptionPane.showMessageDialog(rootPane, ex.getMessage(), "Грешка при валидацији", JOptionPane.ERROR_MESSAGE);
+                } else {
+                    Logger.getLogger(ChangeSeminarScheduleForm.class.getName()).log(Level.SEVERE, null, ex);
+                    JOptionPane.showMessageDialog(rootPane, "Систем не може запамтити термин семинара", "Неуспешно чување термина семинара", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         } catch (RuntimeException ex) {
             JOptionPane.showMessageDialog(rootPane, ex.getMessage(), "Грешка при валидацији", JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
-            Logger.getLogger(ChangeSeminarScheduleForm.class.getName()).log(Level.SEVERE, null, ex);
-            JOptionPane.showMessageDialog(rootPane, "Систем не може запамтити термин семинара", "Неуспешно чување термина семинара", JOptionPane.ERROR_MESSAGE);
         }
     }//GEN-LAST:event_btnSaveActionPerformed
 
@@ -394,6 +406,7 @@ public class ChangeSeminarScheduleForm extends javax.swing.JDialog {
         this.setLocationRelativeTo(null);
         this.setResizable(false);
 
+        ReferenceDataRepository.getInstance().addReferenceDataListener(referenceDataListener);
         loadSeminars();
         loadEducationalInstitutions();
         loadParticipants();
@@ -437,21 +450,55 @@ public class ChangeSeminarScheduleForm extends javax.swing.JDialog {
         }
     }
 
-    private void loadSeminars() throws Exception {
-        cbSeminar.setModel(new DefaultComboBoxModel(ClientController.getInstance().getAllSeminars().toArray()));
+    private void loadSeminars() {
+        cbSeminar.setModel(new DefaultComboBoxModel(ReferenceDataRepository.getInstance().getSeminars().toArray()));
         cbSeminar.setSelectedIndex(-1);
     }
 
-    private void loadEducationalInstitutions() throws Exception {
-        cbEducationalInstitution.setModel(new DefaultComboBoxModel(ClientController.getInstance().getAllEducationalInstitutions().toArray()));
+    private void loadEducationalInstitutions() {
+        cbEducationalInstitution.setModel(new DefaultComboBoxModel(ReferenceDataRepository.getInstance().getEducationalInstitutions().toArray()));
         cbEducationalInstitution.setSelectedIndex(-1);
     }
 
-    private void loadParticipants() throws Exception {
-        cbParticipant.setModel(new DefaultComboBoxModel(ClientController.getInstance().getAllParticipants().toArray()));
+    private void loadParticipants() {
+        cbParticipant.setModel(new DefaultComboBoxModel(ReferenceDataRepository.getInstance().getParticipants().toArray()));
         cbParticipant.setSelectedIndex(-1);
     }
 
+    private void referenceDataChanged(EntityType entityType) {
+        switch (entityType) {
+            case SEMINAR -> {
+                Object selected = cbSeminar.getSelectedItem();
+                if (selected == null && seminarScheduleOriginal != null) {
+                    selected = seminarScheduleOriginal.getSeminar();
+                }
+                loadSeminars();
+                cbSeminar.setSelectedItem(selected);
+            }
+            case PARTICIPANT -> {
+                Object selected = cbParticipant.getSelectedItem();
+                loadParticipants();
+                cbParticipant.setSelectedItem(selected);
+            }
+            case EDUCATIONAL_INSTITUTION -> {
+                Object selected = cbEducationalInstitution.getSelectedItem();
+                if (selected == null && seminarScheduleOriginal != null) {
+                    selected = seminarScheduleOriginal.getEducationalInstitution();
+                }
+                loadEducationalInstitutions();
+                cbEducationalInstitution.setSelectedItem(selected);
+            }
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        ReferenceDataRepository.getInstance().removeReferenceDataListener(referenceDataListener);
+        super.dispose();
+    }
+
     private void addSeminarScheduleToSeminarEnrollments(SeminarSchedule sc, List<SeminarEnrollment> seminarEnrollments) {
         for (SeminarEnrollment se : seminarEnrollments) {
             se.setSeminarSchedule(sc);
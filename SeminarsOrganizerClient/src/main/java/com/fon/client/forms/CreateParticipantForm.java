@@ -168,15 +168,19 @@ public class CreateParticipantForm extends javax.swing.JDialog {
 
             Participant p = new Participant(0, name, surname, sex, dateBirth, loggedAdmin);
 
-            ClientController.getInstance().createParticipant(p);
-
-            JOptionPane.showMessageDialog(rootPane, "Систем је направио учесника", "Успешно прављење учесника", JOptionPane.INFORMATION_MESSAGE);
-            this.dispose();
+            BusyIndicator.whenDone(this, btnCreate, ClientController.getInstance().createParticipantAsync(p), (result, ex) -> {
+                if (ex == null) {
+                    JOptionPane.showMessageDialog(rootPane, "Систем је направио учесника", "Успешно прављење учесника", JOptionPane.INFORMATION_MESSAGE);
+                    this.dispose();
+                } else if (ex instanceof RuntimeException) {
+                    JOptionPane.showMessageDialog(this, ex.getMessage(), "Грешка при валидацији", JOptionPane.ERROR_MESSAGE);
+                } else {
+                    Logger.getLogger(CreateParticipantForm.class.getName()).log(Level.SEVERE, null, ex);
+                    JOptionPane.showMessageDialog(rootPane, "Систем не може направити учесника", "Неуспешно прављење учесника", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         } catch (RuntimeException ex) {
             JOptionPane.showMessageDialog(this, ex.getMessage(), "Грешка при валидацији", JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
-            Logger.getLogger(CreateParticipantForm.class.getName()).log(Level.SEVERE, null, ex);
-            JOptionPane.showMessageDialog(rootPane, "Систем не може направити учесника", "Неуспешно прављење учесника", JOptionPane.ERROR_MESSAGE);
         }
     }//GEN-LAST:event_btnCreateActionPerformed
 
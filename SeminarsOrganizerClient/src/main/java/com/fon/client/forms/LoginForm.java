@@ -1,6 +1,7 @@
 package com.fon.client.forms;
 
 import com.fon.client.controller.ClientController;
+import com.fon.client.repository.ReferenceDataRepository;
 import com.fon.common.domain.Admin;
 import com.fon.common.exceptions.LoginException;
 import java.util.logging.Level;
@@ -108,18 +109,24 @@ public class LoginForm extends javax.swing.JFrame {
             admin.setUsername(username);
             admin.setPassword(password);
 
-            Admin loggedAdmin = ClientController.getInstance().login(admin);
-            JOptionPane.showMessageDialog(rootPane, "Успешно сте се пријавили на систем", "Успешна пријава", JOptionPane.INFORMATION_MESSAGE);
-            this.dispose();
-            JFrame mainForm = new MainForm(loggedAdmin);
-            mainForm.setVisible(true);
-        } catch (LoginException ex) {
-            JOptionPane.showMessageDialog(rootPane, "Унели сте неисправне податке за пријаву", "Неуспешна пријава", JOptionPane.ERROR_MESSAGE);
+            BusyIndicator.whenDone(this, btnLogin, ClientController.getInstance().loginAsync(admin), (loggedAdmin, ex) -> {
+                if (ex == null) {
+                    ReferenceDataRepository.getInstance().load();
+                    JOptionPane.showMessageDialog(rootPane, "Успешно сте се пријавили на систем", "Успешна пријава", JOptionPane.INFORMATION_MESSAGE);
+                    this.dispose();
+                    JFrame mainForm = new MainForm(loggedAdmin);
+                    mainForm.setVisible(true);
+                } else if (ex instanceof LoginException) {
+                    JOptionPane.showMessageDialog(rootPane, "Унели сте неисправне податке за пријаву", "Неуспешна пријава", JOptionPane.ERROR_MESSAGE);
+                } else if (ex instanceof RuntimeException) {
+                    JOptionPane.showMessageDialog(rootPane, ex.getMessage(), "Грешка при валидацији", JOptionPane.ERROR_MESSAGE);
+                } else {
+                    Logger.getLogger(LoginForm.class.getName()).log(Level.SEVERE, null, ex);
+                    JOptionPane.showMessageDialog(rootPane, "Систем Вас не може пријавити", "Неуспешна пријава", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         } catch (RuntimeException ex) {
             JOptionPane.showMessageDialog(rootPane, ex.getMessage(), "Грешка при валидацији", JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
-            Logger.getLogger(LoginForm.class.getName()).log(Level.SEVERE, null, ex);
-            JOptionPane.showMessageDialog(rootPane, "Систем Вас не може пријавити", "Неуспешна пријава", JOptionPane.ERROR_MESSAGE);
         }
     }//GEN-LAST:event_btnLoginActionPerformed
     // Variables declaration - do not modify//GEN-BEGIN:variables
@@ -1,12 +1,19 @@
 package com.fon.client.forms;
 
+import com.fon.client.controller.ChangeSynchronizer;
 import com.fon.client.controller.ClientController;
+import com.fon.common.domain.EntityType;
 import com.fon.common.domain.Participant;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.swing.JOptionPane;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import com.fon.client.table.ParticipantTableModel;
+import com.fon.common.utils.Utility;
 
 /*
  * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
@@ -18,7 +25,12 @@ import com.fon.client.table.ParticipantTableModel;
  */
 public class ViewParticipantsForm extends javax.swing.JDialog {
 
+    private static final int SEARCH_DELAY = 300;
+
     private ParticipantTableModel model;
+    private String condition;
+    private ChangeSynchronizer<List<Participant>> changeSynchronizer;
+    private Timer searchTimer;
 
     /**
      * Creates new form SearchParticipantForm
@@ -140,28 +152,43 @@ public class ViewParticipantsForm extends javax.swing.JDialog {
 
             Participant participant = model.getList().get(selectedRow);
             int participantID = participant.getParticipantID();
-            participant = ClientController.getInstance().getParticipantByID(participantID);
-
-            CreateParticipantForm form = new CreateParticipantForm(null, true, null, participant);
-            form.setVisible(true);
-
+            BusyIndicator.whenDone(this, btnDetails, ClientController.getInstance().getParticipantByIDAsync(participantID), (participantLoaded, ex) -> {
+                if (ex != null) {
+                    showLoadParticipantError(ex);
+                    return;
+                }
+                try {
+                    CreateParticipantForm form = new CreateParticipantForm(null, true, null, participantLoaded);
+                    form.setVisible(true);
+                } catch (Exception formEx) {
+                    showLoadParticipantError(formEx);
+                }
+            });
         } catch (Exception ex) {
-            Logger.getLogger(ViewSeminarsForm.class.getName()).log(Level.SEVERE, null, ex);
-            JOptionPane.showMessageDialog(rootPane, "Систем не може учитати учесника", "Неуспешно учитавање учесника", JOptionPane.ERROR_MESSAGE);
+            showLoadParticipantError(ex);
         }
     }//GEN-LAST:event_btnDetailsActionPerformed
 
     private void btnSearchActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btnSearchActionPerformed
-        try {
-            String condition = txtSearchCriteria.getText();
-            List<Participant> participantsFiltered = ClientController.getInstance().getParticipantsByConditition(condition);
-            model.setList(participantsFiltered);
-        } catch (Exception ex) {
-            Logger.getLogger(ViewParticipantsForm.class.getName()).log(Level.SEVERE, null, ex);
-            JOptionPane.showMessageDialog(rootPane, "Систем не може наћи учеснике", "Неуспешно налажење учесника", JOptionPane.ERROR_MESSAGE);
-        }
+        searchTimer.stop();
+        search();
     }//GEN-LAST:event_btnSearchActionPerformed
 
+    private void search() {
+        condition = txtSearchCriteria.getText();
+        BusyIndicator.whenDone(this, btnSearch, changeSynchronizer.load(), (result, ex) -> {
+            if (ex != null && !(ex instanceof CancellationException)) {
+                Logger.getLogger(ViewParticipantsForm.class.getName()).log(Level.SEVERE, null, ex);
+                JOptionPane.showMessageDialog(rootPane, "Систем не може наћи учеснике", "Неуспешно налажење учесника", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+    }
+
+    private void showLoadParticipantError(Throwable ex) {
+        Logger.getLogger(ViewParticipantsForm.class.getName()).log(Level.SEVERE, null, ex);
+        JOptionPane.showMessageDialog(rootPane, "Систем не може учитати учесника", "Неуспешно учитавање учесника", JOptionPane.ERROR_MESSAGE);
+    }
+
 
     // Variables declaration - do not modify//GEN-BEGIN:variables
     private javax.swing.JButton btnDetails;
@@ -178,6 +205,61 @@ public class ViewParticipantsForm extends javax.swing.JDialog {
         this.setResizable(false);
 
         prepareTable();
+        prepareChangeSynchronizer();
+        prepareSearchTimer();
+    }
+
+    private void prepareSearchTimer() {
+        searchTimer = new Timer(SEARCH_DELAY, e -> search());
+        searchTimer.setRepeats(false);
+        txtSearchCriteria.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+        });
+    }
+
+    private void prepareChangeSynchronizer() {
+        changeSynchronizer = new ChangeSynchronizer<>(EntityType.PARTICIPANT,
+                () -> ClientController.getInstance().getParticipantsByCondititionAsync(condition),
+                model::setList,
+                changes -> model.mergeChanges(changes, this::matchesCondition));
+        try {
+            changeSynchronizer.start();
+        } catch (Exception ex) {
+            Logger.getLogger(ViewParticipantsForm.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    private boolean matchesCondition(Participant participant) {
+        if (Utility.isStringNullOrBlank(condition)) {
+            return true;
+        }
+        String lowercaseCondition = condition.toLowerCase();
+        return participant.getName().toLowerCase().contains(lowercaseCondition)
+                || participant.getSurname().toLowerCase().contains(lowercaseCondition);
+    }
+
+    @Override
+    public void dispose() {
+        searchTimer.stop();
+        try {
+            changeSynchronizer.stop();
+        } catch (Exception ex) {
+            Logger.getLogger(ViewParticipantsForm.class.getName()).log(Level.SEVERE, null, ex);
+        }
+        super.dispose();
     }
 
     private void prepareTable() {
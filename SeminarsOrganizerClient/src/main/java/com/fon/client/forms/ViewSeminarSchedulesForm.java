@@ -1,12 +1,18 @@
 package com.fon.client.forms;
 
+import com.fon.client.controller.ChangeSynchronizer;
 import com.fon.client.controller.ClientController;
 import com.fon.common.domain.Admin;
+import com.fon.common.domain.EntityType;
 import com.fon.common.domain.SeminarSchedule;
 import java.text.ParseException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.swing.JOptionPane;
@@ -25,6 +31,9 @@ public class ViewSeminarSchedulesForm extends javax.swing.JDialog {
 
     private final Admin loggedAdmin;
     private SeminarScheduleTableModel tableModel;
+    private String seminarName;
+    private Date dateSeminarSchedule;
+    private ChangeSynchronizer<List<SeminarSchedule>> changeSynchronizer;
 
     /**
      * Creates new form SearchSeminarSchedules
@@ -167,34 +176,45 @@ public class ViewSeminarSchedulesForm extends javax.swing.JDialog {
             SeminarSchedule seminarSchedule = tableModel.getSeminarSchedules().get(selectedRow);
             int seminarScheduleID = seminarSchedule.getSeminarScheduleID();
 
-            seminarSchedule = ClientController.getInstance().getSeminarScheduleByID(seminarScheduleID);
-
-            ChangeSeminarScheduleForm changeSeminarScheduleForm = new ChangeSeminarScheduleForm(null, true, loggedAdmin, seminarSchedule);
-            changeSeminarScheduleForm.setVisible(true);
+            BusyIndicator.whenDone(this, btnDetails, ClientController.getInstance().getSeminarScheduleByIDAsync(seminarScheduleID), (seminarScheduleLoaded, ex) -> {
+                if (ex != null) {
+                    showLoadSeminarScheduleError(ex);
+                    return;
+                }
+                try {
+                    ChangeSeminarScheduleForm changeSeminarScheduleForm = new ChangeSeminarScheduleForm(null, true, loggedAdmin, seminarScheduleLoaded);
+                    changeSeminarScheduleForm.setVisible(true);
+                } catch (Exception formEx) {
+                    showLoadSeminarScheduleError(formEx);
+                }
+            });
         } catch (Exception ex) {
-            Logger.getLogger(ViewSeminarSchedulesForm.class.getName()).log(Level.SEVERE, null, ex);
-            JOptionPane.showMessageDialog(rootPane, "Систем не може учитати термин семинара", "Неуспешно учитавање термина семинара", JOptionPane.ERROR_MESSAGE);
+            showLoadSeminarScheduleError(ex);
         }
     }//GEN-LAST:event_btnDetailsActionPerformed
 
     private void btnSearchActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btnSearchActionPerformed
         try {
-            String seminarName = txtSearchSeminarName.getText();
-            Date dateSeminarSchedule = validateDateSeminarSchedule(txtDate.getText());
-            List<Object> condition = new LinkedList();
-            condition.add(seminarName);
-            condition.add(dateSeminarSchedule);
-
-            List<SeminarSchedule> filteredSeminarSchedules = ClientController.getInstance().getSeminarSchedulesByCondition(condition);
-            tableModel.setSeminarSchedules(filteredSeminarSchedules);
+            Date date = validateDateSeminarSchedule(txtDate.getText());
+            seminarName = txtSearchSeminarName.getText();
+            dateSeminarSchedule = date;
         } catch (ParseException ex) {
             JOptionPane.showMessageDialog(rootPane, "Датум семинара за претрагу није у добром облику", "Грешка приликом валидације", JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
-            Logger.getLogger(ViewSeminarSchedulesForm.class.getName()).log(Level.SEVERE, null, ex);
-            JOptionPane.showMessageDialog(rootPane, "Систем не може наћи термине семинара", "Неуспешно налажење термина семинара", JOptionPane.ERROR_MESSAGE);
+            return;
         }
+        BusyIndicator.whenDone(this, btnSearch, changeSynchronizer.load(), (result, ex) -> {
+            if (ex != null && !(ex instanceof CancellationException)) {
+                Logger.getLogger(ViewSeminarSchedulesForm.class.getName()).log(Level.SEVERE, null, ex);
+                JOptionPane.showMessageDialog(rootPane, "Систем не може наћи термине семинара", "Неуспешно налажење термина семинара", JOptionPane.ERROR_MESSAGE);
+            }
+        });
     }//GEN-LAST:event_btnSearchActionPerformed
 
+    private void showLoadSeminarScheduleError(Throwable ex) {
+        Logger.getLogger(ViewSeminarSchedulesForm.class.getName()).log(Level.SEVERE, null, ex);
+        JOptionPane.showMessageDialog(rootPane, "Систем не може учитати термин семинара", "Неуспешно учитавање термина семинара", JOptionPane.ERROR_MESSAGE);
+    }
+
     // Variables declaration - do not modify//GEN-BEGIN:variables
     private javax.swing.JButton btnDetails;
     private javax.swing.JButton btnSearch;
@@ -211,6 +231,22 @@ public class ViewSeminarSchedulesForm extends javax.swing.JDialog {
         this.setLocationRelativeTo(null);
         this.setResizable(false);
         prepareTable();
+        prepareChangeSynchronizer();
+    }
+
+    private void prepareChangeSynchronizer() {
+        changeSynchronizer = new ChangeSynchronizer<>(EntityType.SEMINAR_SCHEDULE, () -> {
+            List<Object> condition = new LinkedList();
+            condition.add(seminarName);
+            condition.add(dateSeminarSchedule);
+
+            return ClientController.getInstance().getSeminarSchedulesByConditionAsync(condition);
+        }, tableModel::setSeminarSchedules, changes -> tableModel.mergeChanges(changes, this::matchesCondition));
+        try {
+            changeSynchronizer.start();
+        } catch (Exception ex) {
+            Logger.getLogger(ViewSeminarSchedulesForm.class.getName()).log(Level.SEVERE, null, ex);
+        }
     }
 
     private void prepareTable() {
@@ -218,6 +254,30 @@ public class ViewSeminarSchedulesForm extends javax.swing.JDialog {
         tbl.setModel(tableModel);
     }
 
+    private boolean matchesCondition(SeminarSchedule seminarSchedule) {
+        if (dateSeminarSchedule != null) {
+            LocalDate date = toLocalDate(dateSeminarSchedule);
+            return !toLocalDate(seminarSchedule.getDatetimeBegins()).isAfter(date)
+                    && !toLocalDate(seminarSchedule.getDatetimeEnds()).isBefore(date);
+        }
+        return Utility.isStringNullOrBlank(seminarName)
+                || seminarSchedule.getSeminar().getName().toLowerCase().contains(seminarName.toLowerCase());
+    }
+
+    private LocalDate toLocalDate(Date date) {
+        return Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    @Override
+    public void dispose() {
+        try {
+            changeSynchronizer.stop();
+        } catch (Exception ex) {
+            Logger.getLogger(ViewSeminarSchedulesForm.class.getName()).log(Level.SEVERE, null, ex);
+        }
+        super.dispose();
+    }
+
     private Date validateDateSeminarSchedule(String text) throws ParseException {
         Date dateSeminarSchedule = null;
 
@@ -1,14 +1,21 @@
 package com.fon.client.forms;
 
+import com.fon.client.controller.ChangeSynchronizer;
 import com.fon.client.controller.ClientController;
 import com.fon.common.domain.Admin;
+import com.fon.common.domain.EntityType;
 import com.fon.common.domain.Seminar;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.swing.JOptionPane;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import com.fon.client.table.SeminarTableModel;
 import com.fon.common.utils.TextAreaRenderer;
+import com.fon.common.utils.Utility;
 
 /*
  * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
@@ -20,8 +27,13 @@ import com.fon.common.utils.TextAreaRenderer;
  */
 public class ViewSeminarsForm extends javax.swing.JDialog {
 
+    private static final int SEARCH_DELAY = 300;
+
     private Admin loggedAdmin;
     private SeminarTableModel tableModel;
+    private String condition;
+    private ChangeSynchronizer<List<Seminar>> changeSynchronizer;
+    private Timer searchTimer;
 
     /**
      * Creates new form SearchSeminarForm
@@ -152,27 +164,43 @@ public class ViewSeminarsForm extends javax.swing.JDialog {
 
             Seminar seminar = tableModel.getSeminars().get(selectedRow);
             int seminarID = seminar.getSeminarID();
-            seminar = ClientController.getInstance().getSeminarByID(seminarID);
-
-            ChangeSeminarForm changeSeminarForm = new ChangeSeminarForm(null, true, loggedAdmin, seminar);
-            changeSeminarForm.setVisible(true);
+            BusyIndicator.whenDone(this, btnDetails, ClientController.getInstance().getSeminarByIDAsync(seminarID), (seminarLoaded, ex) -> {
+                if (ex != null) {
+                    showLoadSeminarError(ex);
+                    return;
+                }
+                try {
+                    ChangeSeminarForm changeSeminarForm = new ChangeSeminarForm(null, true, loggedAdmin, seminarLoaded);
+                    changeSeminarForm.setVisible(true);
+                } catch (Exception formEx) {
+                    showLoadSeminarError(formEx);
+                }
+            });
         } catch (Exception ex) {
-            Logger.getLogger(ViewSeminarsForm.class.getName()).log(Level.SEVERE, null, ex);
-            JOptionPane.showMessageDialog(rootPane, "Систем не може учитати семинар", "Неуспешно учитавање семинара", JOptionPane.ERROR_MESSAGE);
+            showLoadSeminarError(ex);
         }
     }//GEN-LAST:event_btnDetailsActionPerformed
 
     private void btnSearchActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btnSearchActionPerformed
-        try {
-            String condition = txtSearchCriteria.getText();
-            List<Seminar> seminarsFiltered = ClientController.getInstance().getSeminarsByConditition(condition);
-            tableModel.setSeminars(seminarsFiltered);
-        } catch (Exception ex) {
-            Logger.getLogger(ViewSeminarsForm.class.getName()).log(Level.SEVERE, null, ex);
-            JOptionPane.showMessageDialog(rootPane, "Систем не може наћи семинаре", "Неуспешно налажење семинара", JOptionPane.ERROR_MESSAGE);
-        }
+        searchTimer.stop();
+        search();
     }//GEN-LAST:event_btnSearchActionPerformed
 
+    private void search() {
+        condition = txtSearchCriteria.getText();
+        BusyIndicator.whenDone(this, btnSearch, changeSynchronizer.load(), (result, ex) -> {
+            if (ex != null && !(ex instanceof CancellationException)) {
+                Logger.getLogger(ViewSeminarsForm.class.getName()).log(Level.SEVERE, null, ex);
+                JOptionPane.showMessageDialog(rootPane, "Систем не може наћи семинаре", "Неуспешно налажење семинара", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+    }
+
+    private void showLoadSeminarError(Throwable ex) {
+        Logger.getLogger(ViewSeminarsForm.class.getName()).log(Level.SEVERE, null, ex);
+        JOptionPane.showMessageDialog(rootPane, "Систем не може учитати семинар", "Неуспешно учитавање семинара", JOptionPane.ERROR_MESSAGE);
+    }
+
     // Variables declaration - do not modify//GEN-BEGIN:variables
     private javax.swing.JButton btnDetails;
     private javax.swing.JButton btnSearch;
@@ -187,6 +215,57 @@ public class ViewSeminarsForm extends javax.swing.JDialog {
         this.setLocationRelativeTo(null);
         this.setResizable(false);
         prepareTable();
+        prepareChangeSynchronizer();
+        prepareSearchTimer();
+    }
+
+    private void prepareSearchTimer() {
+        searchTimer = new Timer(SEARCH_DELAY, e -> search());
+        searchTimer.setRepeats(false);
+        txtSearchCriteria.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+        });
+    }
+
+    private void prepareChangeSynchronizer() {
+        changeSynchronizer = new ChangeSynchronizer<>(EntityType.SEMINAR,
+                () -> ClientController.getInstance().getSeminarsByCondititionAsync(condition),
+                tableModel::setSeminars,
+                changes -> tableModel.mergeChanges(changes, this::matchesCondition));
+        try {
+            changeSynchronizer.start();
+        } catch (Exception ex) {
+            Logger.getLogger(ViewSeminarsForm.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    private boolean matchesCondition(Seminar seminar) {
+        return Utility.isStringNullOrBlank(condition)
+                || seminar.getName().toLowerCase().contains(condition.toLowerCase());
+    }
+
+    @Override
+    public void dispose() {
+        searchTimer.stop();
+        try {
+            changeSynchronizer.stop();
+        } catch (Exception ex) {
+            Logger.getLogger(ViewSeminarsForm.class.getName()).log(Level.SEVERE, null, ex);
+        }
+        super.dispose();
     }
 
     private void prepareTable() {
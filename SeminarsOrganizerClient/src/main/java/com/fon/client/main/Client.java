@@ -28,6 +28,7 @@ public class Client {
     }
 
     public void start() throws IOException, Exception {
+        EdtLatencyMonitor.install();
         JFrame form = new LoginForm();
         form.setVisible(true);
 
@@ -0,0 +1,91 @@
+package com.fon.client.main;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Event queue flagging every event that kept the event dispatch thread busy
+ * longer than the latency budget, during which the UI could not respond.
+ *
+ * <p>
+ * An event showing a modal dialog keeps dispatching other events while the
+ * dialog is open, so it doesn't block the UI and is not flagged, however long
+ * the dialog stays open.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class EdtLatencyMonitor extends EventQueue {
+
+    /**
+     * Latency budget of a single event in milliseconds.
+     */
+    public static final long LATENCY_BUDGET = 50;
+
+    /**
+     * Logger of the events over the budget.
+     */
+    private static final Logger LOGGER = Logger.getLogger(EdtLatencyMonitor.class.getName());
+
+    /**
+     * Number of events being dispatched, nested ones included, as {@code int}.
+     */
+    private int depth;
+
+    /**
+     * Whether another event was dispatched while the innermost event being
+     * dispatched was running, as {@code boolean}.
+     */
+    private boolean nestedDispatch;
+
+    /**
+     * Number of events over the budget so far as {@code long}.
+     */
+    private volatile long violationCount;
+
+    /**
+     * Replaces the system event queue with a new monitor.
+     *
+     * @return The installed monitor as {@code EdtLatencyMonitor}.
+     */
+    public static EdtLatencyMonitor install() {
+        EdtLatencyMonitor monitor = new EdtLatencyMonitor();
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(monitor);
+        return monitor;
+    }
+
+    /**
+     * Getter for violationCount.
+     *
+     * @return Number of events over the budget so far as {@code long}.
+     */
+    public long getViolationCount() {
+        return violationCount;
+    }
+
+    @Override
+    protected void dispatchEvent(AWTEvent event) {
+        boolean enclosingNestedDispatch = nestedDispatch;
+        nestedDispatch = false;
+        depth++;
+        long start = System.nanoTime();
+        try {
+            super.dispatchEvent(event);
+        } finally {
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            depth--;
+            boolean pumped = nestedDispatch;
+            nestedDispatch = enclosingNestedDispatch || depth > 0;
+
+            if (!pumped && elapsed > LATENCY_BUDGET) {
+                violationCount++;
+                LOGGER.log(Level.WARNING, "Event dispatch thread blocked for {0} ms (budget {1} ms) by {2}",
+                        new Object[]{elapsed, LATENCY_BUDGET, event});
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.fon.client.repository;
+
+import com.fon.common.domain.EntityType;
+
+/**
+ * Listener notified on the event dispatch thread when reference data kept by
+ * {@code ReferenceDataRepository} is loaded or changes.
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+@FunctionalInterface
+public interface ReferenceDataListener {
+
+    /**
+     * Called after the reference data of an entity type was loaded for the
+     * first time or replaced with a changed list.
+     *
+     * @param entityType Entity type of the loaded or changed list as
+     * {@code EntityType}.
+     */
+    void referenceDataChanged(EntityType entityType);
+}
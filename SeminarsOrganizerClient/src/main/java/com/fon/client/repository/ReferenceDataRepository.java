@@ -0,0 +1,317 @@
+package com.fon.client.repository;
+
+import com.fon.client.comunication.ChangeEventListener;
+import com.fon.client.controller.ClientController;
+import com.fon.common.domain.EducationalInstitution;
+import com.fon.common.domain.EntityType;
+import com.fon.common.domain.Participant;
+import com.fon.common.domain.Seminar;
+import com.fon.common.intercomm.ChangeEvent;
+import com.fon.common.intercomm.Operation;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.SwingUtilities;
+
+/**
+ * Singleton class keeping the reference data forms choose from (seminars,
+ * participants and educational institutions) in memory.
+ *
+ * <p>
+ * All reference data is loaded once after login on a background thread, after
+ * which forms are served from memory without waiting for the server. A list is
+ * refreshed in the background when the server pushes a change of its entity
+ * type, and all lists are refreshed periodically. Refreshing sends the entity
+ * tag of the list held, so an unchanged list costs the server a short reply.
+ * Listeners are notified on the event dispatch thread when a list is loaded
+ * for the first time and when it actually changed.
+ * </p>
+ *
+ * <p>
+ * Getters never wait: a list that is not loaded yet is returned empty, and
+ * forms fill it in when their listener is notified.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class ReferenceDataRepository {
+
+    /**
+     * Time between periodic refreshes in milliseconds.
+     */
+    private static final long REFRESH_INTERVAL = 60000;
+
+    /**
+     * Operations returning the reference data of every entity type kept.
+     */
+    private static final Map<EntityType, Operation> OPERATIONS = new EnumMap<>(Map.of(
+            EntityType.SEMINAR, Operation.GET_ALL_SEMINARS,
+            EntityType.PARTICIPANT, Operation.GET_ALL_PARTICIPANTS,
+            EntityType.EDUCATIONAL_INSTITUTION, Operation.GET_ALL_EDUCATIONAL_INSTITUTIONS));
+
+    /**
+     * The singleton instance of the {@code ReferenceDataRepository} class.
+     */
+    private static ReferenceDataRepository instance;
+
+    /**
+     * Reference data loaded so far, by entity type, as
+     * {@code Map<EntityType, List<?>>} (read only).
+     */
+    private final Map<EntityType, List<?>> data;
+
+    /**
+     * Listeners notified when reference data changes as
+     * {@code List<ReferenceDataListener>} (read only).
+     */
+    private final List<ReferenceDataListener> listeners;
+
+    /**
+     * Background thread loading and refreshing reference data as
+     * {@code ScheduledExecutorService} (read only).
+     */
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Listener of change events pushed by the server as
+     * {@code ChangeEventListener} (read only).
+     */
+    private final ChangeEventListener changeEventListener;
+
+    /**
+     * The initial load as {@code CompletableFuture<Void>}, {@code null} before
+     * it is started.
+     */
+    private CompletableFuture<Void> initialLoad;
+
+    /**
+     * Private constructor (Singleton pattern).
+     */
+    private ReferenceDataRepository() {
+        data = new ConcurrentHashMap<>();
+        listeners = new CopyOnWriteArrayList<>();
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reference-data");
+            thread.setDaemon(true);
+            return thread;
+        });
+        changeEventListener = this::changesReceived;
+    }
+
+    /**
+     * Getter of instance (Singleton pattern).
+     *
+     * @return The singleton instance of the {@code ReferenceDataRepository}
+     * class.
+     */
+    public static synchronized ReferenceDataRepository getInstance() {
+        if (instance == null) {
+            instance = new ReferenceDataRepository();
+        }
+        return instance;
+    }
+
+    /**
+     * Starts loading all reference data in the background, subscribing to its
+     * changes and scheduling the periodic refresh. Calling it again returns
+     * the load already started.
+     *
+     * @return The initial load as {@code CompletableFuture<Void>}.
+     */
+    public synchronized CompletableFuture<Void> load() {
+        if (initialLoad == null) {
+            initialLoad = CompletableFuture.runAsync(() -> {
+                for (EntityType entityType : OPERATIONS.keySet()) {
+                    refreshQuietly(entityType);
+                }
+                try {
+                    ClientController.getInstance().addChangeEventListener(changeEventListener);
+                    ClientController.getInstance().subscribe(EntityType.SEMINAR, EntityType.PARTICIPANT);
+                } catch (Exception ex) {
+                    Logger.getLogger(ReferenceDataRepository.class.getName()).log(Level.SEVERE, null, ex);
+                }
+            }, executor);
+            executor.scheduleWithFixedDelay(this::refreshAllQuietly, REFRESH_INTERVAL, REFRESH_INTERVAL, TimeUnit.MILLISECONDS);
+        }
+        return initialLoad;
+    }
+
+    /**
+     * Returns all seminars held in memory, without waiting for the server.
+     *
+     * @return Seminars as an unmodifiable {@code List<Seminar>}, empty if they
+     * are not loaded yet.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Seminar> getSeminars() {
+        return (List<Seminar>) get(EntityType.SEMINAR);
+    }
+
+    /**
+     * Returns all participants held in memory, without waiting for the server.
+     *
+     * @return Participants as an unmodifiable {@code List<Participant>}, empty if they
+     * are not loaded yet.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Participant> getParticipants() {
+        return (List<Participant>) get(EntityType.PARTICIPANT);
+    }
+
+    /**
+     * Returns all educational institutions held in memory, without waiting for
+     * the server.
+     *
+     * @return Educational institutions as an unmodifiable
+     * {@code List<EducationalInstitution>}, empty if they are not loaded yet.
+     */
+    @SuppressWarnings("unchecked")
+    public List<EducationalInstitution> getEducationalInstitutions() {
+        return (List<EducationalInstitution>) get(EntityType.EDUCATIONAL_INSTITUTION);
+    }
+
+    /**
+     * Starts refreshing the reference data of an entity type in the
+     * background.
+     *
+     * @param entityType Entity type as {@code EntityType}.
+     */
+    public void refreshAsync(EntityType entityType) {
+        executor.execute(() -> refreshQuietly(entityType));
+    }
+
+    public void addReferenceDataListener(ReferenceDataListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeReferenceDataListener(ReferenceDataListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns the reference data of an entity type from memory.
+     *
+     * <p>
+     * If the data is missing after the initial load finished, the initial load
+     * failed to fetch it, so it is fetched again in the background and
+     * listeners are notified once it arrives.
+     * </p>
+     *
+     * @param entityType Entity type as {@code EntityType}.
+     * @return Reference data as {@code List<?>}, empty if it is not loaded
+     * yet.
+     */
+    private List<?> get(EntityType entityType) {
+        List<?> list = data.get(entityType);
+        if (list != null) {
+            return list;
+        }
+        if (load().isDone()) {
+            refreshAsync(entityType);
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Fetches the reference data of an entity type, replacing the list held
+     * and notifying listeners if it is new or changed.
+     *
+     * @param entityType Entity type as {@code EntityType}.
+     * @return Reference data as {@code List<?>}.
+     * @throws Exception When the reference data cannot be fetched.
+     */
+    private List<?> refresh(EntityType entityType) throws Exception {
+        Operation operation = OPERATIONS.get(entityType);
+        String entityTag = ClientController.getInstance().getEntityTag(operation);
+        List<?> list = fetch(entityType);
+        if (list == null) {
+            return data.get(entityType);
+        }
+        list = Collections.unmodifiableList(list);
+
+        boolean changed = entityTag == null
+                || !Objects.equals(entityTag, ClientController.getInstance().getEntityTag(operation));
+        List<?> previous = data.put(entityType, list);
+        if (previous == null || changed) {
+            SwingUtilities.invokeLater(() -> notifyListeners(entityType));
+        }
+        return list;
+    }
+
+    /**
+     * Fetches the reference data of an entity type from the server.
+     *
+     * @param entityType Entity type as {@code EntityType}.
+     * @return Reference data as {@code List<?>}, {@code null} if the server
+     * could not be reached.
+     * @throws Exception When the server returns an error.
+     */
+    private List<?> fetch(EntityType entityType) throws Exception {
+        return switch (entityType) {
+            case SEMINAR -> ClientController.getInstance().getAllSeminars();
+            case PARTICIPANT -> ClientController.getInstance().getAllParticipants();
+            case EDUCATIONAL_INSTITUTION -> ClientController.getInstance().getAllEducationalInstitutions();
+            default -> throw new IllegalArgumentException("Unsupported entity type: " + entityType);
+        };
+    }
+
+    /**
+     * Refreshes the reference data of an entity type, logging any error.
+     *
+     * @param entityType Entity type as {@code EntityType}.
+     */
+    private void refreshQuietly(EntityType entityType) {
+        try {
+            refresh(entityType);
+        } catch (Exception ex) {
+            Logger.getLogger(ReferenceDataRepository.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    /**
+     * Refreshes the reference data of all entity types, logging any error.
+     */
+    private void refreshAllQuietly() {
+        for (EntityType entityType : OPERATIONS.keySet()) {
+            refreshQuietly(entityType);
+        }
+    }
+
+    /**
+     * Notifies all listeners that the reference data of an entity type
+     * changed.
+     *
+     * @param entityType Entity type as {@code EntityType}.
+     */
+    private void notifyListeners(EntityType entityType) {
+        for (ReferenceDataListener listener : listeners) {
+            listener.referenceDataChanged(entityType);
+        }
+    }
+
+    /**
+     * Schedules a refresh of every entity type kept that the pushed events
+     * changed.
+     *
+     * @param events Change events pushed by the server as
+     * {@code List<ChangeEvent>}.
+     */
+    private void changesReceived(List<ChangeEvent> events) {
+        events.stream()
+                .map(ChangeEvent::getEntityType)
+                .filter(OPERATIONS::containsKey)
+                .distinct()
+                .forEach(this::refreshAsync);
+    }
+}
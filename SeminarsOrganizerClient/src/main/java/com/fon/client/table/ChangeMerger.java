@@ -0,0 +1,105 @@
+package com.fon.client.table;
+
+import com.fon.common.domain.EntityType;
+import com.fon.common.domain.State;
+import com.fon.common.intercomm.ChangeEvent;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Utility class merging changes returned by the server into the rows of a
+ * table model in place, firing only the affected rows.
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class ChangeMerger {
+
+    /**
+     * Private constructor, the class has only static methods.
+     */
+    private ChangeMerger() {
+    }
+
+    /**
+     * Merges changes of an entity type into the rows of a table model.
+     *
+     * <p>
+     * A deleted entity is removed. A created or changed entity replaces its
+     * row if it still matches the shown condition, is removed if it no longer
+     * does, and is appended if it newly does.
+     * </p>
+     *
+     * @param <T> Type of the entities shown in the rows.
+     * @param model Table model showing the rows as {@code AbstractTableModel}.
+     * @param rows Rows of the table model as {@code List<T>}.
+     * @param entityType Entity type of the rows as {@code EntityType}.
+     * @param entityClass Class of the entities shown in the rows as
+     * {@code Class<T>}.
+     * @param idOf Returns the ID of an entity as {@code ToIntFunction<T>}.
+     * @param matches Checks if an entity matches the shown condition as
+     * {@code Predicate<T>}.
+     * @param changes Changes in order of their sequence numbers as
+     * {@code List<ChangeEvent>}.
+     * @return {@code true} if all changes were merged, {@code false} if a
+     * change cannot be merged and the rows have to be reloaded.
+     */
+    public static <T> boolean merge(AbstractTableModel model, List<T> rows, EntityType entityType, Class<T> entityClass,
+            ToIntFunction<T> idOf, Predicate<T> matches, List<ChangeEvent> changes) {
+        for (ChangeEvent change : changes) {
+            if (change.getEntityType() != entityType) {
+                continue;
+            }
+            if (change.isReloadRequired()) {
+                return false;
+            }
+            int index = indexOf(rows, idOf, change.getEntityID());
+
+            if (change.getState() == State.DELETED) {
+                if (index >= 0) {
+                    rows.remove(index);
+                    model.fireTableRowsDeleted(index, index);
+                }
+                continue;
+            }
+            if (!entityClass.isInstance(change.getEntity())) {
+                return false;
+            }
+            T entity = entityClass.cast(change.getEntity());
+
+            if (index >= 0 && matches.test(entity)) {
+                rows.set(index, entity);
+                model.fireTableRowsUpdated(index, index);
+            } else if (index >= 0) {
+                rows.remove(index);
+                model.fireTableRowsDeleted(index, index);
+            } else if (matches.test(entity)) {
+                rows.add(entity);
+                model.fireTableRowsInserted(rows.size() - 1, rows.size() - 1);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the row of an entity.
+     *
+     * @param <T> Type of the entities shown in the rows.
+     * @param rows Rows as {@code List<T>}.
+     * @param idOf Returns the ID of an entity as {@code ToIntFunction<T>}.
+     * @param entityID ID of the entity as {@code int}.
+     * @return Index of the row as {@code int}, {@code -1} if there is none.
+     */
+    private static <T> int indexOf(List<T> rows, ToIntFunction<T> idOf, int entityID) {
+        int index = 0;
+        for (T row : rows) {
+            if (idOf.applyAsInt(row) == entityID) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+}
@@ -8,6 +8,9 @@ import com.fon.common.domain.Participant;
 import com.fon.common.domain.Sex;
 import java.util.LinkedList;
 import java.util.List;
+import com.fon.common.domain.EntityType;
+import com.fon.common.intercomm.ChangeEvent;
+import java.util.function.Predicate;
 import javax.swing.table.AbstractTableModel;
 import com.fon.common.utils.Utility;
 
@@ -78,6 +81,10 @@ public class ParticipantTableModel extends AbstractTableModel {
         fireTableDataChanged();
     }
 
+    public boolean mergeChanges(List<ChangeEvent> changes, Predicate<Participant> matches) {
+        return ChangeMerger.merge(this, list, EntityType.PARTICIPANT, Participant.class, Participant::getParticipantID, matches, changes);
+    }
+
     public void addRow(Participant p) {
         list.add(p);
         fireTableDataChanged();
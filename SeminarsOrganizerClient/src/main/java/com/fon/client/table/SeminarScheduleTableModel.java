@@ -7,6 +7,9 @@ package com.fon.client.table;
 import com.fon.common.domain.SeminarSchedule;
 import java.util.LinkedList;
 import java.util.List;
+import com.fon.common.domain.EntityType;
+import com.fon.common.intercomm.ChangeEvent;
+import java.util.function.Predicate;
 import javax.swing.table.AbstractTableModel;
 import com.fon.common.utils.Utility;
 
@@ -78,4 +81,8 @@ public class SeminarScheduleTableModel extends AbstractTableModel {
         this.seminarSchedules = seminarSchedules;
         fireTableDataChanged();
     }
+
+    public boolean mergeChanges(List<ChangeEvent> changes, Predicate<SeminarSchedule> matches) {
+        return ChangeMerger.merge(this, seminarSchedules, EntityType.SEMINAR_SCHEDULE, SeminarSchedule.class, SeminarSchedule::getSeminarScheduleID, matches, changes);
+    }
 }
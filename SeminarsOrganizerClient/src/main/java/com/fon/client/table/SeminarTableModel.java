@@ -7,6 +7,9 @@ package com.fon.client.table;
 import com.fon.common.domain.Seminar;
 import java.util.LinkedList;
 import java.util.List;
+import com.fon.common.domain.EntityType;
+import com.fon.common.intercomm.ChangeEvent;
+import java.util.function.Predicate;
 import javax.swing.table.AbstractTableModel;
 
 /**
@@ -85,4 +88,8 @@ public class SeminarTableModel extends AbstractTableModel {
         this.seminars = seminars;
         fireTableDataChanged();
     }
+
+    public boolean mergeChanges(List<ChangeEvent> changes, Predicate<Seminar> matches) {
+        return ChangeMerger.merge(this, seminars, EntityType.SEMINAR, Seminar.class, Seminar::getSeminarID, matches, changes);
+    }
 }
@@ -0,0 +1,35 @@
+package com.fon.common.domain;
+
+import java.io.Serializable;
+
+/**
+ * Enumeration representing a type of domain entity that system operations read
+ * or write.
+ *
+ * <p>
+ * Compositions are not separate entity types: seminar topics belong to
+ * {@code SEMINAR} and seminar enrollments belong to {@code SEMINAR_SCHEDULE}.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public enum EntityType implements Serializable {
+    /**
+     * Entity type of {@code Seminar} and its {@code SeminarTopic}s.
+     */
+    SEMINAR,
+    /**
+     * Entity type of {@code Participant}.
+     */
+    PARTICIPANT,
+    /**
+     * Entity type of {@code EducationalInstitution}.
+     */
+    EDUCATIONAL_INSTITUTION,
+    /**
+     * Entity type of {@code SeminarSchedule} and its
+     * {@code SeminarEnrollment}s.
+     */
+    SEMINAR_SCHEDULE;
+}
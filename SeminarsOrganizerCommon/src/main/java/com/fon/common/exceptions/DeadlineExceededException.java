@@ -0,0 +1,26 @@
+package com.fon.common.exceptions;
+
+/**
+ * Exception indicating that the time budget of the request ran out before it
+ * finished.
+ *
+ * <p>
+ * A request whose budget ran out while it was waiting for execution was never
+ * started. One that ran out while executing had its running query stopped and
+ * its transaction rolled back, so nothing it did is kept.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    /**
+     * Constructor with all parameters.
+     *
+     * @param message The detail message describing the error condition.
+     */
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,39 @@
+package com.fon.common.exceptions;
+
+/**
+ * Exception indicating that a session sent more requests of an operation than
+ * its rate limit allows, so the request was not executed.
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    /**
+     * Time until the request may be sent again in milliseconds as
+     * {@code long} (read only).
+     */
+    private final long retryAfter;
+
+    /**
+     * Constructor with all parameters.
+     *
+     * @param message The detail message describing the error condition.
+     * @param retryAfter Time until the request may be sent again in
+     * milliseconds as {@code long}.
+     */
+    public RateLimitExceededException(String message, long retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Getter for retryAfter.
+     *
+     * @return Time until the request may be sent again in milliseconds as
+     * {@code long}.
+     */
+    public long getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,25 @@
+package com.fon.common.exceptions;
+
+/**
+ * Exception indicating that the client cancelled the request before it
+ * finished.
+ *
+ * <p>
+ * A request cancelled while it was executing had its running query cancelled
+ * and its transaction rolled back, so nothing it did is kept.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class RequestCancelledException extends RuntimeException {
+
+    /**
+     * Constructor with all parameters.
+     *
+     * @param message The detail message describing the error condition.
+     */
+    public RequestCancelledException(String message) {
+        super(message);
+    }
+}
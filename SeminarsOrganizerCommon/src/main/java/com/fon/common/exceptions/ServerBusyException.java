@@ -0,0 +1,73 @@
+package com.fon.common.exceptions;
+
+/**
+ * Exception indicating that the server is saturated and did not execute the
+ * request.
+ *
+ * <p>
+ * It is sent in this situations:
+ * </p>
+ *
+ * <ul>
+ * <li>The maximum number of connections is reached, in which case the
+ * connection is closed by the server;</li>
+ * <li>The queue of requests waiting for a worker is full.</li>
+ * </ul>
+ *
+ * <p>
+ * Since the request was never executed, it is always safe to send it again
+ * after the suggested delay.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class ServerBusyException extends RuntimeException {
+
+    /**
+     * Suggested delay before sending the request again in milliseconds as
+     * {@code long} (read only).
+     */
+    private final long retryAfter;
+
+    /**
+     * Whether the server rejected and closed the whole connection as
+     * {@code boolean} (read only).
+     */
+    private final boolean connectionRejected;
+
+    /**
+     * Constructor with all parameters.
+     *
+     * @param message The detail message describing the error condition.
+     * @param retryAfter Suggested delay before sending the request again in
+     * milliseconds as {@code long}.
+     * @param connectionRejected Whether the server rejected and closed the
+     * whole connection as {@code boolean}.
+     */
+    public ServerBusyException(String message, long retryAfter, boolean connectionRejected) {
+        super(message);
+        this.retryAfter = retryAfter;
+        this.connectionRejected = connectionRejected;
+    }
+
+    /**
+     * Getter for retryAfter.
+     *
+     * @return Suggested delay before sending the request again in milliseconds
+     * as {@code long}.
+     */
+    public long getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Getter for connectionRejected.
+     *
+     * @return {@code true} if the server rejected and closed the whole
+     * connection, {@code false} if only the request was rejected.
+     */
+    public boolean isConnectionRejected() {
+        return connectionRejected;
+    }
+}
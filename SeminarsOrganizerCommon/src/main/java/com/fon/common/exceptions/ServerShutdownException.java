@@ -0,0 +1,45 @@
+package com.fon.common.exceptions;
+
+/**
+ * Exception notifying a client that the server is shutting down.
+ *
+ * <p>
+ * It is sent once every request of the client that was already being executed
+ * has finished, and the connection is closed right after it. A request
+ * answered with this exception was never executed, so it is safe to send it
+ * again after reconnecting.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class ServerShutdownException extends RuntimeException {
+
+    /**
+     * Suggested delay before reconnecting in milliseconds as {@code long}
+     * (read only).
+     */
+    private final long retryAfter;
+
+    /**
+     * Constructor with all parameters.
+     *
+     * @param message The detail message describing the error condition.
+     * @param retryAfter Suggested delay before reconnecting in milliseconds as
+     * {@code long}.
+     */
+    public ServerShutdownException(String message, long retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Getter for retryAfter.
+     *
+     * @return Suggested delay before reconnecting in milliseconds as
+     * {@code long}.
+     */
+    public long getRetryAfter() {
+        return retryAfter;
+    }
+}
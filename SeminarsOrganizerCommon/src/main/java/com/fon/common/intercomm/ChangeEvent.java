@@ -0,0 +1,243 @@
+package com.fon.common.intercomm;
+
+import com.fon.common.domain.EntityType;
+import com.fon.common.domain.GenericEntity;
+import com.fon.common.domain.State;
+import java.io.Serializable;
+
+/**
+ * Class representing a compact notice, pushed by the server to subscribed
+ * clients, that an entity was written.
+ *
+ * <p>
+ * Pushed events carry only the identity of the entity and the sequence number
+ * of the change. Events returned by {@code GET_CHANGES_SINCE} also carry the
+ * written entity, so clients can merge it into what they show. An event
+ * without an entity ID means that an unknown number of entities of the entity
+ * type has changed, so everything shown of that entity type should be
+ * reloaded.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class ChangeEvent implements Serializable {
+
+    /**
+     * Entity type of the changed entity as {@code EntityType}.
+     */
+    private EntityType entityType;
+
+    /**
+     * What happened with the entity as {@code State}, one of {@code CREATED},
+     * {@code CHANGED} and {@code DELETED}.
+     */
+    private State state;
+
+    /**
+     * ID of the changed entity as {@code Integer}, {@code null} if the changed
+     * entities are unknown.
+     */
+    private Integer entityID;
+
+    /**
+     * Version of the entity type after the change as {@code long}.
+     */
+    private long version;
+
+    /**
+     * Sequence number of the change among all changes on the server as
+     * {@code long}.
+     */
+    private long sequence;
+
+    /**
+     * The written entity as {@code GenericEntity}, {@code null} in pushed
+     * events and for deleted entities.
+     */
+    private GenericEntity entity;
+
+    /**
+     * Constructor with entity type, state, entity ID and entity.
+     *
+     * @param entityType Entity type of the changed entity as
+     * {@code EntityType}.
+     * @param state What happened with the entity as {@code State}.
+     * @param entityID ID of the changed entity as {@code Integer}.
+     * @param entity The written entity as {@code GenericEntity}.
+     */
+    public ChangeEvent(EntityType entityType, State state, Integer entityID, GenericEntity entity) {
+        this(entityType, state, entityID);
+        this.entity = entity;
+    }
+
+    /**
+     * Constructor with entity type, state and entity ID.
+     *
+     * @param entityType Entity type of the changed entity as
+     * {@code EntityType}.
+     * @param state What happened with the entity as {@code State}.
+     * @param entityID ID of the changed entity as {@code Integer},
+     * {@code null} if the changed entities are unknown.
+     */
+    public ChangeEvent(EntityType entityType, State state, Integer entityID) {
+        this.entityType = entityType;
+        this.state = state;
+        this.entityID = entityID;
+    }
+
+    /**
+     * Non-parametric constructor.
+     */
+    public ChangeEvent() {
+    }
+
+    /**
+     * Getter for entityType.
+     *
+     * @return Entity type of the changed entity as {@code EntityType}.
+     */
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * Setter for entityType.
+     *
+     * @param entityType Entity type of the changed entity as
+     * {@code EntityType}.
+     */
+    public void setEntityType(EntityType entityType) {
+        this.entityType = entityType;
+    }
+
+    /**
+     * Getter for state.
+     *
+     * @return What happened with the entity as {@code State}.
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Setter for state.
+     *
+     * @param state What happened with the entity as {@code State}.
+     */
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    /**
+     * Getter for entityID.
+     *
+     * @return ID of the changed entity as {@code Integer}, {@code null} if the
+     * changed entities are unknown.
+     */
+    public Integer getEntityID() {
+        return entityID;
+    }
+
+    /**
+     * Setter for entityID.
+     *
+     * @param entityID ID of the changed entity as {@code Integer},
+     * {@code null} if the changed entities are unknown.
+     */
+    public void setEntityID(Integer entityID) {
+        this.entityID = entityID;
+    }
+
+    /**
+     * Getter for version.
+     *
+     * @return Version of the entity type after the change as {@code long}.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Setter for version.
+     *
+     * @param version Version of the entity type after the change as
+     * {@code long}.
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Getter for sequence.
+     *
+     * @return Sequence number of the change among all changes on the server
+     * as {@code long}.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Setter for sequence.
+     *
+     * @param sequence Sequence number of the change among all changes on the
+     * server as {@code long}.
+     */
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    /**
+     * Getter for entity.
+     *
+     * @return The written entity as {@code GenericEntity}, {@code null} in
+     * pushed events and for deleted entities.
+     */
+    public GenericEntity getEntity() {
+        return entity;
+    }
+
+    /**
+     * Setter for entity.
+     *
+     * @param entity The written entity as {@code GenericEntity}.
+     */
+    public void setEntity(GenericEntity entity) {
+        this.entity = entity;
+    }
+
+    /**
+     * Returns a copy of the change event without the written entity, as it is
+     * pushed to clients.
+     *
+     * @return Compact copy of the change event as {@code ChangeEvent}.
+     */
+    public ChangeEvent compact() {
+        ChangeEvent compact = new ChangeEvent(entityType, state, entityID);
+        compact.setVersion(version);
+        compact.setSequence(sequence);
+        return compact;
+    }
+
+    /**
+     * Checks if the changed entities are unknown, so everything shown of the
+     * entity type should be reloaded.
+     *
+     * @return {@code true} if the changed entities are unknown, otherwise
+     * {@code false}.
+     */
+    public boolean isReloadRequired() {
+        return entityID == null;
+    }
+
+    /**
+     * Returns a string representation of the change event.
+     *
+     * @return String representation of the change event as {@code String}.
+     */
+    @Override
+    public String toString() {
+        return "ChangeEvent{" + "entityType=" + entityType + ", state=" + state + ", entityID=" + entityID + ", version=" + version + ", sequence=" + sequence + '}';
+    }
+}
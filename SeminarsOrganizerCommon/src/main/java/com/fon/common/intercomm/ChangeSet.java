@@ -0,0 +1,121 @@
+package com.fon.common.intercomm;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class representing the answer to {@code GET_CHANGES_SINCE}: the changes made
+ * on the server after a given sequence number.
+ *
+ * <p>
+ * If the server no longer remembers all changes since the given sequence
+ * number, the change set has no changes and asks for a full reload instead.
+ * Either way, its sequence number is the one to ask for changes since next
+ * time.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class ChangeSet implements Serializable {
+
+    /**
+     * Sequence number of the latest change on the server as {@code long}.
+     */
+    private long sequence;
+
+    /**
+     * Whether the changes are unknown and everything should be reloaded as
+     * {@code boolean}.
+     */
+    private boolean fullReload;
+
+    /**
+     * Changes in order of their sequence numbers as {@code List<ChangeEvent>}.
+     */
+    private List<ChangeEvent> changes;
+
+    /**
+     * Constructor with all parameters.
+     *
+     * @param sequence Sequence number of the latest change on the server as
+     * {@code long}.
+     * @param fullReload Whether the changes are unknown and everything should
+     * be reloaded as {@code boolean}.
+     * @param changes Changes in order of their sequence numbers as
+     * {@code List<ChangeEvent>}.
+     */
+    public ChangeSet(long sequence, boolean fullReload, List<ChangeEvent> changes) {
+        this.sequence = sequence;
+        this.fullReload = fullReload;
+        this.changes = changes;
+    }
+
+    /**
+     * Non-parametric constructor.
+     */
+    public ChangeSet() {
+        changes = new ArrayList<>();
+    }
+
+    /**
+     * Getter for sequence.
+     *
+     * @return Sequence number of the latest change on the server as
+     * {@code long}.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Setter for sequence.
+     *
+     * @param sequence Sequence number of the latest change on the server as
+     * {@code long}.
+     */
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    /**
+     * Getter for fullReload.
+     *
+     * @return Whether the changes are unknown and everything should be
+     * reloaded as {@code boolean}.
+     */
+    public boolean isFullReload() {
+        return fullReload;
+    }
+
+    /**
+     * Setter for fullReload.
+     *
+     * @param fullReload Whether the changes are unknown and everything should
+     * be reloaded as {@code boolean}.
+     */
+    public void setFullReload(boolean fullReload) {
+        this.fullReload = fullReload;
+    }
+
+    /**
+     * Getter for changes.
+     *
+     * @return Changes in order of their sequence numbers as
+     * {@code List<ChangeEvent>}.
+     */
+    public List<ChangeEvent> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Setter for changes.
+     *
+     * @param changes Changes in order of their sequence numbers as
+     * {@code List<ChangeEvent>}.
+     */
+    public void setChanges(List<ChangeEvent> changes) {
+        this.changes = changes;
+    }
+}
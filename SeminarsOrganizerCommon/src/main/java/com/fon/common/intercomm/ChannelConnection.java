@@ -0,0 +1,101 @@
+package com.fon.common.intercomm;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Connection over a socket channel in blocking mode.
+ *
+ * <p>
+ * The streams read from and write to the channel directly. Streams created by
+ * {@code Channels} hold the blocking lock of the channel while a read is
+ * blocked, so a response could not be written while the next request is
+ * awaited.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+class ChannelConnection implements Connection {
+
+    /**
+     * Connected socket channel as {@code SocketChannel} (read only).
+     */
+    private final SocketChannel channel;
+
+    /**
+     * Stream reading from the channel as {@code InputStream} (read only).
+     */
+    private final InputStream inputStream;
+
+    /**
+     * Stream writing to the channel as {@code OutputStream} (read only).
+     */
+    private final OutputStream outputStream;
+
+    /**
+     * Constructor with all parameters.
+     *
+     * @param channel Connected socket channel as {@code SocketChannel}.
+     */
+    ChannelConnection(SocketChannel channel) {
+        this.channel = channel;
+        this.inputStream = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                byte[] single = new byte[1];
+                return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (len == 0) {
+                    return 0;
+                }
+                return channel.read(ByteBuffer.wrap(b, off, len));
+            }
+        };
+        this.outputStream = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        };
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return inputStream;
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    @Override
+    public void shutdownOutput() throws IOException {
+        channel.shutdownOutput();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return !channel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -4,17 +4,17 @@
  */
 package com.fon.common.intercomm;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
-import java.net.Socket;
 
 /**
  * Singleton class that manages communication functionalities via sockets.
  *
  * <p>
  * This class provides methods to handle sending and receiving objects through
- * sockets.
+ * connections.
  * </p>
  *
  * @author Aleksa
@@ -47,29 +47,62 @@ public class Communication {
     }
 
     /**
-     * Sends an object through the provided socket's output stream.
+     * Sends an object through the provided connection's output stream.
      *
-     * @param socket The socket used for communication.
+     * @param connection The connection used for communication.
      * @param object The object to be sent.
      * @throws IOException If an I/O error occurs during the sending process.
      */
-    public void send(Socket socket, Object object) throws IOException {
-        ObjectOutputStream oos = new ObjectOutputStream(socket.getOutputStream());
+    public void send(Connection connection, Object object) throws IOException {
+        ObjectOutputStream oos = new ObjectOutputStream(connection.getOutputStream());
         oos.writeObject(object);
         oos.flush();
     }
 
     /**
-     * Receives an object from the provided socket's input stream.
+     * Serializes an object into the exact bytes {@code send} would write.
      *
-     * @param socket The socket used for communication.
+     * <p>
+     * The bytes include the stream header, so they can be sent with
+     * {@code sendEncoded} any number of times and read with {@code receive}.
+     * </p>
+     *
+     * @param object The object to be encoded.
+     * @return The encoded object as {@code byte[]}.
+     * @throws IOException If the object cannot be serialized.
+     */
+    public byte[] encode(Object object) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+            oos.writeObject(object);
+        }
+        return baos.toByteArray();
+    }
+
+    /**
+     * Sends an object already encoded by {@code encode} through the provided
+     * connection's output stream.
+     *
+     * @param connection The connection used for communication.
+     * @param encoded The encoded object as {@code byte[]}.
+     * @throws IOException If an I/O error occurs during the sending process.
+     */
+    public void sendEncoded(Connection connection, byte[] encoded) throws IOException {
+        connection.getOutputStream().write(encoded);
+        connection.getOutputStream().flush();
+    }
+
+    /**
+     * Receives an object from the provided connection's input stream.
+     *
+     * @param connection The connection used for communication.
      * @return The received object.
      * @throws IOException If an I/O error occurs during the receiving process.
      * @throws ClassNotFoundException If the class of the received object cannot
      * be found.
      */
-    public Object receive(Socket socket) throws IOException, ClassNotFoundException {
-        ObjectInputStream ois = new ObjectInputStream(socket.getInputStream());
+    public Object receive(Connection connection) throws IOException, ClassNotFoundException {
+        ObjectInputStream ois = new ObjectInputStream(connection.getInputStream());
         return ois.readObject();
     }
 }
@@ -0,0 +1,77 @@
+package com.fon.common.intercomm;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Connection between a client and the server, independent of the transport
+ * it uses.
+ *
+ * <p>
+ * Clients usually connect over TCP, but clients running on the same host as
+ * the server may connect over a Unix domain socket instead, which avoids the
+ * overhead of the TCP loopback. Both kinds of connection carry the same
+ * requests and responses.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public interface Connection extends Closeable {
+
+    /**
+     * Returns the stream of data received over the connection.
+     *
+     * @return Input stream as {@code InputStream}.
+     * @throws IOException If the stream cannot be obtained.
+     */
+    InputStream getInputStream() throws IOException;
+
+    /**
+     * Returns the stream of data sent over the connection.
+     *
+     * @return Output stream as {@code OutputStream}.
+     * @throws IOException If the stream cannot be obtained.
+     */
+    OutputStream getOutputStream() throws IOException;
+
+    /**
+     * Stops sending over the connection, while data can still be received.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    void shutdownOutput() throws IOException;
+
+    /**
+     * Checks if the connection is closed.
+     *
+     * @return {@code true} if the connection is closed, otherwise
+     * {@code false}.
+     */
+    boolean isClosed();
+
+    /**
+     * Creates a connection over a TCP socket.
+     *
+     * @param socket Connected socket as {@code Socket}.
+     * @return Connection as {@code Connection}.
+     */
+    static Connection of(Socket socket) {
+        return new SocketConnection(socket);
+    }
+
+    /**
+     * Creates a connection over a socket channel in blocking mode, such as a
+     * Unix domain socket channel.
+     *
+     * @param channel Connected socket channel as {@code SocketChannel}.
+     * @return Connection as {@code Connection}.
+     */
+    static Connection of(SocketChannel channel) {
+        return new ChannelConnection(channel);
+    }
+}
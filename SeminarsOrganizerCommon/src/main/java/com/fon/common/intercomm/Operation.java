@@ -15,6 +15,8 @@ package com.fon.common.intercomm;
 public enum Operation {
     //Admin SOs:
     LOGIN,
+    //Sessions:
+    RESUME_SESSION,
     //Seminar SOs:
     CREATE_SEMINAR, GET_ALL_SEMINARS, GET_SEMINAR_BY_ID, GET_SEMINARS_BY_CONDITION, SAVE_SEMINAR,
     //Participant SOs:
@@ -22,5 +24,11 @@ public enum Operation {
     //EducationalInstitution SOs:
     GET_ALL_EDUCATIONAL_INSTITUTIONS,
     //SeminarSchedule SOs:
-    CREATE_SEMINAR_SCHEDULE, GET_SEMINAR_SCHEDULES_BY_CONDITION, GET_SEMINAR_SCHEDULE_BY_ID, SAVE_SEMINAR_SCHEDULE;
+    CREATE_SEMINAR_SCHEDULE, GET_SEMINAR_SCHEDULES_BY_CONDITION, GET_SEMINAR_SCHEDULE_BY_ID, SAVE_SEMINAR_SCHEDULE,
+    //Connection:
+    HEARTBEAT,
+    //Change events:
+    SUBSCRIBE, CHANGE_EVENT, GET_CHANGES_SINCE,
+    //Cancellation:
+    CANCEL;
 }
\ No newline at end of file
@@ -26,6 +26,29 @@ public class Request implements Serializable {
      */
     private Operation operation;
 
+    /**
+     * Entity tag of the response the client already has as {@code String},
+     * {@code null} if it has none. If the data is unchanged, the server
+     * answers with a response that is not modified instead of the data.
+     */
+    private String entityTag;
+
+    /**
+     * Correlation ID of the request as {@code long}, chosen by the client and
+     * unique within its connection, {@code 0} if the request can't be
+     * cancelled. A {@code CANCEL} request carries the correlation ID of the
+     * request to cancel as its argument.
+     */
+    private long requestID;
+
+    /**
+     * Time budget of the request in milliseconds as {@code long}, counted
+     * from when the server receives it, {@code 0} if the request has no
+     * deadline. The server doesn't start a request whose budget ran out, and
+     * stops one that runs out of it while executing.
+     */
+    private long timeout;
+
     /**
      * Constructor with all parameters.
      *
@@ -97,4 +120,64 @@ public class Request implements Serializable {
         sb.append('}');
         return sb.toString();
     }
+
+    /**
+     * Getter for entityTag.
+     *
+     * @return Entity tag of the response the client already has as
+     * {@code String}, {@code null} if it has none.
+     */
+    public String getEntityTag() {
+        return entityTag;
+    }
+
+    /**
+     * Setter for entityTag.
+     *
+     * @param entityTag Entity tag of the response the client already has as
+     * {@code String}, {@code null} if it has none.
+     */
+    public void setEntityTag(String entityTag) {
+        this.entityTag = entityTag;
+    }
+
+    /**
+     * Getter for requestID.
+     *
+     * @return Correlation ID of the request as {@code long}, {@code 0} if the
+     * request can't be cancelled.
+     */
+    public long getRequestID() {
+        return requestID;
+    }
+
+    /**
+     * Setter for requestID.
+     *
+     * @param requestID Correlation ID of the request as {@code long},
+     * {@code 0} if the request can't be cancelled.
+     */
+    public void setRequestID(long requestID) {
+        this.requestID = requestID;
+    }
+
+    /**
+     * Getter for timeout.
+     *
+     * @return Time budget of the request in milliseconds as {@code long},
+     * {@code 0} if the request has no deadline.
+     */
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Setter for timeout.
+     *
+     * @param timeout Time budget of the request in milliseconds as
+     * {@code long}, {@code 0} if the request has no deadline.
+     */
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
 }
@@ -32,6 +32,26 @@ public class Response implements Serializable {
      */
     private Exception exception;
 
+    /**
+     * Entity tag identifying the version of the data in the result as
+     * {@code String}, {@code null} if the result cannot be reused.
+     */
+    private String entityTag;
+
+    /**
+     * Whether the data is unchanged since the entity tag sent in the request,
+     * so the response has no result, as {@code boolean}.
+     */
+    private boolean notModified;
+
+    /**
+     * Session token issued by a successful login or resumption of a session as
+     * {@code String}, {@code null} otherwise. Presenting it in a
+     * {@code RESUME_SESSION} request restores the session on a new connection
+     * without logging in again.
+     */
+    private String sessionToken;
+
     /**
      * Constructor with all parameters.
      *
@@ -110,4 +130,65 @@ public class Response implements Serializable {
     public void setException(Exception exception) {
         this.exception = exception;
     }
+
+    /**
+     * Getter for entityTag.
+     *
+     * @return Entity tag identifying the version of the data in the result as
+     * {@code String}, {@code null} if the result cannot be reused.
+     */
+    public String getEntityTag() {
+        return entityTag;
+    }
+
+    /**
+     * Setter for entityTag.
+     *
+     * @param entityTag Entity tag identifying the version of the data in the
+     * result as {@code String}, {@code null} if the result cannot be reused.
+     */
+    public void setEntityTag(String entityTag) {
+        this.entityTag = entityTag;
+    }
+
+    /**
+     * Getter for notModified.
+     *
+     * @return Whether the data is unchanged since the entity tag sent in the
+     * request, so the response has no result, as {@code boolean}.
+     */
+    public boolean isNotModified() {
+        return notModified;
+    }
+
+    /**
+     * Setter for notModified.
+     *
+     * @param notModified Whether the data is unchanged since the entity tag
+     * sent in the request, so the response has no result, as
+     * {@code boolean}.
+     */
+    public void setNotModified(boolean notModified) {
+        this.notModified = notModified;
+    }
+
+    /**
+     * Getter for sessionToken.
+     *
+     * @return Session token issued by a successful login or resumption of a
+     * session as {@code String}, {@code null} otherwise.
+     */
+    public String getSessionToken() {
+        return sessionToken;
+    }
+
+    /**
+     * Setter for sessionToken.
+     *
+     * @param sessionToken Session token issued by a successful login or
+     * resumption of a session as {@code String}, {@code null} otherwise.
+     */
+    public void setSessionToken(String sessionToken) {
+        this.sessionToken = sessionToken;
+    }
 }
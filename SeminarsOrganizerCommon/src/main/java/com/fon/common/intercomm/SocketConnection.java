@@ -0,0 +1,54 @@
+package com.fon.common.intercomm;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+
+/**
+ * Connection over a TCP socket.
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+class SocketConnection implements Connection {
+
+    /**
+     * Connected socket as {@code Socket} (read only).
+     */
+    private final Socket socket;
+
+    /**
+     * Constructor with all parameters.
+     *
+     * @param socket Connected socket as {@code Socket}.
+     */
+    SocketConnection(Socket socket) {
+        this.socket = socket;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return socket.getInputStream();
+    }
+
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        return socket.getOutputStream();
+    }
+
+    @Override
+    public void shutdownOutput() throws IOException {
+        socket.shutdownOutput();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return socket.isClosed();
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
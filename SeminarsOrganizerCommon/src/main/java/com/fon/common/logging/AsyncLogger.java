@@ -0,0 +1,679 @@
+package com.fon.common.logging;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Class representing a logger that writes structured events asynchronously.
+ *
+ * <p>
+ * An event has a name and up to three fields, and is written as a single
+ * line of {@code key=value} pairs, for example
+ * {@code time=2023-05-01T10:15:30.123Z level=INFO thread=main event=client_connected client=3}.
+ * Logging only copies the event into a preallocated slot of a ring buffer, so
+ * threads never wait for the output and never contend on it. A single writer
+ * thread formats the events and writes them to the output in batches.
+ * </p>
+ *
+ * <p>
+ * Field values are formatted by the writer thread, so they should be
+ * immutable, such as strings, numbers and enums. Events below the level of
+ * the logger are discarded before anything is copied, so disabled events cost
+ * a single comparison.
+ * </p>
+ *
+ * <p>
+ * When the buffer is full, events below the lossless level are dropped and
+ * counted, and the number of dropped events is logged once the writer catches
+ * up. Events at the lossless level and above wait for space instead, so
+ * warnings and errors are not lost under load.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class AsyncLogger implements AsyncLoggerMXBean {
+
+    /**
+     * Number of events the buffer of the singleton instance holds.
+     */
+    private static final int DEFAULT_CAPACITY = 8192;
+
+    /**
+     * Number of characters after which the writer writes its batch even
+     * though more events are waiting.
+     */
+    private static final int BATCH_SIZE = 16384;
+
+    /**
+     * Longest time in nanoseconds the writer sleeps without being woken up.
+     */
+    private static final long IDLE_PARK = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * Time in nanoseconds a lossless event waits before checking for space in
+     * a full buffer again.
+     */
+    private static final long FULL_PARK = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /**
+     * The singleton instance of the {@code AsyncLogger} class, writing to the
+     * standard output.
+     */
+    private static final AsyncLogger instance = new AsyncLogger(DEFAULT_CAPACITY, System.out);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> instance.flush(1000), "async-logger-flush"));
+    }
+
+    /**
+     * Slot of the ring buffer holding one event.
+     *
+     * <p>
+     * The sequence tells whose turn the slot is. It equals the position of
+     * the slot while the slot is free, the position plus one once an event is
+     * published into it, and the position plus the capacity once the writer
+     * has freed it for the next round. The other fields are written before
+     * the sequence is published and read after it is observed, so they need
+     * no synchronization of their own.
+     * </p>
+     */
+    private static final class Slot {
+
+        private volatile long sequence;
+        private long time;
+        private LogLevel level;
+        private String thread;
+        private String event;
+        private String key1;
+        private Object value1;
+        private String key2;
+        private Object value2;
+        private String key3;
+        private Object value3;
+
+        private Slot(long sequence) {
+            this.sequence = sequence;
+        }
+
+        private void clear() {
+            level = null;
+            thread = null;
+            event = null;
+            key1 = null;
+            value1 = null;
+            key2 = null;
+            value2 = null;
+            key3 = null;
+            value3 = null;
+        }
+    }
+
+    /**
+     * Slots of the ring buffer as {@code Slot[]} (read only).
+     */
+    private final Slot[] slots;
+
+    /**
+     * Mask selecting the slot of a position as {@code int} (read only).
+     */
+    private final int mask;
+
+    /**
+     * Position the next event is published to as {@code AtomicLong} (read
+     * only).
+     */
+    private final AtomicLong tail;
+
+    /**
+     * Position of the next event the writer reads as {@code long}, written
+     * only by the writer.
+     */
+    private volatile long head;
+
+    /**
+     * Position up to which events are written to the output as {@code long},
+     * written only by the writer.
+     */
+    private volatile long flushed;
+
+    /**
+     * Number of events dropped because the buffer was full as
+     * {@code LongAdder} (read only).
+     */
+    private final LongAdder dropped;
+
+    /**
+     * Output events are written to as {@code PrintStream} (read only).
+     */
+    private final PrintStream out;
+
+    /**
+     * Thread writing the events as {@code Thread} (read only).
+     */
+    private final Thread writer;
+
+    /**
+     * Whether the writer is sleeping and must be woken up by the next event
+     * as {@code boolean}.
+     */
+    private volatile boolean writerSleeping;
+
+    /**
+     * Lowest level of written events as {@code LogLevel}.
+     */
+    private volatile LogLevel level;
+
+    /**
+     * Lowest level of events that wait for space in a full buffer as
+     * {@code LogLevel}.
+     */
+    private volatile LogLevel losslessLevel;
+
+    /**
+     * Constructor with capacity and output parameters, starts the writer
+     * thread. Events at the {@code INFO} level and above are written and
+     * warnings and errors are lossless.
+     *
+     * @param capacity Number of events the buffer holds as {@code int},
+     * rounded up to a power of two.
+     * @param out Output events are written to as {@code PrintStream}.
+     * @throws IllegalArgumentException If the capacity is less than 1.
+     */
+    public AsyncLogger(int capacity, PrintStream out) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1, was " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot(i);
+        }
+        this.mask = size - 1;
+        this.tail = new AtomicLong();
+        this.dropped = new LongAdder();
+        this.out = out;
+        this.level = LogLevel.INFO;
+        this.losslessLevel = LogLevel.WARN;
+        this.writer = new Thread(this::writeEvents, "async-logger");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Getter of instance (Singleton pattern).
+     *
+     * @return The singleton instance of the {@code AsyncLogger} class.
+     */
+    public static AsyncLogger getInstance() {
+        return instance;
+    }
+
+    /**
+     * Registers the logger with the platform MBean server as
+     * {@code <domain>:type=AsyncLogger}, unless it is already registered.
+     *
+     * @param domain Domain of the MBean name as {@code String}.
+     */
+    public void registerMBean(String domain) {
+        try {
+            MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(domain + ":type=AsyncLogger");
+            if (!mbeanServer.isRegistered(name)) {
+                mbeanServer.registerMBean(this, name);
+            }
+        } catch (JMException ex) {
+            Logger.getLogger(AsyncLogger.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    /**
+     * Checks whether events of a level are written.
+     *
+     * @param eventLevel Level of the event as {@code LogLevel}.
+     * @return {@code true} if events of the level are written, otherwise
+     * {@code false}.
+     */
+    public boolean isEnabled(LogLevel eventLevel) {
+        return eventLevel != LogLevel.OFF && eventLevel.compareTo(level) >= 0;
+    }
+
+    /**
+     * Logs an event without fields.
+     *
+     * @param eventLevel Level of the event as {@code LogLevel}.
+     * @param event Name of the event as {@code String}.
+     */
+    public void log(LogLevel eventLevel, String event) {
+        log(eventLevel, event, null, null, null, null, null, null);
+    }
+
+    /**
+     * Logs an event with one field.
+     *
+     * @param eventLevel Level of the event as {@code LogLevel}.
+     * @param event Name of the event as {@code String}.
+     * @param key1 Key of the field as {@code String}.
+     * @param value1 Value of the field as {@code Object}.
+     */
+    public void log(LogLevel eventLevel, String event, String key1, Object value1) {
+        log(eventLevel, event, key1, value1, null, null, null, null);
+    }
+
+    /**
+     * Logs an event with two fields.
+     *
+     * @param eventLevel Level of the event as {@code LogLevel}.
+     * @param event Name of the event as {@code String}.
+     * @param key1 Key of the first field as {@code String}.
+     * @param value1 Value of the first field as {@code Object}.
+     * @param key2 Key of the second field as {@code String}.
+     * @param value2 Value of the second field as {@code Object}.
+     */
+    public void log(LogLevel eventLevel, String event, String key1, Object value1, String key2, Object value2) {
+        log(eventLevel, event, key1, value1, key2, value2, null, null);
+    }
+
+    /**
+     * Logs an event with three fields. Fields with a {@code null} key are
+     * left out.
+     *
+     * @param eventLevel Level of the event as {@code LogLevel}.
+     * @param event Name of the event as {@code String}.
+     * @param key1 Key of the first field as {@code String}.
+     * @param value1 Value of the first field as {@code Object}.
+     * @param key2 Key of the second field as {@code String}.
+     * @param value2 Value of the second field as {@code Object}.
+     * @param key3 Key of the third field as {@code String}.
+     * @param value3 Value of the third field as {@code Object}.
+     */
+    public void log(LogLevel eventLevel, String event, String key1, Object value1, String key2, Object value2,
+            String key3, Object value3) {
+        if (!isEnabled(eventLevel)) {
+            return;
+        }
+        long position = claim(eventLevel);
+        if (position < 0) {
+            return;
+        }
+        Slot slot = slots[(int) position & mask];
+        slot.time = System.currentTimeMillis();
+        slot.level = eventLevel;
+        slot.thread = Thread.currentThread().getName();
+        slot.event = event;
+        slot.key1 = key1;
+        slot.value1 = value1;
+        slot.key2 = key2;
+        slot.value2 = value2;
+        slot.key3 = key3;
+        slot.value3 = value3;
+        slot.sequence = position + 1;
+        if (writerSleeping) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Claims the next free slot of the buffer.
+     *
+     * @param eventLevel Level of the event as {@code LogLevel}.
+     * @return Position of the claimed slot as {@code long}, {@code -1} if the
+     * buffer is full and the event is dropped.
+     */
+    private long claim(LogLevel eventLevel) {
+        while (true) {
+            long position = tail.get();
+            long difference = slots[(int) position & mask].sequence - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+            } else if (difference < 0) {
+                if (eventLevel.compareTo(losslessLevel) < 0 || !writer.isAlive()) {
+                    dropped.increment();
+                    return -1;
+                }
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(FULL_PARK);
+            }
+        }
+    }
+
+    /**
+     * Logs an event at the {@code DEBUG} level without fields.
+     *
+     * @param event Name of the event as {@code String}.
+     */
+    public void debug(String event) {
+        log(LogLevel.DEBUG, event);
+    }
+
+    /**
+     * Logs an event at the {@code DEBUG} level with one field.
+     *
+     * @param event Name of the event as {@code String}.
+     * @param key1 Key of the field as {@code String}.
+     * @param value1 Value of the field as {@code Object}.
+     */
+    public void debug(String event, String key1, Object value1) {
+        log(LogLevel.DEBUG, event, key1, value1);
+    }
+
+    /**
+     * Logs an event at the {@code DEBUG} level with two fields.
+     *
+     * @param event Name of the event as {@code String}.
+     * @param key1 Key of the first field as {@code String}.
+     * @param value1 Value of the first field as {@code Object}.
+     * @param key2 Key of the second field as {@code String}.
+     * @param value2 Value of the second field as {@code Object}.
+     */
+    public void debug(String event, String key1, Object value1, String key2, Object value2) {
+        log(LogLevel.DEBUG, event, key1, value1, key2, value2);
+    }
+
+    /**
+     * Logs an event at the {@code INFO} level without fields.
+     *
+     * @param event Name of the event as {@code String}.
+     */
+    public void info(String event) {
+        log(LogLevel.INFO, event);
+    }
+
+    /**
+     * Logs an event at the {@code INFO} level with one field.
+     *
+     * @param event Name of the event as {@code String}.
+     * @param key1 Key of the field as {@code String}.
+     * @param value1 Value of the field as {@code Object}.
+     */
+    public void info(String event, String key1, Object value1) {
+        log(LogLevel.INFO, event, key1, value1);
+    }
+
+    /**
+     * Logs an event at the {@code INFO} level with two fields.
+     *
+     * @param event Name of the event as {@code String}.
+     * @param key1 Key of the first field as {@code String}.
+     * @param value1 Value of the first field as {@code Object}.
+     * @param key2 Key of the second field as {@code String}.
+     * @param value2 Value of the second field as {@code Object}.
+     */
+    public void info(String event, String key1, Object value1, String key2, Object value2) {
+        log(LogLevel.INFO, event, key1, value1, key2, value2);
+    }
+
+    /**
+     * Logs an event at the {@code WARN} level without fields.
+     *
+     * @param event Name of the event as {@code String}.
+     */
+    public void warn(String event) {
+        log(LogLevel.WARN, event);
+    }
+
+    /**
+     * Logs an event at the {@code WARN} level with one field.
+     *
+     * @param event Name of the event as {@code String}.
+     * @param key1 Key of the field as {@code String}.
+     * @param value1 Value of the field as {@code Object}.
+     */
+    public void warn(String event, String key1, Object value1) {
+        log(LogLevel.WARN, event, key1, value1);
+    }
+
+    /**
+     * Logs an event at the {@code WARN} level with two fields.
+     *
+     * @param event Name of the event as {@code String}.
+     * @param key1 Key of the first field as {@code String}.
+     * @param value1 Value of the first field as {@code Object}.
+     * @param key2 Key of the second field as {@code String}.
+     * @param value2 Value of the second field as {@code Object}.
+     */
+    public void warn(String event, String key1, Object value1, String key2, Object value2) {
+        log(LogLevel.WARN, event, key1, value1, key2, value2);
+    }
+
+    /**
+     * Waits until every event logged before the call is written to the
+     * output.
+     *
+     * @param timeoutMillis Longest time to wait in milliseconds as
+     * {@code long}.
+     * @return {@code true} if the events were written in time, otherwise
+     * {@code false}.
+     */
+    public boolean flush(long timeoutMillis) {
+        long target = tail.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (flushed < target) {
+            if (!writer.isAlive() || System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(FULL_PARK);
+        }
+        return true;
+    }
+
+    /**
+     * Body of the writer thread, writes published events in batches and
+     * sleeps while there are none.
+     */
+    private void writeEvents() {
+        StringBuilder batch = new StringBuilder(BATCH_SIZE + 256);
+        long reportedDrops = 0;
+        while (true) {
+            long position = head;
+            Slot slot = slots[(int) position & mask];
+            if (slot.sequence == position + 1) {
+                format(slot, batch);
+                slot.clear();
+                slot.sequence = position + slots.length;
+                head = position + 1;
+                if (batch.length() >= BATCH_SIZE) {
+                    write(batch);
+                }
+                continue;
+            }
+            long drops = dropped.sum();
+            if (drops != reportedDrops) {
+                appendDropReport(batch, drops - reportedDrops);
+                reportedDrops = drops;
+            }
+            if (batch.length() > 0) {
+                write(batch);
+            }
+            writerSleeping = true;
+            if (slot.sequence != position + 1) {
+                LockSupport.parkNanos(this, IDLE_PARK);
+            }
+            writerSleeping = false;
+        }
+    }
+
+    /**
+     * Writes a batch of formatted events to the output and empties it.
+     *
+     * @param batch Formatted events as {@code StringBuilder}.
+     */
+    private void write(StringBuilder batch) {
+        out.append(batch);
+        out.flush();
+        batch.setLength(0);
+        flushed = head;
+    }
+
+    /**
+     * Formats an event as a line of {@code key=value} pairs.
+     *
+     * @param slot Slot holding the event as {@code Slot}.
+     * @param line Builder the line is appended to as {@code StringBuilder}.
+     */
+    private static void format(Slot slot, StringBuilder line) {
+        int start = line.length();
+        try {
+            line.append("time=").append(Instant.ofEpochMilli(slot.time))
+                    .append(" level=").append(slot.level);
+            appendField(line, "thread", slot.thread);
+            appendField(line, "event", slot.event);
+            if (slot.key1 != null) {
+                appendField(line, slot.key1, slot.value1);
+            }
+            if (slot.key2 != null) {
+                appendField(line, slot.key2, slot.value2);
+            }
+            if (slot.key3 != null) {
+                appendField(line, slot.key3, slot.value3);
+            }
+        } catch (RuntimeException ex) {
+            line.setLength(start);
+            line.append("time=").append(Instant.ofEpochMilli(slot.time)).append(" level=").append(slot.level);
+            appendField(line, "event", slot.event);
+            appendField(line, "format_error", ex.toString());
+        }
+        line.append(System.lineSeparator());
+    }
+
+    /**
+     * Appends the report of dropped events.
+     *
+     * @param line Builder the report is appended to as {@code StringBuilder}.
+     * @param count Number of events dropped since the last report as
+     * {@code long}.
+     */
+    private static void appendDropReport(StringBuilder line, long count) {
+        line.append("time=").append(Instant.now()).append(" level=").append(LogLevel.WARN);
+        appendField(line, "thread", Thread.currentThread().getName());
+        appendField(line, "event", "log_events_dropped");
+        appendField(line, "count", count);
+        line.append(System.lineSeparator());
+    }
+
+    /**
+     * Appends a field, quoting its value if it contains spaces, quotes,
+     * equal signs or line breaks.
+     *
+     * @param line Builder the field is appended to as {@code StringBuilder}.
+     * @param key Key of the field as {@code String}.
+     * @param value Value of the field as {@code Object}.
+     */
+    static void appendField(StringBuilder line, String key, Object value) {
+        line.append(' ').append(key).append('=');
+        String text = String.valueOf(value);
+        if (!needsQuotes(text)) {
+            line.append(text);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' ->
+                    line.append("\\\"");
+                case '\\' ->
+                    line.append("\\\\");
+                case '\n' ->
+                    line.append("\\n");
+                case '\r' ->
+                    line.append("\\r");
+                default ->
+                    line.append(c);
+            }
+        }
+        line.append('"');
+    }
+
+    /**
+     * Checks whether a value must be quoted.
+     *
+     * @param text Value as {@code String}.
+     * @return {@code true} if the value is empty or contains spaces, quotes,
+     * equal signs or line breaks, otherwise {@code false}.
+     */
+    private static boolean needsQuotes(String text) {
+        if (text.isEmpty()) {
+            return true;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c <= ' ' || c == '"' || c == '=' || c == '\\') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets the lowest level of written events.
+     *
+     * @param level Level as {@code LogLevel}.
+     */
+    public void setLevel(LogLevel level) {
+        this.level = level;
+    }
+
+    /**
+     * Sets the lowest level of events that wait for space in a full buffer
+     * instead of being dropped.
+     *
+     * @param losslessLevel Level as {@code LogLevel}.
+     */
+    public void setLosslessLevel(LogLevel losslessLevel) {
+        this.losslessLevel = losslessLevel;
+    }
+
+    @Override
+    public String getLevel() {
+        return level.name();
+    }
+
+    @Override
+    public void setLevel(String level) {
+        setLevel(LogLevel.parse(level));
+    }
+
+    @Override
+    public String getLosslessLevel() {
+        return losslessLevel.name();
+    }
+
+    @Override
+    public void setLosslessLevel(String level) {
+        setLosslessLevel(LogLevel.parse(level));
+    }
+
+    @Override
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    @Override
+    public int getPendingCount() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    @Override
+    public long getWrittenCount() {
+        return flushed;
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,72 @@
+package com.fon.common.logging;
+
+/**
+ * Management interface of the {@code AsyncLogger}, through which its levels
+ * can be read and changed while the application is running.
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public interface AsyncLoggerMXBean {
+
+    /**
+     * Returns the lowest level of events that are written.
+     *
+     * @return Name of the level as {@code String}.
+     */
+    String getLevel();
+
+    /**
+     * Sets the lowest level of events that are written.
+     *
+     * @param level Name of the level as {@code String}.
+     * @throws IllegalArgumentException If there is no level with the name.
+     */
+    void setLevel(String level);
+
+    /**
+     * Returns the lowest level of events that wait for space in a full buffer
+     * instead of being dropped.
+     *
+     * @return Name of the level as {@code String}.
+     */
+    String getLosslessLevel();
+
+    /**
+     * Sets the lowest level of events that wait for space in a full buffer
+     * instead of being dropped.
+     *
+     * @param level Name of the level as {@code String}.
+     * @throws IllegalArgumentException If there is no level with the name.
+     */
+    void setLosslessLevel(String level);
+
+    /**
+     * Returns the number of events the buffer holds.
+     *
+     * @return Capacity of the buffer as {@code int}.
+     */
+    int getCapacity();
+
+    /**
+     * Returns the number of events waiting to be written.
+     *
+     * @return Number of pending events as {@code int}.
+     */
+    int getPendingCount();
+
+    /**
+     * Returns the number of events written so far.
+     *
+     * @return Number of written events as {@code long}.
+     */
+    long getWrittenCount();
+
+    /**
+     * Returns the number of events dropped so far because the buffer was
+     * full.
+     *
+     * @return Number of dropped events as {@code long}.
+     */
+    long getDroppedCount();
+}
@@ -0,0 +1,27 @@
+package com.fon.common.logging;
+
+/**
+ * Enum representing the severity of a logged event.
+ *
+ * <p>
+ * Levels are ordered from the least to the most severe. A logger writes the
+ * events at its level and above, so {@code OFF} writes nothing.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public enum LogLevel {
+    DEBUG, INFO, WARN, ERROR, OFF;
+
+    /**
+     * Parses a level ignoring the case.
+     *
+     * @param value Name of the level as {@code String}.
+     * @return The level as {@code LogLevel}.
+     * @throws IllegalArgumentException If there is no level with the name.
+     */
+    public static LogLevel parse(String value) {
+        return valueOf(value.trim().toUpperCase());
+    }
+}
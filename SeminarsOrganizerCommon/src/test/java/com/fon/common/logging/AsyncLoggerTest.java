@@ -0,0 +1,118 @@
+package com.fon.common.logging;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Aleksa
+ */
+public class AsyncLoggerTest {
+
+    private ByteArrayOutputStream output;
+    private AsyncLogger logger;
+
+    @BeforeEach
+    void setUp() {
+        output = new ByteArrayOutputStream();
+        logger = new AsyncLogger(16, new PrintStream(output, true, StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger = null;
+        output = null;
+    }
+
+    private String written() {
+        assertTrue(logger.flush(5000));
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void test_info() {
+        logger.info("client_connected", "client", 3, "admin", "Ana Petrovic");
+
+        String line = written();
+        assertTrue(line.startsWith("time="));
+        assertTrue(line.contains(" level=INFO "));
+        assertTrue(line.contains(" event=client_connected client=3 admin=\"Ana Petrovic\""));
+        assertEquals(1, logger.getWrittenCount());
+    }
+
+    @Test
+    void test_log_belowLevel() {
+        logger.debug("request", "operation", "LOGIN");
+        assertEquals("", written());
+
+        logger.setLevel("debug");
+        logger.debug("request", "operation", "LOGIN");
+        assertTrue(written().contains(" event=request operation=LOGIN"));
+
+        logger.setLevel(LogLevel.OFF);
+        logger.warn("ignored");
+        assertFalse(written().contains("ignored"));
+    }
+
+    @Test
+    void test_setLevel_unknown() {
+        assertThrows(IllegalArgumentException.class, () -> logger.setLevel("verbose"));
+    }
+
+    @Test
+    void test_log_full() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        OutputStream blocking = new OutputStream() {
+            @Override
+            public void write(int b) {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                output.write(b, off, len);
+            }
+        };
+        logger = new AsyncLogger(2, new PrintStream(blocking, true, StandardCharsets.UTF_8));
+
+        logger.info("first");
+        writing.await();
+        logger.info("second");
+        logger.info("third");
+        logger.info("dropped");
+
+        assertEquals(1, logger.getDroppedCount());
+        release.countDown();
+        String lines = written();
+        assertTrue(lines.contains("event=third"));
+        assertFalse(lines.contains("event=dropped"));
+        assertTrue(lines.contains("event=log_events_dropped count=1"));
+    }
+
+    @Test
+    void test_appendField() {
+        StringBuilder line = new StringBuilder();
+        AsyncLogger.appendField(line, "sql", "UPDATE seminar SET name = 'a\"b'\nWHERE id = 1");
+        AsyncLogger.appendField(line, "empty", "");
+        AsyncLogger.appendField(line, "missing", null);
+
+        assertEquals(" sql=\"UPDATE seminar SET name = 'a\\\"b'\\nWHERE id = 1\" empty=\"\" missing=null", line.toString());
+    }
+}
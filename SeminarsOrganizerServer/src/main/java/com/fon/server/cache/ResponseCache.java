@@ -0,0 +1,233 @@
+package com.fon.server.cache;
+
+import com.fon.common.domain.EntityType;
+import com.fon.common.intercomm.Operation;
+import com.fon.server.changes.EntityVersions;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of already encoded responses of operations returning reference data.
+ *
+ * <p>
+ * Responses are stored as the bytes written to the socket, so a hit costs
+ * neither a database query nor serialization. Every entry is stamped with the
+ * combined version of the entity types the operation reads, taken before the
+ * operation was executed. A write committed since then bumps that version and
+ * the entry is no longer served, so no explicit invalidation is needed.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class ResponseCache {
+
+    /**
+     * Operations whose responses are cached as {@code Set<Operation>} (read
+     * only).
+     */
+    private final Set<Operation> cacheableOperations;
+
+    /**
+     * Cached responses by operation and argument as
+     * {@code ConcurrentMap<CacheKey, CacheEntry>} (read only).
+     */
+    private final ConcurrentMap<CacheKey, CacheEntry> entries;
+
+    /**
+     * Number of requests answered from the cache as {@code LongAdder} (read
+     * only).
+     */
+    private final LongAdder hits;
+
+    /**
+     * Number of requests of cacheable operations that missed the cache as
+     * {@code LongAdder} (read only).
+     */
+    private final LongAdder misses;
+
+    /**
+     * Constructor with cacheableOperations parameter.
+     *
+     * @param cacheableOperations Operations whose responses are cached as
+     * {@code Set<Operation>}.
+     */
+    public ResponseCache(Set<Operation> cacheableOperations) {
+        this.cacheableOperations = cacheableOperations.isEmpty()
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(EnumSet.copyOf(cacheableOperations));
+        entries = new ConcurrentHashMap<>();
+        hits = new LongAdder();
+        misses = new LongAdder();
+    }
+
+    /**
+     * Checks if responses of an operation are cached.
+     *
+     * @param operation Operation as {@code Operation}.
+     * @return {@code true} if responses of the operation are cached, otherwise
+     * {@code false}.
+     */
+    public boolean isCacheable(Operation operation) {
+        return operation != null && cacheableOperations.contains(operation);
+    }
+
+    /**
+     * Returns the version a response must be stamped with, taken before the
+     * operation is executed.
+     *
+     * @param readEntityTypes Entity types the operation reads as
+     * {@code Set<EntityType>}.
+     * @return Combined version as {@code long} or {@code -1} if a write to any
+     * of the entity types is in progress and the response must not be cached.
+     */
+    public long snapshot(Set<EntityType> readEntityTypes) {
+        EntityVersions entityVersions = EntityVersions.getInstance();
+        if (entityVersions.isWriteInProgress(readEntityTypes)) {
+            return -1;
+        }
+        return entityVersions.getVersion(readEntityTypes);
+    }
+
+    /**
+     * Returns the cached response of an operation, if it is still current.
+     *
+     * @param operation Operation as {@code Operation}.
+     * @param argument Argument of the request as {@code Object}.
+     * @param readEntityTypes Entity types the operation reads as
+     * {@code Set<EntityType>}.
+     * @return Encoded response as {@code byte[]} or {@code null} if there is
+     * no current cached response.
+     */
+    public byte[] get(Operation operation, Object argument, Set<EntityType> readEntityTypes) {
+        CacheEntry entry = entries.get(new CacheKey(operation, argument));
+        long version = snapshot(readEntityTypes);
+        if (entry == null || version == -1 || entry.version != version) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.encoded;
+    }
+
+    /**
+     * Caches an encoded response, unless a newer one is already cached.
+     *
+     * @param operation Operation as {@code Operation}.
+     * @param argument Argument of the request as {@code Object}.
+     * @param version Version returned by {@code snapshot} before the operation
+     * was executed as {@code long}.
+     * @param encoded Encoded response as {@code byte[]}.
+     */
+    public void put(Operation operation, Object argument, long version, byte[] encoded) {
+        if (version == -1) {
+            return;
+        }
+        CacheEntry entry = new CacheEntry(version, encoded);
+        entries.merge(new CacheKey(operation, argument), entry,
+                (current, candidate) -> candidate.version >= current.version ? candidate : current);
+    }
+
+    /**
+     * Removes all cached responses.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of requests answered from the cache.
+     *
+     * @return Number of hits as {@code long}.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of requests of cacheable operations that missed the
+     * cache.
+     *
+     * @return Number of misses as {@code long}.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Key of a cached response, made of the operation and its argument.
+     */
+    private static final class CacheKey {
+
+        /**
+         * Operation as {@code Operation} (read only).
+         */
+        private final Operation operation;
+
+        /**
+         * Argument as {@code Object} (read only).
+         */
+        private final Object argument;
+
+        /**
+         * Parametrized constructor.
+         *
+         * @param operation Operation as {@code Operation}.
+         * @param argument Argument as {@code Object}.
+         */
+        CacheKey(Operation operation, Object argument) {
+            this.operation = operation;
+            this.argument = argument;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(operation, argument);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final CacheKey other = (CacheKey) obj;
+            return operation == other.operation && Objects.equals(argument, other.argument);
+        }
+    }
+
+    /**
+     * Cached encoded response stamped with the version it was read at.
+     */
+    private static final class CacheEntry {
+
+        /**
+         * Combined version of the read entity types as {@code long} (read
+         * only).
+         */
+        private final long version;
+
+        /**
+         * Encoded response as {@code byte[]} (read only).
+         */
+        private final byte[] encoded;
+
+        /**
+         * Parametrized constructor.
+         *
+         * @param version Combined version as {@code long}.
+         * @param encoded Encoded response as {@code byte[]}.
+         */
+        CacheEntry(long version, byte[] encoded) {
+            this.version = version;
+            this.encoded = encoded;
+        }
+    }
+}
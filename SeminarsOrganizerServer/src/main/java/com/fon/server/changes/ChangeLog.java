@@ -0,0 +1,146 @@
+package com.fon.server.changes;
+
+import com.fon.common.intercomm.ChangeEvent;
+import com.fon.common.intercomm.ChangeSet;
+import com.fon.server.constants.ServerConstants;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Singleton class numbering every committed change with a monotonically
+ * increasing sequence number and remembering the latest changes.
+ *
+ * <p>
+ * Changes are kept in a ring buffer of fixed capacity, so the log never grows.
+ * A client asking for changes older than the oldest remembered one gets a
+ * change set asking for a full reload.
+ * </p>
+ *
+ * <p>
+ * Sequence numbers start at the start time of the server in milliseconds.
+ * Sequence numbers a client got from a previous run of the server are
+ * therefore older than anything remembered and lead to a full reload, as long
+ * as the previous run averaged fewer than one change per millisecond.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class ChangeLog {
+
+    /**
+     * The singleton instance of the {@code ChangeLog} class.
+     */
+    private static final ChangeLog instance = new ChangeLog(ServerConstants.DEFAULT_CHANGE_LOG_CAPACITY, System.currentTimeMillis());
+
+    /**
+     * Ring buffer of the latest changes, the change with sequence number
+     * {@code s} is at index {@code s % buffer.length}, as
+     * {@code ChangeEvent[]}.
+     */
+    private ChangeEvent[] buffer;
+
+    /**
+     * Sequence number before the first change as {@code long} (read only).
+     */
+    private final long firstSequence;
+
+    /**
+     * Sequence number of the latest change as {@code long}.
+     */
+    private long sequence;
+
+    /**
+     * Constructor with all parameters.
+     *
+     * @param capacity Maximum number of remembered changes as {@code int}.
+     * @param firstSequence Sequence number before the first change as
+     * {@code long}.
+     */
+    ChangeLog(int capacity, long firstSequence) {
+        this.buffer = new ChangeEvent[capacity];
+        this.firstSequence = firstSequence;
+        this.sequence = firstSequence;
+    }
+
+    /**
+     * Getter of instance (Singleton pattern).
+     *
+     * @return The singleton instance of the {@code ChangeLog} class.
+     */
+    public static ChangeLog getInstance() {
+        return instance;
+    }
+
+    /**
+     * Changes the maximum number of remembered changes, forgetting all
+     * changes remembered so far. Meant to be called before the server starts
+     * accepting clients.
+     *
+     * @param capacity Maximum number of remembered changes as {@code int}.
+     */
+    public synchronized void setCapacity(int capacity) {
+        if (capacity != buffer.length) {
+            buffer = new ChangeEvent[capacity];
+        }
+    }
+
+    /**
+     * Returns the sequence number of the latest change.
+     *
+     * @return Sequence number as {@code long}.
+     */
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Assigns the next sequence numbers to committed changes and remembers
+     * them, forgetting the oldest ones once the log is full.
+     *
+     * @param changes Changes of a committed write as {@code List<ChangeEvent>}.
+     */
+    public synchronized void append(List<ChangeEvent> changes) {
+        for (ChangeEvent change : changes) {
+            sequence++;
+            change.setSequence(sequence);
+            buffer[index(sequence)] = change;
+        }
+    }
+
+    /**
+     * Returns all changes made after the passed sequence number.
+     *
+     * @param since Sequence number of the last change the client knows about
+     * as {@code long}, any older sequence number (such as {@code -1}) for
+     * none.
+     * @return Change set with the changes, or asking for a full reload if they
+     * are no longer remembered, as {@code ChangeSet}.
+     */
+    public synchronized ChangeSet getChangesSince(long since) {
+        long oldest = Math.max(firstSequence + 1, sequence - buffer.length + 1);
+        if (since < oldest - 1 || since > sequence) {
+            return new ChangeSet(sequence, true, Collections.emptyList());
+        }
+        List<ChangeEvent> changes = new ArrayList<>((int) (sequence - since));
+        for (long s = since + 1; s <= sequence; s++) {
+            ChangeEvent change = buffer[index(s)];
+            if (change == null || change.getSequence() != s) {
+                return new ChangeSet(sequence, true, Collections.emptyList());
+            }
+            changes.add(change);
+        }
+        return new ChangeSet(sequence, false, changes);
+    }
+
+    /**
+     * Returns the index of a sequence number in the ring buffer.
+     *
+     * @param s Sequence number as {@code long}.
+     * @return Index in the ring buffer as {@code int}.
+     */
+    private int index(long s) {
+        return (int) (s % buffer.length);
+    }
+}
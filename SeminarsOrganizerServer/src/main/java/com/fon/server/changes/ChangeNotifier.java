@@ -0,0 +1,148 @@
+package com.fon.server.changes;
+
+import com.fon.common.intercomm.ChangeEvent;
+import com.fon.server.constants.ServerConstants;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Singleton class publishing change events of committed writes to subscribed
+ * clients.
+ *
+ * <p>
+ * Publishing only queues the events of every subscriber and returns, the
+ * events are sent by a small pool of delivery threads. A client that reads
+ * slowly can therefore hold up at most a delivery thread, never the system
+ * operation that published the events.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class ChangeNotifier {
+
+    /**
+     * Number of threads delivering change events.
+     */
+    private static final int DELIVERY_THREADS = 2;
+
+    /**
+     * The singleton instance of the {@code ChangeNotifier} class.
+     */
+    private static final ChangeNotifier instance = new ChangeNotifier();
+
+    /**
+     * Subscribed clients as {@code Set<ChangeSubscriber>} (read only).
+     */
+    private final Set<ChangeSubscriber> subscribers;
+
+    /**
+     * Delivers change events to subscribers as {@code ExecutorService} (read
+     * only).
+     */
+    private final ExecutorService deliveryExecutor;
+
+    /**
+     * Maximum number of events waiting for delivery per subscriber as
+     * {@code int}.
+     */
+    private volatile int queueCapacity;
+
+    /**
+     * Private non-parametric constructor, starts the delivery threads.
+     */
+    private ChangeNotifier() {
+        subscribers = ConcurrentHashMap.newKeySet();
+        AtomicInteger deliveryNumber = new AtomicInteger();
+        deliveryExecutor = Executors.newFixedThreadPool(DELIVERY_THREADS, runnable -> {
+            Thread delivery = new Thread(runnable, "change-delivery-" + deliveryNumber.getAndIncrement());
+            delivery.setDaemon(true);
+            return delivery;
+        });
+        queueCapacity = ServerConstants.DEFAULT_CHANGE_EVENT_QUEUE_CAPACITY;
+    }
+
+    /**
+     * Getter of instance (Singleton pattern).
+     *
+     * @return The singleton instance of the {@code ChangeNotifier} class.
+     */
+    public static ChangeNotifier getInstance() {
+        return instance;
+    }
+
+    /**
+     * Getter for queueCapacity.
+     *
+     * @return Maximum number of events waiting for delivery per subscriber as
+     * {@code int}.
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Setter for queueCapacity, applies to subscribers created afterwards.
+     *
+     * @param queueCapacity Maximum number of events waiting for delivery per
+     * subscriber as {@code int}.
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Adds a subscriber.
+     *
+     * @param subscriber Subscriber as {@code ChangeSubscriber}.
+     */
+    public void subscribe(ChangeSubscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Removes a subscriber, events already queued for it may still be sent.
+     *
+     * @param subscriber Subscriber as {@code ChangeSubscriber}.
+     */
+    public void unsubscribe(ChangeSubscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    /**
+     * Returns the number of subscribers.
+     *
+     * @return Number of subscribers as {@code int}.
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Queues compact copies of change events, without the written entities,
+     * for every subscriber interested in them and schedules their delivery,
+     * without blocking.
+     *
+     * @param events Change events of a committed write as
+     * {@code List<ChangeEvent>}.
+     */
+    public void publish(List<ChangeEvent> events) {
+        if (events.isEmpty() || subscribers.isEmpty()) {
+            return;
+        }
+        List<ChangeEvent> compactEvents = new ArrayList<>(events.size());
+        for (ChangeEvent event : events) {
+            compactEvents.add(event.compact());
+        }
+        for (ChangeSubscriber subscriber : subscribers) {
+            if (subscriber.offer(compactEvents)) {
+                deliveryExecutor.execute(subscriber::deliver);
+            }
+        }
+    }
+}
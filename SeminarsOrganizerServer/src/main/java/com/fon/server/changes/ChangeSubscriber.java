@@ -0,0 +1,180 @@
+package com.fon.server.changes;
+
+import com.fon.common.domain.EntityType;
+import com.fon.common.domain.State;
+import com.fon.common.intercomm.ChangeEvent;
+import com.fon.common.logging.AsyncLogger;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Class representing a client's subscription to change events of some entity
+ * types.
+ *
+ * <p>
+ * Events wait for delivery in a bounded queue, so publishing an event never
+ * blocks. If a client falls so far behind that its queue fills up, the queued
+ * events are discarded and the client gets a single event per entity type
+ * telling it to reload instead.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class ChangeSubscriber {
+
+    /**
+     * Functional interface for sending change events to the subscribed client.
+     */
+    @FunctionalInterface
+    public interface Sink {
+
+        /**
+         * Sends change events to the subscribed client.
+         *
+         * @param events Change events in order of publishing as
+         * {@code List<ChangeEvent>}.
+         * @throws IOException When the events cannot be sent.
+         */
+        void send(List<ChangeEvent> events) throws IOException;
+    }
+
+    /**
+     * Entity types the client is subscribed to as {@code Set<EntityType>}.
+     */
+    private volatile Set<EntityType> entityTypes;
+
+    /**
+     * Change events waiting for delivery as {@code BlockingQueue<ChangeEvent>}
+     * (read only).
+     */
+    private final BlockingQueue<ChangeEvent> queue;
+
+    /**
+     * Sends change events to the client as {@code Sink} (read only).
+     */
+    private final Sink sink;
+
+    /**
+     * Whether events were discarded because the queue was full, as
+     * {@code AtomicBoolean} (read only).
+     */
+    private final AtomicBoolean overflowed;
+
+    /**
+     * Whether a delivery is scheduled or running, as {@code AtomicBoolean}
+     * (read only).
+     */
+    private final AtomicBoolean scheduled;
+
+    /**
+     * Constructor with all parameters.
+     *
+     * @param entityTypes Entity types the client is subscribed to as
+     * {@code Set<EntityType>}.
+     * @param capacity Maximum number of events waiting for delivery as
+     * {@code int}.
+     * @param sink Sends change events to the client as {@code Sink}.
+     */
+    public ChangeSubscriber(Set<EntityType> entityTypes, int capacity, Sink sink) {
+        setEntityTypes(entityTypes);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.sink = sink;
+        this.overflowed = new AtomicBoolean();
+        this.scheduled = new AtomicBoolean();
+    }
+
+    /**
+     * Getter for entityTypes.
+     *
+     * @return Entity types the client is subscribed to as
+     * {@code Set<EntityType>}.
+     */
+    public Set<EntityType> getEntityTypes() {
+        return entityTypes;
+    }
+
+    /**
+     * Setter for entityTypes.
+     *
+     * @param entityTypes Entity types the client is subscribed to as
+     * {@code Set<EntityType>}.
+     */
+    public final void setEntityTypes(Set<EntityType> entityTypes) {
+        this.entityTypes = entityTypes.isEmpty()
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(EnumSet.copyOf(entityTypes));
+    }
+
+    /**
+     * Queues the events of entity types the client is subscribed to, without
+     * blocking.
+     *
+     * @param events Published change events as {@code List<ChangeEvent>}.
+     * @return {@code true} if the caller has to schedule a delivery,
+     * {@code false} if nothing was queued or a delivery is already scheduled.
+     */
+    public boolean offer(List<ChangeEvent> events) {
+        boolean queued = false;
+        for (ChangeEvent event : events) {
+            if (!entityTypes.contains(event.getEntityType())) {
+                continue;
+            }
+            if (!queue.offer(event)) {
+                overflowed.set(true);
+                queue.clear();
+            }
+            queued = true;
+        }
+        return queued && scheduled.compareAndSet(false, true);
+    }
+
+    /**
+     * Sends all queued events to the client.
+     *
+     * <p>
+     * Must only be called after {@code offer} returned {@code true}, so a
+     * single delivery runs at a time and events stay in order. Events that
+     * cannot be sent are dropped, the broken connection is handled by the
+     * client handler thread.
+     * </p>
+     */
+    public void deliver() {
+        do {
+            List<ChangeEvent> batch = new ArrayList<>();
+            if (overflowed.getAndSet(false)) {
+                queue.clear();
+                for (EntityType entityType : entityTypes) {
+                    ChangeEvent reload = new ChangeEvent(entityType, State.CHANGED, null);
+                    reload.setVersion(EntityVersions.getInstance().getVersion(entityType));
+                    batch.add(reload);
+                }
+            }
+            queue.drainTo(batch);
+            if (!batch.isEmpty()) {
+                try {
+                    sink.send(batch);
+                } catch (IOException ex) {
+                    AsyncLogger.getInstance().warn("change_events_not_sent", "error", ex.getMessage());
+                }
+            }
+            scheduled.set(false);
+        } while ((!queue.isEmpty() || overflowed.get()) && scheduled.compareAndSet(false, true));
+    }
+
+    /**
+     * Returns the number of events waiting for delivery.
+     *
+     * @return Number of queued events as {@code int}.
+     */
+    public int getQueuedCount() {
+        return queue.size();
+    }
+}
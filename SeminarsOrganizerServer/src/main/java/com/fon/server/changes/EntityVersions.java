@@ -0,0 +1,169 @@
+package com.fon.server.changes;
+
+import com.fon.common.domain.EntityType;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Singleton class keeping a version counter and the number of writes in
+ * progress for every {@code EntityType}.
+ *
+ * <p>
+ * Write system operations call {@code beginWrite} before their transaction and
+ * {@code endWrite} after it. A committed write bumps the version of every
+ * entity type it wrote, so anything derived from a read at an older version
+ * (a shared in-flight read, a cached response) can tell it is stale.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class EntityVersions {
+
+    /**
+     * The singleton instance of the {@code EntityVersions} class.
+     */
+    private static final EntityVersions instance = new EntityVersions();
+
+    /**
+     * Version counter of every entity type as
+     * {@code Map<EntityType, AtomicLong>} (read only).
+     */
+    private final Map<EntityType, AtomicLong> versions;
+
+    /**
+     * Number of writes in progress of every entity type as
+     * {@code Map<EntityType, AtomicInteger>} (read only).
+     */
+    private final Map<EntityType, AtomicInteger> activeWrites;
+
+    /**
+     * Start time of this run of the server in milliseconds as {@code long}
+     * (read only). Versions start from {@code 0} on every run, so entity tags
+     * include it.
+     */
+    private final long epoch;
+
+    /**
+     * Private non-parametric constructor, initializes all versions and write
+     * counters to {@code 0}.
+     */
+    private EntityVersions() {
+        epoch = System.currentTimeMillis();
+        versions = new EnumMap<>(EntityType.class);
+        activeWrites = new EnumMap<>(EntityType.class);
+        for (EntityType entityType : EntityType.values()) {
+            versions.put(entityType, new AtomicLong());
+            activeWrites.put(entityType, new AtomicInteger());
+        }
+    }
+
+    /**
+     * Getter of instance (Singleton pattern).
+     *
+     * @return The singleton instance of the {@code EntityVersions} class.
+     */
+    public static EntityVersions getInstance() {
+        return instance;
+    }
+
+    /**
+     * Marks the start of a write to the passed entity types.
+     *
+     * @param entityTypes Entity types that will be written as
+     * {@code Set<EntityType>}.
+     */
+    public void beginWrite(Set<EntityType> entityTypes) {
+        for (EntityType entityType : entityTypes) {
+            activeWrites.get(entityType).incrementAndGet();
+        }
+    }
+
+    /**
+     * Marks the end of a write to the passed entity types.
+     *
+     * <p>
+     * Versions are bumped before the write stops counting as in progress, so a
+     * reader that sees no write in progress always sees the new version. The
+     * returned versions belong to this write alone, even if another write to
+     * the same entity type bumps them again right after.
+     * </p>
+     *
+     * @param entityTypes Entity types that were written as
+     * {@code Set<EntityType>}.
+     * @param committed {@code true} if the write was committed, {@code false}
+     * if it was rolled back.
+     * @return Version every entity type was bumped to by this write as
+     * {@code Map<EntityType, Long>}, empty if the write was rolled back.
+     */
+    public Map<EntityType, Long> endWrite(Set<EntityType> entityTypes, boolean committed) {
+        Map<EntityType, Long> bumped = new EnumMap<>(EntityType.class);
+        for (EntityType entityType : entityTypes) {
+            if (committed) {
+                bumped.put(entityType, versions.get(entityType).incrementAndGet());
+            }
+            activeWrites.get(entityType).decrementAndGet();
+        }
+        return bumped;
+    }
+
+    /**
+     * Checks if a write to any of the passed entity types is in progress.
+     *
+     * @param entityTypes Entity types as {@code Set<EntityType>}.
+     * @return {@code true} if a write is in progress, otherwise
+     * {@code false}.
+     */
+    public boolean isWriteInProgress(Set<EntityType> entityTypes) {
+        for (EntityType entityType : entityTypes) {
+            if (activeWrites.get(entityType).get() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the version of a single entity type.
+     *
+     * @param entityType Entity type as {@code EntityType}.
+     * @return Version as {@code long}.
+     */
+    public long getVersion(EntityType entityType) {
+        return versions.get(entityType).get();
+    }
+
+    /**
+     * Returns the combined version of the passed entity types.
+     *
+     * <p>
+     * Versions only grow, so the sum changes whenever any of the entity types
+     * is written.
+     * </p>
+     *
+     * @param entityTypes Entity types as {@code Set<EntityType>}.
+     * @return Combined version as {@code long}.
+     */
+    public long getVersion(Set<EntityType> entityTypes) {
+        long version = 0;
+        for (EntityType entityType : entityTypes) {
+            version += versions.get(entityType).get();
+        }
+        return version;
+    }
+
+    /**
+     * Returns the entity tag identifying a combined version in this run of the
+     * server.
+     *
+     * @param version Combined version as {@code long}, negative if unknown.
+     * @return Entity tag as {@code String}, {@code null} if the version is
+     * unknown.
+     */
+    public String getEntityTag(long version) {
+        return version < 0 ? null : epoch + "-" + version;
+    }
+}
@@ -0,0 +1,115 @@
+package com.fon.server.config;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Properties;
+
+/**
+ * Read only view of the server configuration from the {@code serverconfig}
+ * properties file.
+ *
+ * <p>
+ * Every optional setting has a default value, so older configuration files
+ * keep working when new settings are introduced.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class ServerConfiguration {
+
+    /**
+     * Loaded server properties as {@code Properties} (read only).
+     */
+    private final Properties properties;
+
+    /**
+     * Constructor with properties parameter.
+     *
+     * @param properties Loaded server properties as {@code Properties}.
+     */
+    public ServerConfiguration(Properties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Loads server configuration from a properties file.
+     *
+     * @param path Path of the properties file as {@code String}.
+     * @return Loaded server configuration as {@code ServerConfiguration}.
+     * @throws IOException If the properties file cannot be read.
+     */
+    public static ServerConfiguration load(String path) throws IOException {
+        Properties properties = new Properties();
+        try (FileInputStream fis = new FileInputStream(path)) {
+            properties.load(fis);
+        }
+        return new ServerConfiguration(properties);
+    }
+
+    /**
+     * Returns the value of a setting.
+     *
+     * @param key Key of the setting as {@code String}.
+     * @return Trimmed value as {@code String} or {@code null} if the setting is
+     * not set.
+     */
+    public String getString(String key) {
+        String value = properties.getProperty(key);
+        return value == null ? null : value.trim();
+    }
+
+    /**
+     * Returns the value of a setting.
+     *
+     * @param key Key of the setting as {@code String}.
+     * @param defaultValue Value used when the setting is not set as
+     * {@code String}.
+     * @return Trimmed value as {@code String}.
+     */
+    public String getString(String key, String defaultValue) {
+        String value = getString(key);
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+
+    /**
+     * Returns the value of a numeric setting.
+     *
+     * @param key Key of the setting as {@code String}.
+     * @param defaultValue Value used when the setting is not set as
+     * {@code int}.
+     * @return Value as {@code int}.
+     * @throws NumberFormatException If the setting is not a number.
+     */
+    public int getInt(String key, int defaultValue) {
+        String value = getString(key);
+        return value == null || value.isEmpty() ? defaultValue : Integer.parseInt(value);
+    }
+
+    /**
+     * Returns the value of a numeric setting.
+     *
+     * @param key Key of the setting as {@code String}.
+     * @param defaultValue Value used when the setting is not set as
+     * {@code long}.
+     * @return Value as {@code long}.
+     * @throws NumberFormatException If the setting is not a number.
+     */
+    public long getLong(String key, long defaultValue) {
+        String value = getString(key);
+        return value == null || value.isEmpty() ? defaultValue : Long.parseLong(value);
+    }
+
+    /**
+     * Returns the value of a boolean setting.
+     *
+     * @param key Key of the setting as {@code String}.
+     * @param defaultValue Value used when the setting is not set as
+     * {@code boolean}.
+     * @return Value as {@code boolean}.
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = getString(key);
+        return value == null || value.isEmpty() ? defaultValue : Boolean.parseBoolean(value);
+    }
+}
@@ -15,5 +15,55 @@ public interface ServerConstants {
     public static final String DB_CONFIG_PASSWORD = "password";
     public static final String SERVER_CONFIG_FILE_PATH = "config/serverconfig.properties";
     public static final String SERVER_CONFIG_PORT = "port";
+    public static final String SERVER_CONFIG_UNIX_SOCKET_PATH = "unix_socket_path";
+    public static final String SERVER_CONFIG_MAX_SESSIONS = "max_sessions";
+    public static final String SERVER_CONFIG_WORKER_THREADS = "worker_threads";
+    public static final String SERVER_CONFIG_WORKER_QUEUE_CAPACITY = "worker_queue_capacity";
+    public static final String SERVER_CONFIG_ENCODER_THREADS = "encoder_threads";
+    public static final String SERVER_CONFIG_ENCODER_QUEUE_CAPACITY = "encoder_queue_capacity";
+    public static final String SERVER_CONFIG_RETRY_AFTER = "retry_after_ms";
+    public static final String SERVER_CONFIG_IDLE_TIMEOUT = "idle_timeout_ms";
+    public static final String SERVER_CONFIG_REAPER_INTERVAL = "reaper_interval_ms";
+    public static final String SERVER_CONFIG_DRAIN_TIMEOUT = "drain_timeout_ms";
+    public static final String SERVER_CONFIG_RECONNECT_DELAY = "reconnect_delay_ms";
+    public static final String SERVER_CONFIG_CHANGE_EVENT_QUEUE_CAPACITY = "change_event_queue_capacity";
+    public static final String SERVER_CONFIG_CHANGE_LOG_CAPACITY = "change_log_capacity";
+    public static final String SERVER_CONFIG_SESSION_TOKEN_TTL = "session_token_ttl_ms";
+    public static final String SERVER_CONFIG_SLOW_QUERY_THRESHOLD = "slow_query_threshold_ms";
+    public static final String SERVER_CONFIG_SLOW_QUERY_EXPLAIN = "slow_query_explain";
+    public static final String SERVER_CONFIG_SLOW_QUERY_LOG = "slow_query_log";
+    public static final String SERVER_CONFIG_SHARED_DATABASE = "shared_database";
+    public static final String SERVER_CONFIG_LOG_LEVEL = "log_level";
+    public static final String SERVER_CONFIG_LOG_LOSSLESS_LEVEL = "log_lossless_level";
+    public static final String SERVER_CONFIG_RATE_LIMIT_PREFIX = "ratelimit.";
+    public static final String SERVER_CONFIG_RATE_LIMIT_RATE_SUFFIX = ".rate";
+    public static final String SERVER_CONFIG_RATE_LIMIT_BURST_SUFFIX = ".burst";
+    public static final String SERVER_CONFIG_LANE_PREFIX = "lane.";
+    public static final String SERVER_CONFIG_LANE_WEIGHT_SUFFIX = ".weight";
+    public static final String SERVER_CONFIG_LANE_MAX_WORKERS_SUFFIX = ".max_workers";
+    public static final int DEFAULT_MAX_SESSIONS = 100;
+    public static final int DEFAULT_WORKER_THREADS = 8;
+    public static final int DEFAULT_WORKER_QUEUE_CAPACITY = 32;
+    public static final int DEFAULT_ENCODER_THREADS = 2;
+    public static final int DEFAULT_ENCODER_QUEUE_CAPACITY = 64;
+    public static final long DEFAULT_RETRY_AFTER = 500;
+    public static final long DEFAULT_IDLE_TIMEOUT = 60000;
+    public static final long DEFAULT_REAPER_INTERVAL = 15000;
+    public static final long DEFAULT_DRAIN_TIMEOUT = 10000;
+    public static final long DEFAULT_RECONNECT_DELAY = 2000;
+    public static final int DEFAULT_CHANGE_EVENT_QUEUE_CAPACITY = 256;
+    public static final int DEFAULT_CHANGE_LOG_CAPACITY = 1024;
+    public static final long DEFAULT_SESSION_TOKEN_TTL = 900000;
+    public static final long DEFAULT_SLOW_QUERY_THRESHOLD = 200;
+    public static final String DEFAULT_SLOW_QUERY_LOG = "logs/slow_queries.log";
+    public static final String DEFAULT_LOG_LEVEL = "INFO";
+    public static final String DEFAULT_LOG_LOSSLESS_LEVEL = "WARN";
     public static final String INCORRECT_TYPE_ERROR_MESSAGE = "The sent object is not of the appropriate type!";
+    public static final String UNSUPPORTED_OPERATION_ERROR_MESSAGE = "The requested operation is not supported!";
+    public static final String RATE_LIMIT_EXCEEDED_ERROR_MESSAGE = "Превише захтева, покушајте поново за кратко време";
+    public static final String SERVER_SHUTDOWN_ERROR_MESSAGE = "Сервер се гаси, веза ће бити поново успостављена";
+    public static final String SERVER_BUSY_ERROR_MESSAGE = "Сервер је тренутно преоптерећен, покушајте поново касније";
+    public static final String REQUEST_CANCELLED_ERROR_MESSAGE = "Захтев је отказан";
+    public static final String DEADLINE_EXCEEDED_ERROR_MESSAGE = "Истекло је време за обраду захтева";
+    public static final String SESSION_EXPIRED_ERROR_MESSAGE = "Сесија је истекла, пријавите се поново";
 }
@@ -6,7 +6,11 @@ package com.fon.server.controller;
  * and open the template in the editor.
  */
 import com.fon.common.domain.*;
+import com.fon.common.intercomm.Operation;
+import com.fon.server.system_operations.AbstractSO;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import com.fon.server.system_operations.participant.CreateParticipantSO;
 import com.fon.server.system_operations.seminar.CreateSeminarSO;
 import com.fon.server.system_operations.seminar_schedule.CreateSeminarScheduleSO;
@@ -22,11 +26,18 @@ import com.fon.server.system_operations.seminar.GetSeminarsByConditionSO;
 import com.fon.server.system_operations.admin.LoginSO;
 import com.fon.server.system_operations.seminar.SaveSeminarSO;
 import com.fon.server.system_operations.seminar_schedule.SaveSeminarScheduleSO;
+import com.fon.server.constants.ServerConstants;
+import com.fon.server.metrics.ServerMetrics;
 
 /**
  * Singleton class that manages server-side operations by executing specified
  * system operations.
  *
+ * <p>
+ * Every system operation is stateless, so a single instance of each is created
+ * up front and shared by all client handler threads.
+ * </p>
+ *
  * @author Aleksa
  * @since 0.0.1
  */
@@ -35,12 +46,35 @@ public class ServerController {
     /**
      * The singleton instance of the {@code ServerController} class.
      */
-    private static ServerController instance;
+    private static final ServerController instance = new ServerController();
+
+    /**
+     * Singleton system operations by the operation they perform as
+     * {@code Map<Operation, AbstractSO<?>>} (read only).
+     */
+    private final Map<Operation, AbstractSO<?>> systemOperations;
 
     /**
-     * Private non-parametric constructor.
+     * Private non-parametric constructor, creates and registers all system
+     * operations.
      */
     private ServerController() {
+        systemOperations = new EnumMap<>(Operation.class);
+        systemOperations.put(Operation.LOGIN, new LoginSO());
+        systemOperations.put(Operation.CREATE_SEMINAR, new CreateSeminarSO());
+        systemOperations.put(Operation.GET_ALL_SEMINARS, new GetAllSeminarsSO());
+        systemOperations.put(Operation.GET_SEMINAR_BY_ID, new GetSeminarByIDSO());
+        systemOperations.put(Operation.GET_SEMINARS_BY_CONDITION, new GetSeminarsByConditionSO());
+        systemOperations.put(Operation.SAVE_SEMINAR, new SaveSeminarSO());
+        systemOperations.put(Operation.CREATE_PARTICIPANT, new CreateParticipantSO());
+        systemOperations.put(Operation.GET_ALL_PARTICIPANTS, new GetAllParticipantsSO());
+        systemOperations.put(Operation.GET_PARTICIPANTS_BY_CONDITION, new GetParticipantsByConditionSO());
+        systemOperations.put(Operation.GET_PARTICIPANT_BY_ID, new GetParticipantByIDSO());
+        systemOperations.put(Operation.GET_ALL_EDUCATIONAL_INSTITUTIONS, new GetAllEducationalInstitutionsSO());
+        systemOperations.put(Operation.CREATE_SEMINAR_SCHEDULE, new CreateSeminarScheduleSO());
+        systemOperations.put(Operation.GET_SEMINAR_SCHEDULES_BY_CONDITION, new GetSeminarSchedulesByConditionSO());
+        systemOperations.put(Operation.GET_SEMINAR_SCHEDULE_BY_ID, new GetSeminarScheduleByIDSO());
+        systemOperations.put(Operation.SAVE_SEMINAR_SCHEDULE, new SaveSeminarScheduleSO());
     }
 
     /**
@@ -49,12 +83,59 @@ public class ServerController {
      * @return The singleton instance of the {@code ServerController} class.
      */
     public static ServerController getInstance() {
-        if (instance == null) {
-            instance = new ServerController();
-        }
         return instance;
     }
 
+    /**
+     * Returns the system operation registered for an operation.
+     *
+     * @param operation Operation as {@code Operation}.
+     * @return System operation as {@code AbstractSO<?>} or {@code null} if no
+     * system operation performs the passed operation.
+     */
+    public AbstractSO<?> getSystemOperation(Operation operation) {
+        return systemOperations.get(operation);
+    }
+
+    /**
+     * Executes the system operation registered for an operation, recording
+     * its execution time in the metrics of the operation.
+     *
+     * @param operation Operation that needs to be performed as
+     * {@code Operation}.
+     * @param argument Argument of the system operation as {@code Object}.
+     * @return Result of the system operation as {@code Object}.
+     * @throws Exception When the system operation cannot be executed.
+     */
+    public Object execute(Operation operation, Object argument) throws Exception {
+        AbstractSO<?> systemOperation = systemOperations.get(operation);
+        if (systemOperation == null) {
+            throw new Exception(ServerConstants.UNSUPPORTED_OPERATION_ERROR_MESSAGE);
+        }
+        long start = System.nanoTime();
+        try {
+            return systemOperation.execute(argument);
+        } finally {
+            ServerMetrics.getInstance().get(operation).recordExecution(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Executes the system operation registered for an operation and casts its
+     * result.
+     *
+     * @param <T> Type of the result.
+     * @param operation Operation that needs to be performed as
+     * {@code Operation}.
+     * @param argument Argument of the system operation as {@code Object}.
+     * @return Result of the system operation as {@code T}.
+     * @throws Exception When the system operation cannot be executed.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T executeTyped(Operation operation, Object argument) throws Exception {
+        return (T) execute(operation, argument);
+    }
+
     /**
      * Responsible for executing {@code LoginSO}.
      *
@@ -64,10 +145,7 @@ public class ServerController {
      * @throws Exception When admin cannot be logged in.
      */
     public Admin login(Admin admin) throws Exception {
-        LoginSO loginSO = new LoginSO();
-        loginSO.execute(admin);
-        Admin loggedAdmin = loginSO.getLoggedAdmin();
-        return loggedAdmin;
+        return executeTyped(Operation.LOGIN, admin);
     }
 
     /**
@@ -77,8 +155,7 @@ public class ServerController {
      * @throws Exception When the seminar cannot be created.
      */
     public void createSeminar(Seminar seminar) throws Exception {
-        CreateSeminarSO createSeminarSO = new CreateSeminarSO();
-        createSeminarSO.execute(seminar);
+        execute(Operation.CREATE_SEMINAR, seminar);
     }
 
     /**
@@ -88,10 +165,7 @@ public class ServerController {
      * @throws Exception When all seminars cannot be retrieved.
      */
     public List<Seminar> getAllSeminars() throws Exception {
-        GetAllSeminarsSO gas = new GetAllSeminarsSO();
-        gas.execute(null);
-        List<Seminar> allSeminars = gas.getAllSeminars();
-        return allSeminars;
+        return executeTyped(Operation.GET_ALL_SEMINARS, null);
     }
 
     /**
@@ -104,10 +178,7 @@ public class ServerController {
      * be retrieved.
      */
     public List<Seminar> getSeminarsByCondition(String condition) throws Exception {
-        GetSeminarsByConditionSO gsbc = new GetSeminarsByConditionSO();
-        gsbc.execute(condition);
-        List<Seminar> allSeminars = gsbc.getSeminars();
-        return allSeminars;
+        return executeTyped(Operation.GET_SEMINARS_BY_CONDITION, condition);
     }
 
     /**
@@ -119,10 +190,7 @@ public class ServerController {
      * @throws Exception When the seminar cannot be retrieved.
      */
     public Seminar getSeminarByID(int id) throws Exception {
-        GetSeminarByIDSO gsbid = new GetSeminarByIDSO();
-        gsbid.execute(id);
-        Seminar seminar = gsbid.getSeminar();
-        return seminar;
+        return executeTyped(Operation.GET_SEMINAR_BY_ID, id);
     }
 
     /**
@@ -133,8 +201,7 @@ public class ServerController {
      * @throws Exception When the participant cannot be created.
      */
     public void createParticipant(Participant participant) throws Exception {
-        CreateParticipantSO cp = new CreateParticipantSO();
-        cp.execute(participant);
+        execute(Operation.CREATE_PARTICIPANT, participant);
     }
 
     /**
@@ -144,10 +211,7 @@ public class ServerController {
      * @throws Exception When all participants cannot be retrieved.
      */
     public List<Participant> getAllParticipants() throws Exception {
-        GetAllParticipantsSO gap = new GetAllParticipantsSO();
-        gap.execute(null);
-        List<Participant> allParticipants = gap.getAllParticipants();
-        return allParticipants;
+        return executeTyped(Operation.GET_ALL_PARTICIPANTS, null);
     }
 
     /**
@@ -161,10 +225,7 @@ public class ServerController {
      * retrieved.
      */
     public List<Participant> getParticipantsByCondition(String condition) throws Exception {
-        GetParticipantsByConditionSO gsbc = new GetParticipantsByConditionSO();
-        gsbc.execute(condition);
-        List<Participant> all = gsbc.getList();
-        return all;
+        return executeTyped(Operation.GET_PARTICIPANTS_BY_CONDITION, condition);
     }
 
     /**
@@ -176,9 +237,7 @@ public class ServerController {
      * @throws Exception When the participant cannot be retrieved.
      */
     public Participant getParticipantByID(int id) throws Exception {
-        GetParticipantByIDSO gsbid = new GetParticipantByIDSO();
-        gsbid.execute(id);
-        return gsbid.getElement();
+        return executeTyped(Operation.GET_PARTICIPANT_BY_ID, id);
     }
 
     /**
@@ -189,9 +248,7 @@ public class ServerController {
      * @throws Exception When all educational institutions cannot be retrieved.
      */
     public List<EducationalInstitution> getAllEducationalInstitutions() throws Exception {
-        GetAllEducationalInstitutionsSO gas = new GetAllEducationalInstitutionsSO();
-        gas.execute(null);
-        return gas.getElement();
+        return executeTyped(Operation.GET_ALL_EDUCATIONAL_INSTITUTIONS, null);
     }
 
     /**
@@ -202,8 +259,7 @@ public class ServerController {
      * @throws Exception When the seminar schedule cannot be created.
      */
     public void createSeminarSchedule(SeminarSchedule seminarSchedule) throws Exception {
-        CreateSeminarScheduleSO css = new CreateSeminarScheduleSO();
-        css.execute(seminarSchedule);
+        execute(Operation.CREATE_SEMINAR_SCHEDULE, seminarSchedule);
     }
 
     /**
@@ -216,10 +272,7 @@ public class ServerController {
      * @throws Exception When the seminar schedule cannot be retrieved.
      */
     public List<SeminarSchedule> getSeminarSchedulesByCondition(List<Object> condition) throws Exception {
-        GetSeminarSchedulesByConditionSO gssbc = new GetSeminarSchedulesByConditionSO();
-        gssbc.execute(condition);
-        List<SeminarSchedule> filteredSeminarSchedules = gssbc.getSeminarSchedules();
-        return filteredSeminarSchedules;
+        return executeTyped(Operation.GET_SEMINAR_SCHEDULES_BY_CONDITION, condition);
     }
 
     /**
@@ -231,10 +284,7 @@ public class ServerController {
      * @throws Exception When the seminar schedule cannot be retrieved.
      */
     public SeminarSchedule getSeminarScheduleByID(int id) throws Exception {
-        GetSeminarScheduleByIDSO gssbid = new GetSeminarScheduleByIDSO();
-        gssbid.execute(id);
-        SeminarSchedule seminarSchedule = gssbid.getSeminarSchedule();
-        return seminarSchedule;
+        return executeTyped(Operation.GET_SEMINAR_SCHEDULE_BY_ID, id);
     }
 
     /**
@@ -245,8 +295,7 @@ public class ServerController {
      * @throws Exception When the seminar schedule cannot be saved.
      */
     public void saveSeminarSchedule(SeminarSchedule seminarSchedule) throws Exception {
-        SaveSeminarScheduleSO sss = new SaveSeminarScheduleSO();
-        sss.execute(seminarSchedule);
+        execute(Operation.SAVE_SEMINAR_SCHEDULE, seminarSchedule);
     }
 
     /**
@@ -256,7 +305,6 @@ public class ServerController {
      * @throws Exception When the seminar cannot be saved.
      */
     public void saveSeminar(Seminar seminar) throws Exception {
-        SaveSeminarSO ss = new SaveSeminarSO();
-        ss.execute(seminar);
+        execute(Operation.SAVE_SEMINAR, seminar);
     }
 }
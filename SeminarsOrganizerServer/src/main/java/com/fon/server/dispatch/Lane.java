@@ -0,0 +1,65 @@
+package com.fon.server.dispatch;
+
+import com.fon.common.intercomm.Operation;
+
+/**
+ * Scheduling lane of a request, grouping operations by the amount of database
+ * work they cause.
+ *
+ * <p>
+ * Interactive operations read or create a single entity, so users opening a
+ * form wait for them. Bulk operations read whole or filtered lists, or save an
+ * entity together with all of its items. The {@code WorkerPool} queues every
+ * lane separately, so interactive requests never wait behind bulk ones.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public enum Lane {
+
+    INTERACTIVE(4), BULK(1);
+
+    /**
+     * Default share of workers the lane gets while other lanes have requests
+     * waiting as {@code int} (read only).
+     */
+    private final int defaultWeight;
+
+    /**
+     * Constructor with all parameters.
+     *
+     * @param defaultWeight Default share of workers as {@code int}.
+     */
+    private Lane(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    /**
+     * Getter for defaultWeight.
+     *
+     * @return Default share of workers the lane gets while other lanes have
+     * requests waiting as {@code int}.
+     */
+    public int getDefaultWeight() {
+        return defaultWeight;
+    }
+
+    /**
+     * Returns the lane of an operation.
+     *
+     * @param operation Operation as {@code Operation}.
+     * @return Lane of the operation as {@code Lane}.
+     */
+    public static Lane of(Operation operation) {
+        return switch (operation) {
+            case GET_ALL_SEMINARS, GET_SEMINARS_BY_CONDITION, SAVE_SEMINAR,
+                    GET_ALL_PARTICIPANTS, GET_PARTICIPANTS_BY_CONDITION,
+                    GET_ALL_EDUCATIONAL_INSTITUTIONS,
+                    CREATE_SEMINAR_SCHEDULE, GET_SEMINAR_SCHEDULES_BY_CONDITION, SAVE_SEMINAR_SCHEDULE ->
+                BULK;
+            default ->
+                INTERACTIVE;
+        };
+    }
+}
@@ -0,0 +1,141 @@
+package com.fon.server.dispatch;
+
+import com.fon.common.intercomm.Communication;
+import com.fon.common.intercomm.Operation;
+import com.fon.common.intercomm.Response;
+import com.fon.server.cache.ResponseCache;
+import java.io.IOException;
+
+/**
+ * Response of an executed request that is ready to be encoded and sent.
+ *
+ * <p>
+ * Executing a request and encoding its response are separate stages of
+ * request handling. A response served from the response cache is already
+ * encoded, and a response that should be cached is put into the cache once it
+ * is encoded.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class PreparedResponse {
+
+    /**
+     * Response to encode as {@code Response}, {@code null} if it is already
+     * encoded (read only).
+     */
+    private final Response response;
+
+    /**
+     * Encoded response as {@code byte[]}, {@code null} if it is not encoded
+     * yet (read only).
+     */
+    private final byte[] encoded;
+
+    /**
+     * Cache the encoded response is put into as {@code ResponseCache},
+     * {@code null} if it is not cached (read only).
+     */
+    private final ResponseCache cache;
+
+    /**
+     * Operation of the request as {@code Operation} (read only).
+     */
+    private final Operation operation;
+
+    /**
+     * Argument of the request as {@code Object} (read only).
+     */
+    private final Object argument;
+
+    /**
+     * Version of the read entity types taken before the request was executed
+     * as {@code long} (read only).
+     */
+    private final long version;
+
+    /**
+     * Constructor with all parameters.
+     *
+     * @param response Response to encode as {@code Response}.
+     * @param encoded Encoded response as {@code byte[]}.
+     * @param cache Cache the encoded response is put into as
+     * {@code ResponseCache}.
+     * @param operation Operation of the request as {@code Operation}.
+     * @param argument Argument of the request as {@code Object}.
+     * @param version Version of the read entity types as {@code long}.
+     */
+    private PreparedResponse(Response response, byte[] encoded, ResponseCache cache, Operation operation, Object argument, long version) {
+        this.response = response;
+        this.encoded = encoded;
+        this.cache = cache;
+        this.operation = operation;
+        this.argument = argument;
+        this.version = version;
+    }
+
+    /**
+     * Creates a prepared response that still needs to be encoded.
+     *
+     * @param response Response as {@code Response}.
+     * @return Prepared response as {@code PreparedResponse}.
+     */
+    public static PreparedResponse of(Response response) {
+        return new PreparedResponse(response, null, null, null, null, 0);
+    }
+
+    /**
+     * Creates a prepared response that is already encoded.
+     *
+     * @param encoded Encoded response as {@code byte[]}.
+     * @return Prepared response as {@code PreparedResponse}.
+     */
+    public static PreparedResponse encoded(byte[] encoded) {
+        return new PreparedResponse(null, encoded, null, null, null, 0);
+    }
+
+    /**
+     * Creates a prepared response that is put into the response cache once it
+     * is encoded.
+     *
+     * @param response Response as {@code Response}.
+     * @param cache Response cache as {@code ResponseCache}.
+     * @param operation Operation of the request as {@code Operation}.
+     * @param argument Argument of the request as {@code Object}.
+     * @param version Version of the read entity types taken before the
+     * request was executed as {@code long}.
+     * @return Prepared response as {@code PreparedResponse}.
+     */
+    static PreparedResponse cached(Response response, ResponseCache cache, Operation operation, Object argument, long version) {
+        return new PreparedResponse(response, null, cache, operation, argument, version);
+    }
+
+    /**
+     * Checks if the response carries an exception instead of a result.
+     *
+     * @return {@code true} if the response carries an exception, otherwise
+     * {@code false}. Responses already encoded are always successful.
+     */
+    public boolean hasException() {
+        return response != null && response.getException() != null;
+    }
+
+    /**
+     * Encodes the response for {@code Communication#sendEncoded}, caching it
+     * if it should be cached.
+     *
+     * @return The encoded response as {@code byte[]}.
+     * @throws IOException If the response cannot be serialized.
+     */
+    public byte[] encode() throws IOException {
+        if (encoded != null) {
+            return encoded;
+        }
+        byte[] bytes = Communication.getInstance().encode(response);
+        if (cache != null) {
+            cache.put(operation, argument, version, bytes);
+        }
+        return bytes;
+    }
+}
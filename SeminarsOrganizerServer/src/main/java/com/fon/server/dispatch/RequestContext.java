@@ -0,0 +1,351 @@
+package com.fon.server.dispatch;
+
+import com.fon.common.exceptions.DeadlineExceededException;
+import com.fon.common.exceptions.RequestCancelledException;
+import com.fon.common.intercomm.Operation;
+import com.fon.server.constants.ServerConstants;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Context of a request being executed, through which the request can be
+ * cancelled by its client, carrying the deadline of the request.
+ *
+ * <p>
+ * While a request is executed, its context is bound to the executing worker
+ * thread, the same way the database connection is. The repository registers
+ * every statement it runs with the bound context, so cancelling the request
+ * cancels the running query, and a cancelled request can't start another one.
+ * The system operation then rolls back its transaction. A request waiting for
+ * something other than a query registers a cancel hook instead, which wakes
+ * it up when the request is cancelled.
+ * </p>
+ *
+ * <p>
+ * A request with a deadline can't start a query once the deadline has passed,
+ * and every query it starts gets the remaining time as its query timeout, so
+ * the database stops it at the deadline (rounded up to whole seconds).
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class RequestContext {
+
+    /**
+     * Context bound to the executing thread as
+     * {@code ThreadLocal<RequestContext>}.
+     */
+    private static final ThreadLocal<RequestContext> current = new ThreadLocal<>();
+
+    /**
+     * Correlation ID of the request as {@code long} (read only).
+     */
+    private final long requestID;
+
+    /**
+     * Operation of the request as {@code Operation} (read only), {@code null}
+     * if unknown.
+     */
+    private final Operation operation;
+
+    /**
+     * Whether the request was cancelled as {@code boolean}.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Statement the request is running as {@code Statement}, {@code null} if
+     * none was started yet. Guarded by this context.
+     */
+    private Statement statement;
+
+    /**
+     * Hook run when the request is cancelled as {@code Runnable},
+     * {@code null} if none is registered. Guarded by this context.
+     */
+    private Runnable cancelHook;
+
+    /**
+     * Time budget of the request in milliseconds as {@code long}, {@code 0}
+     * if the request has no deadline (read only).
+     */
+    private final long timeout;
+
+    /**
+     * Deadline of the request in nanoseconds, as returned by
+     * {@code System.nanoTime()}, as {@code long} (read only). Meaningful only
+     * if the request has a time budget.
+     */
+    private final long deadline;
+
+    /**
+     * Time the request was received in nanoseconds, as returned by
+     * {@code System.nanoTime()}, as {@code long} (read only).
+     */
+    private final long startTime;
+
+    /**
+     * Constructor of a context of a request without a deadline.
+     *
+     * @param requestID Correlation ID of the request as {@code long}.
+     */
+    public RequestContext(long requestID) {
+        this(requestID, 0);
+    }
+
+    /**
+     * Constructor of a context of a request with an unknown operation, the
+     * deadline is counted from now.
+     *
+     * @param requestID Correlation ID of the request as {@code long}.
+     * @param timeout Time budget of the request in milliseconds as
+     * {@code long}, {@code 0} if the request has no deadline.
+     */
+    public RequestContext(long requestID, long timeout) {
+        this(requestID, timeout, null);
+    }
+
+    /**
+     * Constructor with all parameters, the deadline is counted from now.
+     *
+     * @param requestID Correlation ID of the request as {@code long}.
+     * @param timeout Time budget of the request in milliseconds as
+     * {@code long}, {@code 0} if the request has no deadline.
+     * @param operation Operation of the request as {@code Operation},
+     * {@code null} if unknown.
+     */
+    public RequestContext(long requestID, long timeout, Operation operation) {
+        this.requestID = requestID;
+        this.operation = operation;
+        this.timeout = Math.max(timeout, 0);
+        this.startTime = System.nanoTime();
+        this.deadline = startTime + TimeUnit.MILLISECONDS.toNanos(this.timeout);
+    }
+
+    /**
+     * Getter for requestID.
+     *
+     * @return Correlation ID of the request as {@code long}.
+     */
+    public long getRequestID() {
+        return requestID;
+    }
+
+    /**
+     * Getter for operation.
+     *
+     * @return Operation of the request as {@code Operation}, {@code null} if
+     * unknown.
+     */
+    public Operation getOperation() {
+        return operation;
+    }
+
+    /**
+     * Getter for startTime.
+     *
+     * @return Time the request was received in nanoseconds, as returned by
+     * {@code System.nanoTime()}, as {@code long}.
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Checks if the request was cancelled.
+     *
+     * @return {@code true} if the request was cancelled, otherwise
+     * {@code false}.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Checks if the deadline of the request has passed.
+     *
+     * @return {@code true} if the request has a deadline and it has passed,
+     * otherwise {@code false}.
+     */
+    public boolean isExpired() {
+        return timeout > 0 && System.nanoTime() - deadline >= 0;
+    }
+
+    /**
+     * Returns the time left until the deadline of the request.
+     *
+     * @return Remaining time in milliseconds as {@code long}, {@code 0} if the
+     * deadline has passed and {@code Long.MAX_VALUE} if the request has no
+     * deadline.
+     */
+    public long getRemainingTime() {
+        if (timeout == 0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()), 0);
+    }
+
+    /**
+     * Executes a task with this context bound to the current thread.
+     *
+     * @param <T> Type of the result.
+     * @param task Task that needs to be executed as {@code Callable<T>}.
+     * @return Result of the task as {@code T}.
+     * @throws Exception Exception thrown by the task.
+     */
+    public <T> T call(Callable<T> task) throws Exception {
+        RequestContext previous = current.get();
+        current.set(this);
+        try {
+            return task.call();
+        } finally {
+            synchronized (this) {
+                statement = null;
+                cancelHook = null;
+            }
+            if (previous == null) {
+                current.remove();
+            } else {
+                current.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Cancels the request, cancelling the statement it is running and running
+     * its cancel hook, if any.
+     */
+    public void cancel() {
+        Statement running;
+        Runnable hook;
+        synchronized (this) {
+            cancelled = true;
+            running = statement;
+            hook = cancelHook;
+        }
+        if (hook != null) {
+            hook.run();
+        }
+        if (running == null) {
+            return;
+        }
+        try {
+            running.cancel();
+        } catch (SQLException ex) {
+            Logger.getLogger(RequestContext.class.getName()).log(Level.FINE, null, ex);
+        }
+    }
+
+    /**
+     * Registers a statement about to be run by the request bound to the
+     * current thread, if any, limiting it to the time left until the
+     * deadline of the request.
+     *
+     * @param statement Statement as {@code Statement}.
+     * @return The passed statement as {@code Statement}.
+     * @throws SQLException When the query timeout cannot be set or the
+     * statement of an aborted request cannot be closed.
+     * @throws RequestCancelledException If the request was already cancelled,
+     * in which case the statement is closed.
+     * @throws DeadlineExceededException If the deadline of the request has
+     * already passed, in which case the statement is closed.
+     */
+    public static Statement track(Statement statement) throws SQLException {
+        RequestContext context = current.get();
+        if (context == null) {
+            return statement;
+        }
+        boolean tracked;
+        synchronized (context) {
+            tracked = !context.cancelled && !context.isExpired();
+            if (tracked) {
+                context.statement = statement;
+            }
+        }
+        if (!tracked) {
+            statement.close();
+            throwIfAborted();
+        }
+        if (context.timeout > 0) {
+            long seconds = (context.getRemainingTime() + 999) / 1000;
+            statement.setQueryTimeout((int) Math.max(1, Math.min(Integer.MAX_VALUE, seconds)));
+        }
+        return statement;
+    }
+
+    /**
+     * Registers a hook run when the request bound to the current thread, if
+     * any, is cancelled, replacing the previous one. The hook is run right
+     * away if the request is already cancelled.
+     *
+     * @param hook Hook as {@code Runnable}, {@code null} to remove the
+     * registered one.
+     */
+    public static void setCancelHook(Runnable hook) {
+        RequestContext context = current.get();
+        if (context == null) {
+            return;
+        }
+        boolean alreadyCancelled;
+        synchronized (context) {
+            context.cancelHook = hook;
+            alreadyCancelled = context.cancelled;
+        }
+        if (alreadyCancelled && hook != null) {
+            hook.run();
+        }
+    }
+
+    /**
+     * Returns the time left until the deadline of the request bound to the
+     * current thread.
+     *
+     * @return Remaining time in nanoseconds as {@code long}, {@code 0} if the
+     * deadline has passed and {@code Long.MAX_VALUE} if no request is bound to
+     * the current thread or it has no deadline.
+     */
+    public static long currentRemainingNanos() {
+        RequestContext context = current.get();
+        if (context == null || context.timeout == 0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(context.deadline - System.nanoTime(), 0);
+    }
+
+    /**
+     * Returns the operation of the request bound to the current thread.
+     *
+     * @return Operation as {@code Operation}, {@code null} if no request is
+     * bound to the current thread or its operation is unknown.
+     */
+    public static Operation currentOperation() {
+        RequestContext context = current.get();
+        return context == null ? null : context.operation;
+    }
+
+    /**
+     * Throws an exception if the request bound to the current thread was
+     * cancelled or its deadline has passed.
+     *
+     * @throws RequestCancelledException If the request was cancelled.
+     * @throws DeadlineExceededException If the deadline of the request has
+     * passed.
+     */
+    public static void throwIfAborted() {
+        RequestContext context = current.get();
+        if (context == null) {
+            return;
+        }
+        if (context.cancelled) {
+            throw new RequestCancelledException(ServerConstants.REQUEST_CANCELLED_ERROR_MESSAGE);
+        }
+        if (context.isExpired()) {
+            throw new DeadlineExceededException(ServerConstants.DEADLINE_EXCEEDED_ERROR_MESSAGE);
+        }
+    }
+}
@@ -0,0 +1,428 @@
+package com.fon.server.dispatch;
+
+import com.fon.common.domain.Admin;
+import com.fon.common.domain.EntityType;
+import com.fon.common.exceptions.RateLimitExceededException;
+import com.fon.common.intercomm.Communication;
+import com.fon.common.intercomm.Operation;
+import com.fon.common.intercomm.Request;
+import com.fon.common.intercomm.Response;
+import com.fon.common.logging.AsyncLogger;
+import com.fon.server.cache.ResponseCache;
+import com.fon.server.changes.ChangeLog;
+import com.fon.server.changes.EntityVersions;
+import com.fon.server.constants.ServerConstants;
+import com.fon.server.controller.ServerController;
+import com.fon.server.ratelimit.RateLimiter;
+import com.fon.server.system_operations.AbstractSO;
+import com.fon.server.threads.ClientHandlerThread;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Singleton class that routes client requests to the handler registered for
+ * their {@code Operation}.
+ *
+ * <p>
+ * Every operation that has a system operation in {@code ServerController} is
+ * registered by default. New operations plug in by registering a
+ * {@code RequestHandler} before the server is started.
+ * </p>
+ *
+ * <p>
+ * Identical concurrent requests of system operations that only read are
+ * coalesced by {@code SingleFlight} into a single execution. Encoded
+ * responses of operations returning reference data are kept in a
+ * {@code ResponseCache}. Requests exceeding the rate limit of their session
+ * are throttled by the {@code RateLimiter} before reaching their handler.
+ * </p>
+ *
+ * <p>
+ * Responses of operations returning whole lists are tagged with the version
+ * of the entity types they read. A client sending back the tag of unchanged
+ * data gets a response that is not modified instead of the list.
+ * </p>
+ *
+ * <p>
+ * Versions, cached responses and change events are kept by each server alone.
+ * When other servers write to the same database, as in active/passive
+ * failover, writes made through them are never seen here, so the response
+ * cache and conditional responses are turned off.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class RequestDispatcher {
+
+    /**
+     * The singleton instance of the {@code RequestDispatcher} class.
+     */
+    private static final RequestDispatcher instance = new RequestDispatcher();
+
+    /**
+     * Dispatch table of handlers by the operation they handle as
+     * {@code Map<Operation, RequestHandler>} (read only).
+     */
+    private final Map<Operation, RequestHandler> handlers;
+
+    /**
+     * Coalescer of identical concurrent read requests as {@code SingleFlight}
+     * (read only).
+     */
+    private final SingleFlight singleFlight;
+
+    /**
+     * Cache of encoded responses of operations returning reference data as
+     * {@code ResponseCache} (read only).
+     */
+    private final ResponseCache responseCache;
+
+    /**
+     * Operations returning whole lists, whose responses are tagged and may be
+     * answered as not modified, as {@code Set<Operation>} (read only).
+     */
+    private final Set<Operation> conditionalOperations;
+
+    /**
+     * Per-session, per-operation rate limiter as {@code RateLimiter}.
+     */
+    private volatile RateLimiter rateLimiter;
+
+    /**
+     * Whether other servers write to the same database as {@code boolean},
+     * default is {@code false}.
+     */
+    private volatile boolean sharedDatabase;
+
+    /**
+     * Private non-parametric constructor, registers the default handlers.
+     */
+    private RequestDispatcher() {
+        handlers = new EnumMap<>(Operation.class);
+        singleFlight = new SingleFlight();
+        responseCache = new ResponseCache(EnumSet.of(Operation.GET_ALL_EDUCATIONAL_INSTITUTIONS, Operation.GET_ALL_SEMINARS));
+        conditionalOperations = EnumSet.of(Operation.GET_ALL_EDUCATIONAL_INSTITUTIONS, Operation.GET_ALL_SEMINARS, Operation.GET_ALL_PARTICIPANTS);
+        rateLimiter = new RateLimiter(Collections.emptyMap());
+        registerDefaultHandlers();
+    }
+
+    /**
+     * Getter of instance (Singleton pattern).
+     *
+     * @return The singleton instance of the {@code RequestDispatcher} class.
+     */
+    public static RequestDispatcher getInstance() {
+        return instance;
+    }
+
+    /**
+     * Getter for singleFlight.
+     *
+     * @return Coalescer of identical concurrent read requests as
+     * {@code SingleFlight}.
+     */
+    public SingleFlight getSingleFlight() {
+        return singleFlight;
+    }
+
+    /**
+     * Getter for responseCache.
+     *
+     * @return Cache of encoded responses of operations returning reference
+     * data as {@code ResponseCache}.
+     */
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * Getter for rateLimiter.
+     *
+     * @return Per-session, per-operation rate limiter as {@code RateLimiter}.
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Setter for rateLimiter.
+     *
+     * @param rateLimiter Per-session, per-operation rate limiter as
+     * {@code RateLimiter}.
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Getter for sharedDatabase.
+     *
+     * @return {@code true} if other servers write to the same database,
+     * otherwise {@code false}.
+     */
+    public boolean isSharedDatabase() {
+        return sharedDatabase;
+    }
+
+    /**
+     * Setter for sharedDatabase, clears the response cache when the database
+     * becomes shared.
+     *
+     * @param sharedDatabase {@code true} if other servers write to the same
+     * database, which turns off the response cache and conditional responses,
+     * otherwise {@code false}.
+     */
+    public void setSharedDatabase(boolean sharedDatabase) {
+        this.sharedDatabase = sharedDatabase;
+        if (sharedDatabase) {
+            responseCache.clear();
+        }
+    }
+
+    /**
+     * Registers a handler for every operation performed by a system operation,
+     * a login handler that also registers the session of the client, a
+     * handler resuming a session with a session token, a heartbeat handler, a
+     * handler subscribing the client to change events and a handler returning
+     * changes since a sequence number.
+     *
+     * <p>
+     * Handlers of system operations that read and don't write go through
+     * {@code SingleFlight}.
+     * </p>
+     */
+    private void registerDefaultHandlers() {
+        ServerController controller = ServerController.getInstance();
+
+        for (Operation operation : Operation.values()) {
+            AbstractSO<?> systemOperation = controller.getSystemOperation(operation);
+            if (systemOperation == null) {
+                continue;
+            }
+            if (!systemOperation.getReadEntityTypes().isEmpty()
+                    && systemOperation.getWrittenEntityTypes().isEmpty()) {
+                register(operation, (client, argument) -> singleFlight.execute(operation, argument,
+                        systemOperation.getReadEntityTypes(), () -> controller.execute(operation, argument)));
+            } else {
+                register(operation, (client, argument) -> controller.execute(operation, argument));
+            }
+        }
+        register(Operation.LOGIN, (client, argument) -> client.login((Admin) argument));
+        register(Operation.RESUME_SESSION, (client, argument) -> {
+            if (!(argument instanceof String token)) {
+                throw new Exception(ServerConstants.INCORRECT_TYPE_ERROR_MESSAGE);
+            }
+            return client.resumeSession(token);
+        });
+        register(Operation.HEARTBEAT, (client, argument) -> null);
+        register(Operation.SUBSCRIBE, (client, argument) -> {
+            client.subscribe(toEntityTypes(argument));
+            return null;
+        });
+        register(Operation.GET_CHANGES_SINCE, (client, argument) -> {
+            if (argument != null && !(argument instanceof Long)) {
+                throw new Exception(ServerConstants.INCORRECT_TYPE_ERROR_MESSAGE);
+            }
+            return ChangeLog.getInstance().getChangesSince(argument == null ? -1 : (Long) argument);
+        });
+    }
+
+    /**
+     * Converts the argument of a subscription request to entity types.
+     *
+     * @param argument Argument of the request, a collection of entity types or
+     * {@code null} to unsubscribe, as {@code Object}.
+     * @return Entity types as {@code Set<EntityType>}, empty to unsubscribe.
+     * @throws Exception When the argument is not a collection of entity types.
+     */
+    private static Set<EntityType> toEntityTypes(Object argument) throws Exception {
+        Set<EntityType> entityTypes = EnumSet.noneOf(EntityType.class);
+        if (argument == null) {
+            return entityTypes;
+        }
+        if (!(argument instanceof Collection<?> collection)) {
+            throw new Exception(ServerConstants.INCORRECT_TYPE_ERROR_MESSAGE);
+        }
+        for (Object element : collection) {
+            if (!(element instanceof EntityType entityType)) {
+                throw new Exception(ServerConstants.INCORRECT_TYPE_ERROR_MESSAGE);
+            }
+            entityTypes.add(entityType);
+        }
+        return entityTypes;
+    }
+
+    /**
+     * Registers a handler for an operation, replacing the previous one.
+     *
+     * <p>
+     * Handlers must be registered before the server starts accepting clients.
+     * </p>
+     *
+     * @param operation Operation as {@code Operation}.
+     * @param handler Handler of the operation as {@code RequestHandler}.
+     */
+    public final void register(Operation operation, RequestHandler handler) {
+        handlers.put(operation, handler);
+    }
+
+    /**
+     * Dispatches a request to the handler registered for its operation.
+     *
+     * <p>
+     * A request exceeding the rate limit of its session is not handled and a
+     * {@code RateLimitExceededException} is returned instead. A successful
+     * login or resumption of a session is answered with the session token
+     * issued to the client.
+     * </p>
+     *
+     * @param client Thread handling the client that sent the request as
+     * {@code ClientHandlerThread}.
+     * @param request The incoming request as {@code Request}.
+     * @return The response as {@code Response} with either the result or the
+     * exception thrown while handling the request.
+     */
+    public Response dispatch(ClientHandlerThread client, Request request) {
+        Response response = new Response();
+        Operation operation = request.getOperation();
+        response.setOperation(operation);
+        AsyncLogger.getInstance().debug("request", "operation", operation);
+
+        try {
+            RequestHandler handler = operation == null ? null : handlers.get(operation);
+            if (handler == null) {
+                throw new Exception(ServerConstants.UNSUPPORTED_OPERATION_ERROR_MESSAGE);
+            }
+            long retryAfter = rateLimiter.tryAcquire(client.getRateLimitBuckets(), operation);
+            if (retryAfter > 0) {
+                client.throttled(operation);
+                response.setException(new RateLimitExceededException(ServerConstants.RATE_LIMIT_EXCEEDED_ERROR_MESSAGE, retryAfter));
+                return response;
+            }
+            response.setResult(handler.handle(client, request.getArgument()));
+            if (operation == Operation.LOGIN || operation == Operation.RESUME_SESSION) {
+                response.setSessionToken(client.getSessionToken());
+            }
+        } catch (Exception ex) {
+            Logger.getLogger(RequestDispatcher.class.getName()).log(Level.SEVERE, null, ex);
+            response.setException(ex);
+        }
+        return response;
+    }
+
+    /**
+     * Fills the response cache by executing every cacheable operation without
+     * an argument, which is how clients request reference data. Nothing is
+     * cached when the database is shared.
+     *
+     * @return Number of cached responses as {@code int}.
+     * @throws Exception When a system operation fails or a response cannot be
+     * serialized.
+     */
+    public int warmUpResponseCache() throws Exception {
+        if (sharedDatabase) {
+            return 0;
+        }
+        ServerController controller = ServerController.getInstance();
+        int cached = 0;
+        for (Operation operation : Operation.values()) {
+            AbstractSO<?> systemOperation = controller.getSystemOperation(operation);
+            if (systemOperation == null || !responseCache.isCacheable(operation)) {
+                continue;
+            }
+            long version = responseCache.snapshot(systemOperation.getReadEntityTypes());
+            Response response = new Response(controller.execute(operation, null), operation, null);
+            if (conditionalOperations.contains(operation)) {
+                response.setEntityTag(EntityVersions.getInstance().getEntityTag(version));
+            }
+            responseCache.put(operation, null, version, Communication.getInstance().encode(response));
+            cached++;
+        }
+        return cached;
+    }
+
+    /**
+     * Dispatches a request and returns its response already encoded for
+     * {@code Communication#sendEncoded}.
+     *
+     * @param client Thread handling the client that sent the request as
+     * {@code ClientHandlerThread}.
+     * @param request The incoming request as {@code Request}.
+     * @return The encoded response as {@code byte[]}.
+     * @throws IOException If the response cannot be serialized.
+     */
+    public byte[] dispatchEncoded(ClientHandlerThread client, Request request) throws IOException {
+        return prepare(client, request).encode();
+    }
+
+    /**
+     * Dispatches a request and returns its response, leaving the encoding to
+     * the caller.
+     *
+     * <p>
+     * A request of a conditional operation whose entity tag matches the
+     * current version of the read entity types is answered as not modified.
+     * Responses of cacheable operations are served from the
+     * {@code ResponseCache} while they are current. Otherwise the request is
+     * dispatched, a successful response of a conditional operation is tagged
+     * and a successful response of a cacheable operation is cached once it is
+     * encoded, both with the version of the read entity types taken before
+     * dispatching. When the database is shared, every request is dispatched.
+     * </p>
+     *
+     * @param client Thread handling the client that sent the request as
+     * {@code ClientHandlerThread}.
+     * @param request The incoming request as {@code Request}.
+     * @return The response ready to be encoded as {@code PreparedResponse}.
+     */
+    public PreparedResponse prepare(ClientHandlerThread client, Request request) {
+        Operation operation = request.getOperation();
+        if (sharedDatabase) {
+            return PreparedResponse.of(dispatch(client, request));
+        }
+        boolean cacheable = responseCache.isCacheable(operation);
+        boolean conditional = operation != null && conditionalOperations.contains(operation);
+        AbstractSO<?> systemOperation = cacheable || conditional
+                ? ServerController.getInstance().getSystemOperation(operation)
+                : null;
+        if (systemOperation == null) {
+            return PreparedResponse.of(dispatch(client, request));
+        }
+
+        Set<EntityType> readEntityTypes = systemOperation.getReadEntityTypes();
+        long version = responseCache.snapshot(readEntityTypes);
+        String entityTag = conditional ? EntityVersions.getInstance().getEntityTag(version) : null;
+        if (entityTag != null && entityTag.equals(request.getEntityTag())) {
+            AsyncLogger.getInstance().debug("request", "operation", operation, "result", "not_modified");
+            Response notModified = new Response(null, operation, null);
+            notModified.setEntityTag(entityTag);
+            notModified.setNotModified(true);
+            return PreparedResponse.of(notModified);
+        }
+
+        if (cacheable) {
+            byte[] encoded = responseCache.get(operation, request.getArgument(), readEntityTypes);
+            if (encoded != null) {
+                AsyncLogger.getInstance().debug("request", "operation", operation, "result", "cached");
+                return PreparedResponse.encoded(encoded);
+            }
+        }
+
+        Response response = dispatch(client, request);
+        if (response.getException() != null) {
+            return PreparedResponse.of(response);
+        }
+        response.setEntityTag(entityTag);
+        return cacheable
+                ? PreparedResponse.cached(response, responseCache, operation, request.getArgument(), version)
+                : PreparedResponse.of(response);
+    }
+}
@@ -0,0 +1,30 @@
+package com.fon.server.dispatch;
+
+import com.fon.server.threads.ClientHandlerThread;
+
+/**
+ * Handler of a single {@code Operation} registered in the
+ * {@code RequestDispatcher}.
+ *
+ * <p>
+ * Implementations must be stateless and thread-safe, because one handler
+ * serves requests of all connected clients concurrently.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+@FunctionalInterface
+public interface RequestHandler {
+
+    /**
+     * Handles a request sent by a client.
+     *
+     * @param client Thread handling the client that sent the request as
+     * {@code ClientHandlerThread}.
+     * @param argument Argument of the request as {@code Object}.
+     * @return Result that will be sent back to the client as {@code Object}.
+     * @throws Exception When the request cannot be handled.
+     */
+    Object handle(ClientHandlerThread client, Object argument) throws Exception;
+}
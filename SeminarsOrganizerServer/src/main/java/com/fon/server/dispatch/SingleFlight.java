@@ -0,0 +1,258 @@
+package com.fon.server.dispatch;
+
+import com.fon.common.domain.EntityType;
+import com.fon.common.exceptions.DeadlineExceededException;
+import com.fon.common.exceptions.RequestCancelledException;
+import com.fon.common.intercomm.Operation;
+import com.fon.server.changes.EntityVersions;
+import com.fon.server.constants.ServerConstants;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalesces identical concurrent read requests into a single execution.
+ *
+ * <p>
+ * The first request for an operation and argument starts an in-flight
+ * execution, and every identical request that arrives before it finishes waits
+ * for it and receives the same result or exception. The key of an execution
+ * also contains the combined version of the entity types it reads, so a
+ * request arriving after a write was committed never joins a read started
+ * before it. While a write to any of those entity types is in progress, no
+ * execution is shared at all.
+ * </p>
+ *
+ * <p>
+ * Shared results are sent to several clients at once, so they must not be
+ * modified after the execution.
+ * </p>
+ *
+ * <p>
+ * An execution is cancelled, or stopped at a deadline, only with the request
+ * that started it. A request that joined an execution stopped that way
+ * executes the read itself, unless it was cancelled or is out of time as
+ * well. A request waiting for an execution it joined stops waiting at its own
+ * deadline or when it is cancelled itself, leaving the execution running for
+ * the others.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class SingleFlight {
+
+    /**
+     * In-flight executions by their key as
+     * {@code ConcurrentMap<FlightKey, CompletableFuture<Object>>} (read only).
+     */
+    private final ConcurrentMap<FlightKey, CompletableFuture<Object>> flights;
+
+    /**
+     * Number of actual executions of every operation as
+     * {@code Map<Operation, LongAdder>} (read only).
+     */
+    private final Map<Operation, LongAdder> executions;
+
+    /**
+     * Number of requests of every operation that joined an in-flight execution
+     * as {@code Map<Operation, LongAdder>} (read only).
+     */
+    private final Map<Operation, LongAdder> coalesced;
+
+    /**
+     * Non-parametric constructor, initializes all counters to {@code 0}.
+     */
+    public SingleFlight() {
+        flights = new ConcurrentHashMap<>();
+        executions = new EnumMap<>(Operation.class);
+        coalesced = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            executions.put(operation, new LongAdder());
+            coalesced.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Executes a read, or joins an identical read that is already in flight.
+     *
+     * @param operation Operation of the request as {@code Operation}.
+     * @param argument Argument of the request as {@code Object}.
+     * @param readEntityTypes Entity types the read depends on as
+     * {@code Set<EntityType>}.
+     * @param read The read itself as {@code Callable<Object>}.
+     * @return Result of the read as {@code Object}.
+     * @throws Exception When the read (own or joined) throws an exception.
+     */
+    public Object execute(Operation operation, Object argument, Set<EntityType> readEntityTypes,
+            Callable<Object> read) throws Exception {
+        EntityVersions entityVersions = EntityVersions.getInstance();
+        if (readEntityTypes.isEmpty() || entityVersions.isWriteInProgress(readEntityTypes)) {
+            executions.get(operation).increment();
+            return read.call();
+        }
+
+        FlightKey key = new FlightKey(operation, argument, entityVersions.getVersion(readEntityTypes));
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = flights.putIfAbsent(key, flight);
+        if (inFlight != null) {
+            coalesced.get(operation).increment();
+            try {
+                return join(inFlight);
+            } catch (RequestCancelledException | DeadlineExceededException ex) {
+                RequestContext.throwIfAborted();
+                executions.get(operation).increment();
+                return read.call();
+            }
+        }
+
+        executions.get(operation).increment();
+        try {
+            Object result = read.call();
+            flight.complete(result);
+            return result;
+        } catch (Exception ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    /**
+     * Waits for an in-flight execution and unwraps its exception.
+     *
+     * <p>
+     * The wait is limited by the deadline of the request bound to the current
+     * thread, and ends when that request is cancelled.
+     * </p>
+     *
+     * @param inFlight The in-flight execution as
+     * {@code CompletableFuture<Object>}.
+     * @return Result of the execution as {@code Object}.
+     * @throws Exception Exception thrown by the execution.
+     * @throws RequestCancelledException If the request bound to the current
+     * thread was cancelled while waiting.
+     * @throws DeadlineExceededException If the deadline of the request bound
+     * to the current thread passed while waiting.
+     */
+    private Object join(CompletableFuture<Object> inFlight) throws Exception {
+        CompletableFuture<Object> waiting = inFlight.copy();
+        RequestContext.setCancelHook(() -> waiting.completeExceptionally(
+                new RequestCancelledException(ServerConstants.REQUEST_CANCELLED_ERROR_MESSAGE)));
+        try {
+            while (true) {
+                long remaining = RequestContext.currentRemainingNanos();
+                try {
+                    return remaining == Long.MAX_VALUE
+                            ? waiting.get()
+                            : waiting.get(remaining, TimeUnit.NANOSECONDS);
+                } catch (TimeoutException ex) {
+                    RequestContext.throwIfAborted();
+                }
+            }
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            throw ex;
+        } finally {
+            RequestContext.setCancelHook(null);
+        }
+    }
+
+    /**
+     * Returns the number of actual executions of an operation.
+     *
+     * @param operation Operation as {@code Operation}.
+     * @return Number of executions as {@code long}.
+     */
+    public long getExecutionCount(Operation operation) {
+        return executions.get(operation).sum();
+    }
+
+    /**
+     * Returns the number of requests of an operation that were answered by
+     * joining an in-flight execution.
+     *
+     * @param operation Operation as {@code Operation}.
+     * @return Number of coalesced requests as {@code long}.
+     */
+    public long getCoalescedCount(Operation operation) {
+        return coalesced.get(operation).sum();
+    }
+
+    /**
+     * Returns the number of executions currently in flight.
+     *
+     * @return Number of in-flight executions as {@code int}.
+     */
+    public int getInFlightCount() {
+        return flights.size();
+    }
+
+    /**
+     * Key of an in-flight execution, made of the operation, its argument and
+     * the combined version of the entity types it reads.
+     */
+    private static final class FlightKey {
+
+        /**
+         * Operation as {@code Operation} (read only).
+         */
+        private final Operation operation;
+
+        /**
+         * Argument as {@code Object} (read only).
+         */
+        private final Object argument;
+
+        /**
+         * Combined version of the read entity types as {@code long} (read
+         * only).
+         */
+        private final long version;
+
+        /**
+         * Parametrized constructor.
+         *
+         * @param operation Operation as {@code Operation}.
+         * @param argument Argument as {@code Object}.
+         * @param version Combined version as {@code long}.
+         */
+        FlightKey(Operation operation, Object argument, long version) {
+            this.operation = operation;
+            this.argument = argument;
+            this.version = version;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(operation, argument, version);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final FlightKey other = (FlightKey) obj;
+            return version == other.version
+                    && operation == other.operation
+                    && Objects.equals(argument, other.argument);
+        }
+    }
+}
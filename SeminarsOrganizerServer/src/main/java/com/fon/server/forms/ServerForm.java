@@ -13,14 +13,17 @@ import java.util.Properties;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
 import com.fon.server.table.AdminTableModel;
+import com.fon.server.threads.ClientHandlerThread;
+import com.fon.server.threads.ServerListener;
 import com.fon.server.threads.ServerThread;
 
 /**
  *
  * @author Aleksa
  */
-public class ServerForm extends javax.swing.JFrame {
+public class ServerForm extends javax.swing.JFrame implements ServerListener {
 
     private ServerThread serverThread;
     private AdminTableModel tableModel;
@@ -158,7 +161,8 @@ public class ServerForm extends javax.swing.JFrame {
                 return;
             }
 
-            serverThread = new ServerThread(this);
+            serverThread = new ServerThread();
+            serverThread.addServerListener(this);
             serverThread.start();
             btnStartServer.setEnabled(false);
             btnStopServer.setEnabled(true);
@@ -189,17 +193,21 @@ public class ServerForm extends javax.swing.JFrame {
     }
 
     private void btnStopServerActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btnStopServerActionPerformed
-        try {
-            serverThread.stopServer();
-            serverThread = null;
-            btnStartServer.setEnabled(true);
-            btnStopServer.setEnabled(false);
-            lblStatus.setText("заустављен");
-            lblStatus.setForeground(Color.RED);
-        } catch (Exception e) {
-            Logger.getLogger(ServerForm.class.getName()).log(Level.SEVERE, null, e);
-            JOptionPane.showMessageDialog(this, e.getMessage());
-        }
+        ServerThread stoppingServerThread = serverThread;
+        serverThread = null;
+        btnStopServer.setEnabled(false);
+        lblStatus.setText("гаси се");
+        lblStatus.setForeground(Color.ORANGE);
+
+        new Thread(() -> {
+            try {
+                stoppingServerThread.stopServer();
+            } catch (Exception e) {
+                Logger.getLogger(ServerForm.class.getName()).log(Level.SEVERE, null, e);
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this, e.getMessage()));
+            }
+            serverStopped();
+        }, "server-drain").start();
     }//GEN-LAST:event_btnStopServerActionPerformed
 
     private void jMenuMousePressed(java.awt.event.MouseEvent evt) {//GEN-FIRST:event_jMenuMousePressed
@@ -229,6 +237,50 @@ public class ServerForm extends javax.swing.JFrame {
         tbl.setModel(tableModel);
     }
 
+    /**
+     * Attaches the form as a monitor of a server that is already running, for
+     * example one started by {@code HeadlessServer}.
+     *
+     * @param runningServerThread The running server as {@code ServerThread}.
+     */
+    public void monitor(ServerThread runningServerThread) {
+        serverThread = runningServerThread;
+        configExists = true;
+        serverThread.addServerListener(this);
+        for (ClientHandlerThread ch : serverThread.getSessionRegistry().getSessions()) {
+            addAdminToTable(ch.getLoggedAdmin());
+        }
+        btnStartServer.setEnabled(false);
+        btnStopServer.setEnabled(true);
+        lblStatus.setText("упаљен");
+        lblStatus.setForeground(Color.GREEN);
+    }
+
+    @Override
+    public void adminLoggedIn(Admin admin) {
+        SwingUtilities.invokeLater(() -> addAdminToTable(admin));
+    }
+
+    @Override
+    public void adminLoggedOut(Admin admin) {
+        SwingUtilities.invokeLater(() -> removeAdminFromTable(admin));
+    }
+
+    @Override
+    public void adminThrottled(Admin admin, long throttleCount) {
+        setAdminThrottleCount(admin, throttleCount);
+    }
+
+    @Override
+    public void serverStopped() {
+        SwingUtilities.invokeLater(() -> {
+            btnStartServer.setEnabled(true);
+            btnStopServer.setEnabled(false);
+            lblStatus.setText("заустављен");
+            lblStatus.setForeground(Color.RED);
+        });
+    }
+
     public void addAdminToTable(Admin admin) {
         tableModel.addAdmin(admin);
     }
@@ -236,4 +288,8 @@ public class ServerForm extends javax.swing.JFrame {
     public void removeAdminFromTable(Admin admin) {
         tableModel.removeAdmin(admin);
     }
+
+    public void setAdminThrottleCount(Admin admin, long throttleCount) {
+        SwingUtilities.invokeLater(() -> tableModel.setThrottleCount(admin, throttleCount));
+    }
 }
@@ -0,0 +1,47 @@
+package com.fon.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event recorded for every request of a client, from
+ * the moment it is read until its response is sent.
+ *
+ * <p>
+ * The event begins on the client handler thread and is committed on the
+ * thread that sends the response, so its duration covers waiting for a
+ * worker, executing and encoding. Heartbeats are not recorded.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+@Name("com.fon.server.Request")
+@Label("Request")
+@Category({"Seminars Organizer", "Server"})
+@Description("Request of a client, from reading it until its response is sent")
+@StackTrace(false)
+public class RequestEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Client")
+    public int client;
+
+    @Label("Request ID")
+    public long requestID;
+
+    @Label("Response Size")
+    @DataAmount
+    public int responseBytes;
+
+    @Label("Failed")
+    @Description("Whether the response carries an exception or could not be sent")
+    public boolean failed;
+}
@@ -0,0 +1,47 @@
+package com.fon.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event recorded for every SQL statement run by the
+ * repository, including reading the rows of a query.
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+@Name("com.fon.server.Statement")
+@Label("SQL Statement")
+@Category({"Seminars Organizer", "Database"})
+@Description("SQL statement run by the repository")
+public class StatementEvent extends Event {
+
+    @Label("Statement Type")
+    @Description("INSERT, UPDATE, DELETE or SELECT")
+    public String statementType;
+
+    @Label("Entity Type")
+    public String entityType;
+
+    @Label("Table")
+    public String table;
+
+    @Label("Rows")
+    @Description("Number of rows read or written")
+    public int rows;
+
+    @Label("Failed")
+    @Description("Whether the statement failed, timed out or was cancelled")
+    public boolean failed;
+
+    @Label("SQL Length")
+    @Description("Number of characters of the SQL")
+    public int sqlLength;
+
+    @Label("Operation")
+    @Description("Operation of the request running the statement")
+    public String operation;
+}
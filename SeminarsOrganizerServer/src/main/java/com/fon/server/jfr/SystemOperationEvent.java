@@ -0,0 +1,36 @@
+package com.fon.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event recorded for every execution of a system
+ * operation, including its transaction.
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+@Name("com.fon.server.SystemOperation")
+@Label("System Operation")
+@Category({"Seminars Organizer", "Server"})
+@Description("Execution of a system operation within its transaction")
+@StackTrace(false)
+public class SystemOperationEvent extends Event {
+
+    @Label("System Operation")
+    public String systemOperation;
+
+    @Label("Operation")
+    @Description("Operation of the request executing the system operation")
+    public String operation;
+
+    @Label("Written Entity Types")
+    public String writtenEntityTypes;
+
+    @Label("Committed")
+    public boolean committed;
+}
@@ -0,0 +1,113 @@
+package com.fon.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event recorded for a phase of a system operation:
+ * checking the preconditions, starting the transaction, executing the
+ * operation, committing or rolling back the transaction.
+ *
+ * <p>
+ * A phase that throws an exception is recorded as well, with
+ * {@code failed} set.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+@Name("com.fon.server.SystemOperationPhase")
+@Label("System Operation Phase")
+@Category({"Seminars Organizer", "Server"})
+@Description("Phase of the execution of a system operation")
+@StackTrace(false)
+public class SystemOperationPhaseEvent extends Event {
+
+    /**
+     * Phase of checking the preconditions.
+     */
+    public static final String PRECONDITIONS = "preconditions";
+
+    /**
+     * Phase of starting the transaction, which includes acquiring a database
+     * connection.
+     */
+    public static final String CONNECT = "connect";
+
+    /**
+     * Phase of executing the operation.
+     */
+    public static final String OPERATION = "operation";
+
+    /**
+     * Phase of committing the transaction.
+     */
+    public static final String COMMIT = "commit";
+
+    /**
+     * Phase of rolling back the transaction.
+     */
+    public static final String ROLLBACK = "rollback";
+
+    @Label("System Operation")
+    public String systemOperation;
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Failed")
+    public boolean failed;
+
+    /**
+     * Whether the event is already committed as {@code boolean}, not
+     * recorded.
+     */
+    private transient boolean ended;
+
+    /**
+     * Constructor with system operation and phase parameters, begins timing
+     * the phase.
+     *
+     * @param systemOperation Name of the system operation as {@code String}.
+     * @param phase Name of the phase as {@code String}.
+     */
+    public SystemOperationPhaseEvent(String systemOperation, String phase) {
+        this.systemOperation = systemOperation;
+        this.phase = phase;
+        begin();
+    }
+
+    /**
+     * Ends the phase as completed and commits the event, unless it is already
+     * committed.
+     */
+    public void succeed() {
+        finish(false);
+    }
+
+    /**
+     * Ends the phase as failed and commits the event, unless it is already
+     * committed.
+     */
+    public void fail() {
+        finish(true);
+    }
+
+    /**
+     * Ends the phase and commits the event, unless it is already committed.
+     *
+     * @param failed Whether the phase failed as {@code boolean}.
+     */
+    private void finish(boolean failed) {
+        if (ended) {
+            return;
+        }
+        ended = true;
+        this.failed = failed;
+        commit();
+    }
+}
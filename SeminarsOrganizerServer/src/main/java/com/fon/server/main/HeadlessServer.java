@@ -0,0 +1,240 @@
+package com.fon.server.main;
+
+import com.fon.common.logging.AsyncLogger;
+import com.fon.server.config.ServerConfiguration;
+import com.fon.server.constants.ServerConstants;
+import com.fon.server.dispatch.RequestDispatcher;
+import com.fon.server.forms.ServerForm;
+import com.fon.server.repository.db.DbConnectionFactory;
+import com.fon.server.threads.ServerThread;
+import java.awt.GraphicsEnvironment;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.SwingUtilities;
+
+/**
+ * Class responsible for starting the server without any user interface.
+ *
+ * <p>
+ * The server is configured only by the {@code serverconfig} and
+ * {@code dbconfig} properties files. The database connection pool, the worker
+ * threads and the response cache are warmed up in parallel before the server
+ * starts accepting clients, and a breakdown of the startup time is logged. On
+ * termination of the process the server is drained.
+ * </p>
+ *
+ * <p>
+ * With the {@code --monitor} argument, the server form is opened as a monitor
+ * of the running server, if a display is available.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class HeadlessServer {
+
+    /**
+     * Command-line argument opening the server form as a monitor.
+     */
+    private static final String MONITOR_ARGUMENT = "--monitor";
+
+    /**
+     * Durations of startup phases in milliseconds by phase name as
+     * {@code Map<String, Long>} (read only), {@code -1} for a failed warm-up
+     * task.
+     */
+    private final Map<String, Long> startupPhases;
+
+    /**
+     * Non-parametric constructor.
+     */
+    public HeadlessServer() {
+        startupPhases = new LinkedHashMap<>();
+    }
+
+    /**
+     * Main method starting the server and waiting until it is stopped.
+     *
+     * @param args The command-line arguments, {@code --monitor} opens the
+     * server form as a monitor.
+     */
+    public static void main(String[] args) {
+        try {
+            ServerThread serverThread = new HeadlessServer().start();
+            if (Arrays.asList(args).contains(MONITOR_ARGUMENT)) {
+                openMonitor(serverThread);
+            }
+            serverThread.join();
+        } catch (Exception ex) {
+            Logger.getLogger(HeadlessServer.class.getName()).log(Level.SEVERE, null, ex);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Configures, warms up and starts the server.
+     *
+     * @return The started server as {@code ServerThread}.
+     * @throws FileNotFoundException If a configuration file does not exist.
+     * @throws IOException If configuration cannot be read or the server socket
+     * cannot be opened.
+     */
+    public ServerThread start() throws IOException {
+        long startupStart = System.nanoTime();
+
+        long phaseStart = System.nanoTime();
+        if (!Files.exists(Path.of(ServerConstants.DB_CONFIG_FILE_PATH))) {
+            throw new FileNotFoundException("Missing database configuration " + ServerConstants.DB_CONFIG_FILE_PATH);
+        }
+        ServerConfiguration configuration = ServerConfiguration.load(ServerConstants.SERVER_CONFIG_FILE_PATH);
+        startupPhases.put("configuration", elapsed(phaseStart));
+
+        phaseStart = System.nanoTime();
+        ServerThread serverThread = new ServerThread(configuration);
+        startupPhases.put("server_initialization", elapsed(phaseStart));
+
+        phaseStart = System.nanoTime();
+        warmUp(serverThread, configuration);
+        startupPhases.put("warm_up", elapsed(phaseStart));
+
+        serverThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                serverThread.stopServer();
+            } catch (IOException ex) {
+                Logger.getLogger(HeadlessServer.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }, "server-shutdown"));
+        startupPhases.put("total", elapsed(startupStart));
+
+        logStartupReport();
+        return serverThread;
+    }
+
+    /**
+     * Warms up the database connection pool, the worker and encoder threads
+     * and the response cache in parallel.
+     *
+     * <p>
+     * A failed warm-up is reported but does not prevent the server from
+     * starting, everything it warms up is otherwise created on first use.
+     * </p>
+     *
+     * @param serverThread The server being started as {@code ServerThread}.
+     * @param configuration Server configuration as {@code ServerConfiguration}.
+     */
+    private void warmUp(ServerThread serverThread, ServerConfiguration configuration) {
+        int workerThreads = configuration.getInt(ServerConstants.SERVER_CONFIG_WORKER_THREADS, ServerConstants.DEFAULT_WORKER_THREADS);
+        ExecutorService warmUpExecutor = Executors.newFixedThreadPool(3);
+        try {
+            CompletableFuture<Long> connectionPool = timed(() -> DbConnectionFactory.getInstance().warmUp(workerThreads), warmUpExecutor);
+            CompletableFuture<Long> workers = timed(() -> serverThread.getWorkerPool().prestart() + serverThread.getEncoderStage().prestart(), warmUpExecutor);
+            CompletableFuture<Long> responseCache = timed(() -> RequestDispatcher.getInstance().warmUpResponseCache(), warmUpExecutor);
+
+            startupPhases.put("warm_up.connection_pool", await("database connection pool", connectionPool));
+            startupPhases.put("warm_up.worker_threads", await("worker threads", workers));
+            startupPhases.put("warm_up.response_cache", await("response cache", responseCache));
+        } finally {
+            warmUpExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Runs a warm-up task and measures its duration.
+     *
+     * @param task Warm-up task as {@code Callable<?>}.
+     * @param executor Executor running the task as {@code ExecutorService}.
+     * @return Duration of the task in milliseconds as
+     * {@code CompletableFuture<Long>}.
+     */
+    private CompletableFuture<Long> timed(Callable<?> task, ExecutorService executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                task.call();
+            } catch (Exception ex) {
+                throw new CompletionException(ex);
+            }
+            return elapsed(start);
+        }, executor);
+    }
+
+    /**
+     * Waits for a warm-up task, reporting its failure.
+     *
+     * @param name Name of the warm-up task as {@code String}.
+     * @param task Warm-up task as {@code CompletableFuture<Long>}.
+     * @return Duration of the task in milliseconds as {@code long} or
+     * {@code -1} if it failed.
+     */
+    private long await(String name, CompletableFuture<Long> task) {
+        try {
+            return task.join();
+        } catch (CompletionException ex) {
+            AsyncLogger.getInstance().warn("warm_up_failed", "phase", name, "error", ex.getCause().getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Logs the duration of every startup phase as a {@code server_started}
+     * event. The warm-up tasks ran in parallel, so their phases are prefixed
+     * with {@code warm_up.} and overlap the {@code warm_up} phase.
+     */
+    private void logStartupReport() {
+        for (Map.Entry<String, Long> phase : startupPhases.entrySet()) {
+            AsyncLogger.getInstance().info("server_started", "phase", phase.getKey(), "duration_ms", phase.getValue());
+        }
+    }
+
+    /**
+     * Getter for startupPhases.
+     *
+     * @return Durations of startup phases in milliseconds by phase name as
+     * {@code Map<String, Long>}, {@code -1} for a failed warm-up task.
+     */
+    public Map<String, Long> getStartupPhases() {
+        return startupPhases;
+    }
+
+    /**
+     * Opens the server form as a monitor of the running server.
+     *
+     * @param serverThread The running server as {@code ServerThread}.
+     */
+    private static void openMonitor(ServerThread serverThread) {
+        if (GraphicsEnvironment.isHeadless()) {
+            AsyncLogger.getInstance().info("monitor_not_opened", "reason", "headless");
+            return;
+        }
+        SwingUtilities.invokeLater(() -> {
+            ServerForm serverForm = new ServerForm();
+            serverForm.monitor(serverThread);
+            serverForm.setVisible(true);
+        });
+    }
+
+    /**
+     * Returns the time elapsed since the passed moment.
+     *
+     * @param start Moment in nanoseconds, as returned by
+     * {@code System.nanoTime()}, as {@code long}.
+     * @return Elapsed time in milliseconds as {@code long}.
+     */
+    private static long elapsed(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,185 @@
+package com.fon.server.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies with a bounded relative error, in the
+ * style of an HDR histogram.
+ *
+ * <p>
+ * Latencies are recorded in microseconds into log-linear buckets: every power
+ * of two is split into {@code SUB_BUCKETS} buckets of equal width, so a
+ * recorded value is off by at most 1/{@code SUB_BUCKETS} of itself, whatever
+ * its magnitude. Recording is a single atomic increment of one bucket, so it
+ * never blocks concurrent recordings. Percentiles are computed by scanning
+ * the buckets, which is weakly consistent with concurrent recordings.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class LatencyHistogram {
+
+    /**
+     * Number of bits of a value that select its bucket within a power of two.
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /**
+     * Number of buckets every power of two is split into.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Number of buckets, enough for every non-negative {@code long}.
+     */
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /**
+     * Number of recorded values in every bucket as {@code AtomicLongArray}
+     * (read only).
+     */
+    private final AtomicLongArray counts;
+
+    /**
+     * Number of recorded values as {@code LongAdder} (read only).
+     */
+    private final LongAdder count;
+
+    /**
+     * Sum of recorded values in microseconds as {@code LongAdder} (read only).
+     */
+    private final LongAdder total;
+
+    /**
+     * Largest recorded value in microseconds as {@code AtomicLong} (read
+     * only).
+     */
+    private final AtomicLong max;
+
+    /**
+     * Non-parametric constructor, initializes an empty histogram.
+     */
+    public LatencyHistogram() {
+        counts = new AtomicLongArray(BUCKETS);
+        count = new LongAdder();
+        total = new LongAdder();
+        max = new AtomicLong();
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos Latency in nanoseconds as {@code long}, negative latencies
+     * are recorded as {@code 0}.
+     */
+    public void record(long nanos) {
+        long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+        counts.incrementAndGet(bucketOf(micros));
+        count.increment();
+        total.add(micros);
+        max.accumulateAndGet(micros, Math::max);
+    }
+
+    /**
+     * Returns the bucket of a value.
+     *
+     * @param value Value in microseconds as {@code long}.
+     * @return Index of the bucket as {@code int}.
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Returns the largest value of a bucket.
+     *
+     * @param bucket Index of the bucket as {@code int}.
+     * @return Largest value of the bucket in microseconds as {@code long}.
+     */
+    static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return Number of recorded values as {@code long}.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the mean of recorded values.
+     *
+     * @return Mean in milliseconds as {@code double}, {@code 0} if nothing
+     * was recorded.
+     */
+    public double getMean() {
+        long recorded = count.sum();
+        return recorded == 0 ? 0 : toMillis(total.sum()) / recorded;
+    }
+
+    /**
+     * Returns the largest recorded value.
+     *
+     * @return Largest value in milliseconds as {@code double}.
+     */
+    public double getMax() {
+        return toMillis(max.get());
+    }
+
+    /**
+     * Returns the value below which the passed percentage of recorded values
+     * fall, within the precision of the buckets.
+     *
+     * @param percentile Percentage as {@code double}, between {@code 0} and
+     * {@code 100}.
+     * @return Value in milliseconds as {@code double}, {@code 0} if nothing
+     * was recorded.
+     */
+    public double getValueAtPercentile(double percentile) {
+        long recorded = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            snapshot[bucket] = counts.get(bucket);
+            recorded += snapshot[bucket];
+        }
+        if (recorded == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * recorded));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += snapshot[bucket];
+            if (seen >= rank) {
+                return toMillis(Math.min(highestValueOf(bucket), max.get()));
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Converts microseconds to milliseconds.
+     *
+     * @param micros Value in microseconds as {@code long}.
+     * @return Value in milliseconds as {@code double}.
+     */
+    private static double toMillis(long micros) {
+        return micros / (double) TimeUnit.MILLISECONDS.toMicros(1);
+    }
+}
@@ -0,0 +1,225 @@
+package com.fon.server.metrics;
+
+import com.fon.common.intercomm.Operation;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency, throughput, error and payload metrics of one operation.
+ *
+ * <p>
+ * The latency of a request is measured from when it is received until its
+ * response is sent, so it includes the time spent waiting for a worker and
+ * for the encoder. The execution time is measured around the system
+ * operation alone. Every metric is updated without locking.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class OperationMetrics implements OperationMetricsMXBean {
+
+    /**
+     * The operation as {@code Operation} (read only).
+     */
+    private final Operation operation;
+
+    /**
+     * Number of answered requests as {@code LongAdder} (read only).
+     */
+    private final LongAdder requests;
+
+    /**
+     * Number of requests answered with an exception as {@code LongAdder}
+     * (read only).
+     */
+    private final LongAdder errors;
+
+    /**
+     * Number of requests received and not answered yet as {@code LongAdder}
+     * (read only).
+     */
+    private final LongAdder inFlight;
+
+    /**
+     * Latencies of answered requests as {@code LatencyHistogram} (read only).
+     */
+    private final LatencyHistogram latency;
+
+    /**
+     * Execution times of the system operation as {@code LatencyHistogram}
+     * (read only).
+     */
+    private final LatencyHistogram executionTime;
+
+    /**
+     * Total size of sent responses in bytes as {@code LongAdder} (read only).
+     */
+    private final LongAdder responseBytes;
+
+    /**
+     * Size of the largest sent response in bytes as {@code AtomicLong} (read
+     * only).
+     */
+    private final AtomicLong maxResponseSize;
+
+    /**
+     * Constructor with operation parameter, initializes all metrics to
+     * {@code 0}.
+     *
+     * @param operation The operation as {@code Operation}.
+     */
+    public OperationMetrics(Operation operation) {
+        this.operation = operation;
+        requests = new LongAdder();
+        errors = new LongAdder();
+        inFlight = new LongAdder();
+        latency = new LatencyHistogram();
+        executionTime = new LatencyHistogram();
+        responseBytes = new LongAdder();
+        maxResponseSize = new AtomicLong();
+    }
+
+    /**
+     * Records a received request.
+     */
+    public void requestStarted() {
+        inFlight.increment();
+    }
+
+    /**
+     * Records an answered request, or one whose response could not be sent.
+     *
+     * @param latency Time from receiving the request until its response was
+     * sent in nanoseconds as {@code long}.
+     * @param failed Whether the request was answered with an exception, or
+     * not answered at all, as {@code boolean}.
+     * @param responseSize Size of the sent response in bytes as {@code int},
+     * {@code 0} if none was sent.
+     */
+    public void requestFinished(long latency, boolean failed, int responseSize) {
+        inFlight.decrement();
+        requests.increment();
+        if (failed) {
+            errors.increment();
+        }
+        this.latency.record(latency);
+        responseBytes.add(responseSize);
+        maxResponseSize.accumulateAndGet(responseSize, Math::max);
+    }
+
+    /**
+     * Records an execution of the system operation.
+     *
+     * @param executionTime Execution time in nanoseconds as {@code long}.
+     */
+    public void recordExecution(long executionTime) {
+        this.executionTime.record(executionTime);
+    }
+
+    /**
+     * Getter for latency.
+     *
+     * @return Latencies of answered requests as {@code LatencyHistogram}.
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * Getter for executionTime.
+     *
+     * @return Execution times of the system operation as
+     * {@code LatencyHistogram}.
+     */
+    public LatencyHistogram getExecutionTime() {
+        return executionTime;
+    }
+
+    @Override
+    public String getOperation() {
+        return operation.name();
+    }
+
+    @Override
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getErrorRate() {
+        long answered = requests.sum();
+        return answered == 0 ? 0 : errors.sum() / (double) answered;
+    }
+
+    @Override
+    public long getInFlight() {
+        return inFlight.sum();
+    }
+
+    @Override
+    public double getLatencyMean() {
+        return latency.getMean();
+    }
+
+    @Override
+    public double getLatencyP50() {
+        return latency.getValueAtPercentile(50);
+    }
+
+    @Override
+    public double getLatencyP90() {
+        return latency.getValueAtPercentile(90);
+    }
+
+    @Override
+    public double getLatencyP99() {
+        return latency.getValueAtPercentile(99);
+    }
+
+    @Override
+    public double getLatencyMax() {
+        return latency.getMax();
+    }
+
+    @Override
+    public long getExecutionCount() {
+        return executionTime.getCount();
+    }
+
+    @Override
+    public double getExecutionP50() {
+        return executionTime.getValueAtPercentile(50);
+    }
+
+    @Override
+    public double getExecutionP99() {
+        return executionTime.getValueAtPercentile(99);
+    }
+
+    @Override
+    public double getExecutionMax() {
+        return executionTime.getMax();
+    }
+
+    @Override
+    public long getResponseBytes() {
+        return responseBytes.sum();
+    }
+
+    @Override
+    public double getAverageResponseSize() {
+        long answered = requests.sum();
+        return answered == 0 ? 0 : responseBytes.sum() / (double) answered;
+    }
+
+    @Override
+    public long getMaxResponseSize() {
+        return maxResponseSize.get();
+    }
+}
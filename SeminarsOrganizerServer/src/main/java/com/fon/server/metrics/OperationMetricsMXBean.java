@@ -0,0 +1,139 @@
+package com.fon.server.metrics;
+
+/**
+ * Management interface exposing the metrics of one operation through JMX.
+ *
+ * <p>
+ * Latencies are in milliseconds. Counters only grow, so throughput is the
+ * difference between two readings divided by the time between them.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public interface OperationMetricsMXBean {
+
+    /**
+     * Returns the name of the operation.
+     *
+     * @return Name of the operation as {@code String}.
+     */
+    String getOperation();
+
+    /**
+     * Returns the number of answered requests.
+     *
+     * @return Number of answered requests as {@code long}.
+     */
+    long getRequestCount();
+
+    /**
+     * Returns the number of requests answered with an exception.
+     *
+     * @return Number of failed requests as {@code long}.
+     */
+    long getErrorCount();
+
+    /**
+     * Returns the share of requests answered with an exception.
+     *
+     * @return Error rate between {@code 0} and {@code 1} as {@code double}.
+     */
+    double getErrorRate();
+
+    /**
+     * Returns the number of requests received and not answered yet.
+     *
+     * @return Number of requests in flight as {@code long}.
+     */
+    long getInFlight();
+
+    /**
+     * Returns the mean time from receiving a request to sending its response.
+     *
+     * @return Mean latency as {@code double}.
+     */
+    double getLatencyMean();
+
+    /**
+     * Returns the median time from receiving a request to sending its
+     * response.
+     *
+     * @return Median latency as {@code double}.
+     */
+    double getLatencyP50();
+
+    /**
+     * Returns the 90th percentile of the time from receiving a request to
+     * sending its response.
+     *
+     * @return 90th percentile of latency as {@code double}.
+     */
+    double getLatencyP90();
+
+    /**
+     * Returns the 99th percentile of the time from receiving a request to
+     * sending its response.
+     *
+     * @return 99th percentile of latency as {@code double}.
+     */
+    double getLatencyP99();
+
+    /**
+     * Returns the longest time from receiving a request to sending its
+     * response.
+     *
+     * @return Longest latency as {@code double}.
+     */
+    double getLatencyMax();
+
+    /**
+     * Returns the number of executions of the system operation.
+     *
+     * @return Number of executions as {@code long}.
+     */
+    long getExecutionCount();
+
+    /**
+     * Returns the median execution time of the system operation.
+     *
+     * @return Median execution time as {@code double}.
+     */
+    double getExecutionP50();
+
+    /**
+     * Returns the 99th percentile of the execution time of the system
+     * operation.
+     *
+     * @return 99th percentile of execution time as {@code double}.
+     */
+    double getExecutionP99();
+
+    /**
+     * Returns the longest execution time of the system operation.
+     *
+     * @return Longest execution time as {@code double}.
+     */
+    double getExecutionMax();
+
+    /**
+     * Returns the total size of sent responses.
+     *
+     * @return Total size in bytes as {@code long}.
+     */
+    long getResponseBytes();
+
+    /**
+     * Returns the average size of a sent response.
+     *
+     * @return Average size in bytes as {@code double}.
+     */
+    double getAverageResponseSize();
+
+    /**
+     * Returns the size of the largest sent response.
+     *
+     * @return Largest size in bytes as {@code long}.
+     */
+    long getMaxResponseSize();
+}
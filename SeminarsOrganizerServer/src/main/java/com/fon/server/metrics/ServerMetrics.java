@@ -0,0 +1,95 @@
+package com.fon.server.metrics;
+
+import com.fon.common.intercomm.Operation;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Singleton class holding the metrics of every operation.
+ *
+ * <p>
+ * The metrics of an operation are created up front, so recording never
+ * allocates or locks. They are exposed through JMX as
+ * {@code OperationMetricsMXBean}s, one per operation, named
+ * {@code com.fon.server:type=OperationMetrics,name=<operation>}, so any JMX
+ * client, such as JConsole, can read them from a running server.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class ServerMetrics {
+
+    /**
+     * Domain and type of the names of the registered MBeans.
+     */
+    private static final String OBJECT_NAME_PREFIX = "com.fon.server:type=OperationMetrics,name=";
+
+    /**
+     * The singleton instance of the {@code ServerMetrics} class.
+     */
+    private static final ServerMetrics instance = new ServerMetrics();
+
+    /**
+     * Metrics by operation as {@code Map<Operation, OperationMetrics>} (read
+     * only).
+     */
+    private final Map<Operation, OperationMetrics> operations;
+
+    /**
+     * Private non-parametric constructor, creates the metrics of every
+     * operation.
+     */
+    private ServerMetrics() {
+        Map<Operation, OperationMetrics> metrics = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            metrics.put(operation, new OperationMetrics(operation));
+        }
+        operations = Collections.unmodifiableMap(metrics);
+    }
+
+    /**
+     * Getter of instance (Singleton pattern).
+     *
+     * @return The singleton instance of the {@code ServerMetrics} class.
+     */
+    public static ServerMetrics getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns the metrics of an operation.
+     *
+     * @param operation Operation as {@code Operation}.
+     * @return Metrics of the operation as {@code OperationMetrics}.
+     */
+    public OperationMetrics get(Operation operation) {
+        return operations.get(operation);
+    }
+
+    /**
+     * Registers the metrics of every operation with the platform MBean server.
+     * Metrics that are already registered are skipped, so the server can be
+     * started more than once in the same process.
+     */
+    public void registerMBeans() {
+        MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+        for (OperationMetrics metrics : operations.values()) {
+            try {
+                ObjectName name = new ObjectName(OBJECT_NAME_PREFIX + metrics.getOperation());
+                if (!mbeanServer.isRegistered(name)) {
+                    mbeanServer.registerMBean(metrics, name);
+                }
+            } catch (JMException ex) {
+                Logger.getLogger(ServerMetrics.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.fon.server.ratelimit;
+
+import com.fon.common.intercomm.Operation;
+import com.fon.server.config.ServerConfiguration;
+import com.fon.server.constants.ServerConstants;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-session, per-operation rate limiter.
+ *
+ * <p>
+ * Limits are configured per {@code Operation} in the {@code serverconfig}
+ * properties file as {@code ratelimit.<OPERATION>.rate} (requests per second)
+ * and {@code ratelimit.<OPERATION>.burst} (bucket capacity). Operations
+ * without a configured rate are not limited. Every session gets its own
+ * {@code TokenBucket} per limited operation, so one admin can never use up the
+ * tokens of another.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class RateLimiter {
+
+    /**
+     * Configured limits by operation as {@code Map<Operation, RateLimit>}
+     * (read only).
+     */
+    private final Map<Operation, RateLimit> limits;
+
+    /**
+     * Number of throttled requests of every operation as
+     * {@code Map<Operation, LongAdder>} (read only).
+     */
+    private final Map<Operation, LongAdder> throttled;
+
+    /**
+     * Constructor with limits parameter.
+     *
+     * @param limits Limits by operation as {@code Map<Operation, RateLimit>}.
+     */
+    public RateLimiter(Map<Operation, RateLimit> limits) {
+        this.limits = limits.isEmpty()
+                ? Collections.emptyMap()
+                : Collections.unmodifiableMap(new EnumMap<>(limits));
+        throttled = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            throttled.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Creates a rate limiter with the limits from the server configuration.
+     *
+     * @param configuration Server configuration as
+     * {@code ServerConfiguration}.
+     * @return Rate limiter as {@code RateLimiter}.
+     * @throws IllegalArgumentException If a configured limit is not positive.
+     */
+    public static RateLimiter fromConfiguration(ServerConfiguration configuration) {
+        Map<Operation, RateLimit> limits = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            String prefix = ServerConstants.SERVER_CONFIG_RATE_LIMIT_PREFIX + operation.name();
+            String rate = configuration.getString(prefix + ServerConstants.SERVER_CONFIG_RATE_LIMIT_RATE_SUFFIX);
+            if (rate == null || rate.isEmpty()) {
+                continue;
+            }
+            int burst = configuration.getInt(prefix + ServerConstants.SERVER_CONFIG_RATE_LIMIT_BURST_SUFFIX, 1);
+            limits.put(operation, new RateLimit(Double.parseDouble(rate), burst));
+        }
+        return new RateLimiter(limits);
+    }
+
+    /**
+     * Tries to take a token for a request of a session.
+     *
+     * @param buckets Token buckets of the session by operation as
+     * {@code ConcurrentMap<Operation, TokenBucket>}.
+     * @param operation Operation of the request as {@code Operation}.
+     * @return {@code 0} if the request may be executed, otherwise the time in
+     * milliseconds until it may be sent again as {@code long}.
+     */
+    public long tryAcquire(ConcurrentMap<Operation, TokenBucket> buckets, Operation operation) {
+        RateLimit limit = limits.get(operation);
+        if (limit == null) {
+            return 0;
+        }
+        TokenBucket bucket = buckets.computeIfAbsent(operation, op -> new TokenBucket(limit.rate, limit.burst));
+        long wait = bucket.tryAcquire();
+        if (wait == 0) {
+            return 0;
+        }
+        throttled.get(operation).increment();
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(wait));
+    }
+
+    /**
+     * Checks if an operation is rate limited.
+     *
+     * @param operation Operation as {@code Operation}.
+     * @return {@code true} if a limit is configured for the operation,
+     * otherwise {@code false}.
+     */
+    public boolean isLimited(Operation operation) {
+        return limits.containsKey(operation);
+    }
+
+    /**
+     * Returns the number of throttled requests of an operation over all
+     * sessions.
+     *
+     * @param operation Operation as {@code Operation}.
+     * @return Number of throttled requests as {@code long}.
+     */
+    public long getThrottledCount(Operation operation) {
+        return throttled.get(operation).sum();
+    }
+
+    /**
+     * Configured limit of a single operation.
+     */
+    public static final class RateLimit {
+
+        /**
+         * Requests per second as {@code double} (read only).
+         */
+        private final double rate;
+
+        /**
+         * Capacity of the bucket as {@code int} (read only).
+         */
+        private final int burst;
+
+        /**
+         * Constructor with all parameters.
+         *
+         * @param rate Requests per second as {@code double}.
+         * @param burst Capacity of the bucket as {@code int}.
+         * @throws IllegalArgumentException If rate or burst are not positive.
+         */
+        public RateLimit(double rate, int burst) {
+            if (rate <= 0 || burst <= 0) {
+                throw new IllegalArgumentException("Rate and burst must be positive");
+            }
+            this.rate = rate;
+            this.burst = burst;
+        }
+
+        /**
+         * Getter for rate.
+         *
+         * @return Requests per second as {@code double}.
+         */
+        public double getRate() {
+            return rate;
+        }
+
+        /**
+         * Getter for burst.
+         *
+         * @return Capacity of the bucket as {@code int}.
+         */
+        public int getBurst() {
+            return burst;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.fon.server.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as the generic cell rate algorithm
+ * (GCRA).
+ *
+ * <p>
+ * Instead of a token count and a refill timestamp, the bucket keeps a single
+ * value, the theoretical arrival time of the next request. A request conforms
+ * if it does not arrive earlier than the burst allows, and taking a token is a
+ * single compare-and-set of that value, so the bucket never blocks.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class TokenBucket {
+
+    /**
+     * Time in nanoseconds it takes to refill one token as {@code long} (read
+     * only).
+     */
+    private final long emissionInterval;
+
+    /**
+     * How much earlier than its theoretical arrival time a request may arrive
+     * in nanoseconds as {@code long} (read only).
+     */
+    private final long tolerance;
+
+    /**
+     * Theoretical arrival time of the next request in nanoseconds as
+     * {@code AtomicLong} (read only).
+     */
+    private final AtomicLong theoreticalArrivalTime;
+
+    /**
+     * Constructor with all parameters, the bucket starts full.
+     *
+     * @param rate Number of tokens refilled per second as {@code double}.
+     * @param burst Capacity of the bucket as {@code int}.
+     * @throws IllegalArgumentException If rate or burst are not positive.
+     */
+    public TokenBucket(double rate, int burst) {
+        if (rate <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        emissionInterval = (long) (1_000_000_000L / rate);
+        tolerance = emissionInterval * (burst - 1);
+        theoreticalArrivalTime = new AtomicLong(Long.MIN_VALUE);
+    }
+
+    /**
+     * Tries to take a token at the current time.
+     *
+     * @return {@code 0} if a token was taken, otherwise the time until a token
+     * is available in nanoseconds as {@code long}.
+     */
+    public long tryAcquire() {
+        return tryAcquire(System.nanoTime());
+    }
+
+    /**
+     * Tries to take a token at the passed time.
+     *
+     * @param now Current time in nanoseconds as {@code long}, as returned by
+     * {@code System.nanoTime()}.
+     * @return {@code 0} if a token was taken, otherwise the time until a token
+     * is available in nanoseconds as {@code long}.
+     */
+    public long tryAcquire(long now) {
+        while (true) {
+            long current = theoreticalArrivalTime.get();
+            long arrival = current == Long.MIN_VALUE ? now : Math.max(current, now);
+            long allowedAt = arrival - tolerance;
+            if (allowedAt > now) {
+                return allowedAt - now;
+            }
+            if (theoreticalArrivalTime.compareAndSet(current, arrival + emissionInterval)) {
+                return 0;
+            }
+        }
+    }
+}
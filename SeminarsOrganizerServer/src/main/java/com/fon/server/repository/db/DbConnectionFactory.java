@@ -11,11 +11,40 @@ import java.io.IOException;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Singleton class for connecting to the database.
  *
+ * <p>
+ * Every thread gets its own connection, so transactions of system operations
+ * executed concurrently by different client handler threads never share a
+ * connection.
+ * </p>
+ *
+ * <p>
+ * Connections released by a thread are kept in a bounded pool of idle
+ * connections and handed to the next thread that needs one, so a system
+ * operation does not have to open a new connection. The pool can be filled in
+ * advance with {@code warmUp}.
+ * </p>
+ *
+ * <p>
+ * Only connections that were idle for longer than
+ * {@code VALIDATION_IDLE_TIME} are validated when borrowed, since validating
+ * costs a round trip to the database server. Connections returned by the
+ * previous system operation a moment ago are used right away.
+ * </p>
+ *
  * @author Aleksa
  */
 public class DbConnectionFactory {
@@ -23,17 +52,46 @@ public class DbConnectionFactory {
     /**
      * The singleton instance of the {@code DbConnectionFactory} class.
      */
-    private static DbConnectionFactory instance;
+    private static final DbConnectionFactory instance = new DbConnectionFactory();
+
+    /**
+     * SQL connection of the current thread as
+     * {@code ThreadLocal<Connection>} (read only).
+     */
+    private final ThreadLocal<Connection> connection = new ThreadLocal<>();
 
     /**
-     * SQL connection instance as {@code Connection}.
+     * Default maximum number of idle connections in the pool.
      */
-    private Connection connection;
+    private static final int DEFAULT_POOL_SIZE = 8;
 
     /**
-     * Private non-parametric constructor.
+     * Time in nanoseconds a connection has to be idle before it is validated
+     * when borrowed.
+     */
+    private static final long VALIDATION_IDLE_TIME = TimeUnit.SECONDS.toNanos(30);
+
+    /**
+     * Connection waiting in the pool and the time it was released at.
+     *
+     * @param connection Idle SQL connection as {@code Connection}.
+     * @param idleSince Time the connection was released at in nanoseconds, as
+     * returned by {@code System.nanoTime()}.
+     */
+    private record IdleConnection(Connection connection, long idleSince) {
+    }
+
+    /**
+     * Idle connections ready to be used as
+     * {@code BlockingQueue<IdleConnection>}.
+     */
+    private volatile BlockingQueue<IdleConnection> idleConnections;
+
+    /**
+     * Private non-parametric constructor, initializes an empty pool.
      */
     private DbConnectionFactory() {
+        idleConnections = new ArrayBlockingQueue<>(DEFAULT_POOL_SIZE);
     }
 
     /**
@@ -42,16 +100,82 @@ public class DbConnectionFactory {
      * @return The singleton instance of the {@code DbConnectionFactory} class.
      */
     public static DbConnectionFactory getInstance() {
-        if (instance == null) {
-            instance = new DbConnectionFactory();
-        }
         return instance;
     }
 
     /**
-     * Connects to a database from the {@code dbconfig} properties file.
+     * Sets the maximum number of idle connections kept in the pool, closing
+     * the connections that were idle until now.
+     *
+     * @param poolSize Maximum number of idle connections as {@code int}.
+     */
+    public void configurePool(int poolSize) {
+        BlockingQueue<IdleConnection> previous = idleConnections;
+        idleConnections = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+        closeAll(previous);
+    }
+
+    /**
+     * Fills the pool with new connections, opened in parallel.
+     *
+     * @param count Number of connections to open as {@code int}.
+     * @return Number of connections added to the pool as {@code int}.
+     * @throws java.sql.SQLException When a connection cannot be opened.
+     */
+    public int warmUp(int count) throws SQLException {
+        List<CompletableFuture<Connection>> futures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return openConnection();
+                } catch (IOException | SQLException ex) {
+                    throw new CompletionException(ex);
+                }
+            }));
+        }
+
+        int added = 0;
+        SQLException failure = null;
+        for (CompletableFuture<Connection> future : futures) {
+            try {
+                Connection pooled = future.join();
+                if (idleConnections.offer(new IdleConnection(pooled, System.nanoTime()))) {
+                    added++;
+                } else {
+                    pooled.close();
+                }
+            } catch (CompletionException ex) {
+                failure = new SQLException(ex.getCause().getMessage(), ex.getCause());
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return added;
+    }
+
+    /**
+     * Returns the number of idle connections in the pool.
+     *
+     * @return Number of idle connections as {@code int}.
+     */
+    public int getIdleConnectionCount() {
+        return idleConnections.size();
+    }
+
+    /**
+     * Closes all idle connections in the pool.
+     */
+    public void closeIdleConnections() {
+        closeAll(idleConnections);
+    }
+
+    /**
+     * Connects to a database from the {@code dbconfig} properties file, unless
+     * the current thread is already connected. An idle connection from the
+     * pool is used if there is a valid one.
      *
-     * @return SQL connection instance as {@code Connection}.
+     * @return SQL connection of the current thread as {@code Connection}.
      * @throws java.io.FileNotFoundException When there is no {@code dbconfig}
      * properties file.
      * @throws java.io.IOException When data from {@code dbconfig} properties
@@ -60,15 +184,126 @@ public class DbConnectionFactory {
      * database credentials from {@code dbconfig} properties file are incorrect.
      */
     public Connection getConnection() throws FileNotFoundException, IOException, SQLException {
-        if (connection == null || connection.isClosed()) {
-            Properties properties = new Properties();
-            properties.load(new FileInputStream("config/dbconfig.properties"));
-            String url = properties.getProperty("url");
-            String username = properties.getProperty("username");
-            String password = properties.getProperty("password");
-            connection = DriverManager.getConnection(url, username, password);
-            connection.setAutoCommit(false);
+        Connection threadConnection = connection.get();
+        if (threadConnection == null || threadConnection.isClosed()) {
+            threadConnection = borrowIdleConnection();
+            if (threadConnection == null) {
+                threadConnection = openConnection();
+            }
+            connection.set(threadConnection);
+        }
+        return threadConnection;
+    }
+
+    /**
+     * Sets the connection of the current thread, used instead of a connection
+     * from the pool until it is released.
+     *
+     * @param threadConnection SQL connection as {@code Connection}.
+     */
+    void setConnection(Connection threadConnection) {
+        connection.set(threadConnection);
+    }
+
+    /**
+     * Takes a valid connection from the pool, closing invalid ones on the way.
+     * A connection is validated only if it was idle for longer than
+     * {@code VALIDATION_IDLE_TIME}.
+     *
+     * @return Idle connection as {@code Connection} or {@code null} if there is
+     * no valid idle connection.
+     */
+    private Connection borrowIdleConnection() {
+        IdleConnection idle;
+        while ((idle = idleConnections.poll()) != null) {
+            try {
+                if (System.nanoTime() - idle.idleSince() < VALIDATION_IDLE_TIME || idle.connection().isValid(1)) {
+                    return idle.connection();
+                }
+                idle.connection().close();
+            } catch (SQLException ex) {
+                Logger.getLogger(DbConnectionFactory.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Opens a new connection to the database from the {@code dbconfig}
+     * properties file, with auto commit turned off.
+     *
+     * @return New SQL connection as {@code Connection}.
+     * @throws java.io.IOException When data from {@code dbconfig} properties
+     * file cannot be properly read.
+     * @throws java.sql.SQLException When database server is not up or the
+     * database credentials from {@code dbconfig} properties file are incorrect.
+     */
+    private Connection openConnection() throws IOException, SQLException {
+        Properties properties = new Properties();
+        try (FileInputStream fis = new FileInputStream("config/dbconfig.properties")) {
+            properties.load(fis);
+        }
+        String url = properties.getProperty("url");
+        String username = properties.getProperty("username");
+        String password = properties.getProperty("password");
+        Connection newConnection = DriverManager.getConnection(url, username, password);
+        newConnection.setAutoCommit(false);
+        return newConnection;
+    }
+
+    /**
+     * Closes all connections in a pool.
+     *
+     * @param pool Pool of idle connections as
+     * {@code BlockingQueue<IdleConnection>}.
+     */
+    private void closeAll(BlockingQueue<IdleConnection> pool) {
+        IdleConnection idle;
+        while ((idle = pool.poll()) != null) {
+            try {
+                idle.connection().close();
+            } catch (SQLException ex) {
+                Logger.getLogger(DbConnectionFactory.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }
+    }
+
+    /**
+     * Releases the connection of the current thread, if there is one.
+     *
+     * <p>
+     * The connection is returned to the pool of idle connections, or closed if
+     * the pool is full.
+     * </p>
+     *
+     * @throws java.sql.SQLException When the connection cannot be closed.
+     */
+    public void closeConnection() throws SQLException {
+        closeConnection(true);
+    }
+
+    /**
+     * Releases the connection of the current thread, if there is one.
+     *
+     * <p>
+     * A reusable connection is returned to the pool of idle connections, or
+     * closed if the pool is full. A connection that is not reusable, such as
+     * one whose rollback failed and may still hold an open transaction, is
+     * always closed.
+     * </p>
+     *
+     * @param reusable Whether the connection may be used by another thread as
+     * {@code boolean}.
+     * @throws java.sql.SQLException When the connection cannot be closed.
+     */
+    public void closeConnection(boolean reusable) throws SQLException {
+        Connection threadConnection = connection.get();
+        connection.remove();
+        if (threadConnection == null || threadConnection.isClosed()) {
+            return;
+        }
+        if (!reusable || !idleConnections.offer(new IdleConnection(threadConnection, System.nanoTime()))) {
+            threadConnection.close();
         }
-        return connection;
     }
 }
@@ -34,7 +34,20 @@ public interface DbRepository<T> extends Repository<T> {
      * closed.
      */
     default void disconnect() throws Exception {
-        DbConnectionFactory.getInstance().getConnection().close();
+        DbConnectionFactory.getInstance().closeConnection();
+    }
+
+    /**
+     * Disconnects from the database, discarding the connection instead of
+     * returning it to the pool if it is not reusable.
+     *
+     * @param reusable Whether the connection may be used again as
+     * {@code boolean}.
+     * @throws Exception When the connection to the database cannot be
+     * closed.
+     */
+    default void disconnect(boolean reusable) throws Exception {
+        DbConnectionFactory.getInstance().closeConnection(reusable);
     }
 
     /**
@@ -0,0 +1,403 @@
+package com.fon.server.repository.db;
+
+import com.fon.common.intercomm.Operation;
+import com.fon.server.controller.ServerController;
+import com.fon.server.dispatch.RequestContext;
+import com.fon.server.system_operations.AbstractSO;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Singleton class timing every statement run by the repository.
+ *
+ * <p>
+ * Statements are grouped by shape, the SQL with its string and number
+ * literals replaced by {@code ?}, and every shape has its own
+ * {@code StatementStatistics}. A statement slower than the configured
+ * threshold is written to the {@code SlowQueryLog} with its shape, the
+ * operation of the request that ran it, its system operation and its row
+ * count. Only the shape is logged, never the SQL itself, since the repository
+ * puts values such as credentials into it.
+ * </p>
+ *
+ * <p>
+ * If enabled, the execution plan of the first slow {@code SELECT} of every
+ * shape is captured with {@code EXPLAIN} and logged with it, which shows the
+ * scans worth indexing. The plan is captured by a background thread on a
+ * connection of its own, outside the transaction of the request and with a
+ * query timeout, so the request never waits for it. The statistics are
+ * exposed through JMX as {@code com.fon.server:type=QueryProfiler}.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class QueryProfiler implements QueryProfilerMXBean {
+
+    /**
+     * The singleton instance of the {@code QueryProfiler} class.
+     */
+    private static final QueryProfiler instance = new QueryProfiler();
+
+    /**
+     * String and number literals of a statement.
+     */
+    private static final Pattern LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'|\"(?:[^\"\\\\]|\\\\.|\"\")*\"|\\b\\d+(?:\\.\\d+)?\\b");
+
+    /**
+     * Largest number of statement shapes kept, statements of further shapes
+     * are counted under {@code OTHER_SHAPE}.
+     */
+    private static final int MAX_SHAPES = 1000;
+
+    /**
+     * Shape under which statements are counted once {@code MAX_SHAPES} is
+     * reached.
+     */
+    private static final String OTHER_SHAPE = "(other)";
+
+    /**
+     * Number of slow queries waiting for their execution plan to be captured.
+     */
+    private static final int EXPLAIN_QUEUE_CAPACITY = 16;
+
+    /**
+     * Query timeout of {@code EXPLAIN} in seconds.
+     */
+    private static final int EXPLAIN_TIMEOUT = 5;
+
+    /**
+     * Name of the registered MBean.
+     */
+    private static final String OBJECT_NAME = "com.fon.server:type=QueryProfiler";
+
+    /**
+     * Statistics by statement shape as
+     * {@code ConcurrentMap<String, StatementStatistics>} (read only).
+     */
+    private final ConcurrentMap<String, StatementStatistics> statements;
+
+    /**
+     * Number of statements logged as slow queries as {@code LongAdder} (read
+     * only).
+     */
+    private final LongAdder slowQueries;
+
+    /**
+     * Time above which a statement is a slow query in nanoseconds as
+     * {@code long}, {@code 0} if slow queries are not logged.
+     */
+    private volatile long slowQueryThreshold;
+
+    /**
+     * Whether execution plans of slow queries are captured as
+     * {@code boolean}.
+     */
+    private volatile boolean explain;
+
+    /**
+     * Log slow queries are written to as {@code SlowQueryLog}, {@code null}
+     * until the profiler is configured.
+     */
+    private volatile SlowQueryLog slowQueryLog;
+
+    /**
+     * Executor capturing execution plans of slow queries on a single
+     * background thread as {@code ExecutorService} (read only).
+     */
+    private final ExecutorService explainExecutor;
+
+    /**
+     * Private non-parametric constructor, slow queries are not logged until
+     * the profiler is configured.
+     */
+    private QueryProfiler() {
+        statements = new ConcurrentHashMap<>();
+        slowQueries = new LongAdder();
+        explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(EXPLAIN_QUEUE_CAPACITY), runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Getter of instance (Singleton pattern).
+     *
+     * @return The singleton instance of the {@code QueryProfiler} class.
+     */
+    public static QueryProfiler getInstance() {
+        return instance;
+    }
+
+    /**
+     * Configures logging of slow queries and registers the profiler with the
+     * platform MBean server, unless it is already registered.
+     *
+     * @param thresholdMillis Time above which a statement is a slow query in
+     * milliseconds as {@code long}, {@code 0} to not log slow queries.
+     * @param explain Whether execution plans of slow queries are captured as
+     * {@code boolean}.
+     * @param logPath Path of the slow query log as {@code Path}.
+     */
+    public synchronized void configure(long thresholdMillis, boolean explain, Path logPath) {
+        if (slowQueryLog == null || !slowQueryLog.getPath().equals(logPath)) {
+            SlowQueryLog previous = slowQueryLog;
+            slowQueryLog = new SlowQueryLog(logPath);
+            if (previous != null) {
+                previous.close();
+            }
+        }
+        this.explain = explain;
+        this.slowQueryThreshold = TimeUnit.MILLISECONDS.toNanos(Math.max(thresholdMillis, 0));
+        registerMBean();
+    }
+
+    /**
+     * Registers the profiler with the platform MBean server, unless it is
+     * already registered.
+     */
+    private void registerMBean() {
+        try {
+            MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!mbeanServer.isRegistered(name)) {
+                mbeanServer.registerMBean(this, name);
+            }
+        } catch (JMException ex) {
+            Logger.getLogger(QueryProfiler.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    /**
+     * Returns the shape of a statement, its SQL with string and number
+     * literals, quoted with either single or double quotes, replaced by
+     * {@code ?} and whitespace collapsed.
+     *
+     * @param sql SQL of the statement as {@code String}.
+     * @return Shape of the statement as {@code String}.
+     */
+    public static String shapeOf(String sql) {
+        return LITERAL.matcher(sql).replaceAll("?").replaceAll("\\s+", " ").trim();
+    }
+
+    /**
+     * Records an executed statement, logging it if it is a slow query. A
+     * statement that failed, timed out or was cancelled is recorded with the
+     * time it ran for.
+     *
+     * @param sql SQL of the statement as {@code String}.
+     * @param elapsed Execution time in nanoseconds as {@code long}.
+     * @param rows Number of rows read or written as {@code int}, {@code -1}
+     * if the statement failed.
+     */
+    public void record(String sql, long elapsed, int rows) {
+        long threshold = slowQueryThreshold;
+        boolean slow = threshold > 0 && elapsed >= threshold;
+        String shape = shapeOf(sql);
+        StatementStatistics statistics = statisticsOf(shape);
+        statistics.record(elapsed, rows, slow);
+        if (!slow) {
+            return;
+        }
+        slowQueries.increment();
+        SlowQueryLog log = slowQueryLog;
+        if (log == null) {
+            return;
+        }
+        String entry = formatSlowQuery(shape, elapsed, rows);
+        if (explain && isSelect(sql) && statistics.markExplained()) {
+            try {
+                explainExecutor.execute(() -> log.log(entry + formatPlan(explain(sql))));
+                return;
+            } catch (RejectedExecutionException ex) {
+                Logger.getLogger(QueryProfiler.class.getName()).log(Level.WARNING, "EXPLAIN skipped, too many slow queries waiting");
+            }
+        }
+        log.log(entry);
+    }
+
+    /**
+     * Returns the statistics of a statement shape, creating them if needed.
+     *
+     * @param shape Shape of the statement as {@code String}.
+     * @return Statistics of the shape as {@code StatementStatistics}.
+     */
+    private StatementStatistics statisticsOf(String shape) {
+        StatementStatistics statistics = statements.get(shape);
+        if (statistics != null) {
+            return statistics;
+        }
+        String key = statements.size() < MAX_SHAPES ? shape : OTHER_SHAPE;
+        return statements.computeIfAbsent(key, StatementStatistics::new);
+    }
+
+    /**
+     * Checks if a statement is a query.
+     *
+     * @param sql SQL of the statement as {@code String}.
+     * @return {@code true} if the statement is a {@code SELECT}, otherwise
+     * {@code false}.
+     */
+    private static boolean isSelect(String sql) {
+        return sql.stripLeading().regionMatches(true, 0, "SELECT", 0, 6);
+    }
+
+    /**
+     * Captures the execution plan of a query with {@code EXPLAIN}, on a
+     * connection of the calling thread.
+     *
+     * <p>
+     * A plan that cannot be captured is only reported. The connection is
+     * rolled back and released afterwards, so it goes back to the pool
+     * without an open transaction.
+     * </p>
+     *
+     * @param sql SQL of the query as {@code String}.
+     * @return The plan, one row per table, as {@code String}, {@code null} if
+     * it cannot be captured.
+     */
+    private String explain(String sql) {
+        StringBuilder plan = new StringBuilder();
+        try {
+            Connection connection = DbConnectionFactory.getInstance().getConnection();
+            try {
+                explain(connection, sql, plan);
+            } finally {
+                connection.rollback();
+                DbConnectionFactory.getInstance().closeConnection();
+            }
+        } catch (IOException | SQLException ex) {
+            Logger.getLogger(QueryProfiler.class.getName()).log(Level.WARNING, "EXPLAIN failed", ex);
+            return null;
+        }
+        return plan.toString();
+    }
+
+    /**
+     * Runs {@code EXPLAIN} of a query with a query timeout.
+     *
+     * @param connection Connection to run it on as {@code Connection}.
+     * @param sql SQL of the query as {@code String}.
+     * @param plan Builder the plan is appended to, one row per table, as
+     * {@code StringBuilder}.
+     * @throws SQLException If {@code EXPLAIN} fails or times out.
+     */
+    private static void explain(Connection connection, String sql, StringBuilder plan) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(EXPLAIN_TIMEOUT);
+            try (ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql)) {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                while (resultSet.next()) {
+                    plan.append(plan.length() == 0 ? "" : "; ").append('{');
+                    for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                        Object value = resultSet.getObject(column);
+                        if (value != null) {
+                            plan.append(column == 1 ? "" : ", ").append(metaData.getColumnLabel(column)).append('=').append(value);
+                        }
+                    }
+                    plan.append('}');
+                }
+            }
+        }
+    }
+
+    /**
+     * Formats a slow query as a single line of the slow query log, without
+     * its execution plan.
+     *
+     * <p>
+     * Called on the thread that ran the query, so the operation of its
+     * request is known.
+     * </p>
+     *
+     * @param shape Shape of the query as {@code String}.
+     * @param elapsed Execution time in nanoseconds as {@code long}.
+     * @param rows Number of rows read or written as {@code int}, {@code -1}
+     * if the query failed.
+     * @return The line as {@code String}.
+     */
+    private static String formatSlowQuery(String shape, long elapsed, int rows) {
+        Operation operation = RequestContext.currentOperation();
+        AbstractSO<?> systemOperation = operation == null ? null : ServerController.getInstance().getSystemOperation(operation);
+        StringBuilder line = new StringBuilder();
+        line.append(Instant.now())
+                .append(String.format(" duration_ms=%.1f", elapsed / 1e6))
+                .append(" rows=").append(Math.max(rows, 0))
+                .append(" failed=").append(rows < 0)
+                .append(" operation=").append(operation == null ? "-" : operation)
+                .append(" system_operation=").append(systemOperation == null ? "-" : systemOperation.getClass().getSimpleName())
+                .append(" shape=\"").append(shape.replace("\"", "\\\"")).append('"');
+        return line.toString();
+    }
+
+    /**
+     * Formats an execution plan to be appended to a line of the slow query
+     * log.
+     *
+     * @param plan Execution plan as {@code String}, {@code null} if not
+     * captured.
+     * @return The plan as {@code String}, empty if not captured.
+     */
+    private static String formatPlan(String plan) {
+        return plan == null ? "" : " plan=\"" + plan.replace("\"", "\\\"") + "\"";
+    }
+
+    /**
+     * Returns the statistics of a statement shape.
+     *
+     * @param shape Shape of the statement as {@code String}.
+     * @return Statistics of the shape as {@code StatementStatistics},
+     * {@code null} if no statement of the shape was run.
+     */
+    public StatementStatistics getStatistics(String shape) {
+        return statements.get(shape);
+    }
+
+    @Override
+    public long getSlowQueryThreshold() {
+        return TimeUnit.NANOSECONDS.toMillis(slowQueryThreshold);
+    }
+
+    @Override
+    public long getSlowQueryCount() {
+        return slowQueries.sum();
+    }
+
+    @Override
+    public int getStatementShapeCount() {
+        return statements.size();
+    }
+
+    @Override
+    public String[] getStatementStatistics() {
+        return statements.values().stream()
+                .map(statistics -> Map.entry(statistics.getTotalTime(), statistics.toString()))
+                .sorted(Map.Entry.<Long, String>comparingByKey().reversed())
+                .map(Map.Entry::getValue)
+                .toArray(String[]::new);
+    }
+}
@@ -0,0 +1,41 @@
+package com.fon.server.repository.db;
+
+/**
+ * Management interface exposing the statistics of database statements
+ * through JMX.
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public interface QueryProfilerMXBean {
+
+    /**
+     * Returns the time above which a statement is logged as a slow query.
+     *
+     * @return Threshold in milliseconds as {@code long}, {@code 0} if slow
+     * queries are not logged.
+     */
+    long getSlowQueryThreshold();
+
+    /**
+     * Returns the number of statements logged as slow queries.
+     *
+     * @return Number of slow queries as {@code long}.
+     */
+    long getSlowQueryCount();
+
+    /**
+     * Returns the number of distinct statement shapes executed.
+     *
+     * @return Number of statement shapes as {@code int}.
+     */
+    int getStatementShapeCount();
+
+    /**
+     * Returns the statistics of every statement shape, one shape per line,
+     * the shapes with the largest total execution time first.
+     *
+     * @return Statistics as {@code String[]}.
+     */
+    String[] getStatementStatistics();
+}
@@ -0,0 +1,154 @@
+package com.fon.server.repository.db;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Log of slow queries, written to a file by a background thread.
+ *
+ * <p>
+ * Threads running queries only put the entry into a bounded queue, so writing
+ * the log never slows down a request. When the queue is full, the entry is
+ * dropped and counted instead of blocking.
+ * </p>
+ *
+ * <p>
+ * A log that is no longer used is closed, which writes the queued entries
+ * and stops its thread.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class SlowQueryLog {
+
+    /**
+     * Number of entries waiting to be written.
+     */
+    private static final int QUEUE_CAPACITY = 1024;
+
+    /**
+     * Path of the log file as {@code Path} (read only).
+     */
+    private final Path path;
+
+    /**
+     * Entries waiting to be written as {@code BlockingQueue<String>} (read
+     * only).
+     */
+    private final BlockingQueue<String> entries;
+
+    /**
+     * Number of entries dropped because the queue was full as
+     * {@code LongAdder} (read only).
+     */
+    private final LongAdder dropped;
+
+    /**
+     * Thread writing the log as {@code Thread} (read only).
+     */
+    private final Thread writer;
+
+    /**
+     * Whether the log is closed as {@code boolean}.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Constructor with path parameter, starts the thread writing the log.
+     *
+     * @param path Path of the log file as {@code Path}, created with its
+     * directories if it doesn't exist and appended to otherwise.
+     */
+    public SlowQueryLog(Path path) {
+        this.path = path;
+        this.entries = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        this.dropped = new LongAdder();
+        this.writer = new Thread(this::writeEntries, "slow-query-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues an entry to be written to the log.
+     *
+     * @param entry Entry, a single line, as {@code String}.
+     */
+    public void log(String entry) {
+        if (closed || !entries.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Closes the log, so new entries are dropped. The thread writing the log
+     * writes the queued entries and stops.
+     */
+    public void close() {
+        closed = true;
+        writer.interrupt();
+    }
+
+    /**
+     * Writes queued entries to the log file, flushing whenever the queue is
+     * empty, until the log is closed.
+     */
+    private void writeEntries() {
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                while (!closed) {
+                    String entry;
+                    try {
+                        entry = entries.take();
+                    } catch (InterruptedException ex) {
+                        continue;
+                    }
+                    out.write(entry);
+                    out.newLine();
+                    if (entries.isEmpty()) {
+                        out.flush();
+                    }
+                }
+                String entry;
+                while ((entry = entries.poll()) != null) {
+                    out.write(entry);
+                    out.newLine();
+                }
+            }
+        } catch (IOException ex) {
+            Logger.getLogger(SlowQueryLog.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    /**
+     * Getter for path.
+     *
+     * @return Path of the log file as {@code Path}.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the number of entries dropped because the queue was full.
+     *
+     * @return Number of dropped entries as {@code long}.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,171 @@
+package com.fon.server.repository.db;
+
+import com.fon.server.metrics.LatencyHistogram;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Execution statistics of all statements of the same shape, which is the SQL
+ * of a statement with its literal values left out.
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class StatementStatistics {
+
+    /**
+     * Shape of the statements as {@code String} (read only).
+     */
+    private final String shape;
+
+    /**
+     * Execution times of the statements as {@code LatencyHistogram} (read
+     * only).
+     */
+    private final LatencyHistogram executionTime;
+
+    /**
+     * Total execution time of the statements in nanoseconds as
+     * {@code LongAdder} (read only).
+     */
+    private final LongAdder totalTime;
+
+    /**
+     * Number of rows read or written by the statements as {@code LongAdder}
+     * (read only).
+     */
+    private final LongAdder rows;
+
+    /**
+     * Number of statements slower than the slow query threshold as
+     * {@code LongAdder} (read only).
+     */
+    private final LongAdder slow;
+
+    /**
+     * Number of statements that failed, timed out or were cancelled as
+     * {@code LongAdder} (read only).
+     */
+    private final LongAdder failed;
+
+    /**
+     * Whether the execution plan of a slow statement of this shape was
+     * already captured as {@code AtomicBoolean} (read only).
+     */
+    private final AtomicBoolean explained;
+
+    /**
+     * Constructor with shape parameter, initializes all statistics to
+     * {@code 0}.
+     *
+     * @param shape Shape of the statements as {@code String}.
+     */
+    public StatementStatistics(String shape) {
+        this.shape = shape;
+        executionTime = new LatencyHistogram();
+        totalTime = new LongAdder();
+        rows = new LongAdder();
+        slow = new LongAdder();
+        failed = new LongAdder();
+        explained = new AtomicBoolean();
+    }
+
+    /**
+     * Records an executed statement.
+     *
+     * @param elapsed Execution time in nanoseconds as {@code long}.
+     * @param rowCount Number of rows read or written as {@code int},
+     * {@code -1} if the statement failed.
+     * @param slowQuery Whether the statement was slower than the slow query
+     * threshold as {@code boolean}.
+     */
+    public void record(long elapsed, int rowCount, boolean slowQuery) {
+        executionTime.record(elapsed);
+        totalTime.add(elapsed);
+        rows.add(Math.max(rowCount, 0));
+        if (slowQuery) {
+            slow.increment();
+        }
+        if (rowCount < 0) {
+            failed.increment();
+        }
+    }
+
+    /**
+     * Marks the execution plan of this shape as captured, so it is captured
+     * only for the first slow statement.
+     *
+     * @return {@code true} if the plan was not captured before, otherwise
+     * {@code false}.
+     */
+    public boolean markExplained() {
+        return explained.compareAndSet(false, true);
+    }
+
+    /**
+     * Getter for shape.
+     *
+     * @return Shape of the statements as {@code String}.
+     */
+    public String getShape() {
+        return shape;
+    }
+
+    /**
+     * Getter for executionTime.
+     *
+     * @return Execution times of the statements as {@code LatencyHistogram}.
+     */
+    public LatencyHistogram getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * Returns the total execution time of the statements.
+     *
+     * @return Total execution time in nanoseconds as {@code long}.
+     */
+    public long getTotalTime() {
+        return totalTime.sum();
+    }
+
+    /**
+     * Returns the number of rows read or written by the statements.
+     *
+     * @return Number of rows as {@code long}.
+     */
+    public long getRows() {
+        return rows.sum();
+    }
+
+    /**
+     * Returns the number of statements slower than the slow query threshold.
+     *
+     * @return Number of slow statements as {@code long}.
+     */
+    public long getSlowCount() {
+        return slow.sum();
+    }
+
+    /**
+     * Returns the number of statements that failed, timed out or were
+     * cancelled.
+     *
+     * @return Number of failed statements as {@code long}.
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * toString method which returns the statistics and the shape on one line.
+     *
+     * @return String representation of the StatementStatistics.
+     */
+    @Override
+    public String toString() {
+        return String.format("count=%d total_ms=%.1f mean_ms=%.2f p99_ms=%.2f max_ms=%.2f rows=%d slow=%d failed=%d | %s",
+                executionTime.getCount(), getTotalTime() / 1e6, executionTime.getMean(),
+                executionTime.getValueAtPercentile(99), executionTime.getMax(), getRows(), getSlowCount(), getFailedCount(), shape);
+    }
+}
@@ -5,13 +5,18 @@
 package com.fon.server.repository.db.impl;
 
 import com.fon.common.domain.GenericEntity;
+import com.fon.common.intercomm.Operation;
+import com.fon.common.logging.AsyncLogger;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.Statement;
 import java.util.LinkedList;
 import java.util.List;
+import com.fon.server.dispatch.RequestContext;
+import com.fon.server.jfr.StatementEvent;
 import com.fon.server.repository.db.DbConnectionFactory;
 import com.fon.server.repository.db.DbRepository;
+import com.fon.server.repository.db.QueryProfiler;
 
 /**
  * Class representing generic database repository with MySQL implementation of
@@ -21,6 +26,13 @@ import com.fon.server.repository.db.DbRepository;
  * Implements {@code DbRepository<GenericEntity>} interface.
  * </p>
  *
+ * <p>
+ * Every statement is timed, including reading the rows of a query, and
+ * recorded in the {@code QueryProfiler} and as a Java Flight Recorder event
+ * with the number of rows it read or wrote. A statement that fails, times out
+ * or is cancelled is recorded as well, as failed.
+ * </p>
+ *
  * @author Aleksa
  * @since 0.0.1
  */
@@ -41,8 +53,17 @@ public class RepositoryDbGeneric implements DbRepository<GenericEntity> {
         String query = sb.toString();
 //        System.out.println(query);
 
-        try (Statement statement = connection.createStatement()) {
-            statement.execute(query, Statement.RETURN_GENERATED_KEYS);
+        try (Statement statement = RequestContext.track(connection.createStatement())) {
+            StatementEvent event = new StatementEvent();
+            event.begin();
+            long start = System.nanoTime();
+            int rows = -1;
+            try {
+                statement.execute(query, Statement.RETURN_GENERATED_KEYS);
+                rows = statement.getUpdateCount();
+            } finally {
+                record(event, "INSERT", arg, query, System.nanoTime() - start, rows);
+            }
             try (ResultSet rsKey = statement.getGeneratedKeys()) {
                 if (rsKey.next()) {
                     int id = rsKey.getInt(1);
@@ -63,10 +84,19 @@ public class RepositoryDbGeneric implements DbRepository<GenericEntity> {
                 .append(" WHERE ")
                 .append(arg.getQueryCondition());
         String query = sb.toString();
-        System.out.println(query);
+        AsyncLogger.getInstance().debug("update", "shape", QueryProfiler.shapeOf(query));
 
-        try (Statement statement = connection.createStatement()) {
-            statement.execute(query);
+        try (Statement statement = RequestContext.track(connection.createStatement())) {
+            StatementEvent event = new StatementEvent();
+            event.begin();
+            long start = System.nanoTime();
+            int rows = -1;
+            try {
+                statement.execute(query);
+                rows = statement.getUpdateCount();
+            } finally {
+                record(event, "UPDATE", arg, query, System.nanoTime() - start, rows);
+            }
         }
     }
 
@@ -79,8 +109,17 @@ public class RepositoryDbGeneric implements DbRepository<GenericEntity> {
                 .append(" ")
                 .append(whereSection);
         String query = sb.toString();
-        try (Statement statement = connection.createStatement()) {
-            statement.execute(query);
+        try (Statement statement = RequestContext.track(connection.createStatement())) {
+            StatementEvent event = new StatementEvent();
+            event.begin();
+            long start = System.nanoTime();
+            int rows = -1;
+            try {
+                statement.execute(query);
+                rows = statement.getUpdateCount();
+            } finally {
+                record(event, "DELETE", arg, query, System.nanoTime() - start, rows);
+            }
         }
     }
 
@@ -90,11 +129,50 @@ public class RepositoryDbGeneric implements DbRepository<GenericEntity> {
         Connection connection = DbConnectionFactory.getInstance().getConnection();
         String query = arg.getSelectAllQuery() + " " + whereSection;
 //        System.out.println("query = " + query);
-        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(query)) {
-            while (resultSet.next()) {
-                genericEntities.add(arg.getEntityFromResultSet(resultSet));
+        try (Statement statement = RequestContext.track(connection.createStatement())) {
+            StatementEvent event = new StatementEvent();
+            event.begin();
+            long start = System.nanoTime();
+            boolean completed = false;
+            try (ResultSet resultSet = statement.executeQuery(query)) {
+                while (resultSet.next()) {
+                    genericEntities.add(arg.getEntityFromResultSet(resultSet));
+                }
+                completed = true;
+            } finally {
+                record(event, "SELECT", arg, query, System.nanoTime() - start, completed ? genericEntities.size() : -1);
             }
         }
         return genericEntities;
     }
+
+    /**
+     * Records an executed statement in the {@code QueryProfiler} and as a
+     * Java Flight Recorder event.
+     *
+     * @param event Event begun before the statement was run as
+     * {@code StatementEvent}.
+     * @param statementType Type of the statement as {@code String}.
+     * @param arg Entity the statement was run for as {@code GenericEntity}.
+     * @param query SQL of the statement as {@code String}.
+     * @param elapsed Execution time in nanoseconds as {@code long}.
+     * @param rows Number of rows read or written as {@code int}, {@code -1}
+     * if the statement failed.
+     */
+    private static void record(StatementEvent event, String statementType, GenericEntity arg, String query,
+            long elapsed, int rows) {
+        event.end();
+        QueryProfiler.getInstance().record(query, elapsed, rows);
+        if (event.shouldCommit()) {
+            Operation operation = RequestContext.currentOperation();
+            event.statementType = statementType;
+            event.entityType = arg.getClass().getSimpleName();
+            event.table = arg.getTableName();
+            event.rows = Math.max(rows, 0);
+            event.failed = rows < 0;
+            event.sqlLength = query.length();
+            event.operation = operation == null ? null : operation.name();
+            event.commit();
+        }
+    }
 }
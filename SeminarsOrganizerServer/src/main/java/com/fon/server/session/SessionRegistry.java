@@ -0,0 +1,185 @@
+package com.fon.server.session;
+
+import com.fon.common.domain.Admin;
+import com.fon.server.threads.ClientHandlerThread;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Thread-safe registry of client connections and logged-in administrator
+ * sessions.
+ *
+ * <p>
+ * Connections are keyed by the client number assigned by the server thread and
+ * sessions are keyed by admin ID, so every lookup is O(1). Logging in uses
+ * {@code putIfAbsent}, which makes the "is this admin already logged in" check
+ * and the registration a single atomic step. Iteration over connections and
+ * sessions is weakly consistent and never blocks concurrent logins and
+ * logouts.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class SessionRegistry {
+
+    /**
+     * All connected clients keyed by their client number as
+     * {@code ConcurrentMap<Integer, ClientHandlerThread>} (read only).
+     */
+    private final ConcurrentMap<Integer, ClientHandlerThread> connections;
+
+    /**
+     * Client handlers of logged-in admins keyed by admin ID as
+     * {@code ConcurrentMap<Integer, ClientHandlerThread>} (read only).
+     */
+    private final ConcurrentMap<Integer, ClientHandlerThread> sessions;
+
+    /**
+     * Non-parametric constructor, initializes both maps to empty maps.
+     */
+    public SessionRegistry() {
+        connections = new ConcurrentHashMap<>();
+        sessions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Registers a newly accepted client connection.
+     *
+     * @param ch Client handler of the connection as
+     * {@code ClientHandlerThread}.
+     */
+    public void addConnection(ClientHandlerThread ch) {
+        connections.put(ch.getClientNumber(), ch);
+    }
+
+    /**
+     * Removes a client connection, if it is still registered.
+     *
+     * @param ch Client handler of the connection as
+     * {@code ClientHandlerThread}.
+     * @return {@code true} if the connection was registered, otherwise
+     * {@code false}.
+     */
+    public boolean removeConnection(ClientHandlerThread ch) {
+        return connections.remove(ch.getClientNumber(), ch);
+    }
+
+    /**
+     * Atomically registers a session for the admin logged in on the passed
+     * client handler, unless that admin already has a session.
+     *
+     * @param ch Client handler with the logged-in admin set as
+     * {@code ClientHandlerThread}.
+     * @return {@code true} if the session was registered, {@code false} if the
+     * admin is already logged in.
+     */
+    public boolean login(ClientHandlerThread ch) {
+        return sessions.putIfAbsent(ch.getLoggedAdmin().getAdminID(), ch) == null;
+    }
+
+    /**
+     * Registers the session of the admin resumed on the passed client handler,
+     * taking the session over from the handler that had it.
+     *
+     * @param ch Client handler with the resumed admin set as
+     * {@code ClientHandlerThread}.
+     * @return Client handler that had the session as
+     * {@code ClientHandlerThread}, {@code null} if the admin had none.
+     */
+    public ClientHandlerThread resume(ClientHandlerThread ch) {
+        return sessions.put(ch.getLoggedAdmin().getAdminID(), ch);
+    }
+
+    /**
+     * Removes the session owned by the passed client handler.
+     *
+     * <p>
+     * A session is only removed if it belongs to this exact client handler, so
+     * a stale handler can never log out a newer session of the same admin.
+     * </p>
+     *
+     * @param ch Client handler as {@code ClientHandlerThread}.
+     * @return {@code true} if a session was removed, otherwise {@code false}.
+     */
+    public boolean logout(ClientHandlerThread ch) {
+        Admin admin = ch.getLoggedAdmin();
+        if (admin == null) {
+            return false;
+        }
+        return sessions.remove(admin.getAdminID(), ch);
+    }
+
+    /**
+     * Checks if an admin is already logged in.
+     *
+     * @param admin Admin that needs to be checked as {@code Admin}.
+     * @return {@code true} if admin is already logged in, otherwise
+     * {@code false}.
+     */
+    public boolean isLoggedIn(Admin admin) {
+        return sessions.containsKey(admin.getAdminID());
+    }
+
+    /**
+     * Retrieves the client handler of a logged-in admin.
+     *
+     * @param adminID ID of the admin as {@code int}.
+     * @return Client handler as {@code ClientHandlerThread} or {@code null} if
+     * the admin is not logged in.
+     */
+    public ClientHandlerThread getSession(int adminID) {
+        return sessions.get(adminID);
+    }
+
+    /**
+     * Retrieves the client handler of a connection.
+     *
+     * @param clientNumber Client number of the connection as {@code int}.
+     * @return Client handler as {@code ClientHandlerThread} or {@code null} if
+     * there is no such connection.
+     */
+    public ClientHandlerThread getConnection(int clientNumber) {
+        return connections.get(clientNumber);
+    }
+
+    /**
+     * Getter for connections.
+     *
+     * @return Unmodifiable, weakly consistent view of all connected clients as
+     * {@code Collection<ClientHandlerThread>}.
+     */
+    public Collection<ClientHandlerThread> getConnections() {
+        return Collections.unmodifiableCollection(connections.values());
+    }
+
+    /**
+     * Getter for sessions.
+     *
+     * @return Unmodifiable, weakly consistent view of client handlers of all
+     * logged-in admins as {@code Collection<ClientHandlerThread>}.
+     */
+    public Collection<ClientHandlerThread> getSessions() {
+        return Collections.unmodifiableCollection(sessions.values());
+    }
+
+    /**
+     * Returns the number of connected clients.
+     *
+     * @return Number of connected clients as {@code int}.
+     */
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    /**
+     * Returns the number of logged-in admins.
+     *
+     * @return Number of logged-in admins as {@code int}.
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+}
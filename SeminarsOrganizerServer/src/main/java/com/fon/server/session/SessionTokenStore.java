@@ -0,0 +1,158 @@
+package com.fon.server.session;
+
+import com.fon.common.domain.Admin;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread-safe, in-memory store of session tokens issued to logged-in admins.
+ *
+ * <p>
+ * A token is an opaque random string standing for the login of an admin. A
+ * client that lost its connection presents the token on a new connection
+ * instead of its credentials, so its session is restored without querying the
+ * database. Tokens are single use: redeeming a token removes it, and the
+ * restored session is issued a new one.
+ * </p>
+ *
+ * <p>
+ * A token doesn't expire while it is bound to a live connection, however long
+ * the connection lasts. The connection holding a token releases it when it
+ * ends, and only then does the time to live start counting, so the client has
+ * the whole time to live to reconnect. Expired tokens can't be redeemed and
+ * are removed by {@code purgeExpired}.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class SessionTokenStore {
+
+    /**
+     * Number of random bytes in a token.
+     */
+    private static final int TOKEN_BYTES = 32;
+
+    /**
+     * Admin a token was issued to and the time the token expires at.
+     *
+     * @param admin Logged-in admin as {@code Admin}.
+     * @param expiresAt Time the token expires at in nanoseconds, as returned
+     * by {@code System.nanoTime()}, ignored while the token is bound.
+     * @param bound Whether the token is bound to a live connection.
+     */
+    private record IssuedToken(Admin admin, long expiresAt, boolean bound) {
+
+        /**
+         * Checks whether the token has expired. A bound token never expires.
+         *
+         * @param now Current time in nanoseconds, as returned by
+         * {@code System.nanoTime()}.
+         * @return {@code true} if the token has expired, otherwise
+         * {@code false}.
+         */
+        private boolean isExpired(long now) {
+            return !bound && now - expiresAt >= 0;
+        }
+    }
+
+    /**
+     * Time to live of a token in nanoseconds as {@code long} (read only).
+     */
+    private final long timeToLive;
+
+    /**
+     * Issued tokens as {@code ConcurrentMap<String, IssuedToken>} (read only).
+     */
+    private final ConcurrentMap<String, IssuedToken> tokens;
+
+    /**
+     * Source of the random bytes of tokens as {@code SecureRandom} (read
+     * only).
+     */
+    private final SecureRandom random;
+
+    /**
+     * Constructor with time to live parameter.
+     *
+     * @param timeToLive Time to live of a token in milliseconds as
+     * {@code long}.
+     */
+    public SessionTokenStore(long timeToLive) {
+        this.timeToLive = TimeUnit.MILLISECONDS.toNanos(timeToLive);
+        this.tokens = new ConcurrentHashMap<>();
+        this.random = new SecureRandom();
+    }
+
+    /**
+     * Issues a new token for a logged-in admin, bound to the connection the
+     * admin is logged in on.
+     *
+     * @param admin Logged-in admin as {@code Admin}.
+     * @return The token as {@code String}.
+     */
+    public String issue(Admin admin) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        tokens.put(token, new IssuedToken(admin, 0, true));
+        return token;
+    }
+
+    /**
+     * Redeems a token, removing it from the store.
+     *
+     * @param token The token as {@code String}.
+     * @return Admin the token was issued to as {@code Admin}, {@code null} if
+     * the token is unknown, already redeemed or expired.
+     */
+    public Admin redeem(String token) {
+        IssuedToken issued = tokens.remove(token);
+        if (issued == null || issued.isExpired(System.nanoTime())) {
+            return null;
+        }
+        return issued.admin();
+    }
+
+    /**
+     * Releases a token from the connection that ended, so it expires after
+     * the whole time to live counted from now. Unknown and already redeemed
+     * tokens are ignored.
+     *
+     * @param token The token as {@code String}.
+     */
+    public void release(String token) {
+        long expiresAt = System.nanoTime() + timeToLive;
+        tokens.computeIfPresent(token, (key, issued) -> new IssuedToken(issued.admin(), expiresAt, false));
+    }
+
+    /**
+     * Removes all expired tokens.
+     *
+     * @return Number of removed tokens as {@code int}.
+     */
+    public int purgeExpired() {
+        long now = System.nanoTime();
+        int purged = 0;
+        for (Map.Entry<String, IssuedToken> token : tokens.entrySet()) {
+            if (token.getValue().isExpired(now) && tokens.remove(token.getKey(), token.getValue())) {
+                purged++;
+            }
+        }
+        return purged;
+    }
+
+    /**
+     * Returns the number of tokens in the store, including expired tokens not
+     * purged yet.
+     *
+     * @return Number of tokens as {@code int}.
+     */
+    public int size() {
+        return tokens.size();
+    }
+}
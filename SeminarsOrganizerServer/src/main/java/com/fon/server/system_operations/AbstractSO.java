@@ -4,9 +4,24 @@
  */
 package com.fon.server.system_operations;
 
+import com.fon.common.domain.EntityType;
+import com.fon.common.domain.State;
+import com.fon.common.intercomm.ChangeEvent;
+import com.fon.common.intercomm.Operation;
+import com.fon.server.changes.ChangeLog;
+import com.fon.server.changes.ChangeNotifier;
+import com.fon.server.changes.EntityVersions;
+import com.fon.server.dispatch.RequestContext;
+import com.fon.server.jfr.SystemOperationEvent;
+import com.fon.server.jfr.SystemOperationPhaseEvent;
 import com.fon.server.repository.db.DbRepository;
 import com.fon.server.repository.db.impl.RepositoryDbGeneric;
 import com.fon.server.repository.Repository;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Abstract class for system operations, equipped with methods for working with
@@ -16,10 +31,18 @@ import com.fon.server.repository.Repository;
  * Uses template method pattern.
  * </p>
  *
+ * <p>
+ * System operations are stateless: the result is returned from
+ * {@code execute} instead of being stored in the instance, and the database
+ * connection is bound to the executing thread. A single instance can therefore
+ * be shared and executed concurrently by many client handler threads.
+ * </p>
+ *
  * @author Aleksa
  * @since 0.0.1
+ * @param <T> Type of the result of the system operation.
  */
-public abstract class AbstractSO {
+public abstract class AbstractSO<T> {
 
     /**
      * Represents a read-only instance of database repository as
@@ -30,23 +53,172 @@ public abstract class AbstractSO {
     /**
      * Executes a system operation within a transaction.
      *
+     * <p>
+     * Once a write is committed, its change events are numbered in the
+     * {@code ChangeLog} and published to subscribed clients.
+     * </p>
+     *
+     * <p>
+     * If the client cancels the request while it is executing, the running
+     * query is cancelled, the transaction is rolled back and a
+     * {@code RequestCancelledException} is thrown instead of the exception of
+     * the cancelled query. A request cancelled before the commit is rolled
+     * back as well. The same goes for a request whose deadline passes, which
+     * ends with a {@code DeadlineExceededException}.
+     * </p>
+     *
+     * <p>
+     * If the rollback fails, the connection may still hold the open
+     * transaction, so it is closed instead of being returned to the pool.
+     * </p>
+     *
+     * <p>
+     * The execution and each of its phases are recorded as Java Flight
+     * Recorder events.
+     * </p>
+     *
      * @param arg Object that probably needs to be persisted as {@code Object}.
+     * @return Result of the system operation as {@code T}, {@code null} for
+     * system operations without a result.
      * @throws Exception When an error occurred related to the input argument
      * and / or executing the system operation. In that case transaction will be
      * rolled back.
      */
-    public final void execute(Object arg) throws Exception {
+    public final T execute(Object arg) throws Exception {
+        Set<EntityType> writtenEntityTypes = getWrittenEntityTypes();
+        boolean committed = false;
+        boolean reusable = true;
+        Map<EntityType, Long> writtenVersions = Collections.emptyMap();
+        T result;
+        String name = getClass().getSimpleName();
+        SystemOperationEvent event = new SystemOperationEvent();
+        event.begin();
+
+        EntityVersions.getInstance().beginWrite(writtenEntityTypes);
+        SystemOperationPhaseEvent phase = new SystemOperationPhaseEvent(name, SystemOperationPhaseEvent.PRECONDITIONS);
         try {
             preconditions(arg);
+            phase.succeed();
+            phase = new SystemOperationPhaseEvent(name, SystemOperationPhaseEvent.CONNECT);
             startTransaction();
-            executeOperation(arg);
+            phase.succeed();
+            phase = new SystemOperationPhaseEvent(name, SystemOperationPhaseEvent.OPERATION);
+            result = executeOperation(arg);
+            RequestContext.throwIfAborted();
+            phase.succeed();
+            phase = new SystemOperationPhaseEvent(name, SystemOperationPhaseEvent.COMMIT);
             commitTransaction();
+            phase.succeed();
+            committed = true;
         } catch (Exception exception) {
-            rollbackTransaction();
+            phase.fail();
+            SystemOperationPhaseEvent rollback = new SystemOperationPhaseEvent(name, SystemOperationPhaseEvent.ROLLBACK);
+            reusable = false;
+            try {
+                rollbackTransaction();
+                reusable = true;
+                rollback.succeed();
+            } finally {
+                rollback.fail();
+            }
+            RequestContext.throwIfAborted();
             throw exception;
         } finally {
-            endTransaction();
+            try {
+                endTransaction(reusable);
+            } finally {
+                writtenVersions = EntityVersions.getInstance().endWrite(writtenEntityTypes, committed);
+                if (event.shouldCommit()) {
+                    event.systemOperation = name;
+                    Operation operation = RequestContext.currentOperation();
+                    event.operation = operation == null ? null : operation.name();
+                    event.writtenEntityTypes = writtenEntityTypes.toString();
+                    event.committed = committed;
+                    event.commit();
+                }
+            }
+        }
+
+        if (!writtenEntityTypes.isEmpty()) {
+            publishChanges(arg, writtenVersions);
+        }
+        return result;
+    }
+
+    /**
+     * Records change events of a committed write in the change log and
+     * publishes them, stamped with the version this write bumped their entity
+     * type to.
+     *
+     * <p>
+     * The versions are the ones returned by {@code EntityVersions.endWrite},
+     * not the current ones, so a concurrent write to the same entity type
+     * can't lend its version to the events of this write.
+     * </p>
+     *
+     * @param arg The argument of the committed write as {@code Object}.
+     * @param writtenVersions Versions bumped by the write as
+     * {@code Map<EntityType, Long>}.
+     */
+    private void publishChanges(Object arg, Map<EntityType, Long> writtenVersions) {
+        List<ChangeEvent> events = getChangeEvents(arg);
+        for (ChangeEvent event : events) {
+            Long version = writtenVersions.get(event.getEntityType());
+            event.setVersion(version != null ? version : EntityVersions.getInstance().getVersion(event.getEntityType()));
+        }
+        ChangeLog.getInstance().append(events);
+        ChangeNotifier.getInstance().publish(events);
+    }
+
+    /**
+     * Returns change events describing a committed write.
+     *
+     * <p>
+     * Default is an event without an entity ID for every written entity type,
+     * telling subscribers to reload the entity type. System operations that
+     * know which entity they wrote should describe it.
+     * </p>
+     *
+     * @param arg The argument of the committed write as {@code Object}.
+     * @return Change events as {@code List<ChangeEvent>}.
+     */
+    protected List<ChangeEvent> getChangeEvents(Object arg) {
+        List<ChangeEvent> events = new ArrayList<>();
+        for (EntityType entityType : getWrittenEntityTypes()) {
+            events.add(new ChangeEvent(entityType, State.CHANGED, null));
         }
+        return events;
+    }
+
+    /**
+     * Returns entity types the system operation reads.
+     *
+     * <p>
+     * Only system operations that read and don't write may have their
+     * executions shared between concurrent identical requests. Default is no
+     * entity types.
+     * </p>
+     *
+     * @return Entity types the system operation reads as
+     * {@code Set<EntityType>}.
+     */
+    public Set<EntityType> getReadEntityTypes() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Returns entity types the system operation writes.
+     *
+     * <p>
+     * Versions of these entity types are bumped in {@code EntityVersions} when
+     * the transaction is committed. Default is no entity types.
+     * </p>
+     *
+     * @return Entity types the system operation writes as
+     * {@code Set<EntityType>}.
+     */
+    public Set<EntityType> getWrittenEntityTypes() {
+        return Collections.emptySet();
     }
 
     /**
@@ -64,9 +236,11 @@ public abstract class AbstractSO {
      *
      * @param arg Object that needs to be persisted as {@code Object} or that
      * represents a condition for retrieving objects from a database.
+     * @return Result of the system operation as {@code T}, {@code null} for
+     * system operations without a result.
      * @throws Exception When an error occurred related to the input argument.
      */
-    protected abstract void executeOperation(Object arg) throws Exception;
+    protected abstract T executeOperation(Object arg) throws Exception;
 
     /**
      * Starts a database transaction by connecting with the database.
@@ -101,10 +275,12 @@ public abstract class AbstractSO {
     /**
      * Ends a database transaction by closing the connection with the database.
      *
+     * @param reusable Whether the connection may be returned to the pool as
+     * {@code boolean}.
      * @throws Exception When connection with the database cannot be
      * established.
      */
-    private void endTransaction() throws Exception {
-        ((DbRepository) REPOSITORY).disconnect();
+    private void endTransaction(boolean reusable) throws Exception {
+        ((DbRepository) REPOSITORY).disconnect(reusable);
     }
 }
@@ -21,32 +21,7 @@ import com.fon.server.system_operations.AbstractSO;
  * @author Aleksa
  * @since 0.0.1
  */
-public class LoginSO extends AbstractSO {
-
-    /**
-     * Logged admin retrieved from the database with all data as {@code Admin}.
-     */
-    private Admin loggedAdmin;
-
-    /**
-     * Getter for loggedAdmin.
-     *
-     * @return Logged admin retrieved from the database with all data as
-     * {@code Admin}.
-     */
-    public Admin getLoggedAdmin() {
-        return loggedAdmin;
-    }
-
-    /**
-     * Setter for loggedAdmin.
-     *
-     * @param loggedAdmin Logged admin retrieved from the database with all data
-     * as {@code Admin}.
-     */
-    public void setLoggedAdmin(Admin loggedAdmin) {
-        this.loggedAdmin = loggedAdmin;
-    }
+public class LoginSO extends AbstractSO<Admin> {
 
     /**
      * Checks if the sent object is instance of class {@code Admin} and that
@@ -65,18 +40,19 @@ public class LoginSO extends AbstractSO {
     }
 
     /**
-     * Retrieves an admin with all data with entered credentials and stores it
-     * in {@code loggedAdmin} attribute.
+     * Retrieves an admin with all data with entered credentials.
      *
      * @param arg Instance of {@code Admin} class with filled username and
      * password.
+     * @return Logged admin retrieved from the database with all data as
+     * {@code Admin}.
      * @throws LoginException When admin entered wrong username and /
      * or password.
      * @throws Exception When an error happened while retrieving an admin with
      * all data.
      */
     @Override
-    protected void executeOperation(Object arg) throws LoginException, Exception {
+    protected Admin executeOperation(Object arg) throws LoginException, Exception {
         Admin admin = (Admin) arg;
 
         String whereQuerySection = "WHERE username = '" + admin.getUsername() + "' and password = '" + admin.getPassword() + "'";
@@ -86,6 +62,6 @@ public class LoginSO extends AbstractSO {
         if (admins.isEmpty()) {
             throw new LoginException("Нетачно корисничко име или лозинка");
         }
-        loggedAdmin = admins.get(0);
+        return admins.get(0);
     }
 }
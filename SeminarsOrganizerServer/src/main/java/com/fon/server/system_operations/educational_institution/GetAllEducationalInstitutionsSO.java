@@ -4,6 +4,10 @@
  */
 package com.fon.server.system_operations.educational_institution;
 
+import com.fon.common.domain.EntityType;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 import com.fon.common.domain.EducationalInstitution;
 import java.util.List;
 import com.fon.server.system_operations.AbstractSO;
@@ -19,13 +23,13 @@ import com.fon.server.system_operations.AbstractSO;
  * @author Aleksa
  * @since 0.0.1
  */
-public class GetAllEducationalInstitutionsSO extends AbstractSO {
+public class GetAllEducationalInstitutionsSO extends AbstractSO<List<EducationalInstitution>> {
 
     /**
-     * All educational institutions retrieved from the database as
-     * {@code List<EducationalInstitution>}.
+     * Entity types the system operation reads as {@code Set<EntityType>}
+     * (read only).
      */
-    private List<EducationalInstitution> element;
+    private static final Set<EntityType> READ_ENTITY_TYPES = Collections.unmodifiableSet(EnumSet.of(EntityType.EDUCATIONAL_INSTITUTION));
 
     /**
      * No preconditions are checked.
@@ -35,25 +39,26 @@ public class GetAllEducationalInstitutionsSO extends AbstractSO {
     }
 
     /**
-     * Retrieves all educational institutions from the database and stores it in
-     * {@code element} attribute.
+     * Retrieves all educational institutions from the database.
      *
      * @param arg Not used.
+     * @return All educational institutions retrieved from the database as
+     * {@code List<EducationalInstitution>}.
      * @throws Exception When an error happened while retrieving all educational
      * institutions.
      */
     @Override
-    protected void executeOperation(Object arg) throws Exception {
-        element = REPOSITORY.getByCondition(new EducationalInstitution(), "");
+    protected List<EducationalInstitution> executeOperation(Object arg) throws Exception {
+        return REPOSITORY.getByCondition(new EducationalInstitution(), "");
     }
 
     /**
-     * Getter for element.
+     * Returns entity types the system operation reads.
      *
-     * @return All educational institutions retrieved from the database as
-     * {@code List<EducationalInstitution>}.
+     * @return Educational institution entity type as {@code Set<EntityType>}.
      */
-    public List<EducationalInstitution> getElement() {
-        return element;
+    @Override
+    public Set<EntityType> getReadEntityTypes() {
+        return READ_ENTITY_TYPES;
     }
 }
@@ -4,6 +4,13 @@
  */
 package com.fon.server.system_operations.participant;
 
+import com.fon.common.domain.EntityType;
+import com.fon.common.domain.State;
+import com.fon.common.intercomm.ChangeEvent;
+import java.util.List;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 import com.fon.common.domain.Participant;
 import com.fon.server.constants.ServerConstants;
 import com.fon.server.system_operations.AbstractSO;
@@ -18,7 +25,13 @@ import com.fon.server.system_operations.AbstractSO;
  * @author Aleksa
  * @since 0.0.1
  */
-public class CreateParticipantSO extends AbstractSO {
+public class CreateParticipantSO extends AbstractSO<Void> {
+
+    /**
+     * Entity types the system operation writes as {@code Set<EntityType>}
+     * (read only).
+     */
+    private static final Set<EntityType> WRITTEN_ENTITY_TYPES = Collections.unmodifiableSet(EnumSet.of(EntityType.PARTICIPANT));
 
     /**
      * Checks if the sent object is instance of class {@code Participant}.
@@ -40,12 +53,37 @@ public class CreateParticipantSO extends AbstractSO {
      *
      * @param arg A participant ({@code Participant}) that needs to be created
      * in the database.
+     * @return Always {@code null}, the system operation has no result.
      * @throws Exception When an error happened while creating a given
      * participant.
      */
     @Override
-    protected void executeOperation(Object arg) throws Exception {
+    protected Void executeOperation(Object arg) throws Exception {
         Participant participant = (Participant) arg;
         REPOSITORY.create(participant);
+        return null;
+    }
+
+    /**
+     * Describes a created participant.
+     *
+     * @param arg Participant ({@code Participant}) that was created in the
+     * database.
+     * @return Participant change event as {@code List<ChangeEvent>}.
+     */
+    @Override
+    protected List<ChangeEvent> getChangeEvents(Object arg) {
+        Participant participant = (Participant) arg;
+        return List.of(new ChangeEvent(EntityType.PARTICIPANT, State.CREATED, participant.getParticipantID(), participant));
+    }
+
+    /**
+     * Returns entity types the system operation writes.
+     *
+     * @return Participant entity type as {@code Set<EntityType>}.
+     */
+    @Override
+    public Set<EntityType> getWrittenEntityTypes() {
+        return WRITTEN_ENTITY_TYPES;
     }
 }
@@ -4,6 +4,10 @@
  */
 package com.fon.server.system_operations.participant;
 
+import com.fon.common.domain.EntityType;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 import com.fon.common.domain.Participant;
 import java.util.List;
 import com.fon.server.system_operations.AbstractSO;
@@ -18,13 +22,13 @@ import com.fon.server.system_operations.AbstractSO;
  * @author Aleksa
  * @since 0.0.1
  */
-public class GetAllParticipantsSO extends AbstractSO {
+public class GetAllParticipantsSO extends AbstractSO<List<Participant>> {
 
     /**
-     * All participants retrieved from the database as
-     * {@code List<Participant>}.
+     * Entity types the system operation reads as {@code Set<EntityType>}
+     * (read only).
      */
-    private List<Participant> allParticipants;
+    private static final Set<EntityType> READ_ENTITY_TYPES = Collections.unmodifiableSet(EnumSet.of(EntityType.PARTICIPANT));
 
     /**
      * No preconditions are checked.
@@ -36,25 +40,26 @@ public class GetAllParticipantsSO extends AbstractSO {
     }
 
     /**
-     * Retrieves all participants from the database and stores it in
-     * {@code allParticipants} attribute.
+     * Retrieves all participants from the database.
      *
      * @param param Not used.
+     * @return All participants retrieved from the database as
+     * {@code List<Participant>}.
      * @throws Exception When an error happened while retrieving all
      * participants.
      */
     @Override
-    protected void executeOperation(Object param) throws Exception {
-        allParticipants = REPOSITORY.getByCondition(new Participant(), "");
+    protected List<Participant> executeOperation(Object param) throws Exception {
+        return REPOSITORY.getByCondition(new Participant(), "");
     }
 
     /**
-     * Getter for allParticipants.
+     * Returns entity types the system operation reads.
      *
-     * @return All participants retrieved from the database as
-     * {@code List<Participant>}.
+     * @return Participant entity type as {@code Set<EntityType>}.
      */
-    public List<Participant> getAllParticipants() {
-        return allParticipants;
+    @Override
+    public Set<EntityType> getReadEntityTypes() {
+        return READ_ENTITY_TYPES;
     }
 }
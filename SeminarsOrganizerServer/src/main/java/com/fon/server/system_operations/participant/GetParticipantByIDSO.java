@@ -4,6 +4,10 @@
  */
 package com.fon.server.system_operations.participant;
 
+import com.fon.common.domain.EntityType;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 import com.fon.common.domain.Participant;
 import com.fon.server.constants.ServerConstants;
 import java.util.List;
@@ -20,13 +24,13 @@ import com.fon.server.system_operations.AbstractSO;
  * @author Aleksa
  * @since 0.0.1
  */
-public class GetParticipantByIDSO extends AbstractSO {
+public class GetParticipantByIDSO extends AbstractSO<Participant> {
 
     /**
-     * A participant retrieved from the database with a given ID as
-     * {@code List<Participant>}.
+     * Entity types the system operation reads as {@code Set<EntityType>}
+     * (read only).
      */
-    private Participant element;
+    private static final Set<EntityType> READ_ENTITY_TYPES = Collections.unmodifiableSet(EnumSet.of(EntityType.PARTICIPANT));
 
     /**
      * Checks if the sent object is instance of class {@code Integer}.
@@ -43,30 +47,31 @@ public class GetParticipantByIDSO extends AbstractSO {
     }
 
     /**
-     * Getter for element.
-     *
-     * @return A participant retrieved from the database with a given ID as
-     * {@code List<Participant>}.
-     */
-    public Participant getElement() {
-        return element;
-    }
-
-    /**
-     * Retrieves a participant from the database with a given ID and stores it
-     * in {@code element} attribute.
+     * Retrieves a participant from the database with a given ID.
      *
      * @param arg ID of the wanted participant as {@code int}.
+     * @return A participant retrieved from the database with a given ID as
+     * {@code Participant} or {@code null} if there is no such participant.
      * @throws Exception When an error happened while retrieving a participant
      * with a given ID.
      */
     @Override
-    protected void executeOperation(Object arg) throws Exception {
+    protected Participant executeOperation(Object arg) throws Exception {
         int id = (int) arg;
-        element = null;
         List<Participant> list = (List<Participant>) REPOSITORY.getByCondition(new Participant(), "WHERE participantID = " + id);
-        if (!list.isEmpty()) {
-            element = list.get(0);
+        if (list.isEmpty()) {
+            return null;
         }
+        return list.get(0);
+    }
+
+    /**
+     * Returns entity types the system operation reads.
+     *
+     * @return Participant entity type as {@code Set<EntityType>}.
+     */
+    @Override
+    public Set<EntityType> getReadEntityTypes() {
+        return READ_ENTITY_TYPES;
     }
 }
@@ -4,8 +4,11 @@
  */
 package com.fon.server.system_operations.participant;
 
+import com.fon.common.domain.EntityType;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 import com.fon.common.domain.Participant;
-import java.util.LinkedList;
 import java.util.List;
 import com.fon.server.system_operations.AbstractSO;
 import com.fon.common.utils.Utility;
@@ -22,13 +25,13 @@ import com.fon.server.constants.ServerConstants;
  * @author Aleksa
  * @since 0.0.1
  */
-public class GetParticipantsByConditionSO extends AbstractSO {
+public class GetParticipantsByConditionSO extends AbstractSO<List<Participant>> {
 
     /**
-     * All participants retrieved from the database that meet a certain
-     * condition as {@code List<Participant>}.
+     * Entity types the system operation reads as {@code Set<EntityType>}
+     * (read only).
      */
-    private List<Participant> list;
+    private static final Set<EntityType> READ_ENTITY_TYPES = Collections.unmodifiableSet(EnumSet.of(EntityType.PARTICIPANT));
 
     /**
      * Checks if the sent object is instance of class {@code String}.
@@ -46,27 +49,19 @@ public class GetParticipantsByConditionSO extends AbstractSO {
     }
 
     /**
-     * Getter for list.
+     * Retrieves all participants from the database that meet a certain
+     * condition.
      *
+     * @param arg Participant name and / or surname condition as
+     * {@code String}.
      * @return All participants retrieved from the database that meet a certain
      * condition as {@code List<Participant>}.
-     */
-    public List<Participant> getList() {
-        return list;
-    }
-
-    /**
-     * Retrieves all participants from the database that meet a certain
-     * condition and stores it in {@code list} attribute.
-     *
-     * @param arg Not used.
      * @throws Exception When an error happened while retrieving all participant
      * that meet a certain condition.
      */
     @Override
-    protected void executeOperation(Object arg) throws Exception {
+    protected List<Participant> executeOperation(Object arg) throws Exception {
         String condition = (String) arg;
-        list = new LinkedList();
 
         String whereQuerySection = "";
 
@@ -74,9 +69,16 @@ public class GetParticipantsByConditionSO extends AbstractSO {
             whereQuerySection = "WHERE name LIKE '%" + condition + "%' or surname LIKE '%" + condition + "%'";
         }
 
-        List<Participant> participants = REPOSITORY.getByCondition(new Participant(), whereQuerySection);
-        if (!participants.isEmpty()) {
-            list = participants;
-        }
+        return REPOSITORY.getByCondition(new Participant(), whereQuerySection);
+    }
+
+    /**
+     * Returns entity types the system operation reads.
+     *
+     * @return Participant entity type as {@code Set<EntityType>}.
+     */
+    @Override
+    public Set<EntityType> getReadEntityTypes() {
+        return READ_ENTITY_TYPES;
     }
 }
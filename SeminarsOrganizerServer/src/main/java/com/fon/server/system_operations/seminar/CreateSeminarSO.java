@@ -4,6 +4,13 @@
  */
 package com.fon.server.system_operations.seminar;
 
+import com.fon.common.domain.EntityType;
+import com.fon.common.domain.State;
+import com.fon.common.intercomm.ChangeEvent;
+import java.util.List;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 import com.fon.common.domain.Seminar;
 import com.fon.common.domain.SeminarTopic;
 import com.fon.server.constants.ServerConstants;
@@ -19,7 +26,13 @@ import com.fon.server.system_operations.AbstractSO;
  * @author Aleksa
  * @since 0.0.1
  */
-public class CreateSeminarSO extends AbstractSO {
+public class CreateSeminarSO extends AbstractSO<Void> {
+
+    /**
+     * Entity types the system operation writes as {@code Set<EntityType>}
+     * (read only).
+     */
+    private static final Set<EntityType> WRITTEN_ENTITY_TYPES = Collections.unmodifiableSet(EnumSet.of(EntityType.SEMINAR));
 
     /**
      * Checks if the sent object is instance of class {@code Seminar}.
@@ -41,15 +54,40 @@ public class CreateSeminarSO extends AbstractSO {
      *
      * @param arg A seminar ({@code Seminar}) that needs to be created in the
      * database.
+     * @return Always {@code null}, the system operation has no result.
      * @throws Exception When an error happened while creating a given seminar.
      */
     @Override
-    protected void executeOperation(Object arg) throws Exception {
+    protected Void executeOperation(Object arg) throws Exception {
         Seminar seminar = (Seminar) arg;
         REPOSITORY.create(seminar);
 
         for (SeminarTopic seminarTopic : seminar.getSeminarTopics()) {
             REPOSITORY.create(seminarTopic);
         }
+        return null;
+    }
+
+    /**
+     * Describes a created seminar.
+     *
+     * @param arg Seminar ({@code Seminar}) that was created in the
+     * database.
+     * @return Seminar change event as {@code List<ChangeEvent>}.
+     */
+    @Override
+    protected List<ChangeEvent> getChangeEvents(Object arg) {
+        Seminar seminar = (Seminar) arg;
+        return List.of(new ChangeEvent(EntityType.SEMINAR, State.CREATED, seminar.getSeminarID(), seminar));
+    }
+
+    /**
+     * Returns entity types the system operation writes.
+     *
+     * @return Seminar entity type as {@code Set<EntityType>}.
+     */
+    @Override
+    public Set<EntityType> getWrittenEntityTypes() {
+        return WRITTEN_ENTITY_TYPES;
     }
 }
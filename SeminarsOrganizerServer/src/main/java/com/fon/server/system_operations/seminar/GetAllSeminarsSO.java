@@ -4,6 +4,10 @@
  */
 package com.fon.server.system_operations.seminar;
 
+import com.fon.common.domain.EntityType;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 import com.fon.common.domain.Seminar;
 import com.fon.common.domain.SeminarTopic;
 import java.util.List;
@@ -19,12 +23,13 @@ import com.fon.server.system_operations.AbstractSO;
  * @author Aleksa
  * @since 0.0.1
  */
-public class GetAllSeminarsSO extends AbstractSO {
+public class GetAllSeminarsSO extends AbstractSO<List<Seminar>> {
 
     /**
-     * All seminars retrieved from the database as {@code List<Seminar>}.
+     * Entity types the system operation reads as {@code Set<EntityType>}
+     * (read only).
      */
-    private List<Seminar> allSeminars;
+    private static final Set<EntityType> READ_ENTITY_TYPES = Collections.unmodifiableSet(EnumSet.of(EntityType.SEMINAR));
 
     /**
      * No preconditions are checked.
@@ -34,15 +39,16 @@ public class GetAllSeminarsSO extends AbstractSO {
     }
 
     /**
-     * Retrieves all seminars from the database and stores it in
-     * {@code allSeminars} attribute.
+     * Retrieves all seminars from the database.
      *
      * @param arg Not used.
+     * @return All seminars retrieved from the database as
+     * {@code List<Seminar>}.
      * @throws Exception When an error happened while retrieving all seminars.
      */
     @Override
-    protected void executeOperation(Object arg) throws Exception {
-        allSeminars = REPOSITORY.getByCondition(new Seminar(), "");
+    protected List<Seminar> executeOperation(Object arg) throws Exception {
+        List<Seminar> allSeminars = REPOSITORY.getByCondition(new Seminar(), "");
 
         for (Seminar seminar : allSeminars) {
             List<SeminarTopic> seminarTopics = REPOSITORY.getByCondition(new SeminarTopic(), "WHERE seminarID = " + seminar.getSeminarID());
@@ -52,15 +58,16 @@ public class GetAllSeminarsSO extends AbstractSO {
                 seminarTopic.setSeminar(seminar);
             }
         }
+        return allSeminars;
     }
 
     /**
-     * Getter for allSeminars.
+     * Returns entity types the system operation reads.
      *
-     * @return All seminars retrieved from the database as
-     * {@code List<Seminar>}.
+     * @return Seminar entity type as {@code Set<EntityType>}.
      */
-    public List<Seminar> getAllSeminars() {
-        return allSeminars;
+    @Override
+    public Set<EntityType> getReadEntityTypes() {
+        return READ_ENTITY_TYPES;
     }
 }
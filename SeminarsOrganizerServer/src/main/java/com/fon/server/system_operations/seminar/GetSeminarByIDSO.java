@@ -4,6 +4,10 @@
  */
 package com.fon.server.system_operations.seminar;
 
+import com.fon.common.domain.EntityType;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 import com.fon.common.domain.Seminar;
 import com.fon.common.domain.SeminarTopic;
 import com.fon.server.constants.ServerConstants;
@@ -21,13 +25,13 @@ import com.fon.server.system_operations.AbstractSO;
  * @author Aleksa
  * @since 0.0.1
  */
-public class GetSeminarByIDSO extends AbstractSO {
+public class GetSeminarByIDSO extends AbstractSO<Seminar> {
 
     /**
-     * A seminar retrieved from the database with a given ID as
-     * {@code List<Seminar>}.
+     * Entity types the system operation reads as {@code Set<EntityType>}
+     * (read only).
      */
-    private Seminar seminar;
+    private static final Set<EntityType> READ_ENTITY_TYPES = Collections.unmodifiableSet(EnumSet.of(EntityType.SEMINAR));
 
     /**
      * Checks if the sent object is instance of class {@code Integer}.
@@ -44,33 +48,23 @@ public class GetSeminarByIDSO extends AbstractSO {
     }
 
     /**
-     * Getter for seminar.
-     *
-     * @return A seminar retrieved from the database with a given ID as
-     * {@code List<Seminar>}.
-     */
-    public Seminar getSeminar() {
-        return seminar;
-    }
-
-    /**
-     * Retrieves a seminar from the database with a given ID and stores it in
-     * {@code seminar} attribute.
+     * Retrieves a seminar from the database with a given ID.
      *
      * @param arg ID of the wanted seminar as {@code int}.
+     * @return A seminar retrieved from the database with a given ID as
+     * {@code Seminar} or {@code null} if there is no such seminar.
      * @throws Exception When an error happened while retrieving a seminar with
      * a given ID.
      */
     @Override
-    protected void executeOperation(Object arg) throws Exception {
+    protected Seminar executeOperation(Object arg) throws Exception {
         int id = (int) arg;
-        seminar = null;
         List<Seminar> seminars = REPOSITORY.getByCondition(new Seminar(), "WHERE seminarID =" + id);
 
         if (seminars.isEmpty())
-            return;
+            return null;
         
-        seminar = seminars.get(0);
+        Seminar seminar = seminars.get(0);
 
         List<SeminarTopic> seminarTopics = REPOSITORY.getByCondition(new SeminarTopic(), " WHERE seminarID = " + seminar.getSeminarID());
         seminar.setSeminarTopics(seminarTopics);
@@ -78,5 +72,16 @@ public class GetSeminarByIDSO extends AbstractSO {
         for (SeminarTopic seminarTopic : seminarTopics) {
             seminarTopic.setSeminar(seminar);
         }
+        return seminar;
+    }
+
+    /**
+     * Returns entity types the system operation reads.
+     *
+     * @return Seminar entity type as {@code Set<EntityType>}.
+     */
+    @Override
+    public Set<EntityType> getReadEntityTypes() {
+        return READ_ENTITY_TYPES;
     }
 }
@@ -4,6 +4,10 @@
  */
 package com.fon.server.system_operations.seminar;
 
+import com.fon.common.domain.EntityType;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 import com.fon.common.domain.Seminar;
 import com.fon.common.domain.SeminarTopic;
 import com.fon.server.constants.ServerConstants;
@@ -22,13 +26,13 @@ import com.fon.server.system_operations.AbstractSO;
  * @author Aleksa
  * @since 0.0.1
  */
-public class GetSeminarsByConditionSO extends AbstractSO {
+public class GetSeminarsByConditionSO extends AbstractSO<List<Seminar>> {
 
     /**
-     * All seminars retrieved from the database that meet a certain condition as
-     * {@code List<Seminar>}.
+     * Entity types the system operation reads as {@code Set<EntityType>}
+     * (read only).
      */
-    private List<Seminar> seminars;
+    private static final Set<EntityType> READ_ENTITY_TYPES = Collections.unmodifiableSet(EnumSet.of(EntityType.SEMINAR));
 
     /**
      * Checks if the sent object is instance of class {@code String}.
@@ -45,27 +49,17 @@ public class GetSeminarsByConditionSO extends AbstractSO {
     }
 
     /**
-     * Getter for seminars.
+     * Retrieves all seminars from the database that meet a certain condition.
      *
+     * @param arg Seminar name condition as {@code String}.
      * @return All seminars retrieved from the database that meet a certain
      * condition as {@code List<Seminar>}.
-     */
-    public List<Seminar> getSeminars() {
-        return seminars;
-    }
-
-    /**
-     * Retrieves all seminars from the database that meet a certain condition
-     * and stores it in {@code seminars} attribute.
-     *
-     * @param arg Not used.
      * @throws Exception When an error happened while retrieving all seminars
      * that meet a certain condition.
      */
     @Override
-    protected void executeOperation(Object arg) throws Exception {
+    protected List<Seminar> executeOperation(Object arg) throws Exception {
         String condition = (String) arg;
-        seminars = new LinkedList();
 
         String whereQuerySection = "";
 
@@ -76,7 +70,7 @@ public class GetSeminarsByConditionSO extends AbstractSO {
         List<Seminar> seminars_ = REPOSITORY.getByCondition(new Seminar(), whereQuerySection);
 
         if (seminars_.isEmpty()) {
-            return;
+            return new LinkedList<>();
         }
         
         for (Seminar seminar : seminars_) {
@@ -87,6 +81,16 @@ public class GetSeminarsByConditionSO extends AbstractSO {
                 seminarTopic.setSeminar(seminar);
             }
         }
-        seminars = seminars_;
+        return seminars_;
+    }
+
+    /**
+     * Returns entity types the system operation reads.
+     *
+     * @return Seminar entity type as {@code Set<EntityType>}.
+     */
+    @Override
+    public Set<EntityType> getReadEntityTypes() {
+        return READ_ENTITY_TYPES;
     }
 }
@@ -4,6 +4,13 @@
  */
 package com.fon.server.system_operations.seminar_schedule;
 
+import com.fon.common.domain.EntityType;
+import com.fon.common.domain.State;
+import com.fon.common.intercomm.ChangeEvent;
+import java.util.List;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 import com.fon.common.domain.SeminarEnrollment;
 import com.fon.common.domain.SeminarSchedule;
 import com.fon.server.constants.ServerConstants;
@@ -19,7 +26,13 @@ import com.fon.server.system_operations.AbstractSO;
  * @author Aleksa
  * @since 0.0.1
  */
-public class CreateSeminarScheduleSO extends AbstractSO {
+public class CreateSeminarScheduleSO extends AbstractSO<Void> {
+
+    /**
+     * Entity types the system operation writes as {@code Set<EntityType>}
+     * (read only).
+     */
+    private static final Set<EntityType> WRITTEN_ENTITY_TYPES = Collections.unmodifiableSet(EnumSet.of(EntityType.SEMINAR_SCHEDULE));
 
     /**
      * Checks if the sent object is instance of class {@code SeminarSchedule}.
@@ -41,16 +54,41 @@ public class CreateSeminarScheduleSO extends AbstractSO {
      *
      * @param arg A seminar schedule ({@code SeminarSchedule}) that needs to be
      * created in the database.
+     * @return Always {@code null}, the system operation has no result.
      * @throws Exception When an error happened while creating a given seminar
      * schedule.
      */
     @Override
-    protected void executeOperation(Object arg) throws Exception {
+    protected Void executeOperation(Object arg) throws Exception {
         SeminarSchedule seminarSchedule = (SeminarSchedule) arg;
         REPOSITORY.create(seminarSchedule);
 
         for (SeminarEnrollment seminarEnrollment : seminarSchedule.getSeminarEnrollments()) {
             REPOSITORY.create(seminarEnrollment);
         }
+        return null;
+    }
+
+    /**
+     * Describes a created seminar schedule.
+     *
+     * @param arg Seminar schedule ({@code SeminarSchedule}) that was created in the
+     * database.
+     * @return Seminar schedule change event as {@code List<ChangeEvent>}.
+     */
+    @Override
+    protected List<ChangeEvent> getChangeEvents(Object arg) {
+        SeminarSchedule seminarSchedule = (SeminarSchedule) arg;
+        return List.of(new ChangeEvent(EntityType.SEMINAR_SCHEDULE, State.CREATED, seminarSchedule.getSeminarScheduleID(), seminarSchedule));
+    }
+
+    /**
+     * Returns entity types the system operation writes.
+     *
+     * @return Seminar schedule entity type as {@code Set<EntityType>}.
+     */
+    @Override
+    public Set<EntityType> getWrittenEntityTypes() {
+        return WRITTEN_ENTITY_TYPES;
     }
 }
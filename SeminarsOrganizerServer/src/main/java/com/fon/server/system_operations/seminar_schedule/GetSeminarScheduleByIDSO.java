@@ -4,6 +4,10 @@
  */
 package com.fon.server.system_operations.seminar_schedule;
 
+import com.fon.common.domain.EntityType;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 import com.fon.common.domain.SeminarEnrollment;
 import com.fon.common.domain.SeminarSchedule;
 import com.fon.server.constants.ServerConstants;
@@ -21,13 +25,13 @@ import com.fon.server.system_operations.AbstractSO;
  * @author Aleksa
  * @since 0.0.1
  */
-public class GetSeminarScheduleByIDSO extends AbstractSO {
+public class GetSeminarScheduleByIDSO extends AbstractSO<SeminarSchedule> {
 
     /**
-     * A seminar schedule retrieved from the database with a given ID as
-     * {@code List<SeminarSchedule>}.
+     * Entity types the system operation reads as {@code Set<EntityType>}
+     * (read only).
      */
-    private SeminarSchedule seminarSchedule;
+    private static final Set<EntityType> READ_ENTITY_TYPES = Collections.unmodifiableSet(EnumSet.of(EntityType.SEMINAR_SCHEDULE, EntityType.SEMINAR, EntityType.PARTICIPANT, EntityType.EDUCATIONAL_INSTITUTION));
 
     /**
      * Checks if the sent object is instance of class {@code Integer}.
@@ -44,37 +48,28 @@ public class GetSeminarScheduleByIDSO extends AbstractSO {
     }
 
     /**
-     * Getter for seminarSchedule.
-     *
-     * @return A seminar schedule retrieved from the database with a given ID as
-     * {@code List<SeminarSchedule>}.
-     */
-    public SeminarSchedule getSeminarSchedule() {
-        return seminarSchedule;
-    }
-
-    /**
-     * Retrieves a seminar schedule from the database with a given ID and stores
-     * it in {@code seminarSchedule} attribute.
+     * Retrieves a seminar schedule from the database with a given ID.
      *
      * @param arg ID of the wanted seminar schedule as {@code int}.
+     * @return A seminar schedule retrieved from the database with a given ID as
+     * {@code SeminarSchedule} or {@code null} if there is no such seminar
+     * schedule.
      * @throws Exception When an error happened while retrieving a seminar
      * schedule with a given ID.
      */
     @Override
-    protected void executeOperation(Object arg) throws Exception {
+    protected SeminarSchedule executeOperation(Object arg) throws Exception {
         int seminarScheduleID = (int) arg;
 
         String whereSeminarScheduleQuerySection = " WHERE seminarScheduleID = " + seminarScheduleID;
 
-        seminarSchedule = null;
         List<SeminarSchedule> seminarSchedules = (List<SeminarSchedule>) REPOSITORY.getByCondition(new SeminarSchedule(), whereSeminarScheduleQuerySection);
 
         if (seminarSchedules.isEmpty()) {
-            return;
+            return null;
         }
 
-        seminarSchedule = seminarSchedules.get(0);
+        SeminarSchedule seminarSchedule = seminarSchedules.get(0);
 
         String whereSeminarEnrollmentQuerySection = "WHERE seminarScheduleID = " + seminarSchedule.getSeminarScheduleID();
 
@@ -84,5 +79,17 @@ public class GetSeminarScheduleByIDSO extends AbstractSO {
         for (SeminarEnrollment seminarEnrollment : seminarEnrollments) {
             seminarEnrollment.setSeminarSchedule(seminarSchedule);
         }
+        return seminarSchedule;
+    }
+
+    /**
+     * Returns entity types the system operation reads.
+     *
+     * @return Seminar schedule, seminar, participant and educational
+     * institution entity types as {@code Set<EntityType>}.
+     */
+    @Override
+    public Set<EntityType> getReadEntityTypes() {
+        return READ_ENTITY_TYPES;
     }
 }
@@ -4,6 +4,12 @@
  */
 package com.fon.server.system_operations.seminar_schedule;
 
+import com.fon.common.domain.EntityType;
+import com.fon.common.exceptions.DeadlineExceededException;
+import com.fon.common.exceptions.RequestCancelledException;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 import com.fon.common.domain.SeminarEnrollment;
 import com.fon.common.domain.SeminarSchedule;
 import java.util.Date;
@@ -12,6 +18,7 @@ import java.util.List;
 import com.fon.server.system_operations.AbstractSO;
 import com.fon.common.utils.Utility;
 import com.fon.server.constants.ServerConstants;
+import com.fon.server.dispatch.RequestContext;
 
 /**
  * System operation used for retrieving seminar schedules from the database that
@@ -24,13 +31,13 @@ import com.fon.server.constants.ServerConstants;
  * @author Aleksa
  * @since 0.0.1
  */
-public class GetSeminarSchedulesByConditionSO extends AbstractSO {
+public class GetSeminarSchedulesByConditionSO extends AbstractSO<List<SeminarSchedule>> {
 
     /**
-     * All seminar schedules retrieved from the database that meet a certain
-     * condition as {@code List<SeminarSchedule>}.
+     * Entity types the system operation reads as {@code Set<EntityType>}
+     * (read only).
      */
-    private List<SeminarSchedule> seminarSchedules;
+    private static final Set<EntityType> READ_ENTITY_TYPES = Collections.unmodifiableSet(EnumSet.of(EntityType.SEMINAR_SCHEDULE, EntityType.SEMINAR, EntityType.PARTICIPANT, EntityType.EDUCATIONAL_INSTITUTION));
 
     /**
      * Checks if the sent object is having the required type and structure.
@@ -64,36 +71,38 @@ public class GetSeminarSchedulesByConditionSO extends AbstractSO {
     }
 
     /**
-     * Getter for seminarSchedules.
+     * Retrieves all seminar schedules from the database that meet a certain
+     * condition.
+     *
+     * <p>
+     * Seminar enrollments are retrieved one seminar schedule at a time, and
+     * the retrieval stops between two seminar schedules if the request is
+     * cancelled or its deadline passes.
+     * </p>
      *
+     * @param arg Instance of {@code List<Object>} class having seminar name
+     * condition ({@code String}) as the first element and date and time
+     * condition ({@code Date}) as the second element.
      * @return All seminar schedules retrieved from the database that meet a
      * certain condition as {@code List<SeminarSchedule>}.
-     */
-    public List<SeminarSchedule> getSeminarSchedules() {
-        return seminarSchedules;
-    }
-
-    /**
-     * Retrieves all seminar schedules from the database that meet a certain
-     * condition and stores it in {@code seminarSchedules} attribute.
-     *
-     * @param arg Not used.
      * @throws Exception When an error happened while retrieving all seminar
      * schedules that meet a certain condition.
+     * @throws RequestCancelledException If the request was cancelled.
+     * @throws DeadlineExceededException If the deadline of the request has
+     * passed.
      */
     @Override
-    protected void executeOperation(Object arg) throws Exception {
-        seminarSchedules = new LinkedList();
-
+    protected List<SeminarSchedule> executeOperation(Object arg) throws Exception {
         String whereQuerySeminarScheduleSection = getWhereQuerySeminarScheduleSection(arg);
 
         List<SeminarSchedule> seminarSchedules_ = REPOSITORY.getByCondition(new SeminarSchedule(), whereQuerySeminarScheduleSection);
 
         if (seminarSchedules_.isEmpty()) {
-            return;
+            return new LinkedList<>();
         }
 
         for (SeminarSchedule seminarSchedule : seminarSchedules_) {
+            RequestContext.throwIfAborted();
             String whereQuerySeminarEnrollmentSection = "WHERE seminarScheduleID = " + seminarSchedule.getSeminarScheduleID();
 
             List<SeminarEnrollment> seminarEnrollments = REPOSITORY.getByCondition(new SeminarEnrollment(), whereQuerySeminarEnrollmentSection);
@@ -103,7 +112,7 @@ public class GetSeminarSchedulesByConditionSO extends AbstractSO {
                 seminarEnrollment.setSeminarSchedule(seminarSchedule);
             }
         }
-        seminarSchedules = seminarSchedules_;
+        return seminarSchedules_;
     }
 
     /**
@@ -168,4 +177,15 @@ public class GetSeminarSchedulesByConditionSO extends AbstractSO {
 
         return String.format("'%s' BETWEEN DATE(datetimeBegins) and DATE(datetimeEnds)", dateString);
     }
+
+    /**
+     * Returns entity types the system operation reads.
+     *
+     * @return Seminar schedule, seminar, participant and educational
+     * institution entity types as {@code Set<EntityType>}.
+     */
+    @Override
+    public Set<EntityType> getReadEntityTypes() {
+        return READ_ENTITY_TYPES;
+    }
 }
@@ -4,6 +4,11 @@
  */
 package com.fon.server.system_operations.seminar_schedule;
 
+import com.fon.common.domain.EntityType;
+import com.fon.common.intercomm.ChangeEvent;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 import com.fon.common.domain.SeminarEnrollment;
 import com.fon.common.domain.SeminarSchedule;
 import com.fon.common.domain.State;
@@ -21,7 +26,13 @@ import com.fon.server.system_operations.AbstractSO;
  * @author Aleksa
  * @since 0.0.1
  */
-public class SaveSeminarScheduleSO extends AbstractSO {
+public class SaveSeminarScheduleSO extends AbstractSO<Void> {
+
+    /**
+     * Entity types the system operation writes as {@code Set<EntityType>}
+     * (read only).
+     */
+    private static final Set<EntityType> WRITTEN_ENTITY_TYPES = Collections.unmodifiableSet(EnumSet.of(EntityType.SEMINAR_SCHEDULE));
 
     /**
      * Checks if the sent object is instance of class {@code SeminarSchedule}.
@@ -43,11 +54,12 @@ public class SaveSeminarScheduleSO extends AbstractSO {
      *
      * @param arg A seminar schedule ({@code SeminarSchedule}) that needs to be
      * saved in the database.
+     * @return Always {@code null}, the system operation has no result.
      * @throws Exception When an error happened while saving a given seminar
      * schedule.
      */
     @Override
-    protected void executeOperation(Object arg) throws Exception {
+    protected Void executeOperation(Object arg) throws Exception {
         SeminarSchedule seminarSchedule = (SeminarSchedule) arg;
 
         if (seminarSchedule.getState().equals(State.CHANGED)) {
@@ -77,5 +89,31 @@ public class SaveSeminarScheduleSO extends AbstractSO {
                     throw new AssertionError();
             }
         }
+        return null;
+    }
+
+    /**
+     * Describes a saved seminar schedule, without its deleted seminar
+     * enrollments.
+     *
+     * @param arg Seminar schedule ({@code SeminarSchedule}) that was saved in the
+     * database.
+     * @return Seminar schedule change event as {@code List<ChangeEvent>}.
+     */
+    @Override
+    protected List<ChangeEvent> getChangeEvents(Object arg) {
+        SeminarSchedule seminarSchedule = (SeminarSchedule) arg;
+        seminarSchedule.getSeminarEnrollments().removeIf(seminarEnrollment -> seminarEnrollment.getState() == State.DELETED);
+        return List.of(new ChangeEvent(EntityType.SEMINAR_SCHEDULE, State.CHANGED, seminarSchedule.getSeminarScheduleID(), seminarSchedule));
+    }
+
+    /**
+     * Returns entity types the system operation writes.
+     *
+     * @return Seminar schedule entity type as {@code Set<EntityType>}.
+     */
+    @Override
+    public Set<EntityType> getWrittenEntityTypes() {
+        return WRITTEN_ENTITY_TYPES;
     }
 }
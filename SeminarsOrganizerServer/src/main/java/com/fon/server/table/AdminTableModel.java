@@ -6,7 +6,9 @@ package com.fon.server.table;
 
 import com.fon.common.domain.Admin;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import javax.swing.table.AbstractTableModel;
 
 /**
@@ -15,17 +17,20 @@ import javax.swing.table.AbstractTableModel;
  */
 public class AdminTableModel extends AbstractTableModel {
 
-    String[] columns = {"Корисничко име", "Име и презиме"};
-    Class[] classes = {String.class, String.class};
+    String[] columns = {"Корисничко име", "Име и презиме", "Ограничени захтеви"};
+    Class[] classes = {String.class, String.class, Long.class};
     
     private List<Admin> admins;
+    private final Map<Integer, Long> throttleCounts;
 
     public AdminTableModel() {
         admins = new ArrayList<>();
+        throttleCounts = new HashMap<>();
     }
 
     public AdminTableModel(List<Admin> admins) {
         this.admins = admins;
+        throttleCounts = new HashMap<>();
     }
 
     @Override
@@ -54,6 +59,7 @@ public class AdminTableModel extends AbstractTableModel {
         return switch (columnIndex) {
             case 0 -> a.getUsername();
             case 1 -> a.getName() +" "+ a.getSurname();
+            case 2 -> throttleCounts.getOrDefault(a.getAdminID(), 0L);
             default -> throw new AssertionError();
         };
     }
@@ -65,6 +71,12 @@ public class AdminTableModel extends AbstractTableModel {
     
     public void removeAdmin(Admin admin) {
         admins.remove(admin);
+        throttleCounts.remove(admin.getAdminID());
+        fireTableDataChanged();
+    }
+
+    public void setThrottleCount(Admin admin, long throttleCount) {
+        throttleCounts.put(admin.getAdminID(), throttleCount);
         fireTableDataChanged();
     }
 
@@ -4,16 +4,42 @@
  */
 package com.fon.server.threads;
 
-import com.fon.common.intercomm.Operation;
 import com.fon.common.intercomm.Request;
-import com.fon.common.intercomm.Response;
 import com.fon.common.intercomm.Communication;
+import com.fon.common.intercomm.Connection;
+import com.fon.common.logging.AsyncLogger;
 import com.fon.server.controller.ServerController;
-import com.fon.common.domain.*;
+import com.fon.server.dispatch.Lane;
+import com.fon.server.dispatch.PreparedResponse;
+import com.fon.server.dispatch.RequestContext;
+import com.fon.server.dispatch.RequestDispatcher;
+import com.fon.server.jfr.RequestEvent;
+import com.fon.server.metrics.OperationMetrics;
+import com.fon.server.metrics.ServerMetrics;
+import com.fon.common.domain.Admin;
+import com.fon.common.domain.EntityType;
+import com.fon.common.intercomm.ChangeEvent;
+import com.fon.common.intercomm.Operation;
+import com.fon.common.exceptions.DeadlineExceededException;
 import com.fon.common.exceptions.LoginException;
+import com.fon.common.exceptions.RequestCancelledException;
+import com.fon.common.exceptions.ServerBusyException;
+import com.fon.common.exceptions.ServerShutdownException;
+import com.fon.common.intercomm.Response;
+import com.fon.server.changes.ChangeNotifier;
+import com.fon.server.changes.ChangeSubscriber;
+import com.fon.server.constants.ServerConstants;
+import com.fon.server.ratelimit.TokenBucket;
 import java.io.IOException;
-import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -43,53 +69,108 @@ public class ClientHandlerThread extends Thread {
     private final ServerThread server;
 
     /**
-     * The socket for communication with the client as {@code Socket}.
+     * The connection with the client as {@code Connection}.
      */
-    private Socket socket;
+    private Connection connection;
 
     /**
      * The logged-in admin associated with this client as {@code Admin}.
      */
     private Admin loggedAdmin;
 
+    /**
+     * Session token issued to the logged-in admin of this client as
+     * {@code String}, {@code null} if the client is not logged in.
+     */
+    private volatile String sessionToken;
+
     /**
      * The client number assigned to this client handler as {@code int} (read
      * only).
      */
     private final int clientNumber;
 
+    /**
+     * Rate limit token buckets of this session by operation as
+     * {@code ConcurrentMap<Operation, TokenBucket>} (read only).
+     */
+    private final ConcurrentMap<Operation, TokenBucket> rateLimitBuckets;
+
+    /**
+     * Number of throttled requests of this session as {@code LongAdder} (read
+     * only).
+     */
+    private final LongAdder throttledCount;
+
+    /**
+     * Time of the last request or response of this client in nanoseconds, as
+     * returned by {@code System.nanoTime()}, as {@code long}.
+     */
+    private volatile long lastActivity;
+
+    /**
+     * Number of requests of this client being handled as
+     * {@code AtomicInteger} (read only).
+     */
+    private final AtomicInteger requestsInProgress;
+
+    /**
+     * Contexts of the requests of this client being handled that can be
+     * cancelled, by their correlation ID, as
+     * {@code ConcurrentMap<Long, RequestContext>} (read only).
+     */
+    private final ConcurrentMap<Long, RequestContext> cancellableRequests;
+
+    /**
+     * Lock guarding writes to the socket, so a shutdown notice never
+     * interleaves with a response (read only).
+     */
+    private final Object sendLock;
+
+    /**
+     * Subscription of this client to change events as
+     * {@code ChangeSubscriber}, {@code null} if the client is not subscribed.
+     */
+    private ChangeSubscriber changeSubscriber;
+
     /**
      * Constructor with all parameters except loggedAdmin.
      *
      * @param server Reference to the server's form as {@code ServerForm}.
-     * @param socket The socket for communication with the client as
-     * {@code Socket}.
+     * @param connection The connection with the client as
+     * {@code Connection}.
      * @param clientNumber The client number assigned to this client handler as
      * {@code int}.
      */
-    public ClientHandlerThread(ServerThread server, Socket socket, int clientNumber) {
-        this.socket = socket;
+    public ClientHandlerThread(ServerThread server, Connection connection, int clientNumber) {
+        this.connection = connection;
         this.server = server;
         this.clientNumber = clientNumber;
+        this.rateLimitBuckets = new ConcurrentHashMap<>();
+        this.throttledCount = new LongAdder();
+        this.lastActivity = System.nanoTime();
+        this.sendLock = new Object();
+        this.requestsInProgress = new AtomicInteger();
+        this.cancellableRequests = new ConcurrentHashMap<>();
     }
 
     /**
-     * Getter for socket.
+     * Getter for connection.
      *
-     * @return The socket for communication with the client as {@code Socket}.
+     * @return The connection with the client as {@code Connection}.
      */
-    public Socket getSocket() {
-        return socket;
+    public Connection getConnection() {
+        return connection;
     }
 
     /**
-     * Setter for socket.
+     * Setter for connection.
      *
-     * @param socket The socket for communication with the client as
-     * {@code Socket}.
+     * @param connection The connection with the client as
+     * {@code Connection}.
      */
-    public void setSocket(Socket socket) {
-        this.socket = socket;
+    public void setConnection(Connection connection) {
+        this.connection = connection;
     }
 
     /**
@@ -111,319 +192,521 @@ public class ClientHandlerThread extends Thread {
         this.loggedAdmin = loggedAdmin;
     }
 
+    /**
+     * Getter for sessionToken.
+     *
+     * @return Session token issued to the logged-in admin of this client as
+     * {@code String}, {@code null} if the client is not logged in.
+     */
+    public String getSessionToken() {
+        return sessionToken;
+    }
+
+    /**
+     * Getter for clientNumber.
+     *
+     * @return The client number assigned to this client handler as
+     * {@code int}.
+     */
+    public int getClientNumber() {
+        return clientNumber;
+    }
+
+    /**
+     * Getter for rateLimitBuckets.
+     *
+     * @return Rate limit token buckets of this session by operation as
+     * {@code ConcurrentMap<Operation, TokenBucket>}.
+     */
+    public ConcurrentMap<Operation, TokenBucket> getRateLimitBuckets() {
+        return rateLimitBuckets;
+    }
+
+    /**
+     * Returns the number of throttled requests of this session.
+     *
+     * @return Number of throttled requests as {@code long}.
+     */
+    public long getThrottledCount() {
+        return throttledCount.sum();
+    }
+
+    /**
+     * Records a throttled request of this session and reports it to the
+     * server.
+     *
+     * @param operation Operation of the throttled request as
+     * {@code Operation}.
+     */
+    public void throttled(Operation operation) {
+        throttledCount.increment();
+        AsyncLogger.getInstance().info("request_throttled", "operation", operation, "client", clientNumber);
+        if (server != null) {
+            server.throttled(this);
+        }
+    }
+
+    /**
+     * Getter for lastActivity.
+     *
+     * @return Time of the last request or response of this client in
+     * nanoseconds, as returned by {@code System.nanoTime()}, as {@code long}.
+     */
+    public long getLastActivity() {
+        return lastActivity;
+    }
+
+    /**
+     * Checks if a request of this client is being handled.
+     *
+     * @return {@code true} if a request is being handled, otherwise
+     * {@code false}.
+     */
+    public boolean isHandlingRequest() {
+        return requestsInProgress.get() > 0;
+    }
+
+    /**
+     * Checks if this client has been idle for longer than the passed timeout.
+     *
+     * <p>
+     * A client whose request is being handled is never idle, no matter how
+     * long the request takes.
+     * </p>
+     *
+     * @param now Current time in nanoseconds, as returned by
+     * {@code System.nanoTime()}, as {@code long}.
+     * @param idleTimeout Idle timeout in nanoseconds as {@code long}.
+     * @return {@code true} if the client is idle, otherwise {@code false}.
+     */
+    public boolean isIdle(long now, long idleTimeout) {
+        return !isHandlingRequest() && now - lastActivity > idleTimeout;
+    }
+
     /**
      * Overrides the run method from the Thread class to handles client
      * communication.
      *
      * <p>
-     * Monitors the client socket for incoming requests, processes them and
-     * sends back the appropriate response. Handles disconnection and logout
-     * scenarios.
+     * Monitors the client socket for incoming requests and hands them over to
+     * the worker pool, which executes them, and from there to the encoder
+     * stage, which sends back the appropriate response, so the client socket
+     * keeps being read while a request executes. That is how a
+     * {@code CANCEL} request reaches the request it cancels. Handles
+     * disconnection and logout scenarios. Clients send heartbeats while they
+     * are idle, so a read that times out while no request is being handled
+     * means the client is gone and it is logged out.
+     * </p>
+     *
+     * <p>
+     * Once the server is draining, a newly received request is not executed
+     * and it is answered with a shutdown notice instead.
      * </p>
      */
     @Override
     public void run() {
-        System.out.println("Client handler thread " + clientNumber + " has started");
+        AsyncLogger.getInstance().debug("client_handler_started", "client", clientNumber);
 
-        while (!socket.isClosed()) {
+        while (!connection.isClosed()) {
             try {
-                Request request = (Request) Communication.getInstance().receive(socket);
-                Response response = handleRequest(request);
-                Communication.getInstance().send(socket, response);
+                Request request = (Request) Communication.getInstance().receive(connection);
+                lastActivity = System.nanoTime();
+                if (request.getOperation() == Operation.CANCEL) {
+                    cancel(request.getArgument());
+                    continue;
+                }
+                if (server != null && server.isDraining()) {
+                    sendShutdownNotice(server.getReconnectDelay());
+                    logout();
+                    break;
+                }
+                handleRequest(request);
+            } catch (SocketTimeoutException ex) {
+                if (isHandlingRequest()) {
+                    continue;
+                }
+                AsyncLogger.getInstance().info("client_timed_out", "client", clientNumber);
+                logout();
             } catch (IOException | ClassNotFoundException ex) {
-                System.out.println("Client " + clientNumber + " has disconnected");
+                AsyncLogger.getInstance().info("client_disconnected", "client", clientNumber);
                 logout();
             }
         }
 
-        System.out.println("Client handler thread " + clientNumber + " has finished");
+        AsyncLogger.getInstance().debug("client_handler_finished", "client", clientNumber);
     }
 
     /**
-     * Processes incoming requests, determined by the associated
-     * {@code Operation}s and generates appropriate responses.
+     * Processes incoming requests by dispatching them to the handler
+     * registered for their {@code Operation} on a worker of the server's
+     * worker pool, in the lane of the operation.
+     *
+     * <p>
+     * Heartbeats are answered right away. If the worker pool is saturated, the
+     * request is not executed and a {@code ServerBusyException} with the
+     * suggested retry delay is sent instead.
+     * </p>
+     *
+     * <p>
+     * Every other request is recorded in the metrics of its operation and as
+     * a Java Flight Recorder event from now until its response is sent.
+     * </p>
      *
      * @param request The incoming request as {@code Request}.
-     * @return The response as {@code Response} generated based on the operation
-     * executed.
+     * @throws IOException If a response cannot be serialized or sent.
      */
-    private Response handleRequest(Request request) {
-        Response response = new Response();
-
-        Object argument = request.getArgument();
-        Operation operation = request.getOperation();
-        System.out.println("operation = " + operation);
-        Object result = null;
-
+    private void handleRequest(Request request) throws IOException {
+        if (request.getOperation() == Operation.HEARTBEAT) {
+            send(Communication.getInstance().encode(RequestDispatcher.getInstance().dispatch(this, request)));
+            return;
+        }
+        RequestContext context = new RequestContext(request.getRequestID(), request.getTimeout(), request.getOperation());
+        OperationMetrics metrics = ServerMetrics.getInstance().get(request.getOperation());
+        RequestEvent event = new RequestEvent();
+        event.begin();
+        metrics.requestStarted();
+        requestStarted(context);
         try {
-            switch (operation) {
-                case LOGIN -> {
-                    result = login((Admin) argument);
-                }
-                case CREATE_SEMINAR -> {
-                    createSeminar((Seminar) argument);
-                }
-                case GET_ALL_SEMINARS -> {
-                    result = (List<Seminar>) getAllSeminars();
-                }
-                case GET_SEMINAR_BY_ID -> {
-                    result = (Seminar) getSeminarByID((int) argument);
-                }
-                case GET_SEMINARS_BY_CONDITION -> {
-                    result = (List<Seminar>) getSeminarsByCondition((String) argument);
-                }
-                case CREATE_PARTICIPANT -> {
-                    createParticipant((Participant) argument);
-                }
-                case GET_ALL_PARTICIPANTS -> {
-                    result = (List<Participant>) getAllParticipants();
-                }
-                case GET_PARTICIPANTS_BY_CONDITION -> {
-                    result = (List<Participant>) getParticipantsByCondition((String) argument);
-                }
-                case GET_PARTICIPANT_BY_ID -> {
-                    result = (Participant) getParticipantByID((int) argument);
-                }
-                case GET_ALL_EDUCATIONAL_INSTITUTIONS -> {
-                    result = (List<EducationalInstitution>) getAllEducationalInstitutions();
-                }
-                case CREATE_SEMINAR_SCHEDULE -> {
-                    createSeminarSchedule((SeminarSchedule) argument);
-                }
-                case GET_SEMINAR_SCHEDULES_BY_CONDITION -> {
-                    result = (List<SeminarSchedule>) getSeminarSchedulesByCondition((List<Object>) argument);
-                }
-                case GET_SEMINAR_SCHEDULE_BY_ID -> {
-                    result = (SeminarSchedule) getSeminarScheduleByID((int) argument);
-                }
-                case SAVE_SEMINAR_SCHEDULE -> {
-                    saveSeminarSchedule((SeminarSchedule) argument);
-                }
-                case SAVE_SEMINAR -> {
-                    saveSeminar((Seminar) argument);
-                }
+            server.getWorkerPool().submit(Lane.of(request.getOperation()), () -> executeRequest(request, context, metrics, event));
+        } catch (RejectedExecutionException ex) {
+            requestFinished(context);
+            AsyncLogger.getInstance().warn("request_rejected", "operation", request.getOperation(), "client", clientNumber);
+            Response response = new Response(null, request.getOperation(),
+                    new ServerBusyException(ServerConstants.SERVER_BUSY_ERROR_MESSAGE, server.getRetryAfter(), false));
+            byte[] encoded = Communication.getInstance().encode(response);
+            try {
+                send(encoded);
+            } finally {
+                metrics.requestFinished(System.nanoTime() - context.getStartTime(), true, encoded.length);
+                commitRequestEvent(event, context, true, encoded.length);
             }
-        } catch (Exception ex) {
-            Logger.getLogger(ClientHandlerThread.class.getName()).log(Level.SEVERE, null, ex);
-            response.setException(ex);
         }
-        response.setResult(result);
-        return response;
     }
 
     /**
-     * Logs in the passed admin using the {@code ServerController} instance and
-     * returns all data about the admin.
+     * Executes a request on a worker with its context bound to the worker and
+     * hands its response, possibly served from the response cache, over to
+     * the encoder stage, which encodes and sends it.
      *
-     * @param admin Admin that needs to be checked if he entered correct
-     * credentials.
-     * @return Logged admin as {@code Admin} with all data.
-     * @throws Exception When admin cannot be logged in.
+     * <p>
+     * A request cancelled while it was waiting for a worker is not executed
+     * and a {@code RequestCancelledException} is sent instead, as is a
+     * {@code DeadlineExceededException} for a request whose deadline passed
+     * while it was waiting. If the encoder stage is saturated, the worker
+     * encodes and sends the response itself.
+     * </p>
+     *
+     * @param request The request as {@code Request}.
+     * @param context Context of the request as {@code RequestContext}.
+     * @param metrics Metrics of the operation of the request as
+     * {@code OperationMetrics}.
+     * @param event Flight recorder event of the request as
+     * {@code RequestEvent}.
      */
-    private Admin login(Admin admin) throws Exception {
-        admin = ServerController.getInstance().login(admin);
-
-        checkIfAdminIsAlreadyLoggedIn(admin);
+    private void executeRequest(Request request, RequestContext context, OperationMetrics metrics, RequestEvent event) {
+        PreparedResponse response;
+        try {
+            if (context.isCancelled()) {
+                AsyncLogger.getInstance().debug("request_cancelled", "operation", request.getOperation(), "client", clientNumber);
+                response = PreparedResponse.of(new Response(null, request.getOperation(),
+                        new RequestCancelledException(ServerConstants.REQUEST_CANCELLED_ERROR_MESSAGE)));
+            } else if (context.isExpired()) {
+                AsyncLogger.getInstance().info("deadline_exceeded", "operation", request.getOperation(), "client", clientNumber);
+                response = PreparedResponse.of(new Response(null, request.getOperation(),
+                        new DeadlineExceededException(ServerConstants.DEADLINE_EXCEEDED_ERROR_MESSAGE)));
+            } else {
+                response = context.call(() -> RequestDispatcher.getInstance().prepare(this, request));
+            }
+        } catch (Exception ex) {
+            AsyncLogger.getInstance().warn("response_not_sent", "client", clientNumber, "error", ex.getMessage());
+            requestFinished(context);
+            metrics.requestFinished(System.nanoTime() - context.getStartTime(), true, 0);
+            commitRequestEvent(event, context, true, 0);
+            return;
+        }
 
-        this.loggedAdmin = admin;
-        server.login(this);
-        return admin;
+        try {
+            server.getEncoderStage().submit(() -> sendResponse(response, context, metrics, event));
+        } catch (RejectedExecutionException ex) {
+            sendResponse(response, context, metrics, event);
+        }
     }
 
     /**
-     * Logs out the current client and closes socket.
+     * Encodes and sends the response to a request.
+     *
+     * <p>
+     * A response that cannot be sent is dropped, the broken connection is
+     * noticed by this thread when it reads the next request.
+     * </p>
+     *
+     * @param response The response as {@code PreparedResponse}.
+     * @param context Context of the request as {@code RequestContext}.
+     * @param metrics Metrics of the operation of the request as
+     * {@code OperationMetrics}.
+     * @param event Flight recorder event of the request as
+     * {@code RequestEvent}.
      */
-    public void logout() {
+    private void sendResponse(PreparedResponse response, RequestContext context, OperationMetrics metrics, RequestEvent event) {
+        boolean failed = true;
+        int responseSize = 0;
         try {
-            server.logout(this);
-            socket.close();
+            byte[] encoded = response.encode();
+            responseSize = encoded.length;
+            send(encoded);
+            lastActivity = System.nanoTime();
+            failed = response.hasException();
         } catch (IOException ex) {
-            Logger.getLogger(ClientHandlerThread.class.getName()).log(Level.SEVERE, null, ex);
+            AsyncLogger.getInstance().warn("response_not_sent", "client", clientNumber, "error", ex.getMessage());
+        } finally {
+            requestFinished(context);
+            metrics.requestFinished(System.nanoTime() - context.getStartTime(), failed, responseSize);
+            commitRequestEvent(event, context, failed, responseSize);
         }
     }
 
     /**
-     * Creates the passed seminar using the {@code ServerController} instance.
+     * Commits the flight recorder event of a finished request, unless flight
+     * recording of requests is disabled.
      *
-     * @param seminar Seminar that needs to be created as {@code Seminar}.
-     * @throws Exception When seminar cannot be created.
+     * @param event Flight recorder event of the request as
+     * {@code RequestEvent}.
+     * @param context Context of the request as {@code RequestContext}.
+     * @param failed Whether the request failed as {@code boolean}.
+     * @param responseSize Size of the encoded response in bytes as
+     * {@code int}.
      */
-    private void createSeminar(Seminar seminar) throws Exception {
-        ServerController.getInstance().createSeminar(seminar);
+    private void commitRequestEvent(RequestEvent event, RequestContext context, boolean failed, int responseSize) {
+        if (event.shouldCommit()) {
+            event.operation = context.getOperation().name();
+            event.client = clientNumber;
+            event.requestID = context.getRequestID();
+            event.responseBytes = responseSize;
+            event.failed = failed;
+            event.commit();
+        }
     }
 
     /**
-     * Retrieves all seminars using the {@code ServerController} instance.
+     * Records that a request of this client is being handled.
      *
-     * @return All seminars from the database as {@code List<Seminar>}.
-     * @throws Exception When all seminars cannot be retrieved.
+     * @param context Context of the request as {@code RequestContext}.
      */
-    private List<Seminar> getAllSeminars() throws Exception {
-        List<Seminar> allSeminars = ServerController.getInstance().getAllSeminars();
-        return allSeminars;
+    private void requestStarted(RequestContext context) {
+        requestsInProgress.incrementAndGet();
+        if (context.getRequestID() != 0) {
+            cancellableRequests.put(context.getRequestID(), context);
+        }
     }
 
     /**
-     * Retrieves seminars by the passed condition using the
-     * {@code ServerController} instance.
+     * Records that a request of this client is no longer being handled.
      *
-     * @param condition Condition used for filtering seminars as {@code String}.
-     * @return All seminars by the passed condition from the database as
-     * {@code List<Seminar>}.
-     * @throws Exception When seminars by the passed condition cannot be
-     * retrieved.
+     * @param context Context of the request as {@code RequestContext}.
      */
-    private List<Seminar> getSeminarsByCondition(String condition) throws Exception {
-        List<Seminar> seminarsFiltered = ServerController.getInstance().getSeminarsByCondition(condition);
-        return seminarsFiltered;
+    private void requestFinished(RequestContext context) {
+        if (context.getRequestID() != 0) {
+            cancellableRequests.remove(context.getRequestID(), context);
+        }
+        requestsInProgress.decrementAndGet();
     }
 
     /**
-     * Retrieves seminar by the passed ID using the {@code ServerController}
-     * instance.
+     * Cancels a request of this client being handled. A request that already
+     * finished, or was never received, is ignored.
      *
-     * @param id ID used for filtering seminars as {@code int}.
-     * @return Seminar found by the passed condition from the database as
-     * {@code Seminar}.
-     * @throws Exception When the seminar cannot be retrieved.
-     */
-    private Seminar getSeminarByID(int id) throws Exception {
-        Seminar seminar = ServerController.getInstance().getSeminarByID(id);
-        return seminar;
-    }
-
-    /**
-     * Creates the participant using the {@code ServerController} instance.
+     * <p>
+     * A {@code CANCEL} request is not answered, the cancelled request is
+     * answered with a {@code RequestCancelledException} instead.
+     * </p>
      *
-     * @param participant Participant that needs to be created as
-     * {@code Seminar}.
-     * @throws Exception When the participant cannot be created.
+     * @param argument Correlation ID of the request to cancel as {@code Long}.
      */
-    private void createParticipant(Participant participant) throws Exception {
-        ServerController.getInstance().createParticipant(participant);
+    public void cancel(Object argument) {
+        if (!(argument instanceof Long requestID)) {
+            return;
+        }
+        RequestContext context = cancellableRequests.get(requestID);
+        if (context != null) {
+            AsyncLogger.getInstance().debug("cancel_requested", "request", requestID, "client", clientNumber);
+            context.cancel();
+        }
     }
 
     /**
-     * Retrieves all participants using the {@code ServerController} instance.
+     * Sends an encoded response to the client, between change events.
      *
-     * @return All participants from the database as {@code List<Participant>}.
-     * @throws Exception When all participants cannot be retrieved.
+     * @param response Encoded response as {@code byte[]}.
+     * @throws IOException When the response cannot be sent.
      */
-    private List<Participant> getAllParticipants() throws Exception {
-        List<Participant> allParticipants = ServerController.getInstance().getAllParticipants();
-        return allParticipants;
+    private void send(byte[] response) throws IOException {
+        synchronized (sendLock) {
+            Communication.getInstance().sendEncoded(connection, response);
+        }
     }
 
     /**
-     * Checks if the admin is already logged in.
+     * Logs in the passed admin using the {@code ServerController} instance and
+     * returns all data about the admin.
+     *
+     * <p>
+     * The check whether the admin is already logged in and the registration of
+     * the session are performed as a single atomic step by the server. A
+     * session token is issued on success, with which the client can resume the
+     * session on a new connection.
+     * </p>
      *
-     * @param admin Admin that needs to be checked if he is already logged in.
+     * @param admin Admin that needs to be checked if he entered correct
+     * credentials.
+     * @return Logged admin as {@code Admin} with all data.
+     * @throws Exception When admin cannot be logged in.
      * @throws LoginException If the admin is already logged in.
      */
-    private void checkIfAdminIsAlreadyLoggedIn(Admin admin) throws LoginException {
-        if (server.checkIfAdminIsAlreadyLoggedIn(admin)) {
+    public Admin login(Admin admin) throws Exception {
+        admin = ServerController.getInstance().login(admin);
+
+        this.loggedAdmin = admin;
+        if (!server.login(this)) {
+            this.loggedAdmin = null;
             throw new LoginException("Већ сте пријављени");
         }
+        sessionToken = server.getSessionTokens().issue(admin);
+        return admin;
     }
 
     /**
-     * Retrieves participants by the passed condition using the
-     * {@code ServerController} instance.
+     * Resumes the session of the admin a session token was issued to, without
+     * checking the credentials in the database.
      *
-     * @return All participants by the passed condition from the database as
-     * {@code List<Participant>}.
-     * @param condition Condition used for filtering participants as
-     * {@code String}.
-     * @throws Exception When participants by the passed condition cannot be
-     * retrieved.
-     */
-    private List<Participant> getParticipantsByCondition(String condition) throws Exception {
-        List<Participant> participantsFiltered = ServerController.getInstance().getParticipantsByCondition(condition);
-        return participantsFiltered;
-    }
-
-    /**
-     * Retrieves participant by the passed ID using the {@code ServerController}
-     * instance.
+     * <p>
+     * The token is redeemed, so it can't be used again, and a new token is
+     * issued for the resumed session. The session is taken over from the
+     * connection it was resumed from.
+     * </p>
      *
-     * @param id ID used for filtering participants as {@code int}.
-     * @return Participant found by the passed condition from the database as
-     * {@code Participant}.
-     * @throws Exception When the participant cannot be retrieved.
+     * @param token Session token as {@code String}.
+     * @return The admin of the resumed session as {@code Admin}.
+     * @throws LoginException If this client is already logged in, or the
+     * token is unknown, already used or expired.
      */
-    private Participant getParticipantByID(int id) throws Exception {
-        return ServerController.getInstance().getParticipantByID(id);
+    public Admin resumeSession(String token) throws LoginException {
+        if (loggedAdmin != null) {
+            throw new LoginException("Већ сте пријављени");
+        }
+        Admin admin = server.getSessionTokens().redeem(token);
+        if (admin == null) {
+            throw new LoginException(ServerConstants.SESSION_EXPIRED_ERROR_MESSAGE);
+        }
+        this.loggedAdmin = admin;
+        server.resumeSession(this);
+        sessionToken = server.getSessionTokens().issue(admin);
+        return admin;
     }
 
     /**
-     * Retrieves all educational institutions using the {@code ServerController}
-     * instance.
+     * Sends the client a notice that the server is shutting down.
+     *
+     * <p>
+     * A notice that cannot be sent is ignored, since the connection is closed
+     * right after it anyway.
+     * </p>
      *
-     * @return All educational institutions from the database as
-     * {@code List<EducationalInstitution>}.
-     * @throws Exception When all educational institutions cannot be retrieved.
+     * @param reconnectDelay Suggested delay before reconnecting in
+     * milliseconds as {@code long}.
      */
-    private List<EducationalInstitution> getAllEducationalInstitutions() throws Exception {
-        return (List<EducationalInstitution>) ServerController.getInstance().getAllEducationalInstitutions();
+    public void sendShutdownNotice(long reconnectDelay) {
+        Response notice = new Response(null, null,
+                new ServerShutdownException(ServerConstants.SERVER_SHUTDOWN_ERROR_MESSAGE, reconnectDelay));
+        synchronized (sendLock) {
+            try {
+                Communication.getInstance().sendEncoded(connection, Communication.getInstance().encode(notice));
+            } catch (IOException ex) {
+                AsyncLogger.getInstance().warn("shutdown_notice_not_sent", "client", clientNumber, "error", ex.getMessage());
+            }
+        }
     }
 
     /**
-     * Creates the passed seminar schedule using the {@code ServerController}
-     * instance.
+     * Subscribes this client to change events of the passed entity types,
+     * replacing its previous subscription.
      *
-     * @param seminarSchedule Seminar schedule that needs to be created as
-     * {@code SeminarSchedule}.
-     * @throws Exception When seminar schedule cannot be created.
+     * @param entityTypes Entity types as {@code Set<EntityType>}, empty to
+     * unsubscribe.
      */
-    private void createSeminarSchedule(SeminarSchedule seminarSchedule) throws Exception {
-        ServerController.getInstance().createSeminarSchedule(seminarSchedule);
+    public synchronized void subscribe(Set<EntityType> entityTypes) {
+        if (entityTypes.isEmpty()) {
+            unsubscribe();
+            return;
+        }
+        if (changeSubscriber == null) {
+            changeSubscriber = new ChangeSubscriber(entityTypes, ChangeNotifier.getInstance().getQueueCapacity(), this::sendChangeEvents);
+            ChangeNotifier.getInstance().subscribe(changeSubscriber);
+        } else {
+            changeSubscriber.setEntityTypes(entityTypes);
+        }
     }
 
     /**
-     * Retrieves seminar schedules by the passed condition using the
-     * {@code ServerController} instance.
-     *
-     * @param condition Condition used for filtering seminar schedules as
-     * {@code String}.
-     * @throws Exception When seminar schedules by the passed condition cannot
-     * be retrieved.
+     * Cancels the subscription of this client to change events.
      */
-    private List<SeminarSchedule> getSeminarSchedulesByCondition(List<Object> condition) throws Exception {
-        List<SeminarSchedule> seminarSchedulesFiltered = ServerController.getInstance().getSeminarSchedulesByCondition(condition);
-        return seminarSchedulesFiltered;
+    public synchronized void unsubscribe() {
+        if (changeSubscriber != null) {
+            ChangeNotifier.getInstance().unsubscribe(changeSubscriber);
+            changeSubscriber = null;
+        }
     }
 
     /**
-     * Retrieves seminar schedule by the passed ID using the
-     * {@code ServerController} instance.
+     * Getter for changeSubscriber.
      *
-     * @param id ID used for filtering seminar schedules as {@code int}.
-     * @return All seminar schedules by the passed condition from the database
-     * as {@code List<SeminarSchedule>}.
-     * @throws Exception When the seminar schedule cannot be retrieved.
+     * @return Subscription of this client to change events as
+     * {@code ChangeSubscriber}, {@code null} if the client is not subscribed.
      */
-    private SeminarSchedule getSeminarScheduleByID(int seminarScheduleID) throws Exception {
-        return ServerController.getInstance().getSeminarScheduleByID(seminarScheduleID);
+    public synchronized ChangeSubscriber getChangeSubscriber() {
+        return changeSubscriber;
     }
 
     /**
-     * Saves the seminar schedule using the {@code ServerController} instance.
+     * Sends change events to the client in a single message, between
+     * responses.
      *
-     * @param seminarSchedule Seminar schedule as {@code SeminarSchedule} that
-     * needs to be saved.
-     * @throws Exception When the seminar schedule cannot be saved.
+     * @param events Change events as {@code List<ChangeEvent>}.
+     * @throws IOException When the events cannot be sent.
      */
-    private void saveSeminarSchedule(SeminarSchedule seminarSchedule) throws Exception {
-        ServerController.getInstance().saveSeminarSchedule(seminarSchedule);
+    private void sendChangeEvents(List<ChangeEvent> events) throws IOException {
+        Response push = new Response(new ArrayList<>(events), Operation.CHANGE_EVENT, null);
+        byte[] encoded = Communication.getInstance().encode(push);
+        synchronized (sendLock) {
+            if (connection.isClosed()) {
+                return;
+            }
+            Communication.getInstance().sendEncoded(connection, encoded);
+        }
     }
 
     /**
-     * Saves the seminar using the {@code ServerController} instance.
+     * Logs out the current client, cancels its requests being handled and
+     * closes the connection.
      *
-     * @param seminar Seminar as {@code Seminar} that needs to be saved.
-     * @throws Exception When the seminar cannot be saved.
+     * <p>
+     * The session token of the client is released, so the client can resume
+     * its session for the whole time to live of the token, counted from now.
+     * </p>
      */
-    private void saveSeminar(Seminar seminar) throws Exception {
-        ServerController.getInstance().saveSeminar(seminar);
+    public void logout() {
+        unsubscribe();
+        String token = sessionToken;
+        if (token != null) {
+            server.getSessionTokens().release(token);
+        }
+        for (RequestContext context : cancellableRequests.values()) {
+            context.cancel();
+        }
+        try {
+            server.logout(this);
+            connection.close();
+        } catch (IOException ex) {
+            Logger.getLogger(ClientHandlerThread.class.getName()).log(Level.SEVERE, null, ex);
+        }
     }
 }
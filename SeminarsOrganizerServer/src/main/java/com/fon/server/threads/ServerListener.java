@@ -0,0 +1,48 @@
+package com.fon.server.threads;
+
+import com.fon.common.domain.Admin;
+
+/**
+ * Listener of events of a running server.
+ *
+ * <p>
+ * Monitors such as {@code ServerForm} register themselves with
+ * {@code ServerThread#addServerListener}, so the server itself runs the same
+ * with or without any of them. Events are reported on the thread that caused
+ * them, so a listener must not block and must hand UI updates over to the
+ * event dispatch thread itself.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public interface ServerListener {
+
+    /**
+     * Called after an admin has logged in.
+     *
+     * @param admin Logged in admin as {@code Admin}.
+     */
+    void adminLoggedIn(Admin admin);
+
+    /**
+     * Called after an admin has logged out.
+     *
+     * @param admin Logged out admin as {@code Admin}.
+     */
+    void adminLoggedOut(Admin admin);
+
+    /**
+     * Called after a request of an admin has been throttled.
+     *
+     * @param admin Admin whose request was throttled as {@code Admin}.
+     * @param throttleCount Total number of throttled requests of the admin's
+     * session as {@code long}.
+     */
+    void adminThrottled(Admin admin, long throttleCount);
+
+    /**
+     * Called after the server has been stopped.
+     */
+    void serverStopped();
+}
@@ -5,16 +5,38 @@
 package com.fon.server.threads;
 
 import com.fon.common.domain.Admin;
+import com.fon.common.exceptions.ServerBusyException;
+import com.fon.common.intercomm.Communication;
+import com.fon.common.intercomm.Connection;
+import com.fon.common.intercomm.Response;
+import com.fon.common.logging.AsyncLogger;
+import com.fon.server.changes.ChangeLog;
+import com.fon.server.changes.ChangeNotifier;
+import com.fon.server.config.ServerConfiguration;
 import com.fon.server.constants.ServerConstants;
-import java.io.FileInputStream;
+import com.fon.server.dispatch.RequestDispatcher;
+import com.fon.server.metrics.ServerMetrics;
+import com.fon.server.ratelimit.RateLimiter;
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
-import java.util.Properties;
-import com.fon.server.forms.ServerForm;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import com.fon.server.repository.db.DbConnectionFactory;
+import com.fon.server.repository.db.QueryProfiler;
+import com.fon.server.session.SessionRegistry;
+import com.fon.server.session.SessionTokenStore;
 
 /**
  * Represents a server thread that handles client connections and logged
@@ -26,6 +48,19 @@ import java.util.LinkedList;
  * shutdown operations when required.
  * </p>
  *
+ * <p>
+ * Connections beyond the configured maximum number of sessions are rejected
+ * with a {@code ServerBusyException}, and requests of admitted connections are
+ * executed by a bounded {@code WorkerPool}.
+ * </p>
+ *
+ * <p>
+ * Requests are handled in stages, each with its own threads: the
+ * {@code ClientHandlerThread} of a connection reads and decodes its requests,
+ * the {@code WorkerPool} executes them against the database and the encoder
+ * {@code Stage} encodes and sends their responses.
+ * </p>
+ *
  * @author Aleksa
  * @since 0.0.1
  */
@@ -39,16 +74,35 @@ public class ServerThread extends Thread {
     private final ServerSocket serverSocket;
 
     /**
-     * List of client handler threads managing connected clients as
-     * {@code List<ClientHandlerThread>}.
+     * Channel accepting connections of clients on the same host over a Unix
+     * domain socket as {@code ServerSocketChannel} (read only), {@code null}
+     * if no socket path is configured.
+     */
+    private final ServerSocketChannel unixServerChannel;
+
+    /**
+     * Path of the Unix domain socket as {@code Path} (read only),
+     * {@code null} if no socket path is configured.
+     */
+    private final Path unixSocketPath;
+
+    /**
+     * Lock making the admission of connections accepted by different
+     * listeners atomic (read only).
      */
-    private List<ClientHandlerThread> clientHandlers;
+    private final Object admissionLock;
 
     /**
-     * List of client handler threads representing logged-in administrators as
-     * {@code List<ClientHandlerThread>}.
+     * Registry of connected clients and logged-in administrators as
+     * {@code SessionRegistry} (read only).
      */
-    private List<ClientHandlerThread> loggedAdminsChs;
+    private final SessionRegistry sessionRegistry;
+
+    /**
+     * Session tokens issued to logged-in admins as {@code SessionTokenStore}
+     * (read only).
+     */
+    private final SessionTokenStore sessionTokens;
 
     /**
      * Counter to track the number of connected clients as {@code int}.
@@ -56,32 +110,178 @@ public class ServerThread extends Thread {
     private int clientNumber;
 
     /**
-     * Reference to the server's form as {@code ServerForm}.
+     * Listeners of server events, such as the server's form, as
+     * {@code List<ServerListener>} (read only).
+     */
+    private final List<ServerListener> listeners;
+
+    /**
+     * Server configuration as {@code ServerConfiguration} (read only).
+     */
+    private final ServerConfiguration configuration;
+
+    /**
+     * Maximum number of simultaneous connections as {@code int} (read only).
+     */
+    private final int maxSessions;
+
+    /**
+     * Suggested delay in milliseconds sent to clients when the server is
+     * saturated as {@code long} (read only).
      */
-    private final ServerForm serverForm;
+    private final long retryAfter;
 
     /**
-     * Constructor with serverForm parameter.
+     * Bounded pool of workers executing client requests as {@code WorkerPool}
+     * (read only).
+     */
+    private final WorkerPool workerPool;
+
+    /**
+     * Stage encoding and sending responses to executed requests as
+     * {@code Stage} (read only).
+     */
+    private final Stage encoderStage;
+
+    /**
+     * Time after which a silent client is considered gone in milliseconds as
+     * {@code long} (read only).
+     */
+    private final long idleTimeout;
+
+    /**
+     * Interval of the idle connection reaper in milliseconds as {@code long}
+     * (read only).
+     */
+    private final long reaperInterval;
+
+    /**
+     * Maximum time in milliseconds requests being executed get to finish when
+     * the server is stopped as {@code long} (read only).
+     */
+    private final long drainTimeout;
+
+    /**
+     * Suggested delay in milliseconds before clients reconnect after a
+     * shutdown notice as {@code long} (read only).
+     */
+    private final long reconnectDelay;
+
+    /**
+     * Whether the server is stopping and no longer starts new requests as
+     * {@code boolean}.
+     */
+    private volatile boolean draining;
+
+    /**
+     * Runs the idle connection reaper and closes rejected connections once the
+     * client had time to read the rejection as
+     * {@code ScheduledExecutorService} (read only).
+     */
+    private final ScheduledExecutorService maintenanceScheduler;
+
+    /**
+     * Non-parametric constructor, loads server configuration from
+     * configuration file.
+     *
+     * @throws IOException If an I/O error occurs while loading configuration
+     * file or while initializing serverSocket.
+     */
+    public ServerThread() throws IOException {
+        this(ServerConfiguration.load(ServerConstants.SERVER_CONFIG_FILE_PATH));
+    }
+
+    /**
+     * Constructor with configuration parameter.
      *
      * <p>
-     * Loads server port from configuration file and initializes serverSocket
-     * using it, initializes clientHandlers and loggedAdminsChs to empty lists
-     * and initializes clientNumber to {@code 1}.
+     * Configures the levels of the logger and registers it with JMX,
+     * initializes serverSocket using the configured port, binds the Unix
+     * domain socket if its path is configured, initializes sessionRegistry
+     * and sessionTokens to empty ones, creates the worker pool, sizes the
+     * database connection pool to match it, configures the slow query log,
+     * configures rate limits of the request dispatcher and whether its
+     * database is shared with other servers, registers the operation metrics
+     * with JMX and initializes clientNumber to {@code 0}.
      * </p>
      *
-     * @param serverForm Reference to the server's form as {@code ServerForm}.
-     * @throws IOException If an I/O error occurs while loading configuration
-     * file or while initializing serverSocket.
+     * @param configuration Server configuration as {@code ServerConfiguration}.
+     * @throws IOException If an I/O error occurs while initializing
+     * serverSocket or binding the Unix domain socket.
      */
-    public ServerThread(ServerForm serverForm) throws IOException {
-        Properties properties = new Properties();
-        properties.load(new FileInputStream(ServerConstants.SERVER_CONFIG_FILE_PATH));
-        String port = properties.getProperty(ServerConstants.SERVER_CONFIG_PORT);
+    public ServerThread(ServerConfiguration configuration) throws IOException {
+        this.configuration = configuration;
+        AsyncLogger logger = AsyncLogger.getInstance();
+        logger.setLevel(configuration.getString(ServerConstants.SERVER_CONFIG_LOG_LEVEL, ServerConstants.DEFAULT_LOG_LEVEL));
+        logger.setLosslessLevel(configuration.getString(
+                ServerConstants.SERVER_CONFIG_LOG_LOSSLESS_LEVEL, ServerConstants.DEFAULT_LOG_LOSSLESS_LEVEL));
+        logger.registerMBean("com.fon.server");
+        String port = configuration.getString(ServerConstants.SERVER_CONFIG_PORT);
         serverSocket = new ServerSocket(Integer.parseInt(port));
-        clientHandlers = new LinkedList();
-        loggedAdminsChs = new LinkedList();
+        String unixPath = configuration.getString(ServerConstants.SERVER_CONFIG_UNIX_SOCKET_PATH);
+        if (unixPath == null || unixPath.isEmpty()) {
+            unixSocketPath = null;
+            unixServerChannel = null;
+        } else {
+            unixSocketPath = Path.of(unixPath);
+            unixServerChannel = openUnixServerChannel(unixSocketPath);
+        }
+        admissionLock = new Object();
+        sessionRegistry = new SessionRegistry();
+        sessionTokens = new SessionTokenStore(configuration.getLong(
+                ServerConstants.SERVER_CONFIG_SESSION_TOKEN_TTL, ServerConstants.DEFAULT_SESSION_TOKEN_TTL));
         clientNumber = 0;
-        this.serverForm = serverForm;
+        listeners = new CopyOnWriteArrayList<>();
+        maxSessions = configuration.getInt(ServerConstants.SERVER_CONFIG_MAX_SESSIONS, ServerConstants.DEFAULT_MAX_SESSIONS);
+        retryAfter = configuration.getLong(ServerConstants.SERVER_CONFIG_RETRY_AFTER, ServerConstants.DEFAULT_RETRY_AFTER);
+        int workerThreads = configuration.getInt(ServerConstants.SERVER_CONFIG_WORKER_THREADS, ServerConstants.DEFAULT_WORKER_THREADS);
+        workerPool = WorkerPool.fromConfiguration(configuration);
+        encoderStage = new Stage("encoder",
+                configuration.getInt(ServerConstants.SERVER_CONFIG_ENCODER_THREADS, ServerConstants.DEFAULT_ENCODER_THREADS),
+                configuration.getInt(ServerConstants.SERVER_CONFIG_ENCODER_QUEUE_CAPACITY, ServerConstants.DEFAULT_ENCODER_QUEUE_CAPACITY));
+        DbConnectionFactory.getInstance().configurePool(workerThreads);
+        String slowQueryLog = configuration.getString(ServerConstants.SERVER_CONFIG_SLOW_QUERY_LOG);
+        QueryProfiler.getInstance().configure(
+                configuration.getLong(ServerConstants.SERVER_CONFIG_SLOW_QUERY_THRESHOLD, ServerConstants.DEFAULT_SLOW_QUERY_THRESHOLD),
+                configuration.getBoolean(ServerConstants.SERVER_CONFIG_SLOW_QUERY_EXPLAIN, false),
+                Path.of(slowQueryLog == null || slowQueryLog.isEmpty() ? ServerConstants.DEFAULT_SLOW_QUERY_LOG : slowQueryLog));
+        RequestDispatcher.getInstance().setRateLimiter(RateLimiter.fromConfiguration(configuration));
+        RequestDispatcher.getInstance().setSharedDatabase(configuration.getBoolean(ServerConstants.SERVER_CONFIG_SHARED_DATABASE, false));
+        ServerMetrics.getInstance().registerMBeans();
+        ChangeNotifier.getInstance().setQueueCapacity(configuration.getInt(
+                ServerConstants.SERVER_CONFIG_CHANGE_EVENT_QUEUE_CAPACITY, ServerConstants.DEFAULT_CHANGE_EVENT_QUEUE_CAPACITY));
+        ChangeLog.getInstance().setCapacity(configuration.getInt(
+                ServerConstants.SERVER_CONFIG_CHANGE_LOG_CAPACITY, ServerConstants.DEFAULT_CHANGE_LOG_CAPACITY));
+        idleTimeout = configuration.getLong(ServerConstants.SERVER_CONFIG_IDLE_TIMEOUT, ServerConstants.DEFAULT_IDLE_TIMEOUT);
+        reaperInterval = configuration.getLong(ServerConstants.SERVER_CONFIG_REAPER_INTERVAL, ServerConstants.DEFAULT_REAPER_INTERVAL);
+        drainTimeout = configuration.getLong(ServerConstants.SERVER_CONFIG_DRAIN_TIMEOUT, ServerConstants.DEFAULT_DRAIN_TIMEOUT);
+        reconnectDelay = configuration.getLong(ServerConstants.SERVER_CONFIG_RECONNECT_DELAY, ServerConstants.DEFAULT_RECONNECT_DELAY);
+        maintenanceScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread maintenance = new Thread(runnable, "server-maintenance");
+            maintenance.setDaemon(true);
+            return maintenance;
+        });
+    }
+
+    /**
+     * Binds a Unix domain socket, removing the socket file left behind by a
+     * server that was not stopped cleanly.
+     *
+     * @param path Path of the socket as {@code Path}.
+     * @return Bound channel as {@code ServerSocketChannel}.
+     * @throws IOException If the socket cannot be bound.
+     */
+    private ServerSocketChannel openUnixServerChannel(Path path) throws IOException {
+        Files.deleteIfExists(path);
+        ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        try {
+            channel.bind(UnixDomainSocketAddress.of(path));
+        } catch (IOException ex) {
+            channel.close();
+            serverSocket.close();
+            throw ex;
+        }
+        return channel;
     }
 
     /**
@@ -95,43 +295,100 @@ public class ServerThread extends Thread {
     }
 
     /**
-     * Getter for clientHandlers.
+     * Getter for sessionRegistry.
+     *
+     * @return Registry of connected clients and logged-in administrators as
+     * {@code SessionRegistry}.
+     */
+    public SessionRegistry getSessionRegistry() {
+        return sessionRegistry;
+    }
+
+    /**
+     * Getter for sessionTokens.
+     *
+     * @return Session tokens issued to logged-in admins as
+     * {@code SessionTokenStore}.
+     */
+    public SessionTokenStore getSessionTokens() {
+        return sessionTokens;
+    }
+
+    /**
+     * Registers a listener of server events.
+     *
+     * @param listener Listener as {@code ServerListener}.
+     */
+    public void addServerListener(ServerListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener of server events.
+     *
+     * @param listener Listener as {@code ServerListener}.
+     */
+    public void removeServerListener(ServerListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Getter for configuration.
+     *
+     * @return Server configuration as {@code ServerConfiguration}.
+     */
+    public ServerConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * Getter for workerPool.
+     *
+     * @return Bounded pool of workers executing client requests as
+     * {@code WorkerPool}.
+     */
+    public WorkerPool getWorkerPool() {
+        return workerPool;
+    }
+
+    /**
+     * Getter for encoderStage.
      *
-     * @return List of client handler threads managing connected clients as
-     * {@code List<ClientHandlerThread>}.
+     * @return Stage encoding and sending responses to executed requests as
+     * {@code Stage}.
      */
-    public List<ClientHandlerThread> getClientHandlers() {
-        return clientHandlers;
+    public Stage getEncoderStage() {
+        return encoderStage;
     }
 
     /**
-     * Setter for clientHandlers.
+     * Getter for retryAfter.
      *
-     * @param clientHandlers List of client handler threads managing connected
-     * clients as {@code List<ClientHandlerThread>}.
+     * @return Suggested delay in milliseconds sent to clients when the server
+     * is saturated as {@code long}.
      */
-    public void setClientHandlers(List<ClientHandlerThread> clientHandlers) {
-        this.clientHandlers = clientHandlers;
+    public long getRetryAfter() {
+        return retryAfter;
     }
 
     /**
-     * Getter for loggedAdminsChs.
+     * Getter for reconnectDelay.
      *
-     * @return List of client handler threads representing logged-in
-     * administrators as {@code List<ClientHandlerThread>}.
+     * @return Suggested delay in milliseconds before clients reconnect after a
+     * shutdown notice as {@code long}.
      */
-    public List<ClientHandlerThread> getLoggedAdmins() {
-        return loggedAdminsChs;
+    public long getReconnectDelay() {
+        return reconnectDelay;
     }
 
     /**
-     * Setter for loggedAdminsChs.
+     * Checks if the server is draining.
      *
-     * @param loggedAdmins List of client handler threads representing logged-in
-     * administrators as {@code List<ClientHandlerThread>}.
+     * @return {@code true} if the server is stopping and no longer starts new
+     * requests, otherwise {@code false}.
      */
-    public void setLoggedAdmins(List<ClientHandlerThread> loggedAdmins) {
-        this.loggedAdminsChs = loggedAdmins;
+    public boolean isDraining() {
+        return draining;
     }
 
     /**
@@ -146,56 +403,239 @@ public class ServerThread extends Thread {
      *
      * <p>
      * Upon accepting a client connection, it increments the client number and
-     * adds a new {@code ClientHandlerThread} to the list of client handlers to
-     * manage the connected client. This method runs in a loop until the server
-     * socket is closed, at which point it finalizes its operations.
+     * registers a new {@code ClientHandlerThread} in the session registry to
+     * manage the connected client. If the maximum number of sessions is
+     * reached, the connection is rejected instead. This method runs in a loop
+     * until the server socket is closed, at which point it finalizes its
+     * operations.
+     * </p>
+     *
+     * <p>
+     * If a Unix domain socket is configured, its connections are accepted by
+     * a separate listener thread and admitted the same way.
+     * </p>
+     *
+     * <p>
+     * Reads of every TCP connection time out after the idle timeout, and the
+     * idle connection reaper is scheduled to run on the configured interval.
+     * Reads of Unix domain socket connections can't time out, so idle clients
+     * connected that way are logged out by the reaper alone. Expired session
+     * tokens are purged on the same interval.
      * </p>
      */
     @Override
     public void run() {
-        System.out.println("Server thread has started");
+        AsyncLogger.getInstance().info("server_thread_started", "port", serverSocket.getLocalPort());
+        maintenanceScheduler.scheduleWithFixedDelay(this::reapIdleConnections, reaperInterval, reaperInterval, TimeUnit.MILLISECONDS);
+        maintenanceScheduler.scheduleWithFixedDelay(sessionTokens::purgeExpired, reaperInterval, reaperInterval, TimeUnit.MILLISECONDS);
+        if (unixServerChannel != null) {
+            Thread unixListener = new Thread(this::acceptUnixConnections, "unix-listener");
+            unixListener.setDaemon(true);
+            unixListener.start();
+        }
         try {
             while (!serverSocket.isClosed()) {
-                System.out.println("Waiting for clients...");
+                AsyncLogger.getInstance().debug("waiting_for_clients");
                 Socket socket = serverSocket.accept();
-                System.out.println("Client " + clientNumber + " has connected ");
-                ClientHandlerThread ch = new ClientHandlerThread(this, socket, clientNumber);
-                clientHandlers.add(ch);
-                ch.start();
-                clientNumber++;
+                socket.setSoTimeout((int) Math.min(Integer.MAX_VALUE, idleTimeout));
+                admitConnection(Connection.of(socket));
+            }
+        } catch (IOException e) {
+        }
+        AsyncLogger.getInstance().info("server_thread_finished");
+    }
+
+    /**
+     * Accepts connections over the Unix domain socket until it is closed.
+     */
+    private void acceptUnixConnections() {
+        AsyncLogger.getInstance().info("unix_listener_started", "path", unixSocketPath);
+        try {
+            while (unixServerChannel.isOpen()) {
+                SocketChannel channel = unixServerChannel.accept();
+                admitConnection(Connection.of(channel));
             }
         } catch (IOException e) {
         }
-        System.out.println("Server thread has finished");
+        AsyncLogger.getInstance().info("unix_listener_finished");
+    }
+
+    /**
+     * Starts a client handler for an accepted connection, or rejects it if
+     * the maximum number of sessions is reached.
+     *
+     * @param connection Accepted connection as {@code Connection}.
+     */
+    private void admitConnection(Connection connection) {
+        synchronized (admissionLock) {
+            if (sessionRegistry.getConnectionCount() >= maxSessions) {
+                rejectConnection(connection);
+                return;
+            }
+            AsyncLogger.getInstance().info("client_connected", "client", clientNumber);
+            ClientHandlerThread ch = new ClientHandlerThread(this, connection, clientNumber);
+            sessionRegistry.addConnection(ch);
+            ch.start();
+            clientNumber++;
+        }
     }
 
     /**
-     * Stops the server, logging out all clients and closing the server socket.
+     * Rejects a connection because the maximum number of sessions is reached.
+     *
+     * <p>
+     * The rejection is sent right away, but the socket is closed only after a
+     * delay, so the client can send its first request and read the rejection
+     * instead of having the connection reset.
+     * </p>
+     *
+     * @param connection The rejected connection as {@code Connection}.
+     */
+    private void rejectConnection(Connection connection) {
+        AsyncLogger.getInstance().warn("connection_rejected", "max_sessions", maxSessions);
+        try {
+            Response response = new Response(null, null,
+                    new ServerBusyException(ServerConstants.SERVER_BUSY_ERROR_MESSAGE, retryAfter, true));
+            Communication.getInstance().send(connection, response);
+            connection.shutdownOutput();
+        } catch (IOException ex) {
+            Logger.getLogger(ServerThread.class.getName()).log(Level.SEVERE, null, ex);
+        }
+        maintenanceScheduler.schedule(() -> {
+            try {
+                connection.close();
+            } catch (IOException ex) {
+                Logger.getLogger(ServerThread.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }, Math.max(retryAfter, 1000), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Logs out every client that has been idle for longer than the idle
+     * timeout or whose socket is already closed.
+     *
+     * <p>
+     * Read timeouts already end client handlers blocked on a read. The reaper
+     * also catches handlers blocked on a write to a dead client, since closing
+     * the socket unblocks the write, and releases the session of the admin so
+     * that the admin can log in again.
+     * </p>
+     */
+    private void reapIdleConnections() {
+        long now = System.nanoTime();
+        long idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeout);
+        for (ClientHandlerThread ch : sessionRegistry.getConnections()) {
+            if (ch.getConnection().isClosed() || ch.isIdle(now, idleTimeoutNanos)) {
+                AsyncLogger.getInstance().info("client_reaped", "client", ch.getClientNumber());
+                ch.logout();
+            }
+        }
+    }
+
+    /**
+     * Stops the server by draining it.
+     *
+     * <p>
+     * The server socket and the Unix domain socket are closed first, so no new
+     * connections are accepted, and no new requests are started. Requests already being executed get up
+     * to the drain timeout to finish, then every client is sent a shutdown
+     * notice and logged out. Clients still executing a request after the
+     * deadline are logged out without a notice, since their request may still
+     * commit. Finally the worker pool and then the encoder stage are shut
+     * down once their remaining requests finish and idle database connections
+     * are closed. Stopping a server that
+     * is already stopping does nothing.
+     * </p>
      *
      * @throws IOException If an I/O error occurs while closing the server
      * socket.
      */
-    public void stopServer() throws IOException {
-        logoutClients();
+    public synchronized void stopServer() throws IOException {
+        if (draining) {
+            return;
+        }
+        draining = true;
         serverSocket.close();
+        closeUnixServerChannel();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(drainTimeout);
+
+        try {
+            awaitRequestsInProgress(deadline);
+            logoutClients();
+            workerPool.shutdown();
+            boolean terminated = workerPool.awaitTermination(Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            encoderStage.shutdown();
+            terminated = encoderStage.awaitTermination(Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()))) && terminated;
+            if (!terminated) {
+                AsyncLogger.getInstance().warn("drain_timeout_elapsed", "drain_timeout_ms", drainTimeout);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            Logger.getLogger(ServerThread.class.getName()).log(Level.SEVERE, null, ex);
+        } finally {
+            maintenanceScheduler.shutdownNow();
+            DbConnectionFactory.getInstance().closeIdleConnections();
+            for (ServerListener listener : listeners) {
+                listener.serverStopped();
+            }
+        }
+    }
+
+    /**
+     * Closes the Unix domain socket, if there is one, and removes its socket
+     * file.
+     */
+    private void closeUnixServerChannel() {
+        if (unixServerChannel == null) {
+            return;
+        }
+        try {
+            unixServerChannel.close();
+            Files.deleteIfExists(unixSocketPath);
+        } catch (IOException ex) {
+            Logger.getLogger(ServerThread.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    /**
+     * Waits until no client has a request in progress or the deadline passes.
+     *
+     * @param deadline Deadline in nanoseconds, as returned by
+     * {@code System.nanoTime()}, as {@code long}.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    private void awaitRequestsInProgress(long deadline) throws InterruptedException {
+        while (System.nanoTime() < deadline) {
+            boolean inProgress = false;
+            for (ClientHandlerThread ch : sessionRegistry.getConnections()) {
+                if (ch.isHandlingRequest()) {
+                    inProgress = true;
+                    break;
+                }
+            }
+            if (!inProgress) {
+                return;
+            }
+            Thread.sleep(50);
+        }
     }
 
     /**
      * Logs out all connected clients.
      *
      * <p>
-     * This method iterates through the list of {@code ClientHandlerThread}s
-     * managing connected clients. For each client handler thread found, it
-     * invokes the {@code ClientHandlerThread#logout()} method to perform the
-     * logout process for the associated client.
+     * This method iterates through the {@code ClientHandlerThread}s managing
+     * connected clients without locking the registry. Every client without a
+     * request in progress is sent a shutdown notice first. Then it invokes the
+     * {@code ClientHandlerThread#logout()} method to perform the logout process
+     * for the associated client, which also removes it from the registry.
      * </p>
      */
     private void logoutClients() {
-        Iterator<ClientHandlerThread> iter = clientHandlers.iterator();
-
-        while (iter.hasNext()) {
-            ClientHandlerThread ch = iter.next();
-            iter.remove();
+        for (ClientHandlerThread ch : sessionRegistry.getConnections()) {
+            if (!ch.isHandlingRequest()) {
+                ch.sendShutdownNotice(reconnectDelay);
+            }
             ch.logout();
         }
     }
@@ -213,51 +653,101 @@ public class ServerThread extends Thread {
     }
 
     /**
-     * Removes specific client handler from the clientHandlers list.
+     * Removes specific client handler from the session registry.
      *
      * @param pr Specific {@code ClientHandlerThread} that needs to be removed.
      */
     private void removeClientHandler(ClientHandlerThread pr) {
-        clientHandlers.remove(pr);
+        sessionRegistry.removeConnection(pr);
     }
 
     /**
      * Handles event of admin's login successfully.
      *
      * <p>
-     * Updates list of logged admins by adding current client handler thread and
-     * adds logged admin to the table displaying online admins on the server
-     * form.
+     * Atomically registers the session of the current client handler thread
+     * unless the admin is already logged in, and on success notifies server
+     * listeners that the admin has logged in.
      * </p>
      *
      * @param ch Thread handling the client who wants to log in as
      * {@code ClientHandlerThread}.
+     * @return {@code true} if the admin has logged in, {@code false} if the
+     * admin is already logged in.
      */
-    public void login(ClientHandlerThread ch) {
-        System.out.println("Admin '" + ch.getLoggedAdmin().getFullName() + "' has logged in");
-        loggedAdminsChs.add(ch);
+    public boolean login(ClientHandlerThread ch) {
+        if (!sessionRegistry.login(ch)) {
+            return false;
+        }
         Admin loggedInAdmin = ch.getLoggedAdmin();
-        serverForm.addAdminToTable(loggedInAdmin);
+        AsyncLogger.getInstance().info("admin_logged_in", "admin", loggedInAdmin.getFullName(), "client", ch.getClientNumber());
+        for (ServerListener listener : listeners) {
+            listener.adminLoggedIn(loggedInAdmin);
+        }
+        return true;
+    }
+
+    /**
+     * Handles event of a session resumed with a session token.
+     *
+     * <p>
+     * Registers the session of the current client handler thread, taking it
+     * over from the handler that had it. That handler belongs to the lost
+     * connection of the same client, which the server may not have noticed
+     * yet, so it is logged out. Server listeners are notified only if the
+     * admin had no session, since otherwise the admin never logged out.
+     * </p>
+     *
+     * @param ch Thread handling the client that resumed the session as
+     * {@code ClientHandlerThread}.
+     */
+    public void resumeSession(ClientHandlerThread ch) {
+        ClientHandlerThread previous = sessionRegistry.resume(ch);
+        Admin resumedAdmin = ch.getLoggedAdmin();
+        AsyncLogger.getInstance().info("session_resumed", "admin", resumedAdmin.getFullName(), "client", ch.getClientNumber());
+        if (previous == null) {
+            for (ServerListener listener : listeners) {
+                listener.adminLoggedIn(resumedAdmin);
+            }
+        } else if (previous != ch) {
+            previous.logout();
+        }
     }
 
     /**
      * Handles event of admin's logout successfully.
      *
      * <p>
-     * Updates list of logged admins by removing current client handler thread
-     * and removes logged admin from the table displaying online admins on the
-     * server form.
+     * Removes the session of the current client handler thread from the
+     * registry and notifies server listeners that the admin has logged out.
      * </p>
      *
      * @param ch Thread handling the client who wants to log out as
      * {@code ClientHandlerThread}.
      */
     public void removeAdminFromLoggedAdmins(ClientHandlerThread ch) {
-        if (loggedAdminsChs.contains(ch)) {
+        if (sessionRegistry.logout(ch)) {
             Admin loggedOutAdmin = ch.getLoggedAdmin();
-            System.out.println("Admin '" + loggedOutAdmin.getFullName() + "' has logged out");
-            loggedAdminsChs.remove(ch);
-            serverForm.removeAdminFromTable(loggedOutAdmin);
+            AsyncLogger.getInstance().info("admin_logged_out", "admin", loggedOutAdmin.getFullName(), "client", ch.getClientNumber());
+            for (ServerListener listener : listeners) {
+                listener.adminLoggedOut(loggedOutAdmin);
+            }
+        }
+    }
+
+    /**
+     * Handles event of a throttled request by notifying server listeners of
+     * the new throttle count of the logged admin.
+     *
+     * @param ch Thread handling the client whose request was throttled as
+     * {@code ClientHandlerThread}.
+     */
+    public void throttled(ClientHandlerThread ch) {
+        Admin admin = ch.getLoggedAdmin();
+        if (admin != null) {
+            for (ServerListener listener : listeners) {
+                listener.adminThrottled(admin, ch.getThrottledCount());
+            }
         }
     }
 
@@ -265,8 +755,7 @@ public class ServerThread extends Thread {
      * Checks if an admin is already logged in.
      *
      * <p>
-     * It extracts all {@code Admin}s from loggedAdminsChs and checks if an
-     * admin is in the list of all logged admins.
+     * It is an O(1) lookup in the session registry by admin ID.
      * </p>
      *
      * @param admin Admin that needs to be checked if he is already logged in.
@@ -274,9 +763,6 @@ public class ServerThread extends Thread {
      * {@code false}.
      */
     public boolean checkIfAdminIsAlreadyLoggedIn(Admin admin) {
-        List<Admin> loggedAdmins = new LinkedList();
-        loggedAdminsChs.forEach(x -> loggedAdmins.add(x.getLoggedAdmin()));
-
-        return loggedAdmins.contains(admin);
+        return sessionRegistry.isLoggedIn(admin);
     }
 }
@@ -0,0 +1,165 @@
+package com.fon.server.threads;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stage of request handling with its own bounded queue and pool of threads.
+ *
+ * <p>
+ * Stages are sized independently of each other, so CPU-bound work such as
+ * encoding responses doesn't compete for threads with the database-bound work
+ * of the {@code WorkerPool}. Like the worker pool, a stage whose queue is full
+ * rejects a task immediately instead of letting it wait indefinitely.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class Stage {
+
+    /**
+     * Name of the stage as {@code String} (read only).
+     */
+    private final String name;
+
+    /**
+     * Executor with a fixed number of threads and a bounded queue as
+     * {@code ThreadPoolExecutor} (read only).
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Service time metrics of the stage as {@code StageMetrics} (read only).
+     */
+    private final StageMetrics metrics;
+
+    /**
+     * Number of rejected tasks as {@code LongAdder} (read only).
+     */
+    private final LongAdder rejected;
+
+    /**
+     * Constructor with all parameters.
+     *
+     * @param name Name of the stage, also used for its threads, as
+     * {@code String}.
+     * @param threads Number of threads as {@code int}.
+     * @param queueCapacity Maximum number of tasks waiting for a thread as
+     * {@code int}.
+     */
+    public Stage(String name, int threads, int queueCapacity) {
+        this.name = name;
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        metrics = new StageMetrics();
+        rejected = new LongAdder();
+    }
+
+    /**
+     * Getter for name.
+     *
+     * @return Name of the stage as {@code String}.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Getter for metrics.
+     *
+     * @return Service time metrics of the stage as {@code StageMetrics}.
+     */
+    public StageMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Executes a task on a thread of the stage without waiting for it.
+     *
+     * @param task Task that needs to be executed as {@code Runnable}.
+     * @throws RejectedExecutionException If all threads are busy and the queue
+     * is full, or the stage is shut down.
+     */
+    public void submit(Runnable task) {
+        try {
+            executor.execute(() -> {
+                long start = System.nanoTime();
+                try {
+                    task.run();
+                } finally {
+                    metrics.record(System.nanoTime() - start);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw ex;
+        }
+    }
+
+    /**
+     * Starts all threads in advance, instead of on the first tasks.
+     *
+     * @return Number of started threads as {@code int}.
+     */
+    public int prestart() {
+        return executor.prestartAllCoreThreads();
+    }
+
+    /**
+     * Returns the number of tasks currently waiting for a thread.
+     *
+     * @return Number of queued tasks as {@code int}.
+     */
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Returns the number of threads currently executing a task.
+     *
+     * @return Number of active threads as {@code int}.
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Returns the number of tasks rejected because the stage was saturated.
+     *
+     * @return Number of rejected tasks as {@code long}.
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Stops accepting tasks. Tasks already admitted are still executed.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Waits for admitted tasks to finish after {@code shutdown}.
+     *
+     * @param timeout Maximum time to wait in milliseconds as {@code long}.
+     * @return {@code true} if all tasks have finished, {@code false} if the
+     * timeout elapsed first.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public boolean awaitTermination(long timeout) throws InterruptedException {
+        return executor.awaitTermination(timeout, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,86 @@
+package com.fon.server.threads;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service time metrics of a stage of request handling.
+ *
+ * <p>
+ * The service time of a task is the time a thread of the stage spent
+ * executing it, without the time it waited in the queue of the stage.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class StageMetrics {
+
+    /**
+     * Number of completed tasks as {@code LongAdder} (read only).
+     */
+    private final LongAdder completed;
+
+    /**
+     * Total service time of completed tasks in nanoseconds as
+     * {@code LongAdder} (read only).
+     */
+    private final LongAdder totalServiceTime;
+
+    /**
+     * Longest service time of a completed task in nanoseconds as
+     * {@code AtomicLong} (read only).
+     */
+    private final AtomicLong maxServiceTime;
+
+    /**
+     * Non-parametric constructor, initializes all metrics to {@code 0}.
+     */
+    public StageMetrics() {
+        completed = new LongAdder();
+        totalServiceTime = new LongAdder();
+        maxServiceTime = new AtomicLong();
+    }
+
+    /**
+     * Records a completed task.
+     *
+     * @param serviceTime Service time of the task in nanoseconds as
+     * {@code long}.
+     */
+    public void record(long serviceTime) {
+        completed.increment();
+        totalServiceTime.add(serviceTime);
+        maxServiceTime.accumulateAndGet(serviceTime, Math::max);
+    }
+
+    /**
+     * Returns the number of completed tasks.
+     *
+     * @return Number of completed tasks as {@code long}.
+     */
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    /**
+     * Returns the average service time of completed tasks.
+     *
+     * @return Average service time in milliseconds as {@code double},
+     * {@code 0} if no task has completed.
+     */
+    public double getAverageServiceTime() {
+        long count = completed.sum();
+        return count == 0 ? 0 : totalServiceTime.sum() / (double) count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Returns the longest service time of a completed task.
+     *
+     * @return Longest service time in milliseconds as {@code double}.
+     */
+    public double getMaxServiceTime() {
+        return maxServiceTime.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
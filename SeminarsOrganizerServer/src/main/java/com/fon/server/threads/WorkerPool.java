@@ -0,0 +1,584 @@
+package com.fon.server.threads;
+
+import com.fon.server.config.ServerConfiguration;
+import com.fon.server.constants.ServerConstants;
+import com.fon.server.dispatch.Lane;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded pool of worker threads executing client requests.
+ *
+ * <p>
+ * Client handler threads only read requests; the requests themselves, and
+ * with them every database access, are executed and answered by a fixed
+ * number of workers. Requests wait for a worker in a bounded queue, and once
+ * the queue is full a request is rejected immediately instead of waiting
+ * indefinitely, which keeps the latency of admitted requests bounded.
+ * </p>
+ *
+ * <p>
+ * Every {@code Lane} has its own queue. A free worker takes the next request
+ * from the lanes with waiting requests by smooth weighted round robin, so
+ * while several lanes are busy each gets workers in proportion to its weight,
+ * and a lane without competition gets all of them. A lane may also be limited
+ * to fewer workers than the pool has. Every worker holds its own database
+ * connection while it executes a request, so that limit is the connection
+ * quota of the lane, and the workers it leaves free stay available to the
+ * other lanes.
+ * </p>
+ *
+ * @author Aleksa
+ * @since 0.0.1
+ */
+public class WorkerPool {
+
+    /**
+     * Number of worker threads as {@code int} (read only).
+     */
+    private final int threads;
+
+    /**
+     * Queues of the lanes as {@code Map<Lane, LaneQueue>} (read only).
+     */
+    private final Map<Lane, LaneQueue> lanes;
+
+    /**
+     * Lock guarding the queues and the state of the workers (read only).
+     */
+    private final Object lock;
+
+    /**
+     * Number of started worker threads as {@code int}.
+     */
+    private int startedWorkers;
+
+    /**
+     * Number of worker threads that have not finished as {@code int}.
+     */
+    private int liveWorkers;
+
+    /**
+     * Number of workers executing a request as {@code int}.
+     */
+    private int activeWorkers;
+
+    /**
+     * Whether the pool stopped accepting requests as {@code boolean}.
+     */
+    private boolean shutdown;
+
+    /**
+     * Service time metrics of the pool as {@code StageMetrics} (read only).
+     */
+    private final StageMetrics metrics;
+
+    /**
+     * Constructor of a pool whose lanes have their default weights and may
+     * use all workers.
+     *
+     * @param threads Number of worker threads as {@code int}.
+     * @param queueCapacity Maximum number of requests waiting for a worker in
+     * every lane as {@code int}.
+     */
+    public WorkerPool(int threads, int queueCapacity) {
+        this(threads, queueCapacity, Collections.emptyMap());
+    }
+
+    /**
+     * Constructor with all parameters.
+     *
+     * @param threads Number of worker threads as {@code int}.
+     * @param queueCapacity Maximum number of requests waiting for a worker in
+     * every lane as {@code int}.
+     * @param limits Limits of the lanes as {@code Map<Lane, LaneLimit>},
+     * lanes without a limit have their default weight and may use all
+     * workers.
+     */
+    public WorkerPool(int threads, int queueCapacity, Map<Lane, LaneLimit> limits) {
+        this.threads = threads;
+        this.lock = new Object();
+        this.metrics = new StageMetrics();
+        this.lanes = new EnumMap<>(Lane.class);
+        for (Lane lane : Lane.values()) {
+            LaneLimit limit = limits.get(lane);
+            if (limit == null) {
+                limit = new LaneLimit(lane.getDefaultWeight(), threads);
+            }
+            lanes.put(lane, new LaneQueue(queueCapacity, limit));
+        }
+    }
+
+    /**
+     * Creates a worker pool with the size and lane limits from the server
+     * configuration.
+     *
+     * <p>
+     * Lanes are configured as {@code lane.<LANE>.weight} and
+     * {@code lane.<LANE>.max_workers}. By default the bulk lane may use all
+     * workers but a quarter of them, which stay reserved for interactive
+     * requests.
+     * </p>
+     *
+     * @param configuration Server configuration as
+     * {@code ServerConfiguration}.
+     * @return Worker pool as {@code WorkerPool}.
+     * @throws IllegalArgumentException If a configured limit is not positive.
+     */
+    public static WorkerPool fromConfiguration(ServerConfiguration configuration) {
+        int threads = configuration.getInt(ServerConstants.SERVER_CONFIG_WORKER_THREADS, ServerConstants.DEFAULT_WORKER_THREADS);
+        int queueCapacity = configuration.getInt(ServerConstants.SERVER_CONFIG_WORKER_QUEUE_CAPACITY, ServerConstants.DEFAULT_WORKER_QUEUE_CAPACITY);
+
+        Map<Lane, LaneLimit> limits = new EnumMap<>(Lane.class);
+        for (Lane lane : Lane.values()) {
+            int defaultMaxWorkers = lane == Lane.BULK ? Math.max(1, threads - Math.max(1, threads / 4)) : threads;
+            String prefix = ServerConstants.SERVER_CONFIG_LANE_PREFIX + lane.name();
+            int weight = configuration.getInt(prefix + ServerConstants.SERVER_CONFIG_LANE_WEIGHT_SUFFIX, lane.getDefaultWeight());
+            int maxWorkers = configuration.getInt(prefix + ServerConstants.SERVER_CONFIG_LANE_MAX_WORKERS_SUFFIX, defaultMaxWorkers);
+            limits.put(lane, new LaneLimit(weight, Math.min(maxWorkers, threads)));
+        }
+        return new WorkerPool(threads, queueCapacity, limits);
+    }
+
+    /**
+     * Executes a task on a worker of the interactive lane and waits for its
+     * result.
+     *
+     * @param <T> Type of the result.
+     * @param task Task that needs to be executed as {@code Callable<T>}.
+     * @return Result of the task as {@code T}.
+     * @throws RejectedExecutionException If the queue of the lane is full, or
+     * the pool is shut down.
+     * @throws Exception Exception thrown by the task.
+     */
+    public <T> T execute(Callable<T> task) throws Exception {
+        return execute(Lane.INTERACTIVE, task);
+    }
+
+    /**
+     * Executes a task on a worker and waits for its result.
+     *
+     * @param <T> Type of the result.
+     * @param lane Lane of the task as {@code Lane}.
+     * @param task Task that needs to be executed as {@code Callable<T>}.
+     * @return Result of the task as {@code T}.
+     * @throws RejectedExecutionException If the queue of the lane is full, or
+     * the pool is shut down.
+     * @throws Exception Exception thrown by the task.
+     */
+    public <T> T execute(Lane lane, Callable<T> task) throws Exception {
+        FutureTask<T> future = new FutureTask<>(task);
+        submit(lane, future);
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Executes a task on a worker of the interactive lane without waiting for
+     * it.
+     *
+     * @param task Task that needs to be executed as {@code Runnable}.
+     * @throws RejectedExecutionException If the queue of the lane is full, or
+     * the pool is shut down.
+     */
+    public void submit(Runnable task) {
+        submit(Lane.INTERACTIVE, task);
+    }
+
+    /**
+     * Executes a task on a worker without waiting for it.
+     *
+     * <p>
+     * Until all workers are started, every task starts a new worker, which
+     * executes it right away if the lane is below its limit.
+     * </p>
+     *
+     * @param lane Lane of the task as {@code Lane}.
+     * @param task Task that needs to be executed as {@code Runnable}.
+     * @throws RejectedExecutionException If the queue of the lane is full, or
+     * the pool is shut down.
+     */
+    public void submit(Lane lane, Runnable task) {
+        LaneQueue queue = lanes.get(lane);
+        synchronized (lock) {
+            if (!shutdown && startedWorkers < threads && queue.active < queue.limit.maxWorkers) {
+                queue.active++;
+                activeWorkers++;
+                startWorker(queue, task);
+                return;
+            }
+            if (shutdown || queue.tasks.size() >= queue.capacity) {
+                queue.rejected.increment();
+                throw new RejectedExecutionException("Queue of the " + lane + " lane is full");
+            }
+            queue.tasks.add(task);
+            if (startedWorkers < threads) {
+                startWorker(null, null);
+            }
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Starts all worker threads in advance, instead of on the first requests.
+     *
+     * @return Number of started worker threads as {@code int}.
+     */
+    public int prestart() {
+        synchronized (lock) {
+            int started = 0;
+            while (!shutdown && startedWorkers < threads) {
+                startWorker(null, null);
+                started++;
+            }
+            return started;
+        }
+    }
+
+    /**
+     * Starts a new worker thread. Must be called while holding the lock.
+     *
+     * @param queue Lane of the first task as {@code LaneQueue}, {@code null}
+     * if the worker has none.
+     * @param firstTask Task the worker executes first, already counted as
+     * active, as {@code Runnable}, {@code null} if the worker has none.
+     */
+    private void startWorker(LaneQueue queue, Runnable firstTask) {
+        Thread worker = new Thread(() -> runWorker(queue, firstTask), "worker-" + startedWorkers);
+        worker.setDaemon(true);
+        startedWorkers++;
+        liveWorkers++;
+        worker.start();
+    }
+
+    /**
+     * Executes tasks until the pool is shut down and all queues are empty.
+     *
+     * @param firstQueue Lane of the first task as {@code LaneQueue},
+     * {@code null} if the worker has none.
+     * @param firstTask Task executed first as {@code Runnable}, {@code null}
+     * if the worker has none.
+     */
+    private void runWorker(LaneQueue firstQueue, Runnable firstTask) {
+        LaneQueue queue = firstQueue;
+        Runnable task = firstTask;
+        try {
+            while (true) {
+                if (task != null) {
+                    long start = System.nanoTime();
+                    try {
+                        task.run();
+                    } catch (RuntimeException ex) {
+                        Logger.getLogger(WorkerPool.class.getName()).log(Level.SEVERE, null, ex);
+                    } finally {
+                        metrics.record(System.nanoTime() - start);
+                    }
+                }
+                synchronized (lock) {
+                    if (task != null) {
+                        queue.active--;
+                        activeWorkers--;
+                        task = null;
+                        lock.notifyAll();
+                    }
+                    while (task == null) {
+                        queue = selectLane();
+                        if (queue != null) {
+                            task = queue.tasks.poll();
+                            queue.active++;
+                            activeWorkers++;
+                        } else if (shutdown && getQueuedCountLocked() == 0) {
+                            return;
+                        } else {
+                            lock.wait();
+                        }
+                    }
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            synchronized (lock) {
+                liveWorkers--;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Selects the lane the next task is taken from by smooth weighted round
+     * robin over the lanes that have waiting tasks and are below their limit.
+     * Must be called while holding the lock.
+     *
+     * @return Selected lane as {@code LaneQueue}, {@code null} if no lane can
+     * be served.
+     */
+    private LaneQueue selectLane() {
+        LaneQueue selected = null;
+        int totalWeight = 0;
+        for (LaneQueue queue : lanes.values()) {
+            if (queue.tasks.isEmpty() || queue.active >= queue.limit.maxWorkers) {
+                continue;
+            }
+            queue.currentWeight += queue.limit.weight;
+            totalWeight += queue.limit.weight;
+            if (selected == null || queue.currentWeight > selected.currentWeight) {
+                selected = queue;
+            }
+        }
+        if (selected != null) {
+            selected.currentWeight -= totalWeight;
+        }
+        return selected;
+    }
+
+    /**
+     * Getter for metrics.
+     *
+     * @return Service time metrics of the pool as {@code StageMetrics}.
+     */
+    public StageMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the number of requests currently waiting for a worker.
+     *
+     * @return Number of queued requests as {@code int}.
+     */
+    public int getQueuedCount() {
+        synchronized (lock) {
+            return getQueuedCountLocked();
+        }
+    }
+
+    /**
+     * Returns the number of requests waiting for a worker in all lanes. Must
+     * be called while holding the lock.
+     *
+     * @return Number of queued requests as {@code int}.
+     */
+    private int getQueuedCountLocked() {
+        int queued = 0;
+        for (LaneQueue queue : lanes.values()) {
+            queued += queue.tasks.size();
+        }
+        return queued;
+    }
+
+    /**
+     * Returns the number of requests of a lane currently waiting for a worker.
+     *
+     * @param lane Lane as {@code Lane}.
+     * @return Number of queued requests as {@code int}.
+     */
+    public int getQueuedCount(Lane lane) {
+        synchronized (lock) {
+            return lanes.get(lane).tasks.size();
+        }
+    }
+
+    /**
+     * Returns the number of workers currently executing a request.
+     *
+     * @return Number of active workers as {@code int}.
+     */
+    public int getActiveCount() {
+        synchronized (lock) {
+            return activeWorkers;
+        }
+    }
+
+    /**
+     * Returns the number of workers currently executing a request of a lane.
+     *
+     * @param lane Lane as {@code Lane}.
+     * @return Number of active workers as {@code int}.
+     */
+    public int getActiveCount(Lane lane) {
+        synchronized (lock) {
+            return lanes.get(lane).active;
+        }
+    }
+
+    /**
+     * Returns the number of requests rejected because the pool was saturated.
+     *
+     * @return Number of rejected requests as {@code long}.
+     */
+    public long getRejectedCount() {
+        long rejected = 0;
+        for (LaneQueue queue : lanes.values()) {
+            rejected += queue.rejected.sum();
+        }
+        return rejected;
+    }
+
+    /**
+     * Returns the number of requests of a lane rejected because its queue was
+     * full.
+     *
+     * @param lane Lane as {@code Lane}.
+     * @return Number of rejected requests as {@code long}.
+     */
+    public long getRejectedCount(Lane lane) {
+        return lanes.get(lane).rejected.sum();
+    }
+
+    /**
+     * Stops accepting requests. Requests already admitted are still executed.
+     */
+    public void shutdown() {
+        synchronized (lock) {
+            shutdown = true;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Waits for admitted requests to finish after {@code shutdown}.
+     *
+     * @param timeout Maximum time to wait in milliseconds as {@code long}.
+     * @return {@code true} if all requests have finished, {@code false} if the
+     * timeout elapsed first.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public boolean awaitTermination(long timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        synchronized (lock) {
+            while (liveWorkers > 0 || getQueuedCountLocked() > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Configured limit of a single lane.
+     */
+    public static final class LaneLimit {
+
+        /**
+         * Share of workers the lane gets while other lanes have requests
+         * waiting as {@code int} (read only).
+         */
+        private final int weight;
+
+        /**
+         * Maximum number of workers executing requests of the lane at once as
+         * {@code int} (read only).
+         */
+        private final int maxWorkers;
+
+        /**
+         * Constructor with all parameters.
+         *
+         * @param weight Share of workers the lane gets while other lanes have
+         * requests waiting as {@code int}.
+         * @param maxWorkers Maximum number of workers executing requests of
+         * the lane at once as {@code int}.
+         * @throws IllegalArgumentException If weight or maxWorkers are not
+         * positive.
+         */
+        public LaneLimit(int weight, int maxWorkers) {
+            if (weight <= 0 || maxWorkers <= 0) {
+                throw new IllegalArgumentException("Weight and max workers must be positive");
+            }
+            this.weight = weight;
+            this.maxWorkers = maxWorkers;
+        }
+
+        /**
+         * Getter for weight.
+         *
+         * @return Share of workers the lane gets while other lanes have
+         * requests waiting as {@code int}.
+         */
+        public int getWeight() {
+            return weight;
+        }
+
+        /**
+         * Getter for maxWorkers.
+         *
+         * @return Maximum number of workers executing requests of the lane at
+         * once as {@code int}.
+         */
+        public int getMaxWorkers() {
+            return maxWorkers;
+        }
+    }
+
+    /**
+     * Queue and scheduling state of a single lane, guarded by the lock of the
+     * pool.
+     */
+    private static final class LaneQueue {
+
+        /**
+         * Tasks waiting for a worker as {@code Queue<Runnable>} (read only).
+         */
+        private final Queue<Runnable> tasks;
+
+        /**
+         * Maximum number of waiting tasks as {@code int} (read only).
+         */
+        private final int capacity;
+
+        /**
+         * Limit of the lane as {@code LaneLimit} (read only).
+         */
+        private final LaneLimit limit;
+
+        /**
+         * Number of rejected tasks as {@code LongAdder} (read only).
+         */
+        private final LongAdder rejected;
+
+        /**
+         * Number of workers executing tasks of the lane as {@code int}.
+         */
+        private int active;
+
+        /**
+         * Current weight of the lane in the weighted round robin as
+         * {@code int}.
+         */
+        private int currentWeight;
+
+        /**
+         * Constructor with all parameters.
+         *
+         * @param capacity Maximum number of waiting tasks as {@code int}.
+         * @param limit Limit of the lane as {@code LaneLimit}.
+         */
+        LaneQueue(int capacity, LaneLimit limit) {
+            this.tasks = new ArrayDeque<>();
+            this.capacity = capacity;
+            this.limit = limit;
+            this.rejected = new LongAdder();
+        }
+    }
+}
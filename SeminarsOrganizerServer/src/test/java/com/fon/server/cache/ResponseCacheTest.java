@@ -0,0 +1,90 @@
+package com.fon.server.cache;
+
+import com.fon.common.domain.EntityType;
+import com.fon.common.intercomm.Operation;
+import com.fon.server.changes.EntityVersions;
+import java.util.EnumSet;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Aleksa
+ */
+public class ResponseCacheTest {
+
+    private static final Set<EntityType> READ_ENTITY_TYPES = EnumSet.of(EntityType.EDUCATIONAL_INSTITUTION);
+
+    private ResponseCache cache;
+    private byte[] encoded;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ResponseCache(EnumSet.of(Operation.GET_ALL_EDUCATIONAL_INSTITUTIONS));
+        encoded = new byte[]{1, 2, 3};
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache = null;
+        encoded = null;
+    }
+
+    @Test
+    void test_isCacheable() {
+        assertTrue(cache.isCacheable(Operation.GET_ALL_EDUCATIONAL_INSTITUTIONS));
+        assertFalse(cache.isCacheable(Operation.GET_ALL_SEMINARS));
+        assertFalse(cache.isCacheable(null));
+    }
+
+    @Test
+    void test_get() {
+        cache.put(Operation.GET_ALL_EDUCATIONAL_INSTITUTIONS, null, cache.snapshot(READ_ENTITY_TYPES), encoded);
+
+        assertArrayEquals(encoded, cache.get(Operation.GET_ALL_EDUCATIONAL_INSTITUTIONS, null, READ_ENTITY_TYPES));
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void test_get_empty() {
+        assertNull(cache.get(Operation.GET_ALL_EDUCATIONAL_INSTITUTIONS, null, READ_ENTITY_TYPES));
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void test_get_afterCommittedWrite() {
+        cache.put(Operation.GET_ALL_EDUCATIONAL_INSTITUTIONS, null, cache.snapshot(READ_ENTITY_TYPES), encoded);
+        EntityVersions.getInstance().beginWrite(READ_ENTITY_TYPES);
+        EntityVersions.getInstance().endWrite(READ_ENTITY_TYPES, true);
+
+        assertNull(cache.get(Operation.GET_ALL_EDUCATIONAL_INSTITUTIONS, null, READ_ENTITY_TYPES));
+    }
+
+    @Test
+    void test_get_writeInProgress() {
+        cache.put(Operation.GET_ALL_EDUCATIONAL_INSTITUTIONS, null, cache.snapshot(READ_ENTITY_TYPES), encoded);
+        EntityVersions.getInstance().beginWrite(READ_ENTITY_TYPES);
+        try {
+            assertNull(cache.get(Operation.GET_ALL_EDUCATIONAL_INSTITUTIONS, null, READ_ENTITY_TYPES));
+            assertEquals(-1, cache.snapshot(READ_ENTITY_TYPES));
+        } finally {
+            EntityVersions.getInstance().endWrite(READ_ENTITY_TYPES, false);
+        }
+    }
+
+    @Test
+    void test_put_olderVersion() {
+        long version = cache.snapshot(READ_ENTITY_TYPES);
+        cache.put(Operation.GET_ALL_EDUCATIONAL_INSTITUTIONS, null, version, encoded);
+        cache.put(Operation.GET_ALL_EDUCATIONAL_INSTITUTIONS, null, version - 1, new byte[]{4});
+
+        assertArrayEquals(encoded, cache.get(Operation.GET_ALL_EDUCATIONAL_INSTITUTIONS, null, READ_ENTITY_TYPES));
+    }
+}
@@ -0,0 +1,99 @@
+package com.fon.server.changes;
+
+import com.fon.common.domain.EntityType;
+import com.fon.common.domain.State;
+import com.fon.common.intercomm.ChangeEvent;
+import com.fon.common.intercomm.ChangeSet;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Aleksa
+ */
+public class ChangeLogTest {
+
+    private ChangeLog changeLog;
+
+    @BeforeEach
+    void setUp() {
+        changeLog = new ChangeLog(3, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeLog = null;
+    }
+
+    private void append(int entityID) {
+        changeLog.append(List.of(new ChangeEvent(EntityType.SEMINAR, State.CREATED, entityID)));
+    }
+
+    @Test
+    void test_append() {
+        append(1);
+        append(2);
+
+        assertEquals(102, changeLog.getSequence());
+    }
+
+    @Test
+    void test_getChangesSince() {
+        append(1);
+        append(2);
+
+        ChangeSet changeSet = changeLog.getChangesSince(101);
+
+        assertFalse(changeSet.isFullReload());
+        assertEquals(102, changeSet.getSequence());
+        assertEquals(1, changeSet.getChanges().size());
+        assertEquals(2, changeSet.getChanges().get(0).getEntityID());
+        assertEquals(102, changeSet.getChanges().get(0).getSequence());
+    }
+
+    @Test
+    void test_getChangesSince_upToDate() {
+        append(1);
+
+        ChangeSet changeSet = changeLog.getChangesSince(101);
+
+        assertFalse(changeSet.isFullReload());
+        assertTrue(changeSet.getChanges().isEmpty());
+    }
+
+    @Test
+    void test_getChangesSince_initial() {
+        append(1);
+
+        ChangeSet changeSet = changeLog.getChangesSince(-1);
+
+        assertTrue(changeSet.isFullReload());
+        assertEquals(101, changeSet.getSequence());
+    }
+
+    @Test
+    void test_getChangesSince_gapTooLarge() {
+        for (int id = 1; id <= 5; id++) {
+            append(id);
+        }
+
+        assertTrue(changeLog.getChangesSince(101).isFullReload());
+
+        ChangeSet changeSet = changeLog.getChangesSince(102);
+        assertFalse(changeSet.isFullReload());
+        assertEquals(3, changeSet.getChanges().size());
+        assertEquals(3, changeSet.getChanges().get(0).getEntityID());
+    }
+
+    @Test
+    void test_getChangesSince_future() {
+        append(1);
+
+        assertTrue(changeLog.getChangesSince(200).isFullReload());
+    }
+}
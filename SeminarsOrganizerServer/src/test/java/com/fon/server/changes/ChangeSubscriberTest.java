@@ -0,0 +1,94 @@
+package com.fon.server.changes;
+
+import com.fon.common.domain.EntityType;
+import com.fon.common.domain.State;
+import com.fon.common.intercomm.ChangeEvent;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Aleksa
+ */
+public class ChangeSubscriberTest {
+
+    private ChangeSubscriber changeSubscriber;
+    private List<List<ChangeEvent>> sent;
+
+    @BeforeEach
+    void setUp() {
+        sent = new ArrayList<>();
+        changeSubscriber = new ChangeSubscriber(EnumSet.of(EntityType.SEMINAR), 2, events -> sent.add(events));
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeSubscriber = null;
+        sent = null;
+    }
+
+    @Test
+    void test_offer_subscribedEntityType() {
+        assertTrue(changeSubscriber.offer(List.of(new ChangeEvent(EntityType.SEMINAR, State.CREATED, 1))));
+        assertEquals(1, changeSubscriber.getQueuedCount());
+    }
+
+    @Test
+    void test_offer_otherEntityType() {
+        assertFalse(changeSubscriber.offer(List.of(new ChangeEvent(EntityType.PARTICIPANT, State.CREATED, 1))));
+        assertEquals(0, changeSubscriber.getQueuedCount());
+    }
+
+    @Test
+    void test_offer_deliveryAlreadyScheduled() {
+        assertTrue(changeSubscriber.offer(List.of(new ChangeEvent(EntityType.SEMINAR, State.CREATED, 1))));
+        assertFalse(changeSubscriber.offer(List.of(new ChangeEvent(EntityType.SEMINAR, State.CHANGED, 1))));
+        assertEquals(2, changeSubscriber.getQueuedCount());
+    }
+
+    @Test
+    void test_deliver() {
+        changeSubscriber.offer(List.of(new ChangeEvent(EntityType.SEMINAR, State.CREATED, 1)));
+        changeSubscriber.offer(List.of(new ChangeEvent(EntityType.SEMINAR, State.CHANGED, 2)));
+
+        changeSubscriber.deliver();
+
+        assertEquals(1, sent.size());
+        assertEquals(2, sent.get(0).size());
+        assertEquals(1, sent.get(0).get(0).getEntityID());
+        assertEquals(2, sent.get(0).get(1).getEntityID());
+        assertEquals(0, changeSubscriber.getQueuedCount());
+        assertTrue(changeSubscriber.offer(List.of(new ChangeEvent(EntityType.SEMINAR, State.CREATED, 3))));
+    }
+
+    @Test
+    void test_deliver_overflow() {
+        for (int id = 1; id <= 3; id++) {
+            changeSubscriber.offer(List.of(new ChangeEvent(EntityType.SEMINAR, State.CREATED, id)));
+        }
+
+        changeSubscriber.deliver();
+
+        assertEquals(1, sent.size());
+        ChangeEvent reload = sent.get(0).get(0);
+        assertEquals(EntityType.SEMINAR, reload.getEntityType());
+        assertNull(reload.getEntityID());
+        assertTrue(reload.isReloadRequired());
+    }
+
+    @Test
+    void test_setEntityTypes() {
+        changeSubscriber.setEntityTypes(EnumSet.of(EntityType.PARTICIPANT));
+
+        assertFalse(changeSubscriber.offer(List.of(new ChangeEvent(EntityType.SEMINAR, State.CREATED, 1))));
+        assertTrue(changeSubscriber.offer(List.of(new ChangeEvent(EntityType.PARTICIPANT, State.CREATED, 1))));
+    }
+}
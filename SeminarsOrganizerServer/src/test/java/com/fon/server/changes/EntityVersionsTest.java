@@ -0,0 +1,86 @@
+package com.fon.server.changes;
+
+import com.fon.common.domain.EntityType;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Aleksa
+ */
+public class EntityVersionsTest {
+
+    private EntityVersions entityVersions;
+    private Set<EntityType> entityTypes;
+
+    @BeforeEach
+    void setUp() {
+        entityVersions = EntityVersions.getInstance();
+        entityTypes = EnumSet.of(EntityType.EDUCATIONAL_INSTITUTION);
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityVersions = null;
+        entityTypes = null;
+    }
+
+    @Test
+    void test_getEntityTag_unknownVersion() {
+        assertNull(entityVersions.getEntityTag(-1));
+    }
+
+    @Test
+    void test_getEntityTag_unchanged() {
+        long version = entityVersions.getVersion(entityTypes);
+
+        assertEquals(entityVersions.getEntityTag(version), entityVersions.getEntityTag(entityVersions.getVersion(entityTypes)));
+    }
+
+    @Test
+    void test_getEntityTag_committedWrite() {
+        String entityTag = entityVersions.getEntityTag(entityVersions.getVersion(entityTypes));
+
+        entityVersions.beginWrite(entityTypes);
+        entityVersions.endWrite(entityTypes, true);
+
+        assertNotEquals(entityTag, entityVersions.getEntityTag(entityVersions.getVersion(entityTypes)));
+    }
+
+    @Test
+    void test_getEntityTag_rolledBackWrite() {
+        String entityTag = entityVersions.getEntityTag(entityVersions.getVersion(entityTypes));
+
+        entityVersions.beginWrite(entityTypes);
+        entityVersions.endWrite(entityTypes, false);
+
+        assertEquals(entityTag, entityVersions.getEntityTag(entityVersions.getVersion(entityTypes)));
+    }
+
+    @Test
+    void test_endWrite_returnsOwnVersion() {
+        entityVersions.beginWrite(entityTypes);
+        entityVersions.beginWrite(entityTypes);
+
+        Map<EntityType, Long> first = entityVersions.endWrite(entityTypes, true);
+        Map<EntityType, Long> second = entityVersions.endWrite(entityTypes, true);
+
+        assertEquals(first.get(EntityType.EDUCATIONAL_INSTITUTION) + 1, second.get(EntityType.EDUCATIONAL_INSTITUTION));
+        assertEquals(second.get(EntityType.EDUCATIONAL_INSTITUTION), entityVersions.getVersion(EntityType.EDUCATIONAL_INSTITUTION));
+    }
+
+    @Test
+    void test_endWrite_rolledBack() {
+        entityVersions.beginWrite(entityTypes);
+
+        assertTrue(entityVersions.endWrite(entityTypes, false).isEmpty());
+    }
+}
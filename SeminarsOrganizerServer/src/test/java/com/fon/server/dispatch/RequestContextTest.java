@@ -0,0 +1,131 @@
+package com.fon.server.dispatch;
+
+import com.fon.common.exceptions.DeadlineExceededException;
+import com.fon.common.exceptions.RequestCancelledException;
+import java.sql.Statement;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ *
+ * @author Aleksa
+ */
+public class RequestContextTest {
+
+    private RequestContext context;
+    private Statement statement;
+
+    @BeforeEach
+    void setUp() {
+        context = new RequestContext(1);
+        statement = mock(Statement.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context = null;
+        statement = null;
+    }
+
+    @Test
+    void test_track_unbound() throws Exception {
+        assertSame(statement, RequestContext.track(statement));
+    }
+
+    @Test
+    void test_cancel_runningStatement() throws Exception {
+        context.call(() -> {
+            RequestContext.track(statement);
+            context.cancel();
+            return null;
+        });
+
+        assertTrue(context.isCancelled());
+        verify(statement).cancel();
+    }
+
+    @Test
+    void test_cancel_finishedRequest() throws Exception {
+        context.call(() -> RequestContext.track(statement));
+
+        context.cancel();
+
+        verify(statement, never()).cancel();
+    }
+
+    @Test
+    void test_track_cancelled() throws Exception {
+        context.cancel();
+
+        assertThrows(RequestCancelledException.class, () -> context.call(() -> RequestContext.track(statement)));
+        verify(statement).close();
+    }
+
+    @Test
+    void test_throwIfAborted_cancelled() throws Exception {
+        assertDoesNotThrow(() -> context.call(() -> {
+            RequestContext.throwIfAborted();
+            return null;
+        }));
+
+        context.cancel();
+
+        assertThrows(RequestCancelledException.class, () -> context.call(() -> {
+            RequestContext.throwIfAborted();
+            return null;
+        }));
+        assertDoesNotThrow(RequestContext::throwIfAborted);
+    }
+
+    @Test
+    void test_throwIfAborted_expired() throws Exception {
+        RequestContext expired = new RequestContext(2, 1);
+        Thread.sleep(5);
+
+        assertTrue(expired.isExpired());
+        assertEquals(0, expired.getRemainingTime());
+        assertThrows(DeadlineExceededException.class, () -> expired.call(() -> {
+            RequestContext.throwIfAborted();
+            return null;
+        }));
+    }
+
+    @Test
+    void test_track_expired() throws Exception {
+        RequestContext expired = new RequestContext(2, 1);
+        Thread.sleep(5);
+
+        assertThrows(DeadlineExceededException.class, () -> expired.call(() -> RequestContext.track(statement)));
+        verify(statement).close();
+    }
+
+    @Test
+    void test_track_queryTimeout() throws Exception {
+        RequestContext bounded = new RequestContext(2, 10000);
+
+        bounded.call(() -> RequestContext.track(statement));
+
+        verify(statement).setQueryTimeout(10);
+    }
+
+    @Test
+    void test_track_noDeadline() throws Exception {
+        assertFalse(context.isExpired());
+        assertEquals(Long.MAX_VALUE, context.getRemainingTime());
+
+        context.call(() -> RequestContext.track(statement));
+
+        verify(statement, never()).setQueryTimeout(anyInt());
+    }
+}
@@ -0,0 +1,166 @@
+package com.fon.server.dispatch;
+
+import com.fon.common.domain.EntityType;
+import com.fon.common.exceptions.DeadlineExceededException;
+import com.fon.common.exceptions.RequestCancelledException;
+import com.fon.common.intercomm.Operation;
+import com.fon.server.changes.EntityVersions;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Aleksa
+ */
+public class SingleFlightTest {
+
+    private static final Set<EntityType> READ_ENTITY_TYPES = EnumSet.of(EntityType.SEMINAR);
+
+    private SingleFlight singleFlight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        singleFlight = new SingleFlight();
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        singleFlight = null;
+        executor = null;
+    }
+
+    @Test
+    void test_execute_coalesced() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Object result = new Object();
+
+        Future<Object> first = executor.submit(() -> singleFlight.execute(Operation.GET_ALL_SEMINARS, null, READ_ENTITY_TYPES, () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            release.await();
+            return result;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        Future<Object> second = executor.submit(() -> singleFlight.execute(Operation.GET_ALL_SEMINARS, null, READ_ENTITY_TYPES, () -> {
+            calls.incrementAndGet();
+            return new Object();
+        }));
+        while (singleFlight.getCoalescedCount(Operation.GET_ALL_SEMINARS) == 0) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        assertSame(result, first.get(5, TimeUnit.SECONDS));
+        assertSame(result, second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        assertEquals(1, singleFlight.getExecutionCount(Operation.GET_ALL_SEMINARS));
+        assertEquals(0, singleFlight.getInFlightCount());
+    }
+
+    @Test
+    void test_execute_differentArguments() throws Exception {
+        singleFlight.execute(Operation.GET_SEMINAR_BY_ID, 1, READ_ENTITY_TYPES, () -> 1);
+        singleFlight.execute(Operation.GET_SEMINAR_BY_ID, 2, READ_ENTITY_TYPES, () -> 2);
+
+        assertEquals(2, singleFlight.getExecutionCount(Operation.GET_SEMINAR_BY_ID));
+        assertEquals(0, singleFlight.getCoalescedCount(Operation.GET_SEMINAR_BY_ID));
+    }
+
+    @Test
+    void test_execute_writeInProgress() throws Exception {
+        EntityVersions.getInstance().beginWrite(READ_ENTITY_TYPES);
+        try {
+            assertEquals(1, singleFlight.execute(Operation.GET_ALL_SEMINARS, null, READ_ENTITY_TYPES, () -> 1));
+            assertEquals(0, singleFlight.getInFlightCount());
+        } finally {
+            EntityVersions.getInstance().endWrite(READ_ENTITY_TYPES, false);
+        }
+    }
+
+    @Test
+    void test_execute_exception() {
+        Exception ex = assertThrows(Exception.class, () -> singleFlight.execute(Operation.GET_ALL_SEMINARS, null, READ_ENTITY_TYPES, () -> {
+            throw new Exception("read failed");
+        }));
+
+        assertEquals("read failed", ex.getMessage());
+        assertEquals(0, singleFlight.getInFlightCount());
+    }
+
+    @Test
+    void test_execute_followerDeadline() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Object result = new Object();
+
+        Future<Object> leader = executor.submit(() -> new RequestContext(1, 30000).call(
+                () -> singleFlight.execute(Operation.GET_ALL_SEMINARS, null, READ_ENTITY_TYPES, () -> {
+                    started.countDown();
+                    release.await();
+                    return result;
+                })));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        Future<Object> follower = executor.submit(() -> new RequestContext(2, 100).call(
+                () -> singleFlight.execute(Operation.GET_ALL_SEMINARS, null, READ_ENTITY_TYPES, Object::new)));
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(DeadlineExceededException.class, ex.getCause());
+        assertEquals(1, singleFlight.getCoalescedCount(Operation.GET_ALL_SEMINARS));
+        assertFalse(leader.isDone());
+
+        release.countDown();
+        assertSame(result, leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void test_execute_followerCancelled() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Object result = new Object();
+        RequestContext context = new RequestContext(2);
+
+        Future<Object> leader = executor.submit(() -> singleFlight.execute(Operation.GET_ALL_SEMINARS, null, READ_ENTITY_TYPES, () -> {
+            started.countDown();
+            release.await();
+            return result;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        Future<Object> follower = executor.submit(() -> context.call(
+                () -> singleFlight.execute(Operation.GET_ALL_SEMINARS, null, READ_ENTITY_TYPES, Object::new)));
+        while (singleFlight.getCoalescedCount(Operation.GET_ALL_SEMINARS) == 0) {
+            Thread.sleep(1);
+        }
+        context.cancel();
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RequestCancelledException.class, ex.getCause());
+        assertFalse(leader.isDone());
+
+        release.countDown();
+        assertSame(result, leader.get(5, TimeUnit.SECONDS));
+    }
+}
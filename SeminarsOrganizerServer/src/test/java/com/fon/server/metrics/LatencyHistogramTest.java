@@ -0,0 +1,60 @@
+package com.fon.server.metrics;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Aleksa
+ */
+public class LatencyHistogramTest {
+
+    private LatencyHistogram histogram;
+
+    @BeforeEach
+    void setUp() {
+        histogram = new LatencyHistogram();
+    }
+
+    @AfterEach
+    void tearDown() {
+        histogram = null;
+    }
+
+    @Test
+    void test_getValueAtPercentile_empty() {
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0, histogram.getMean());
+    }
+
+    @Test
+    void test_getValueAtPercentile() {
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(50, histogram.getValueAtPercentile(50), 50 / 16.0);
+        assertEquals(99, histogram.getValueAtPercentile(99), 99 / 16.0);
+        assertEquals(100, histogram.getValueAtPercentile(100), 0.001);
+        assertEquals(100, histogram.getMax(), 0.001);
+        assertEquals(50.5, histogram.getMean(), 0.001);
+    }
+
+    @Test
+    void test_bucketOf() {
+        for (long value : new long[]{0, 1, 15, 16, 17, 31, 32, 1000, 123456789, Long.MAX_VALUE}) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            long highest = LatencyHistogram.highestValueOf(bucket);
+
+            assertTrue(highest >= value);
+            assertTrue(highest - value <= value / 16);
+            assertTrue(bucket == 0 || LatencyHistogram.highestValueOf(bucket - 1) < value);
+        }
+    }
+}
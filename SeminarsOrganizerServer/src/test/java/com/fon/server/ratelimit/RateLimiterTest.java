@@ -0,0 +1,68 @@
+package com.fon.server.ratelimit;
+
+import com.fon.common.intercomm.Operation;
+import com.fon.server.config.ServerConfiguration;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Aleksa
+ */
+public class RateLimiterTest {
+
+    private RateLimiter rateLimiter;
+    private ConcurrentMap<Operation, TokenBucket> buckets;
+
+    @BeforeEach
+    void setUp() {
+        Properties properties = new Properties();
+        properties.setProperty("ratelimit.GET_PARTICIPANTS_BY_CONDITION.rate", "0.001");
+        properties.setProperty("ratelimit.GET_PARTICIPANTS_BY_CONDITION.burst", "2");
+        rateLimiter = RateLimiter.fromConfiguration(new ServerConfiguration(properties));
+        buckets = new ConcurrentHashMap<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        rateLimiter = null;
+        buckets = null;
+    }
+
+    @Test
+    void test_fromConfiguration() {
+        assertTrue(rateLimiter.isLimited(Operation.GET_PARTICIPANTS_BY_CONDITION));
+        assertFalse(rateLimiter.isLimited(Operation.GET_ALL_PARTICIPANTS));
+    }
+
+    @Test
+    void test_tryAcquire() {
+        assertEquals(0, rateLimiter.tryAcquire(buckets, Operation.GET_PARTICIPANTS_BY_CONDITION));
+        assertEquals(0, rateLimiter.tryAcquire(buckets, Operation.GET_PARTICIPANTS_BY_CONDITION));
+        assertTrue(rateLimiter.tryAcquire(buckets, Operation.GET_PARTICIPANTS_BY_CONDITION) > 0);
+        assertEquals(1, rateLimiter.getThrottledCount(Operation.GET_PARTICIPANTS_BY_CONDITION));
+    }
+
+    @Test
+    void test_tryAcquire_separateSessions() {
+        rateLimiter.tryAcquire(buckets, Operation.GET_PARTICIPANTS_BY_CONDITION);
+        rateLimiter.tryAcquire(buckets, Operation.GET_PARTICIPANTS_BY_CONDITION);
+
+        assertEquals(0, rateLimiter.tryAcquire(new ConcurrentHashMap<>(), Operation.GET_PARTICIPANTS_BY_CONDITION));
+    }
+
+    @Test
+    void test_tryAcquire_notLimited() {
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(buckets, Operation.GET_ALL_PARTICIPANTS));
+        }
+        assertTrue(buckets.isEmpty());
+    }
+}
@@ -0,0 +1,62 @@
+package com.fon.server.ratelimit;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Aleksa
+ */
+public class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private TokenBucket bucket;
+
+    @BeforeEach
+    void setUp() {
+        bucket = new TokenBucket(2, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bucket = null;
+    }
+
+    @Test
+    void test_tryAcquire_burst() {
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(SECOND / 2, bucket.tryAcquire(0));
+    }
+
+    @Test
+    void test_tryAcquire_refill() {
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        assertEquals(0, bucket.tryAcquire(SECOND / 2));
+        assertEquals(SECOND / 2, bucket.tryAcquire(SECOND / 2));
+    }
+
+    @Test
+    void test_tryAcquire_idleDoesNotExceedBurst() {
+        bucket.tryAcquire(0);
+
+        assertEquals(0, bucket.tryAcquire(100 * SECOND));
+        assertEquals(0, bucket.tryAcquire(100 * SECOND));
+        assertEquals(0, bucket.tryAcquire(100 * SECOND));
+        assertEquals(SECOND / 2, bucket.tryAcquire(100 * SECOND));
+    }
+
+    @Test
+    void test_constructor_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0));
+    }
+}
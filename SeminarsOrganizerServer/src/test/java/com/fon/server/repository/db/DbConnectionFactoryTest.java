@@ -0,0 +1,117 @@
+package com.fon.server.repository.db;
+
+import com.fon.server.system_operations.AbstractSO;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Aleksa
+ */
+public class DbConnectionFactoryTest {
+
+    private DbConnectionFactory factory;
+    private AtomicBoolean closed;
+    private AtomicBoolean rollbackFails;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() {
+        factory = DbConnectionFactory.getInstance();
+        factory.closeIdleConnections();
+        closed = new AtomicBoolean();
+        rollbackFails = new AtomicBoolean();
+        connection = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "isClosed":
+                            return closed.get();
+                        case "close":
+                            closed.set(true);
+                            return null;
+                        case "rollback":
+                            if (rollbackFails.get()) {
+                                throw new SQLException("Communications link failure");
+                            }
+                            return null;
+                        case "isValid":
+                            return !closed.get();
+                        default:
+                            return null;
+                    }
+                });
+        factory.setConnection(connection);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        factory.closeConnection(false);
+        factory.closeIdleConnections();
+        factory = null;
+        closed = null;
+        rollbackFails = null;
+        connection = null;
+    }
+
+    @Test
+    void test_closeConnection_reusable() throws Exception {
+        factory.closeConnection(true);
+
+        assertFalse(closed.get());
+        assertEquals(1, factory.getIdleConnectionCount());
+    }
+
+    @Test
+    void test_closeConnection_notReusable() throws Exception {
+        factory.closeConnection(false);
+
+        assertTrue(closed.get());
+        assertEquals(0, factory.getIdleConnectionCount());
+    }
+
+    @Test
+    void test_execute_rollbackFails() {
+        rollbackFails.set(true);
+        AbstractSO<Void> so = new AbstractSO<>() {
+            @Override
+            protected void preconditions(Object arg) {
+            }
+
+            @Override
+            protected Void executeOperation(Object arg) throws Exception {
+                throw new Exception("Operation failed");
+            }
+        };
+
+        assertThrows(SQLException.class, () -> so.execute(null));
+        assertTrue(closed.get());
+        assertEquals(0, factory.getIdleConnectionCount());
+    }
+
+    @Test
+    void test_execute_rollbackSucceeds() {
+        AbstractSO<Void> so = new AbstractSO<>() {
+            @Override
+            protected void preconditions(Object arg) {
+            }
+
+            @Override
+            protected Void executeOperation(Object arg) throws Exception {
+                throw new Exception("Operation failed");
+            }
+        };
+
+        assertThrows(Exception.class, () -> so.execute(null));
+        assertFalse(closed.get());
+        assertEquals(1, factory.getIdleConnectionCount());
+    }
+}
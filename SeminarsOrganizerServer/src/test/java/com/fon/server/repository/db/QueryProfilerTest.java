@@ -0,0 +1,85 @@
+package com.fon.server.repository.db;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Aleksa
+ */
+public class QueryProfilerTest {
+
+    private QueryProfiler profiler;
+
+    @BeforeEach
+    void setUp() {
+        profiler = QueryProfiler.getInstance();
+    }
+
+    @AfterEach
+    void tearDown() {
+        profiler = null;
+    }
+
+    @Test
+    void test_shapeOf() {
+        assertEquals("SELECT * FROM admin WHERE username = ? AND password = ?",
+                QueryProfiler.shapeOf("SELECT * FROM admin WHERE username = 'aleksa' AND password = 'it''s'"));
+        assertEquals("UPDATE seminar SET name = ? WHERE id = ?",
+                QueryProfiler.shapeOf("UPDATE seminar  SET name = 'Java 17'\n WHERE id = 42"));
+        assertEquals("SELECT * FROM seminar_schedule WHERE price > ?",
+                QueryProfiler.shapeOf("SELECT * FROM seminar_schedule WHERE price > 12.50"));
+    }
+
+    @Test
+    void test_shapeOf_credentialsRemoved() {
+        String shape = QueryProfiler.shapeOf("SELECT * FROM admin WHERE username = 'aleksa' and password = \"s3cr\\\"et\"");
+
+        assertEquals("SELECT * FROM admin WHERE username = ? and password = ?", shape);
+    }
+
+    @Test
+    void test_shapeOf_identifiersKept() {
+        assertEquals("SELECT t1.id FROM table1 t1", QueryProfiler.shapeOf("SELECT t1.id FROM table1 t1"));
+    }
+
+    @Test
+    void test_record() {
+        profiler.record("DELETE FROM query_profiler_test WHERE id = 1", TimeUnit.MILLISECONDS.toNanos(2), 1);
+        profiler.record("DELETE FROM query_profiler_test WHERE id = 2", TimeUnit.MILLISECONDS.toNanos(4), 0);
+
+        StatementStatistics statistics = profiler.getStatistics("DELETE FROM query_profiler_test WHERE id = ?");
+        assertNotNull(statistics);
+        assertEquals(2, statistics.getExecutionTime().getCount());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(6), statistics.getTotalTime());
+        assertEquals(1, statistics.getRows());
+        assertTrue(profiler.getStatementShapeCount() >= 1);
+    }
+
+    @Test
+    void test_record_failed() {
+        profiler.record("UPDATE query_profiler_test SET name = 'a' WHERE id = 1", TimeUnit.MILLISECONDS.toNanos(30), -1);
+        profiler.record("UPDATE query_profiler_test SET name = 'b' WHERE id = 2", TimeUnit.MILLISECONDS.toNanos(2), 1);
+
+        StatementStatistics statistics = profiler.getStatistics("UPDATE query_profiler_test SET name = ? WHERE id = ?");
+        assertNotNull(statistics);
+        assertEquals(2, statistics.getExecutionTime().getCount());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(32), statistics.getTotalTime());
+        assertEquals(1, statistics.getRows());
+        assertEquals(1, statistics.getFailedCount());
+    }
+
+    @Test
+    void test_markExplained_once() {
+        StatementStatistics statistics = new StatementStatistics("SELECT * FROM seminar WHERE id = ?");
+
+        assertTrue(statistics.markExplained());
+        assertFalse(statistics.markExplained());
+    }
+}
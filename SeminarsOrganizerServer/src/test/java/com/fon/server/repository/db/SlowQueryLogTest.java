@@ -0,0 +1,71 @@
+package com.fon.server.repository.db;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ *
+ * @author Aleksa
+ */
+public class SlowQueryLogTest {
+
+    @TempDir
+    Path directory;
+
+    private Path path;
+    private SlowQueryLog log;
+
+    @BeforeEach
+    void setUp() {
+        path = directory.resolve("logs").resolve("slow_queries.log");
+        log = new SlowQueryLog(path);
+    }
+
+    @AfterEach
+    void tearDown() {
+        log.close();
+        log = null;
+        path = null;
+    }
+
+    private List<String> awaitLines(int count) throws IOException, InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            if (Files.exists(path)) {
+                List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+                if (lines.size() >= count) {
+                    return lines;
+                }
+            }
+            Thread.sleep(10);
+        }
+        return Files.exists(path) ? Files.readAllLines(path, StandardCharsets.UTF_8) : List.of();
+    }
+
+    @Test
+    void test_log() throws IOException, InterruptedException {
+        log.log("first");
+        log.log("second");
+
+        assertEquals(List.of("first", "second"), awaitLines(2));
+    }
+
+    @Test
+    void test_close() throws IOException, InterruptedException {
+        log.log("first");
+        awaitLines(1);
+        log.close();
+        log.log("after close");
+
+        assertEquals(1, log.getDroppedCount());
+        assertEquals(List.of("first"), awaitLines(1));
+    }
+}
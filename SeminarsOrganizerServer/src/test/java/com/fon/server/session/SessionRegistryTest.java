@@ -0,0 +1,107 @@
+package com.fon.server.session;
+
+import com.fon.common.domain.Admin;
+import com.fon.server.threads.ClientHandlerThread;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Aleksa
+ */
+public class SessionRegistryTest {
+
+    private SessionRegistry registry;
+    private ClientHandlerThread ch;
+    private ClientHandlerThread chOther;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SessionRegistry();
+        ch = new ClientHandlerThread(null, null, 0);
+        chOther = new ClientHandlerThread(null, null, 1);
+        ch.setLoggedAdmin(new Admin(1));
+        chOther.setLoggedAdmin(new Admin(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry = null;
+        ch = null;
+        chOther = null;
+    }
+
+    @Test
+    void test_addConnection() {
+        registry.addConnection(ch);
+        registry.addConnection(chOther);
+
+        assertEquals(2, registry.getConnectionCount());
+        assertSame(ch, registry.getConnection(0));
+    }
+
+    @Test
+    void test_removeConnection() {
+        registry.addConnection(ch);
+
+        assertTrue(registry.removeConnection(ch));
+        assertFalse(registry.removeConnection(ch));
+        assertEquals(0, registry.getConnectionCount());
+    }
+
+    @Test
+    void test_login() {
+        assertTrue(registry.login(ch));
+
+        assertTrue(registry.isLoggedIn(new Admin(1)));
+        assertSame(ch, registry.getSession(1));
+        assertEquals(1, registry.getSessionCount());
+    }
+
+    @Test
+    void test_login_alreadyLoggedIn() {
+        assertTrue(registry.login(ch));
+        assertFalse(registry.login(chOther));
+
+        assertSame(ch, registry.getSession(1));
+    }
+
+    @Test
+    void test_resume() {
+        registry.login(ch);
+
+        assertSame(ch, registry.resume(chOther));
+        assertSame(chOther, registry.getSession(1));
+        assertFalse(registry.logout(ch));
+        assertTrue(registry.isLoggedIn(new Admin(1)));
+    }
+
+    @Test
+    void test_logout() {
+        registry.login(ch);
+
+        assertTrue(registry.logout(ch));
+        assertFalse(registry.isLoggedIn(new Admin(1)));
+        assertEquals(0, registry.getSessionCount());
+    }
+
+    @Test
+    void test_logout_otherHandler() {
+        registry.login(ch);
+
+        assertFalse(registry.logout(chOther));
+        assertTrue(registry.isLoggedIn(new Admin(1)));
+    }
+
+    @Test
+    void test_logout_notLoggedIn() {
+        ch.setLoggedAdmin(null);
+
+        assertFalse(registry.logout(ch));
+    }
+}
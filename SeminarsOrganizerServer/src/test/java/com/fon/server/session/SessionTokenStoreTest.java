@@ -0,0 +1,93 @@
+package com.fon.server.session;
+
+import com.fon.common.domain.Admin;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Aleksa
+ */
+public class SessionTokenStoreTest {
+
+    private SessionTokenStore store;
+    private Admin admin;
+
+    @BeforeEach
+    void setUp() {
+        store = new SessionTokenStore(60000);
+        admin = new Admin(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store = null;
+        admin = null;
+    }
+
+    @Test
+    void test_issue() {
+        String token = store.issue(admin);
+        String other = store.issue(admin);
+
+        assertNotEquals(token, other);
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void test_redeem() {
+        String token = store.issue(admin);
+
+        assertSame(admin, store.redeem(token));
+        assertNull(store.redeem(token));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void test_redeem_unknown() {
+        assertNull(store.redeem("unknown"));
+    }
+
+    @Test
+    void test_redeem_expired() {
+        store = new SessionTokenStore(0);
+        String token = store.issue(admin);
+        store.release(token);
+
+        assertNull(store.redeem(token));
+    }
+
+    @Test
+    void test_redeem_boundNeverExpires() {
+        store = new SessionTokenStore(0);
+        String token = store.issue(admin);
+
+        assertEquals(0, store.purgeExpired());
+        assertSame(admin, store.redeem(token));
+    }
+
+    @Test
+    void test_release_redeemed() {
+        String token = store.issue(admin);
+        store.redeem(token);
+        store.release(token);
+
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void test_purgeExpired() {
+        store = new SessionTokenStore(0);
+        store.release(store.issue(admin));
+        store.release(store.issue(admin));
+        store.issue(admin);
+
+        assertEquals(2, store.purgeExpired());
+        assertEquals(1, store.size());
+    }
+}
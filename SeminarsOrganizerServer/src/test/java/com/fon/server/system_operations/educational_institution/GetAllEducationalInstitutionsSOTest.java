@@ -38,9 +38,7 @@ public class GetAllEducationalInstitutionsSOTest {
     @Timeout(value = 10, unit = TimeUnit.SECONDS)
     void test_executeOperation() {
         try {
-            assertDoesNotThrow(() -> gaeiSO.execute(null));
-
-            List<EducationalInstitution> element = gaeiSO.getElement();
+            List<EducationalInstitution> element = assertDoesNotThrow(() -> gaeiSO.execute(null));
 
             assertEquals(false, element.isEmpty());
         } catch (Exception ex) {
@@ -73,9 +73,7 @@ public class CreateParticipantSOTest {
             assertDoesNotThrow(() -> cpSO.execute(participant));
 
             //2) Make sure participant is created
-            assertDoesNotThrow(() -> gpbidSO.execute(participant.getID()));
-
-            Participant pFromDb = gpbidSO.getElement();
+            Participant pFromDb = assertDoesNotThrow(() -> gpbidSO.execute(participant.getID()));
 
             //Should be asserted using equalsAll (doesn't exist yet)
             assertEquals(participant.getParticipantID(), pFromDb.getParticipantID());
@@ -38,9 +38,7 @@ public class GetAllParticipantsSOTest {
     @Timeout(value = 10, unit = TimeUnit.SECONDS)
     void test_executeOperation() {
         try {
-            assertDoesNotThrow(() -> gapSO.execute(null));
-
-            List<Participant> allParticipants = gapSO.getAllParticipants();
+            List<Participant> allParticipants = assertDoesNotThrow(() -> gapSO.execute(null));
 
             assertEquals(false, allParticipants.isEmpty());
         } catch (Exception ex) {
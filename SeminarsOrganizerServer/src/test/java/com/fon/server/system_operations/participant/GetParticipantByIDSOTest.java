@@ -62,9 +62,7 @@ public class GetParticipantByIDSOTest {
     @Timeout(value = 10, unit = TimeUnit.SECONDS)
     void test_executeOperation_doesntExist() {
         try {
-            assertDoesNotThrow(() -> gpbidSO.execute(-filterID));
-
-            assertEquals(gpbidSO.getElement(), null);
+            assertEquals(assertDoesNotThrow(() -> gpbidSO.execute(-filterID)), null);
         } catch (Exception ex) {
             Logger.getLogger(GetParticipantByIDSOTest.class.getName()).log(Level.SEVERE, null, ex);
             throw new AssertionError(ex.getMessage());
@@ -75,9 +73,7 @@ public class GetParticipantByIDSOTest {
     @Timeout(value = 10, unit = TimeUnit.SECONDS)
     void test_executeOperation() {
         try {
-            assertDoesNotThrow(() -> gpbidSO.execute(filterID));
-
-            Participant pOther = gpbidSO.getElement();
+            Participant pOther = assertDoesNotThrow(() -> gpbidSO.execute(filterID));
 
             assertEquals(participant.getParticipantID(), pOther.getParticipantID());
             assertEquals(participant.getName(), pOther.getName());
@@ -56,9 +56,7 @@ public class GetParticipantsByConditionSOTest {
     @Timeout(value = 10, unit = TimeUnit.SECONDS)
     void test_executeOperation_doesntExist() {
         try {
-            assertDoesNotThrow(() -> gpbcSO.execute("noParticipantsWillBeFound"));
-
-            assertEquals(gpbcSO.getList().isEmpty(), true);
+            assertEquals(assertDoesNotThrow(() -> gpbcSO.execute("noParticipantsWillBeFound")).isEmpty(), true);
         } catch (Exception ex) {
             Logger.getLogger(GetParticipantsByConditionSOTest.class.getName()).log(Level.SEVERE, null, ex);
             throw new AssertionError(ex.getMessage());
@@ -71,11 +69,9 @@ public class GetParticipantsByConditionSOTest {
         try {
             String nameFilter = "leks";
 
-            assertDoesNotThrow(() -> gpbcSO.execute(nameFilter));
-
-            List<Participant> list = gpbcSO.getList();
+            List<Participant> list = assertDoesNotThrow(() -> gpbcSO.execute(nameFilter));
 
-            assertEquals(gpbcSO.getList().isEmpty(), false);
+            assertEquals(list.isEmpty(), false);
             assertEquals(true, isValidParticipants(list, nameFilter));
         } catch (Exception ex) {
             Logger.getLogger(GetParticipantsByConditionSOTest.class.getName()).log(Level.SEVERE, null, ex);
@@ -89,11 +85,9 @@ public class GetParticipantsByConditionSOTest {
         try {
             String surnameFilter = "ojic";
 
-            assertDoesNotThrow(() -> gpbcSO.execute(surnameFilter));
+            List<Participant> list = assertDoesNotThrow(() -> gpbcSO.execute(surnameFilter));
 
-            List<Participant> list = gpbcSO.getList();
-
-            assertEquals(gpbcSO.getList().isEmpty(), false);
+            assertEquals(list.isEmpty(), false);
             assertEquals(true, isValidParticipants(list, surnameFilter));
 
         } catch (Exception ex) {
@@ -109,11 +103,9 @@ public class GetParticipantsByConditionSOTest {
         try {
             String nameOrSurnameFilter = "ilan";
 
-            assertDoesNotThrow(() -> gpbcSO.execute(nameOrSurnameFilter));
-
-            List<Participant> list = gpbcSO.getList();
+            List<Participant> list = assertDoesNotThrow(() -> gpbcSO.execute(nameOrSurnameFilter));
 
-            assertEquals(gpbcSO.getList().isEmpty(), false);
+            assertEquals(list.isEmpty(), false);
             assertEquals(true, isValidParticipants(list, nameOrSurnameFilter));
 
         } catch (Exception ex) {
@@ -75,8 +75,7 @@ public class CreateSeminarSOTest {
             assertDoesNotThrow(() -> csSO.execute(seminar));
 
             //2) Make sure seminar is created
-            assertDoesNotThrow(() -> gsbidSO.execute(seminar.getID()));
-            Seminar sFromDb = gsbidSO.getSeminar();
+            Seminar sFromDb = assertDoesNotThrow(() -> gsbidSO.execute(seminar.getID()));
             assertEquals(true, sFromDb.equalsAll(seminar));
 
             //3) Delete created seminar within db transaction
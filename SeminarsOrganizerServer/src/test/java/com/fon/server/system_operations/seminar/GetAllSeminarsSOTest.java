@@ -38,9 +38,7 @@ public class GetAllSeminarsSOTest {
     @Timeout(value = 10, unit = TimeUnit.SECONDS)
     void test_executeOperation() {
         try {
-            assertDoesNotThrow(() -> gasSO.execute(null));
-
-            List<Seminar> allSeminars = gasSO.getAllSeminars();
+            List<Seminar> allSeminars = assertDoesNotThrow(() -> gasSO.execute(null));
 
             assertEquals(false, allSeminars.isEmpty());
         } catch (Exception ex) {
@@ -65,9 +65,7 @@ public class GetSeminarByIDSOTest {
     @Timeout(value = 10, unit = TimeUnit.SECONDS)
     void test_executeOperation_doesntExist() {
         try {
-            assertDoesNotThrow(() -> gsbidSO.execute(-filterID));
-
-            assertEquals(gsbidSO.getSeminar(), null);
+            assertEquals(assertDoesNotThrow(() -> gsbidSO.execute(-filterID)), null);
         } catch (Exception ex) {
             Logger.getLogger(GetSeminarByIDSOTest.class.getName()).log(Level.SEVERE, null, ex);
             throw new AssertionError(ex.getMessage());
@@ -78,9 +76,7 @@ public class GetSeminarByIDSOTest {
     @Timeout(value = 10, unit = TimeUnit.SECONDS)
     void test_executeOperation() {
         try {
-            assertDoesNotThrow(() -> gsbidSO.execute(filterID));
-
-            Seminar sOther = gsbidSO.getSeminar();
+            Seminar sOther = assertDoesNotThrow(() -> gsbidSO.execute(filterID));
 
             assertEquals(true, seminar.equalsAll(sOther));
         } catch (Exception ex) {
@@ -56,9 +56,7 @@ public class GetSeminarsByConditionSOTest {
     @Timeout(value = 10, unit = TimeUnit.SECONDS)
     void test_executeOperation_doesntExist() {
         try {
-            assertDoesNotThrow(() -> gsbcSO.execute("noSeminarsWillBeFound"));
-
-            assertEquals(gsbcSO.getSeminars().isEmpty(), true);
+            assertEquals(assertDoesNotThrow(() -> gsbcSO.execute("noSeminarsWillBeFound")).isEmpty(), true);
         } catch (Exception ex) {
             Logger.getLogger(GetSeminarsByConditionSOTest.class.getName()).log(Level.SEVERE, null, ex);
             throw new AssertionError(ex.getMessage());
@@ -71,9 +69,7 @@ public class GetSeminarsByConditionSOTest {
         try {
             String nameFilter = "model";
 
-            assertDoesNotThrow(() -> gsbcSO.execute(nameFilter));
-
-            List<Seminar> list = gsbcSO.getSeminars();
+            List<Seminar> list = assertDoesNotThrow(() -> gsbcSO.execute(nameFilter));
 
             assertEquals(list.isEmpty(), false);
             assertEquals(true, isValidParticipants(list, nameFilter));
@@ -82,8 +82,7 @@ public class SaveSeminarSOTest {
             assertDoesNotThrow(() -> ssSO.execute(seminar));
 
             //3) Make sure seminar is updated
-            assertDoesNotThrow(() -> gsbidSO.execute(seminar.getID()));
-            Seminar sFromDb = gsbidSO.getSeminar();
+            Seminar sFromDb = assertDoesNotThrow(() -> gsbidSO.execute(seminar.getID()));
             assertEquals(true, sFromDb.equalsAll(seminar));
 
             //4) Delete created seminar within db transaction
@@ -108,8 +107,7 @@ public class SaveSeminarSOTest {
             assertDoesNotThrow(() -> ssSO.execute(seminar));
 
             //3) Make sure seminar is updated
-            assertDoesNotThrow(() -> gsbidSO.execute(seminar.getID()));
-            Seminar sFromDb = gsbidSO.getSeminar();
+            Seminar sFromDb = assertDoesNotThrow(() -> gsbidSO.execute(seminar.getID()));
             assertEquals(true, sFromDb.equalsAll(seminar));
 
             //4) Delete created seminar within db transaction
@@ -134,8 +132,7 @@ public class SaveSeminarSOTest {
             assertDoesNotThrow(() -> ssSO.execute(seminar));
 
             //3) Make sure seminar is updated
-            assertDoesNotThrow(() -> gsbidSO.execute(seminar.getID()));
-            Seminar sFromDb = gsbidSO.getSeminar();
+            Seminar sFromDb = assertDoesNotThrow(() -> gsbidSO.execute(seminar.getID()));
             assertEquals(true, sFromDb.equalsAll(seminar));
 
             //4) Delete created seminar within db transaction
@@ -161,8 +158,7 @@ public class SaveSeminarSOTest {
             assertDoesNotThrow(() -> ssSO.execute(seminar));
 
             //3) Make sure seminar is updated
-            assertDoesNotThrow(() -> gsbidSO.execute(seminar.getID()));
-            Seminar sFromDb = gsbidSO.getSeminar();
+            Seminar sFromDb = assertDoesNotThrow(() -> gsbidSO.execute(seminar.getID()));
             assertEquals(true, sFromDb.equalsAll(seminar));
 
             //4) Delete created seminar within db transaction
@@ -186,8 +182,7 @@ public class SaveSeminarSOTest {
             assertDoesNotThrow(() -> ssSO.execute(seminar));
 
             //3) Make sure seminar is updated
-            assertDoesNotThrow(() -> gsbidSO.execute(seminar.getID()));
-            Seminar sFromDb = gsbidSO.getSeminar();
+            Seminar sFromDb = assertDoesNotThrow(() -> gsbidSO.execute(seminar.getID()));
             seminar.getSeminarTopics().remove(st3Deleted);
             assertEquals(true, sFromDb.equalsAll(seminar));
 
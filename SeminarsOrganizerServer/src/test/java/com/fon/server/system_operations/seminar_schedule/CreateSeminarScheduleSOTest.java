@@ -78,8 +78,7 @@ public class CreateSeminarScheduleSOTest {
             assertDoesNotThrow(() -> cssSO.execute(seminarSchedule));
 
             //2) Make sure seminar schedule is created
-            assertDoesNotThrow(() -> gssbidSO.execute(seminarSchedule.getID()));
-            SeminarSchedule ssFromDb = gssbidSO.getSeminarSchedule();
+            SeminarSchedule ssFromDb = assertDoesNotThrow(() -> gssbidSO.execute(seminarSchedule.getID()));
             assertEquals(true, ssFromDb.equalsAll(seminarSchedule));
 
             //3) Delete created seminar schedule within db transaction
@@ -63,9 +63,7 @@ public class GetSeminarScheduleByIDSOTest {
     @Timeout(value = 10, unit = TimeUnit.SECONDS)
     void test_executeOperation_doesntExist() {
         try {
-            assertDoesNotThrow(() -> gssbidSO.execute(-filterID));
-
-            assertEquals(gssbidSO.getSeminarSchedule(), null);
+            assertEquals(assertDoesNotThrow(() -> gssbidSO.execute(-filterID)), null);
         } catch (Exception ex) {
             Logger.getLogger(GetSeminarScheduleByIDSOTest.class.getName()).log(Level.SEVERE, null, ex);
             throw new AssertionError(ex.getMessage());
@@ -76,9 +74,7 @@ public class GetSeminarScheduleByIDSOTest {
     @Timeout(value = 10, unit = TimeUnit.SECONDS)
     void test_executeOperation() {
         try {
-            assertDoesNotThrow(() -> gssbidSO.execute(filterID));
-
-            SeminarSchedule ssOther = gssbidSO.getSeminarSchedule();
+            SeminarSchedule ssOther = assertDoesNotThrow(() -> gssbidSO.execute(filterID));
 
             assertEquals(true, seminarSchedule.equalsAll(ssOther));
         } catch (Exception ex) {
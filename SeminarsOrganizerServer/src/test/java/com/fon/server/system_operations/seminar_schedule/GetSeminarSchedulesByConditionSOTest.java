@@ -108,9 +108,7 @@ public class GetSeminarSchedulesByConditionSOTest {
             filter.set(0, "noSeminarSchedulesWillBeFound");
             filter.set(1, null);
 
-            assertDoesNotThrow(() -> gssbcSO.execute(filter));
-
-            assertEquals(gssbcSO.getSeminarSchedules().isEmpty(), true);
+            assertEquals(assertDoesNotThrow(() -> gssbcSO.execute(filter)).isEmpty(), true);
         } catch (Exception ex) {
             Logger.getLogger(GetSeminarSchedulesByConditionSOTest.class.getName()).log(Level.SEVERE, null, ex);
             throw new AssertionError(ex.getMessage());
@@ -121,9 +119,7 @@ public class GetSeminarSchedulesByConditionSOTest {
     @Timeout(value = 10, unit = TimeUnit.SECONDS)
     void test_executeOperation() {
         try {
-            assertDoesNotThrow(() -> gssbcSO.execute(filter));
-
-            List<SeminarSchedule> seminarSchedules = gssbcSO.getSeminarSchedules();
+            List<SeminarSchedule> seminarSchedules = assertDoesNotThrow(() -> gssbcSO.execute(filter));
 
             assertEquals(seminarSchedules.isEmpty(), false);
             assertEquals(true, isValidParticipants(seminarSchedules, filter));
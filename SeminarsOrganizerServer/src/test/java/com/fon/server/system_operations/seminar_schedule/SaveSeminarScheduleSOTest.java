@@ -86,8 +86,7 @@ public class SaveSeminarScheduleSOTest {
             assertDoesNotThrow(() -> sssSO.execute(seminarSchedule));
 
             //3) Make sure seminar schedule is updated
-            assertDoesNotThrow(() -> gssbidSO.execute(seminarSchedule.getID()));
-            SeminarSchedule ssFromDb = gssbidSO.getSeminarSchedule();
+            SeminarSchedule ssFromDb = assertDoesNotThrow(() -> gssbidSO.execute(seminarSchedule.getID()));
             assertEquals(true, ssFromDb.equalsAll(seminarSchedule));
 
             //4) Delete created seminar schedule within db transaction
@@ -114,8 +113,7 @@ public class SaveSeminarScheduleSOTest {
             assertDoesNotThrow(() -> sssSO.execute(seminarSchedule));
 
             //3) Make sure seminar schedule is updated
-            assertDoesNotThrow(() -> gssbidSO.execute(seminarSchedule.getID()));
-            SeminarSchedule ssFromDb = gssbidSO.getSeminarSchedule();
+            SeminarSchedule ssFromDb = assertDoesNotThrow(() -> gssbidSO.execute(seminarSchedule.getID()));
             assertEquals(true, ssFromDb.equalsAll(seminarSchedule));
 
             //4) Delete created seminar schedule within db transaction
@@ -140,8 +138,7 @@ public class SaveSeminarScheduleSOTest {
             assertDoesNotThrow(() -> sssSO.execute(seminarSchedule));
 
             //3) Make sure seminar schedule is updated
-            assertDoesNotThrow(() -> gssbidSO.execute(seminarSchedule.getID()));
-            SeminarSchedule ssFromDb = gssbidSO.getSeminarSchedule();
+            SeminarSchedule ssFromDb = assertDoesNotThrow(() -> gssbidSO.execute(seminarSchedule.getID()));
             assertEquals(true, ssFromDb.equalsAll(seminarSchedule));
 
             //4) Delete created seminar schedule within db transaction
@@ -165,8 +162,7 @@ public class SaveSeminarScheduleSOTest {
             assertDoesNotThrow(() -> sssSO.execute(seminarSchedule));
 
             //3) Make sure seminar schedule is updated
-            assertDoesNotThrow(() -> gssbidSO.execute(seminarSchedule.getID()));
-            SeminarSchedule ssFromDb = gssbidSO.getSeminarSchedule();
+            SeminarSchedule ssFromDb = assertDoesNotThrow(() -> gssbidSO.execute(seminarSchedule.getID()));
             seminarSchedule.getSeminarEnrollments().remove(se1Deleted);
             assertEquals(true, ssFromDb.equalsAll(seminarSchedule));
 
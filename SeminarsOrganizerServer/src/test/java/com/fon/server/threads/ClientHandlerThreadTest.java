@@ -0,0 +1,39 @@
+package com.fon.server.threads;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Aleksa
+ */
+public class ClientHandlerThreadTest {
+
+    private static final long IDLE_TIMEOUT = TimeUnit.SECONDS.toNanos(60);
+
+    private ClientHandlerThread ch;
+
+    @BeforeEach
+    void setUp() {
+        ch = new ClientHandlerThread(null, null, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ch = null;
+    }
+
+    @Test
+    void test_isIdle() {
+        assertTrue(ch.isIdle(ch.getLastActivity() + IDLE_TIMEOUT + 1, IDLE_TIMEOUT));
+    }
+
+    @Test
+    void test_isIdle_active() {
+        assertFalse(ch.isIdle(ch.getLastActivity() + IDLE_TIMEOUT, IDLE_TIMEOUT));
+    }
+}
@@ -0,0 +1,82 @@
+package com.fon.server.threads;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Aleksa
+ */
+public class StageTest {
+
+    private Stage stage;
+
+    @BeforeEach
+    void setUp() {
+        stage = new Stage("test", 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stage.shutdown();
+        stage = null;
+    }
+
+    @Test
+    void test_submit_metrics() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+
+        stage.submit(() -> {
+            sleepQuietly(20);
+            done.countDown();
+        });
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        stage.shutdown();
+        assertTrue(stage.awaitTermination(5000));
+
+        assertEquals(1, stage.getMetrics().getCompletedCount());
+        assertTrue(stage.getMetrics().getAverageServiceTime() >= 20);
+        assertEquals(stage.getMetrics().getAverageServiceTime(), stage.getMetrics().getMaxServiceTime(), 0.001);
+    }
+
+    @Test
+    void test_submit_saturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        stage.submit(() -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        stage.submit(() -> {
+        });
+
+        assertEquals(1, stage.getActiveCount());
+        assertEquals(1, stage.getQueuedCount());
+        assertThrows(RejectedExecutionException.class, () -> stage.submit(() -> {
+        }));
+        assertEquals(1, stage.getRejectedCount());
+
+        release.countDown();
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
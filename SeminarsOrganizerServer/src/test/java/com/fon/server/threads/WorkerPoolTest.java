@@ -0,0 +1,140 @@
+package com.fon.server.threads;
+
+import com.fon.server.dispatch.Lane;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Aleksa
+ */
+public class WorkerPoolTest {
+
+    private WorkerPool workerPool;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        workerPool = new WorkerPool(1, 1);
+        callers = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        workerPool.shutdown();
+        callers.shutdownNow();
+        workerPool = null;
+        callers = null;
+    }
+
+    @Test
+    void test_execute() throws Exception {
+        assertEquals(42, workerPool.execute(() -> 42));
+    }
+
+    @Test
+    void test_execute_exception() {
+        Exception ex = assertThrows(Exception.class, () -> workerPool.execute(() -> {
+            throw new Exception("task failed");
+        }));
+
+        assertEquals("task failed", ex.getMessage());
+    }
+
+    @Test
+    void test_execute_saturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Object> running = callers.submit(() -> workerPool.execute(() -> {
+            started.countDown();
+            release.await();
+            return null;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<Object> queued = callers.submit(() -> workerPool.execute(() -> null));
+        while (workerPool.getQueuedCount() == 0) {
+            Thread.sleep(1);
+        }
+
+        assertThrows(RejectedExecutionException.class, () -> workerPool.execute(() -> null));
+        assertEquals(1, workerPool.getRejectedCount());
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void test_submit_laneLimit() throws Exception {
+        WorkerPool lanes = new WorkerPool(2, 4, Map.of(Lane.BULK, new WorkerPool.LaneLimit(1, 1)));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            lanes.submit(Lane.BULK, () -> {
+                started.countDown();
+                awaitQuietly(release);
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            lanes.submit(Lane.BULK, () -> {
+            });
+
+            assertEquals(42, lanes.execute(Lane.INTERACTIVE, () -> 42));
+            assertEquals(1, lanes.getActiveCount(Lane.BULK));
+            assertEquals(1, lanes.getQueuedCount(Lane.BULK));
+        } finally {
+            release.countDown();
+            lanes.shutdown();
+        }
+        assertTrue(lanes.awaitTermination(5000));
+        assertEquals(0, lanes.getQueuedCount());
+    }
+
+    @Test
+    void test_submit_weightedOrder() throws Exception {
+        WorkerPool lanes = new WorkerPool(1, 8, Map.of(
+                Lane.INTERACTIVE, new WorkerPool.LaneLimit(3, 1),
+                Lane.BULK, new WorkerPool.LaneLimit(1, 1)));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Lane> order = Collections.synchronizedList(new ArrayList<>());
+
+        lanes.submit(Lane.INTERACTIVE, () -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 4; i++) {
+            lanes.submit(Lane.BULK, () -> order.add(Lane.BULK));
+            lanes.submit(Lane.INTERACTIVE, () -> order.add(Lane.INTERACTIVE));
+        }
+        release.countDown();
+        lanes.shutdown();
+
+        assertTrue(lanes.awaitTermination(5000));
+        assertEquals(8, order.size());
+        assertEquals(1, Collections.frequency(order.subList(0, 4), Lane.BULK));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}